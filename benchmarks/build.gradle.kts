@@ -0,0 +1,26 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    jmh(projects.shared)
+    // Provided by the server at runtime, needed to run shared code outside of it
+    jmh("com.google.guava:guava:31.1-jre")
+    jmh("net.kyori:adventure-api:4.13.0")
+    jmh("net.kyori:adventure-text-serializer-legacy:4.13.0")
+    jmh("net.kyori:adventure-text-serializer-gson:4.13.0")
+    jmh("net.kyori:adventure-text-minimessage:4.13.0")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Run with -PjmhInclude=<regex> to only run some benchmarks
+    if (project.hasProperty("jmhInclude")) {
+        includes.add(project.property("jmhInclude").toString())
+    }
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
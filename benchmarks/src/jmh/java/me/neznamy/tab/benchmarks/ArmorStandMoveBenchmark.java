@@ -0,0 +1,107 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.benchmarks.platform.BenchmarkNameTagX;
+import me.neznamy.tab.shared.backend.BackendTabPlayer;
+import me.neznamy.tab.shared.backend.Location;
+import me.neznamy.tab.shared.backend.features.unlimitedtags.BackendArmorStandManager;
+import me.neznamy.tab.shared.backend.features.unlimitedtags.PacketListener;
+import me.neznamy.tab.shared.backend.features.unlimitedtags.PendingMove;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+
+/**
+ * Load test of armor stand movement with synthetic move packets sent from
+ * several channel threads at once. Compares submitting a task into a single
+ * processing thread for every packet against queueing deltas through
+ * {@link PacketListener#queueMove(PendingMove, Location)} and sending them with
+ * {@link PacketListener#sendQueuedMoves()}, which is done as fast as possible
+ * instead of once per tick to measure the worst case contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Group)
+public class ArmorStandMoveBenchmark extends TabBenchmark {
+
+    /** Amount of viewers moving armor stands of one player */
+    private static final int VIEWERS = 64;
+
+    /** Synthetic move delta, same as walking at normal speed */
+    private final Location diff = new Location(880, 0, -512);
+
+    private ExecutorService processingThread;
+    private PendingMove[] moves;
+    private PacketListener packetListener;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        start(VIEWERS + 1);
+        TabPlayer[] players = players();
+        BenchmarkNameTagX nameTagX = new BenchmarkNameTagX();
+        TabPlayer owner = players[0];
+        nameTagX.updateProperties(owner);
+        BackendArmorStandManager armorStandManager = new BackendArmorStandManager(nameTagX, owner);
+        // Bounded, so the queue does not grow forever when processing thread cannot keep up
+        processingThread = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10000), new ThreadPoolExecutor.CallerRunsPolicy());
+        moves = new PendingMove[VIEWERS];
+        for (int i = 0; i < VIEWERS; i++) {
+            moves[i] = new BenchmarkMove(armorStandManager, (BackendTabPlayer) players[i + 1]);
+        }
+        packetListener = nameTagX.getPacketListener();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processingThread.shutdownNow();
+    }
+
+    @Benchmark
+    @Group("perPacketTask")
+    @GroupThreads(4)
+    public void perPacketTask(Blackhole blackhole) {
+        PendingMove move = moves[ThreadLocalRandom.current().nextInt(VIEWERS)];
+        processingThread.submit(() -> {
+            long time = System.nanoTime();
+            blackhole.consume(move);
+            blackhole.consume(System.nanoTime() - time);
+        });
+    }
+
+    @Benchmark
+    @Group("coalesced")
+    @GroupThreads(4)
+    public void coalescedMove() {
+        packetListener.queueMove(moves[ThreadLocalRandom.current().nextInt(VIEWERS)], diff);
+    }
+
+    @Benchmark
+    @Group("coalesced")
+    @GroupThreads(1)
+    public void coalescedFlush() {
+        packetListener.sendQueuedMoves();
+    }
+
+    /**
+     * Pending move which only takes the accumulated delta instead of
+     * moving the armor stands.
+     */
+    private static class BenchmarkMove extends PendingMove {
+
+        /** Last taken delta, so taking it is not optimized away */
+        private volatile Location lastTaken;
+
+        private BenchmarkMove(@NotNull BackendArmorStandManager armorStandManager, @NotNull BackendTabPlayer viewer) {
+            super(armorStandManager, viewer);
+        }
+
+        @Override
+        public void send() {
+            lastTaken = take();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.benchmarks.legacy.LegacyColoredText;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.chat.rgb.RGBUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of colored text into components and conversion
+ * of all supported color formats, compared to the previous regex chain
+ * in {@link LegacyColoredText}. Does not need the plugin loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColoredTextBenchmark {
+
+    /** Text to process, covering legacy colors, all hex formats, gradients and fonts */
+    @Param({
+            "&aPlayer &7| &bLobby-1",
+            "#FF0000Red &#00FF00Green {#0000FF}Blue #<FFFF00>Yellow <#00FFFF>Aqua &x&F&F&0&0&F&FPink",
+            "<#FF0000>Gradient text</#0000FF> &7and {#00FF00>}another one{#FF00FF<}",
+            "<font:minecraft:uniform>#FF0000Small</font> &lBold &r#00FF00text"
+    })
+    public String text;
+
+    @Benchmark
+    public TabComponent fromColoredText() {
+        return TabComponent.fromColoredText(text);
+    }
+
+    @Benchmark
+    public TabComponent optimized() {
+        return TabComponent.optimized(text);
+    }
+
+    @Benchmark
+    public String applyFormats() {
+        return RGBUtils.getInstance().applyFormats(text);
+    }
+
+    @Benchmark
+    public String convertRGBtoLegacy() {
+        return RGBUtils.getInstance().convertRGBtoLegacy(text);
+    }
+
+    @Benchmark
+    public TabComponent oldFromColoredText() {
+        return LegacyColoredText.fromColoredText(text);
+    }
+
+    @Benchmark
+    public String oldApplyFormats() {
+        return LegacyColoredText.applyFormats(text);
+    }
+
+    @Benchmark
+    public String oldConvertRGBtoLegacy() {
+        return LegacyColoredText.convertRGBtoLegacy(text);
+    }
+}
@@ -0,0 +1,40 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.placeholders.conditions.Condition;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Condition#isMet(TabPlayer)} of AND and OR conditions
+ * combining numeric, text and permission sub-conditions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConditionBenchmark extends TabBenchmark {
+
+    /** Condition pattern, conditions joined with ; use AND, with | use OR */
+    @Param({
+            "%ping%>=100;%world%=world1;%player%!=Player3",
+            "permission:tab.staff|%ping%<50|%world%<-world"
+    })
+    public String pattern;
+
+    private TabPlayer[] online;
+    private Condition condition;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        start(10);
+        online = players();
+        condition = Condition.getCondition(pattern);
+    }
+
+    @Benchmark
+    public boolean isMet() {
+        return condition.isMet(online[index++ % online.length]);
+    }
+}
@@ -0,0 +1,38 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PlaceholderManagerImpl#detectPlaceholders(String)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DetectPlaceholdersBenchmark extends TabBenchmark {
+
+    /** Text to detect placeholders in */
+    @Param({
+            "&7No placeholders here, only 100% text",
+            "&7[%world%] &f%player% &8| &a%ping%ms",
+            "%animation:Welcome% %condition:staff% %rel_bench% %luckperms_prefix%%player%%luckperms_suffix%"
+    })
+    public String text;
+
+    private PlaceholderManagerImpl manager;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        start(0);
+        manager = TAB.getInstance().getPlaceholderManager();
+    }
+
+    @Benchmark
+    public List<String> detectPlaceholders() {
+        return manager.detectPlaceholders(text);
+    }
+}
@@ -0,0 +1,56 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.placeholder.Placeholder;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import me.neznamy.tab.shared.placeholders.PlaceholderRefreshTask;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single {@link PlaceholderRefreshTask} run requesting player and relational
+ * placeholders of all players, with one player marked as changed before each run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceholderRefreshBenchmark extends TabBenchmark {
+
+    /** Amount of online players */
+    @Param({"10", "100", "500"})
+    public int players;
+
+    /** Whether relational placeholders are only evaluated for pairs with a changed player */
+    @Param({"false", "true"})
+    public boolean incrementalRelational;
+
+    private final List<Placeholder> placeholders = new ArrayList<>();
+    private PlaceholderManagerImpl manager;
+    private TabPlayer[] online;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        start(players);
+        manager = TAB.getInstance().getPlaceholderManager();
+        online = players();
+        for (int i = 0; i < 5; i++) {
+            String suffix = "-" + i;
+            placeholders.add(manager.registerPlayerPlaceholder("%bench_player_" + i + "%", 50, p -> p.getName() + suffix));
+        }
+        placeholders.add(manager.registerRelationalPlaceholder("%rel_bench%", 1000,
+                (viewer, target) -> viewer == target ? "&aYou" : "&7" + target.getName()));
+    }
+
+    @Benchmark
+    public PlaceholderRefreshTask refresh() {
+        manager.markRelationalDirty(online[index++ % online.length]);
+        PlaceholderRefreshTask task = new PlaceholderRefreshTask(placeholders, null, Integer.MAX_VALUE, 0, incrementalRelational);
+        task.run();
+        return task;
+    }
+}
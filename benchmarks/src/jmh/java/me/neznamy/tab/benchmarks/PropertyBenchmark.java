@@ -0,0 +1,47 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.Property;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.placeholders.types.PlayerPlaceholderImpl;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Property#update()} when no placeholder changed
+ * value and when one of the placeholders changed value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropertyBenchmark extends TabBenchmark {
+
+    /** Raw value of the property */
+    @Param({"&7[%world%] &f%player% &8| &a%ping%ms #FF0000%bench_counter%"})
+    public String value;
+
+    private TabPlayer player;
+    private PlayerPlaceholderImpl counter;
+    private Property property;
+    private int counterValue;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        start(10);
+        player = players()[0];
+        counter = TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder("%bench_counter%", -1, p -> 0);
+        property = new Property(null, null, player, value, null);
+    }
+
+    @Benchmark
+    public boolean updateUnchanged() {
+        return property.update();
+    }
+
+    @Benchmark
+    public boolean updateChanged() {
+        counter.updateValue(player, ++counterValue);
+        return property.update();
+    }
+}
@@ -0,0 +1,112 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflection with compiled accessors on a dummy class shaped like
+ * an NMS packet, covering the operations done for every packet sent on Bukkit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ReflectionBenchmark {
+
+    private DummyPacket packet;
+
+    private Field field;
+    private CompiledField compiledField;
+
+    private Constructor<?> constructor;
+    private CompiledConstructor compiledConstructor;
+
+    private Method method;
+    private CompiledMethod compiledMethod;
+    private BiConsumerWithException<Object, Object> lambda;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws ReflectiveOperationException {
+        packet = new DummyPacket(1, (short) 0, (short) 0, (short) 0);
+        field = DummyPacket.class.getDeclaredField("x");
+        field.setAccessible(true);
+        compiledField = new CompiledField(field);
+        constructor = DummyPacket.class.getConstructor(int.class, short.class, short.class, short.class);
+        compiledConstructor = new CompiledConstructor(constructor);
+        method = DummyPacket.class.getMethod("setId", int.class);
+        compiledMethod = new CompiledMethod(method);
+        lambda = CompiledMethod.toLambda(BiConsumerWithException.class, method, method::invoke);
+    }
+
+    @Benchmark
+    public Object fieldGetReflection() throws ReflectiveOperationException {
+        return field.get(packet);
+    }
+
+    @Benchmark
+    public Object fieldGetCompiled() throws ReflectiveOperationException {
+        return compiledField.get(packet);
+    }
+
+    @Benchmark
+    public void fieldSetReflection() throws ReflectiveOperationException {
+        field.set(packet, (short) 5);
+    }
+
+    @Benchmark
+    public void fieldSetCompiled() throws ReflectiveOperationException {
+        compiledField.set(packet, (short) 5);
+    }
+
+    @Benchmark
+    public Object constructorReflection() throws ReflectiveOperationException {
+        return constructor.newInstance(1, (short) 2, (short) 3, (short) 4);
+    }
+
+    @Benchmark
+    public Object constructorCompiled() throws ReflectiveOperationException {
+        return compiledConstructor.newInstance(1, (short) 2, (short) 3, (short) 4);
+    }
+
+    @Benchmark
+    public void methodReflection() throws ReflectiveOperationException {
+        method.invoke(packet, 5);
+    }
+
+    @Benchmark
+    public void methodCompiled() throws ReflectiveOperationException {
+        compiledMethod.invoke(packet, 5);
+    }
+
+    @Benchmark
+    public void methodLambda() throws Exception {
+        lambda.accept(packet, 5);
+    }
+
+    /**
+     * Dummy class with private fields, same as NMS packets.
+     */
+    public static class DummyPacket {
+
+        private int id;
+        private short x;
+        private short y;
+        private short z;
+
+        public DummyPacket(int id, short x, short y, short z) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+}
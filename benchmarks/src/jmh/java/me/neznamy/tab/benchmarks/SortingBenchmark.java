@@ -0,0 +1,41 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.features.sorting.Sorting;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Sorting#constructTeamNames(TabPlayer)} of a single player,
+ * including the check for team name collisions with other players.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SortingBenchmark extends TabBenchmark {
+
+    /** Amount of online players */
+    @Param({"10", "100", "500"})
+    public int players;
+
+    private TabPlayer[] online;
+    private Sorting sorting;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        start(players);
+        online = players();
+        sorting = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
+    }
+
+    @Benchmark
+    public String constructTeamNames() {
+        TabPlayer player = online[index++ % online.length];
+        sorting.constructTeamNames(player);
+        return sorting.getShortTeamName(player);
+    }
+}
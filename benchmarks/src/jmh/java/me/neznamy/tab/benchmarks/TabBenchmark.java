@@ -0,0 +1,69 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.benchmarks.platform.BenchmarkPlatform;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Base for benchmarks which need the plugin loaded. The plugin is loaded
+ * with default configuration files in a temporary folder and given amount of
+ * headless players, then unloaded and the folder deleted after the trial.
+ */
+@State(Scope.Benchmark)
+public abstract class TabBenchmark {
+
+    /** Folder the plugin was loaded from */
+    private Path dataFolder;
+
+    /**
+     * Loads the plugin with given amount of players.
+     *
+     * @param   playerCount
+     *          Amount of players to load
+     * @throws  IOException
+     *          If temporary folder could not be created
+     */
+    protected void start(int playerCount) throws IOException {
+        dataFolder = Files.createTempDirectory("tab-benchmark");
+        TAB.create(new BenchmarkPlatform(dataFolder.toFile(), playerCount));
+        if (TAB.getInstance().isPluginDisabled()) {
+            throw new IllegalStateException("Plugin failed to load, see " + new File(dataFolder.toFile(), "errors.log"));
+        }
+    }
+
+    /**
+     * Returns online players.
+     *
+     * @return  online players
+     */
+    @NotNull
+    protected TabPlayer[] players() {
+        return TAB.getInstance().getOnlinePlayers();
+    }
+
+    /**
+     * Unloads the plugin and deletes the temporary folder.
+     *
+     * @throws  IOException
+     *          If deleting the folder failed
+     */
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        TAB.getInstance().unload();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
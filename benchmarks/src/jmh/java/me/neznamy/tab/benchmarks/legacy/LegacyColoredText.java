@@ -0,0 +1,292 @@
+package me.neznamy.tab.benchmarks.legacy;
+
+import me.neznamy.tab.shared.chat.EnumChatFormat;
+import me.neznamy.tab.shared.chat.SimpleComponent;
+import me.neznamy.tab.shared.chat.StructuredComponent;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.chat.TextColor;
+import me.neznamy.tab.shared.chat.rgb.format.MiniMessageFormat;
+import me.neznamy.tab.shared.chat.rgb.format.RGBFormatter;
+import me.neznamy.tab.shared.chat.rgb.gradient.CMIGradient;
+import me.neznamy.tab.shared.chat.rgb.gradient.CommonGradient;
+import me.neznamy.tab.shared.chat.rgb.gradient.GradientPattern;
+import me.neznamy.tab.shared.chat.rgb.gradient.KyoriGradient;
+import me.neznamy.tab.shared.chat.rgb.gradient.NexEngineGradient;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Copy of the colored text parsing chain used before {@code ColoredTextParser},
+ * which rewrites the text once per RGB format using regexes and then parses
+ * the result into components. Only kept to compare the two in benchmarks.
+ */
+public class LegacyColoredText {
+
+    /** Pattern for detecting fonts */
+    private static final Pattern fontPattern = Pattern.compile("<font:(.*?)>(.*?)</font>");
+
+    /** Registered RGB formatters */
+    private static final RGBFormatter[] formats = {
+            new MiniMessageFormat(),
+            new BukkitFormat(),
+            new CMIFormat(),
+            text -> text.contains("&#") ? text.replace("&#", "#") : text, // &#RRGGBB
+            new RegexFormat("#<", Pattern.compile("#<[0-9a-fA-F]{6}>")), // #<RRGGBB>
+            new RegexFormat("<#", Pattern.compile("<#[0-9a-fA-F]{6}>")) // <#RRGGBB>
+    };
+
+    /** Registered gradient patterns */
+    private static final GradientPattern[] gradients = {
+            //{#RRGGBB>}text{#RRGGBB<}
+            new CMIGradient(),
+            //<#RRGGBB>Text</#RRGGBB>
+            new CommonGradient(Pattern.compile("<#[0-9a-fA-F]{6}>[^<]*</#[0-9a-fA-F]{6}>"),
+                    Pattern.compile("<#[0-9a-fA-F]{6}\\|.>[^<]*</#[0-9a-fA-F]{6}>"),
+                    "<#", 9, 2, 9, 7),
+            //<$#RRGGBB>Text<$#RRGGBB>
+            new CommonGradient(Pattern.compile("<\\$#[0-9a-fA-F]{6}>[^<]*<\\$#[0-9a-fA-F]{6}>"),
+                    Pattern.compile("<\\$#[0-9a-fA-F]{6}\\|.>[^<]*<\\$#[0-9a-fA-F]{6}>"),
+                    "<$", 10, 3, 10, 7),
+            new KyoriGradient(),
+            new NexEngineGradient()
+    };
+
+    private LegacyColoredText() {
+    }
+
+    /**
+     * Applies all gradients and RGB formats to text, converting everything to #RRGGBB.
+     *
+     * @param   text
+     *          original text
+     * @return  text where everything is converted to #RRGGBB
+     */
+    @NotNull
+    public static String applyFormats(@NotNull String text) {
+        String replaced = text;
+        for (GradientPattern pattern : gradients) {
+            replaced = pattern.applyPattern(replaced, false);
+        }
+        for (RGBFormatter formatter : formats) {
+            replaced = formatter.reformat(replaced);
+        }
+        return replaced;
+    }
+
+    /**
+     * Converts text with RGB colors into text with legacy colors only.
+     *
+     * @param   text
+     *          text to convert
+     * @return  converted text
+     */
+    @NotNull
+    public static String convertRGBtoLegacy(@NotNull String text) {
+        return fromColoredText(text).toLegacyText();
+    }
+
+    /**
+     * Returns organized component from colored text
+     *
+     * @param   originalText
+     *          text to convert
+     * @return  organized component from colored text
+     */
+    @NotNull
+    public static TabComponent fromColoredText(@NotNull String originalText) {
+        String remainingText = originalText;
+        List<StructuredComponent> components = new ArrayList<>();
+        while (!remainingText.isEmpty()) {
+            Matcher m = fontPattern.matcher(remainingText);
+            if (m.find()) {
+                if (m.start() > 0) {
+                    // Something is before the text with font, process normally
+                    components.addAll(toComponentArray(remainingText.substring(0, m.start()), null));
+                }
+                // Process text with font
+                String match = m.group();
+                components.addAll(toComponentArray(
+                        match.substring(match.indexOf('>')+1, match.length()-7),
+                        match.substring(6, match.indexOf('>'))
+                ));
+                // Prepare the rest for next loop
+                remainingText = remainingText.substring(m.start() + match.length());
+            } else {
+                components.addAll(toComponentArray(remainingText, null));
+                break;
+            }
+        }
+        if (components.isEmpty()) {
+            return new SimpleComponent("");
+        } else {
+            return new StructuredComponent("", components);
+        }
+    }
+
+    @NotNull
+    private static List<StructuredComponent> toComponentArray(@NotNull String originalText, @Nullable String font) {
+        String text = applyFormats(EnumChatFormat.color(originalText));
+        List<StructuredComponent> components = new ArrayList<>();
+        StringBuilder builder = new StringBuilder();
+        StructuredComponent component = new StructuredComponent();
+        component.getModifier().setFont(font);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == EnumChatFormat.COLOR_CHAR) {
+                i++;
+                if (i >= text.length()) {
+                    break;
+                }
+                c = text.charAt(i);
+                if ((c >= 'A') && (c <= 'Z')) {
+                    c = (char)(c + ' ');
+                }
+                EnumChatFormat format = EnumChatFormat.getByChar(c);
+                if (format != null) {
+                    component.setText(builder.toString());
+                    components.add(component);
+                    component = new StructuredComponent(component);
+                    component.setText("");
+                    component.getModifier().setFont(font);
+                    builder = new StringBuilder();
+                    switch (format) {
+                        case BOLD:
+                            component.getModifier().setBold(true);
+                            break;
+                        case ITALIC:
+                            component.getModifier().setItalic(true);
+                            break;
+                        case UNDERLINE:
+                            component.getModifier().setUnderlined(true);
+                            break;
+                        case STRIKETHROUGH:
+                            component.getModifier().setStrikethrough(true);
+                            break;
+                        case OBFUSCATED:
+                            component.getModifier().setObfuscated(true);
+                            break;
+                        case RESET:
+                            component = new StructuredComponent();
+                            component.getModifier().setColor(TextColor.legacy(EnumChatFormat.WHITE));
+                            component.getModifier().setFont(font);
+                            break;
+                        default:
+                            component = new StructuredComponent();
+                            component.getModifier().setColor(TextColor.legacy(format));
+                            component.getModifier().setFont(font);
+                            break;
+                    }
+                }
+            } else if (c == '#' && text.length() > i+6) {
+                String hex = text.substring(i+1, i+7);
+                if (isHexCode(hex)) {
+                    TextColor color;
+                    EnumChatFormat code = text.length() - i >= 9 ? EnumChatFormat.getByChar(text.charAt(i+8)) : null;
+                    if (code != null && text.charAt(i+7) == '|') {
+                        color = new TextColor(hex, code);
+                        i += 8;
+                    } else {
+                        color = new TextColor(hex);
+                        i += 6;
+                    }
+                    if (builder.length() > 0) {
+                        component.setText(builder.toString());
+                        components.add(component);
+                        builder = new StringBuilder();
+                    }
+                    component = new StructuredComponent();
+                    component.getModifier().setColor(color);
+                    component.getModifier().setFont(font);
+                } else {
+                    builder.append('#');
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        component.setText(builder.toString());
+        components.add(component);
+        return components;
+    }
+
+    private static boolean isHexCode(@NotNull String string) {
+        for (char c : string.toCharArray()) {
+            if ("0123456789AaBbCcDdEeFf".indexOf(c) == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Formatter for &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B
+     */
+    private static class BukkitFormat implements RGBFormatter {
+
+        private final Pattern pattern = Pattern.compile("[" + EnumChatFormat.COLOR_CHAR + "&]x[" + EnumChatFormat.COLOR_CHAR + "&\\p{XDigit}]{12}");
+
+        @Override
+        public @NotNull String reformat(@NotNull String text) {
+            if (!text.contains("&x") && !text.contains(EnumChatFormat.COLOR_CHAR + "x")) return text;
+            String replaced = text;
+            Matcher m = pattern.matcher(replaced);
+            while (m.find()) {
+                String hexCode = m.group();
+                String fixed = new String(new char[] {'#', hexCode.charAt(3), hexCode.charAt(5), hexCode.charAt(7), hexCode.charAt(9), hexCode.charAt(11), hexCode.charAt(13)});
+                replaced = replaced.replace(hexCode, fixed);
+            }
+            return replaced;
+        }
+    }
+
+    /**
+     * Formatter for {#RRGGBB}
+     */
+    private static class CMIFormat implements RGBFormatter {
+
+        private final Pattern pattern = Pattern.compile("\\{#[0-9a-fA-F]{6}}");
+
+        @Override
+        public @NotNull String reformat(@NotNull String text) {
+            if (!text.contains("{#")) return text;
+            String replaced = text;
+            Matcher m = pattern.matcher(replaced);
+            while (m.find()) {
+                String hexCode = m.group();
+                String fixed = hexCode.substring(2, 8);
+                replaced = replaced.replace(hexCode, "#" + fixed);
+            }
+            return replaced;
+        }
+    }
+
+    /**
+     * Formatter for #&lt;RRGGBB&gt; and &lt;#RRGGBB&gt;, which only differ in prefix.
+     */
+    private static class RegexFormat implements RGBFormatter {
+
+        private final String prefix;
+        private final Pattern pattern;
+
+        private RegexFormat(@NotNull String prefix, @NotNull Pattern pattern) {
+            this.prefix = prefix;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public @NotNull String reformat(@NotNull String text) {
+            if (!text.contains(prefix)) return text;
+            String replaced = text;
+            Matcher m = pattern.matcher(replaced);
+            while (m.find()) {
+                String hexCode = m.group();
+                String fixed = hexCode.substring(2, 8);
+                replaced = replaced.replace(hexCode, "#" + fixed);
+            }
+            return replaced;
+        }
+    }
+}
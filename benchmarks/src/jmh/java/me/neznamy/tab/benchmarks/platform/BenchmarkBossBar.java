@@ -0,0 +1,51 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.api.bossbar.BarColor;
+import me.neznamy.tab.api.bossbar.BarStyle;
+import me.neznamy.tab.shared.platform.BossBar;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * BossBar handler which does not send anything, only counts packets
+ * which would have been sent.
+ */
+@RequiredArgsConstructor
+public class BenchmarkBossBar implements BossBar {
+
+    /** Player this handler belongs to */
+    @NotNull
+    private final BenchmarkTabPlayer player;
+
+    @Override
+    public void create(@NotNull UUID id, @NotNull String title, float progress, @NotNull BarColor color, @NotNull BarStyle style) {
+        player.countPacket();
+    }
+
+    @Override
+    public void update(@NotNull UUID id, @NotNull String title) {
+        player.countPacket();
+    }
+
+    @Override
+    public void update(@NotNull UUID id, float progress) {
+        player.countPacket();
+    }
+
+    @Override
+    public void update(@NotNull UUID id, @NotNull BarStyle style) {
+        player.countPacket();
+    }
+
+    @Override
+    public void update(@NotNull UUID id, @NotNull BarColor color) {
+        player.countPacket();
+    }
+
+    @Override
+    public void remove(@NotNull UUID id) {
+        player.countPacket();
+    }
+}
@@ -0,0 +1,108 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.backend.EntityData;
+import me.neznamy.tab.shared.backend.Location;
+import me.neznamy.tab.shared.backend.entityview.EntityView;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Entity view which does not send anything, only counts packets
+ * which would have been sent. There are no real packets to recognize.
+ */
+@RequiredArgsConstructor
+public class BenchmarkEntityView implements EntityView {
+
+    /** Player this view belongs to */
+    @NotNull
+    private final BenchmarkTabPlayer player;
+
+    @Override
+    public void spawnEntity(int entityId, @NotNull UUID id, @NotNull Object entityType, @NotNull Location location, @NotNull EntityData data) {
+        player.countPacket();
+    }
+
+    @Override
+    public void updateEntityMetadata(int entityId, @NotNull EntityData data) {
+        player.countPacket();
+    }
+
+    @Override
+    public void teleportEntity(int entityId, @NotNull Location location) {
+        player.countPacket();
+    }
+
+    @Override
+    public void destroyEntities(int... entities) {
+        player.countPacket();
+    }
+
+    @Override
+    public boolean isDestroyPacket(@NotNull Object packet) {
+        return false;
+    }
+
+    @Override
+    public boolean isTeleportPacket(@NotNull Object packet) {
+        return false;
+    }
+
+    @Override
+    public boolean isNamedEntitySpawnPacket(@NotNull Object packet) {
+        return false;
+    }
+
+    @Override
+    public boolean isMovePacket(@NotNull Object packet) {
+        return false;
+    }
+
+    @Override
+    public boolean isLookPacket(@NotNull Object packet) {
+        return false;
+    }
+
+    @Override
+    public int getTeleportEntityId(@NotNull Object teleportPacket) {
+        return 0;
+    }
+
+    @Override
+    public int getMoveEntityId(@NotNull Object movePacket) {
+        return 0;
+    }
+
+    @Override
+    public int getSpawnedPlayer(@NotNull Object playerSpawnPacket) {
+        return 0;
+    }
+
+    @Override
+    public int[] getDestroyedEntities(@NotNull Object destroyPacket) {
+        return new int[0];
+    }
+
+    @Override
+    public boolean isBundlePacket(@NotNull Object packet) {
+        return false;
+    }
+
+    @Override
+    public Iterable<Object> getPackets(@NotNull Object bundlePacket) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    @NotNull
+    public Location getMoveDiff(@NotNull Object movePacket) {
+        return new Location(0, 0, 0);
+    }
+
+    @Override
+    public void moveEntity(int entityId, @NotNull Location moveDiff) {
+        player.countPacket();
+    }
+}
@@ -0,0 +1,133 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import me.neznamy.tab.shared.backend.EntityData;
+import me.neznamy.tab.shared.backend.features.unlimitedtags.BackendNameTagX;
+import me.neznamy.tab.shared.backend.features.unlimitedtags.PacketListener;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unlimited name tag feature for headless players. All players stand
+ * still at the same spot without any vehicles or passengers and nothing
+ * is ever spawned, since players are never in the same world for it.
+ */
+public class BenchmarkNameTagX extends BackendNameTagX {
+
+    /**
+     * Returns packet listener of this feature.
+     *
+     * @return  packet listener of this feature
+     */
+    @NotNull
+    public PacketListener getPacketListener() {
+        return packetListener;
+    }
+
+    @Override
+    public double getDistance(@NotNull TabPlayer player1, @NotNull TabPlayer player2) {
+        return 0;
+    }
+
+    @Override
+    public boolean areInSameWorld(@NotNull TabPlayer player1, @NotNull TabPlayer player2) {
+        return false;
+    }
+
+    @Override
+    public boolean canSee(@NotNull TabPlayer viewer, @NotNull TabPlayer target) {
+        return true;
+    }
+
+    @Override
+    public void unregisterListener() {
+        // No events without a server
+    }
+
+    @Override
+    @NotNull
+    public List<Integer> getPassengers(@NotNull Object vehicle) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    @Nullable
+    public Object getVehicle(@NotNull TabPlayer player) {
+        return null;
+    }
+
+    @Override
+    public int getEntityId(@NotNull Object entity) {
+        return (Integer) entity;
+    }
+
+    @Override
+    @NotNull
+    public String getEntityType(@NotNull Object entity) {
+        return "player";
+    }
+
+    @Override
+    public boolean isSneaking(@NotNull TabPlayer player) {
+        return false;
+    }
+
+    @Override
+    public boolean isSwimming(@NotNull TabPlayer player) {
+        return false;
+    }
+
+    @Override
+    public boolean isGliding(@NotNull TabPlayer player) {
+        return false;
+    }
+
+    @Override
+    public boolean isSleeping(@NotNull TabPlayer player) {
+        return false;
+    }
+
+    @Override
+    @NotNull
+    public Object getArmorStandType() {
+        return "armor_stand";
+    }
+
+    @Override
+    public double getX(@NotNull TabPlayer player) {
+        return 0;
+    }
+
+    @Override
+    public double getY(@NotNull Object entity) {
+        return 0;
+    }
+
+    @Override
+    public double getZ(@NotNull TabPlayer player) {
+        return 0;
+    }
+
+    @Override
+    public EntityData createDataWatcher(@NotNull TabPlayer viewer, byte flags, @NotNull String displayName, boolean nameVisible) {
+        return () -> displayName;
+    }
+
+    @Override
+    public void runInEntityScheduler(@NotNull Object entity, @NotNull Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public boolean isDead(@NotNull TabPlayer player) {
+        return false;
+    }
+
+    @Override
+    public boolean isFlying(@NotNull TabPlayer player) {
+        return false;
+    }
+}
@@ -0,0 +1,145 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.api.placeholder.PlaceholderManager;
+import me.neznamy.tab.shared.GroupManager;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.backend.BackendPlatform;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.features.injection.PipelineInjector;
+import me.neznamy.tab.shared.features.nametags.NameTag;
+import me.neznamy.tab.shared.features.redis.RedisSupport;
+import me.neznamy.tab.shared.features.types.TabFeature;
+import me.neznamy.tab.shared.placeholders.UniversalPlaceholderRegistry;
+import me.neznamy.tab.shared.placeholders.expansion.EmptyTabExpansion;
+import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+
+/**
+ * Headless platform for running the plugin without a server,
+ * loading given amount of fake players.
+ */
+@RequiredArgsConstructor
+public class BenchmarkPlatform implements BackendPlatform {
+
+    /** Folder to load configuration files from */
+    @Getter
+    @NotNull
+    private final File dataFolder;
+
+    /** Amount of players to load */
+    private final int playerCount;
+
+    @Override
+    @NotNull
+    public GroupManager detectPermissionPlugin() {
+        return new GroupManager("None", p -> TabConstants.NO_GROUP);
+    }
+
+    @Override
+    public void registerUnknownPlaceholder(@NotNull String identifier) {
+        if (identifier.startsWith("%rel_")) {
+            TAB.getInstance().getPlaceholderManager().registerRelationalPlaceholder(identifier, -1, (viewer, target) -> identifier);
+        } else {
+            TAB.getInstance().getPlaceholderManager().registerServerPlaceholder(identifier, -1, () -> identifier);
+        }
+    }
+
+    @Override
+    public void loadPlayers() {
+        for (int i = 0; i < playerCount; i++) {
+            TAB.getInstance().addPlayer(new BenchmarkTabPlayer(this, i));
+        }
+    }
+
+    @Override
+    public void registerPlaceholders() {
+        PlaceholderManager manager = TAB.getInstance().getPlaceholderManager();
+        manager.registerPlayerPlaceholder(TabConstants.Placeholder.HEALTH, 100, p -> 20);
+        manager.registerPlayerPlaceholder(TabConstants.Placeholder.DISPLAY_NAME, 500, me.neznamy.tab.api.TabPlayer::getName);
+        manager.registerServerPlaceholder(TabConstants.Placeholder.TPS, 1000, () -> "20.00");
+        manager.registerServerPlaceholder(TabConstants.Placeholder.MSPT, 1000, () -> "5.00");
+        new UniversalPlaceholderRegistry().registerPlaceholders(manager);
+    }
+
+    @Override
+    @Nullable
+    public PipelineInjector createPipelineInjector() {
+        return null;
+    }
+
+    @Override
+    @NotNull
+    public NameTag getUnlimitedNameTags() {
+        return new NameTag();
+    }
+
+    @Override
+    @NotNull
+    public TabExpansion createTabExpansion() {
+        return new EmptyTabExpansion();
+    }
+
+    @Override
+    @Nullable
+    public RedisSupport getRedisSupport() {
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public TabFeature getPerWorldPlayerList() {
+        return null;
+    }
+
+    @Override
+    public void logInfo(@NotNull TabComponent message) {
+        // Not flooding benchmark output
+    }
+
+    @Override
+    public void logWarn(@NotNull TabComponent message) {
+        System.err.println("[TAB] " + message.toLegacyText());
+    }
+
+    @Override
+    @NotNull
+    public String getServerVersionInfo() {
+        return "[Benchmark]";
+    }
+
+    @Override
+    public void registerListener() {
+        // No events without a server
+    }
+
+    @Override
+    public void registerCommand() {
+        // No commands without a server
+    }
+
+    @Override
+    public void startMetrics() {
+        // No metrics in benchmarks
+    }
+
+    @Override
+    public boolean isProxy() {
+        return false;
+    }
+
+    @Override
+    public double getTPS() {
+        return 20;
+    }
+
+    @Override
+    public double getMSPT() {
+        return 5;
+    }
+}
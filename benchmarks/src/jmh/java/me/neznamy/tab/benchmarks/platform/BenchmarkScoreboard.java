@@ -0,0 +1,78 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import lombok.NonNull;
+import me.neznamy.tab.shared.chat.EnumChatFormat;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.platform.Scoreboard;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * Scoreboard handler which does not send anything, only counts packets
+ * which would have been sent.
+ */
+public class BenchmarkScoreboard extends Scoreboard<BenchmarkTabPlayer> {
+
+    /**
+     * Constructs new instance.
+     *
+     * @param   player
+     *          Player this scoreboard belongs to
+     */
+    public BenchmarkScoreboard(@NonNull BenchmarkTabPlayer player) {
+        super(player);
+    }
+
+    @Override
+    public void setDisplaySlot0(int slot, @NonNull String objective) {
+        player.countPacket();
+    }
+
+    @Override
+    public void registerObjective0(@NonNull String objectiveName, @NonNull String title, int display,
+                                   @Nullable TabComponent numberFormat) {
+        player.countPacket();
+    }
+
+    @Override
+    public void unregisterObjective0(@NonNull String objectiveName) {
+        player.countPacket();
+    }
+
+    @Override
+    public void updateObjective0(@NonNull String objectiveName, @NonNull String title, int display,
+                                 @Nullable TabComponent numberFormat) {
+        player.countPacket();
+    }
+
+    @Override
+    public void registerTeam0(@NonNull String name, @NonNull String prefix, @NonNull String suffix,
+                              @NonNull NameVisibility visibility, @NonNull CollisionRule collision,
+                              @NonNull Collection<String> players, int options, @NonNull EnumChatFormat color) {
+        player.countPacket();
+    }
+
+    @Override
+    public void unregisterTeam0(@NonNull String name) {
+        player.countPacket();
+    }
+
+    @Override
+    public void updateTeam0(@NonNull String name, @NonNull String prefix, @NonNull String suffix,
+                            @NonNull NameVisibility visibility, @NonNull CollisionRule collision,
+                            int options, @NonNull EnumChatFormat color) {
+        player.countPacket();
+    }
+
+    @Override
+    public void setScore0(@NonNull String objective, @NonNull String scoreHolder, int score,
+                          @Nullable TabComponent displayName, @Nullable TabComponent numberFormat) {
+        player.countPacket();
+    }
+
+    @Override
+    public void removeScore0(@NonNull String objective, @NonNull String scoreHolder) {
+        player.countPacket();
+    }
+}
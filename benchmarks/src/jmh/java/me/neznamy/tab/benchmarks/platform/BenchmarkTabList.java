@@ -0,0 +1,73 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import lombok.NonNull;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.platform.TabList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TabList handler which does not send anything, only tracks entries
+ * and counts packets which would have been sent.
+ */
+public class BenchmarkTabList extends TabList<BenchmarkTabPlayer, TabComponent> {
+
+    /** Entries currently in the TabList */
+    private final Set<UUID> entries = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs new instance.
+     *
+     * @param   player
+     *          Player this TabList belongs to
+     */
+    public BenchmarkTabList(@NonNull BenchmarkTabPlayer player) {
+        super(player);
+    }
+
+    @Override
+    public void removeEntry(@NonNull UUID entry) {
+        entries.remove(entry);
+        player.countPacket();
+    }
+
+    @Override
+    public void updateDisplayName0(@NonNull UUID entry, @Nullable TabComponent displayName) {
+        player.countPacket();
+    }
+
+    @Override
+    public void updateLatency(@NonNull UUID entry, int latency) {
+        player.countPacket();
+    }
+
+    @Override
+    public void updateGameMode(@NonNull UUID entry, int gameMode) {
+        player.countPacket();
+    }
+
+    @Override
+    public void addEntry0(@NonNull UUID id, @NonNull String name, @Nullable Skin skin, int latency, int gameMode,
+                          @Nullable TabComponent displayName) {
+        entries.add(id);
+        player.countPacket();
+    }
+
+    @Override
+    public void setPlayerListHeaderFooter(@NonNull TabComponent header, @NonNull TabComponent footer) {
+        player.countPacket();
+    }
+
+    @Override
+    public boolean containsEntry(@NonNull UUID entry) {
+        return entries.contains(entry);
+    }
+
+    @Override
+    public TabComponent toComponent(@NonNull TabComponent component) {
+        return component;
+    }
+}
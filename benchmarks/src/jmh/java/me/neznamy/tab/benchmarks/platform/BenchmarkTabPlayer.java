@@ -0,0 +1,120 @@
+package me.neznamy.tab.benchmarks.platform;
+
+import lombok.Getter;
+import me.neznamy.tab.shared.ProtocolVersion;
+import me.neznamy.tab.shared.backend.BackendTabPlayer;
+import me.neznamy.tab.shared.backend.entityview.EntityView;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.platform.BossBar;
+import me.neznamy.tab.shared.platform.Scoreboard;
+import me.neznamy.tab.shared.platform.TabList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless player without any connection behind it.
+ */
+@Getter
+public class BenchmarkTabPlayer extends BackendTabPlayer {
+
+    @NotNull
+    private final Scoreboard<BenchmarkTabPlayer> scoreboard = new BenchmarkScoreboard(this);
+
+    @NotNull
+    private final BenchmarkTabList tabList = new BenchmarkTabList(this);
+
+    @NotNull
+    private final BossBar bossBar = new BenchmarkBossBar(this);
+
+    @NotNull
+    private final EntityView entityView = new BenchmarkEntityView(this);
+
+    /** Ping of the player, different for each player to get different placeholder values */
+    private final int ping;
+
+    /** Amount of packets which would have been sent to this player */
+    private final LongAdder sentPackets = new LongAdder();
+
+    /**
+     * Constructs new instance with given parameters.
+     *
+     * @param   platform
+     *          Platform the player belongs to
+     * @param   index
+     *          Index of the player used to generate name and other values
+     */
+    public BenchmarkTabPlayer(@NotNull BenchmarkPlatform platform, int index) {
+        super(platform, index, UUID.nameUUIDFromBytes(("BenchmarkPlayer:" + index).getBytes(StandardCharsets.UTF_8)),
+                "Player" + index, "world" + index % 3, ProtocolVersion.LATEST_KNOWN_VERSION.getNetworkId());
+        ping = index * 37 % 300;
+    }
+
+    /**
+     * Counts a packet which would have been sent to this player.
+     */
+    public void countPacket() {
+        sentPackets.increment();
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull String permission) {
+        return false;
+    }
+
+    @Override
+    public void sendMessage(@NotNull TabComponent message) {
+        countPacket();
+    }
+
+    @Override
+    public boolean hasInvisibilityPotion() {
+        return false;
+    }
+
+    @Override
+    public boolean isDisguised() {
+        return false;
+    }
+
+    @Override
+    @Nullable
+    public TabList.Skin getSkin() {
+        return null;
+    }
+
+    @Override
+    @NotNull
+    public Integer getPlayer() {
+        return (Integer) player;
+    }
+
+    @Override
+    public BenchmarkPlatform getPlatform() {
+        return (BenchmarkPlatform) platform;
+    }
+
+    @Override
+    public boolean isVanished() {
+        return false;
+    }
+
+    @Override
+    public int getGamemode() {
+        return 0;
+    }
+
+    @Override
+    public double getHealth() {
+        return 20;
+    }
+
+    @Override
+    @NotNull
+    public String getDisplayName() {
+        return getName();
+    }
+}
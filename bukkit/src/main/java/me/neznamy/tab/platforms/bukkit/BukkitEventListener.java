@@ -8,6 +8,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
@@ -30,6 +31,18 @@ public class BukkitEventListener implements EventListener<Player>, Listener {
         quit(e.getPlayer().getUniqueId());
     }
 
+    /**
+     * Listens to player pre-login event.
+     *
+     * @param   e
+     *          Pre-login event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent e) {
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        preLogin(e.getUniqueId(), e.getName());
+    }
+
     /**
      * Listens to player join event.
      *
@@ -7,12 +7,12 @@ import me.neznamy.tab.shared.Limitations;
 import me.neznamy.tab.shared.ProtocolVersion;
 import me.neznamy.tab.shared.backend.EntityData;
 import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.util.CompiledConstructor;
+import me.neznamy.tab.shared.util.CompiledMethod;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -25,13 +25,13 @@ public class DataWatcher implements EntityData {
 
     /** NMS Fields */
     public static Class<?> DataWatcher;
-    private static Constructor<?> newDataWatcher;
-    private static Method DataWatcher_register;
-    private static Method DataWatcher_markDirty;
-    public static Method DataWatcher_packDirty;
+    private static CompiledConstructor newDataWatcher;
+    private static CompiledMethod DataWatcher_register;
+    private static CompiledMethod DataWatcher_markDirty;
+    public static CompiledMethod DataWatcher_packDirty;
 
     private static Class<?> DataWatcherObject;
-    private static Constructor<?> newDataWatcherObject;
+    private static CompiledConstructor newDataWatcherObject;
 
     private static Object DataWatcherSerializer_BYTE;
     private static Object DataWatcherSerializer_FLOAT;
@@ -57,9 +57,9 @@ public class DataWatcher implements EntityData {
         DataWatcher = BukkitReflection.getClass("network.syncher.SynchedEntityData", "network.syncher.DataWatcher", "DataWatcher");
         if (minorVersion >= 7) {
             componentConverter = new ComponentConverter();
-            newDataWatcher = DataWatcher.getConstructor(BukkitReflection.getClass("world.entity.Entity", "Entity"));
+            newDataWatcher = new CompiledConstructor(DataWatcher.getConstructor(BukkitReflection.getClass("world.entity.Entity", "Entity")));
         } else {
-            newDataWatcher = DataWatcher.getConstructor();
+            newDataWatcher = new CompiledConstructor(DataWatcher.getConstructor());
         }
         if (minorVersion >= 9) {
             DataWatcherObject = BukkitReflection.getClass("network.syncher.EntityDataAccessor",
@@ -68,12 +68,12 @@ public class DataWatcher implements EntityData {
                     "network.syncher.DataWatcherRegistry", "DataWatcherRegistry");
             Class<?> dataWatcherSerializer = BukkitReflection.getClass("network.syncher.EntityDataSerializer",
                     "network.syncher.DataWatcherSerializer", "DataWatcherSerializer");
-            DataWatcher_register = ReflectionUtils.getMethod(
+            DataWatcher_register = new CompiledMethod(ReflectionUtils.getMethod(
                     DataWatcher,
                     new String[]{"define", "register", "a", "m_135372_"}, // {Mojang, Bukkit, Bukkit 1.18+, Mohist 1.18.2}
                     DataWatcherObject, Object.class
-            );
-            newDataWatcherObject = DataWatcherObject.getConstructor(int.class, dataWatcherSerializer);
+            ));
+            newDataWatcherObject = new CompiledConstructor(DataWatcherObject.getConstructor(int.class, dataWatcherSerializer));
             DataWatcherSerializer_BYTE = ReflectionUtils.getField(dataWatcherRegistry, "BYTE", "a", "f_135027_").get(null); // Mohist 1.18.2
             DataWatcherSerializer_FLOAT = ReflectionUtils.getField(dataWatcherRegistry, "FLOAT", "c", "f_135029_").get(null); // Mohist 1.18.2
             DataWatcherSerializer_STRING = ReflectionUtils.getField(dataWatcherRegistry, "STRING", "d", "f_135030_").get(null); // Mohist 1.18.2
@@ -95,17 +95,17 @@ public class DataWatcher implements EntityData {
                 }
             }
         } else {
-            DataWatcher_register = ReflectionUtils.getMethod(
+            DataWatcher_register = new CompiledMethod(ReflectionUtils.getMethod(
                     DataWatcher,
                     new String[]{"func_75682_a", "a"}, int.class, // {Thermos 1.7.10, Bukkit}
                     Object.class
-            );
+            ));
         }
         if (minorVersion >= 19) {
-            DataWatcher_packDirty = ReflectionUtils.getMethod(DataWatcher, new String[] {"packDirty", "b"}); // {Mojang, Bukkit}
+            DataWatcher_packDirty = new CompiledMethod(ReflectionUtils.getMethod(DataWatcher, new String[] {"packDirty", "b"})); // {Mojang, Bukkit}
         }
         if (BukkitReflection.is1_19_3Plus()) {
-            DataWatcher_markDirty = ReflectionUtils.getMethods(DataWatcher, void.class, DataWatcherObject).get(0);
+            DataWatcher_markDirty = new CompiledMethod(ReflectionUtils.getMethods(DataWatcher, void.class, DataWatcherObject).get(0));
         }
     }
     
@@ -216,7 +216,7 @@ public class DataWatcher implements EntityData {
     @SneakyThrows
     public @NotNull Object build() {
         Object nmsWatcher;
-        if (newDataWatcher.getParameterCount() == 1) { //1.7+
+        if (newDataWatcher.getConstructor().getParameterCount() == 1) { //1.7+
             nmsWatcher = newDataWatcher.newInstance(new Object[] {null});
         } else {
             nmsWatcher = newDataWatcher.newInstance();
@@ -46,24 +46,24 @@ public class PacketEntityView implements EntityView {
     /** PacketPlayOutEntityTeleport */
     private static BiFunctionWithException<Integer, Location, Object> newEntityTeleport;
     private static Class<?> EntityTeleportClass;
-    private static Field EntityTeleport_EntityId;
+    private static CompiledField EntityTeleport_EntityId;
 
     /** PacketPlayOutSpawnEntityLiving */
     private static QuintFunction<Integer, UUID, Object, Location, EntityData, Object> newSpawnEntity;
 
     /** Other entity packets */
     private static Class<?> PacketPlayOutEntity;
-    private static Field PacketPlayOutEntity_ENTITYID;
-    private static Field PacketPlayOutEntity_X;
-    private static Field PacketPlayOutEntity_Y;
-    private static Field PacketPlayOutEntity_Z;
+    private static CompiledField PacketPlayOutEntity_ENTITYID;
+    private static CompiledField PacketPlayOutEntity_X;
+    private static CompiledField PacketPlayOutEntity_Y;
+    private static CompiledField PacketPlayOutEntity_Z;
     private static Class<?> PacketPlayOutEntityLook;
     private static QuadFunction<Integer, Long, Long, Long, Object> newMovePacket;
     private static Class<?> PacketPlayOutNamedEntitySpawn;
-    private static Field PacketPlayOutNamedEntitySpawn_ENTITYID;
+    private static CompiledField PacketPlayOutNamedEntitySpawn_ENTITYID;
 
-    private static Constructor<?> newClientboundBundlePacket;
-    private static Field ClientboundBundlePacket_packets;
+    private static CompiledConstructor newClientboundBundlePacket;
+    private static CompiledField ClientboundBundlePacket_packets;
     private static Function<Object, Boolean> isBundlePacket = packet -> false;
     private static BiConsumerWithException<BukkitTabPlayer, Iterable<?>> sendAsBundle = (player, packets) -> {
         for (Object packet : packets) {
@@ -91,8 +91,8 @@ public class PacketEntityView implements EntityView {
             loadEntitySpawn();
             if (BukkitReflection.is1_19_4Plus()) {
                 Class<?> ClientboundBundlePacket = Class.forName("net.minecraft.network.protocol.game.ClientboundBundlePacket");
-                newClientboundBundlePacket = ClientboundBundlePacket.getConstructor(Iterable.class);
-                ClientboundBundlePacket_packets = ReflectionUtils.getOnlyField(ClientboundBundlePacket.getSuperclass(), Iterable.class);
+                newClientboundBundlePacket = new CompiledConstructor(ClientboundBundlePacket.getConstructor(Iterable.class));
+                ClientboundBundlePacket_packets = new CompiledField(ReflectionUtils.getOnlyField(ClientboundBundlePacket.getSuperclass(), Iterable.class));
                 isBundlePacket = ClientboundBundlePacket::isInstance;
                 sendAsBundle = (player, packets) -> packetSender.sendPacket(player.getPlayer(), newClientboundBundlePacket.newInstance(packets));
             }
@@ -115,10 +115,10 @@ public class PacketEntityView implements EntityView {
         Class<?> entityMetadataClass = BukkitReflection.getClass("network.protocol.game.ClientboundSetEntityDataPacket",
                 "network.protocol.game.PacketPlayOutEntityMetadata", "PacketPlayOutEntityMetadata", "Packet40EntityMetadata");
         if (BukkitReflection.is1_19_3Plus()) {
-            Constructor<?> constructor = entityMetadataClass.getConstructor(int.class, List.class);
+            CompiledConstructor constructor = new CompiledConstructor(entityMetadataClass.getConstructor(int.class, List.class));
             newEntityMetadata = (entityId, data) -> constructor.newInstance(entityId, DataWatcher.DataWatcher_packDirty.invoke(data.build()));
         } else {
-            Constructor<?> constructor = entityMetadataClass.getConstructor(int.class, DataWatcher.DataWatcher, boolean.class);
+            CompiledConstructor constructor = new CompiledConstructor(entityMetadataClass.getConstructor(int.class, DataWatcher.DataWatcher, boolean.class));
             newEntityMetadata = (entityId, data) -> constructor.newInstance(entityId, data.build(), true);
         }
     }
@@ -126,9 +126,9 @@ public class PacketEntityView implements EntityView {
     private static void loadEntityDestroy() throws ReflectiveOperationException {
         EntityDestroyClass = BukkitReflection.getClass("network.protocol.game.ClientboundRemoveEntitiesPacket",
                 "network.protocol.game.PacketPlayOutEntityDestroy", "PacketPlayOutEntityDestroy", "Packet29DestroyEntity");
-        Field entities = ReflectionUtils.getOnlyField(EntityDestroyClass);
+        CompiledField entities = new CompiledField(ReflectionUtils.getOnlyField(EntityDestroyClass));
         try {
-            Constructor<?> constructor = EntityDestroyClass.getConstructor(int[].class);
+            CompiledConstructor constructor = new CompiledConstructor(EntityDestroyClass.getConstructor(int[].class));
             destroyEntities = (player, ids) -> packetSender.sendPacket(player.getPlayer(), constructor.newInstance(new Object[]{ids}));
             if (BukkitReflection.getMinorVersion() >= 17) {
                 getDestroyedEntities = packet -> ((List<Integer>) entities.get(packet)).stream().mapToInt(i -> i).toArray();
@@ -137,7 +137,7 @@ public class PacketEntityView implements EntityView {
             }
         } catch (NoSuchMethodException e) {
             //1.17.0 Mojank
-            Constructor<?> constructor = EntityDestroyClass.getConstructor(int.class);
+            CompiledConstructor constructor = new CompiledConstructor(EntityDestroyClass.getConstructor(int.class));
             destroyEntities = (player, ids) -> { for (int entity : ids) packetSender.sendPacket(player.getPlayer(), constructor.newInstance(entity));};
             getDestroyedEntities = packet -> new int[]{entities.getInt(packet)};
         }
@@ -156,25 +156,25 @@ public class PacketEntityView implements EntityView {
             Method World_getHandle = BukkitReflection.getBukkitClass("CraftWorld").getMethod("getHandle");
             Object dummyEntity = newEntityArmorStand.newInstance(World_getHandle.invoke(Bukkit.getWorlds().get(0)), 0, 0, 0);
 
-            Constructor<?> constructor = EntityTeleportClass.getConstructor(BukkitReflection.getClass("world.entity.Entity"));
+            CompiledConstructor constructor = new CompiledConstructor(EntityTeleportClass.getConstructor(BukkitReflection.getClass("world.entity.Entity")));
             newPacket = () -> constructor.newInstance(dummyEntity);
         } else {
-            Constructor<?> constructor = EntityTeleportClass.getConstructor();
+            CompiledConstructor constructor = new CompiledConstructor(EntityTeleportClass.getConstructor());
             newPacket = constructor::newInstance;
         }
 
-        EntityTeleport_EntityId = ReflectionUtils.getFields(EntityTeleportClass, int.class).get(0);
-        Field EntityTeleport_X;
-        Field EntityTeleport_Y;
-        Field EntityTeleport_Z;
+        EntityTeleport_EntityId = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, int.class).get(0));
+        CompiledField EntityTeleport_X;
+        CompiledField EntityTeleport_Y;
+        CompiledField EntityTeleport_Z;
         if (BukkitReflection.getMinorVersion() >= 9) {
-            EntityTeleport_X = ReflectionUtils.getFields(EntityTeleportClass, double.class).get(0);
-            EntityTeleport_Y = ReflectionUtils.getFields(EntityTeleportClass, double.class).get(1);
-            EntityTeleport_Z = ReflectionUtils.getFields(EntityTeleportClass, double.class).get(2);
+            EntityTeleport_X = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, double.class).get(0));
+            EntityTeleport_Y = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, double.class).get(1));
+            EntityTeleport_Z = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, double.class).get(2));
         } else {
-            EntityTeleport_X = ReflectionUtils.getFields(EntityTeleportClass, int.class).get(1);
-            EntityTeleport_Y = ReflectionUtils.getFields(EntityTeleportClass, int.class).get(2);
-            EntityTeleport_Z = ReflectionUtils.getFields(EntityTeleportClass, int.class).get(3);
+            EntityTeleport_X = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, int.class).get(1));
+            EntityTeleport_Y = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, int.class).get(2));
+            EntityTeleport_Z = new CompiledField(ReflectionUtils.getFields(EntityTeleportClass, int.class).get(3));
         }
         newEntityTeleport = (entityId, location) -> {
             Object packet = newPacket.call();
@@ -199,28 +199,28 @@ public class PacketEntityView implements EntityView {
 
 
         // Fields
-        PacketPlayOutEntity_ENTITYID = ReflectionUtils.getFields(PacketPlayOutEntity, int.class).get(0);
+        PacketPlayOutEntity_ENTITYID = new CompiledField(ReflectionUtils.getFields(PacketPlayOutEntity, int.class).get(0));
 
         if (BukkitReflection.getMinorVersion() >= 14) {
             List<Field> fields = ReflectionUtils.getFields(PacketPlayOutEntity, short.class);
-            PacketPlayOutEntity_X = fields.get(0);
-            PacketPlayOutEntity_Y = fields.get(1);
-            PacketPlayOutEntity_Z = fields.get(2);
-            Constructor<?> constructor = packetPlayOutRelEntityMove.getConstructor(int.class, short.class, short.class, short.class, boolean.class);
+            PacketPlayOutEntity_X = new CompiledField(fields.get(0));
+            PacketPlayOutEntity_Y = new CompiledField(fields.get(1));
+            PacketPlayOutEntity_Z = new CompiledField(fields.get(2));
+            CompiledConstructor constructor = new CompiledConstructor(packetPlayOutRelEntityMove.getConstructor(int.class, short.class, short.class, short.class, boolean.class));
             newMovePacket = (entityId, x, y, z) -> constructor.newInstance(entityId, x.shortValue(), y.shortValue(), z.shortValue(), false);
         } else if (BukkitReflection.getMinorVersion() >= 9) {
             List<Field> fields = ReflectionUtils.getFields(PacketPlayOutEntity, int.class);
-            PacketPlayOutEntity_X = fields.get(1);
-            PacketPlayOutEntity_Y = fields.get(2);
-            PacketPlayOutEntity_Z = fields.get(3);
-            Constructor<?> constructor = packetPlayOutRelEntityMove.getConstructor(int.class, long.class, long.class, long.class, boolean.class);
+            PacketPlayOutEntity_X = new CompiledField(fields.get(1));
+            PacketPlayOutEntity_Y = new CompiledField(fields.get(2));
+            PacketPlayOutEntity_Z = new CompiledField(fields.get(3));
+            CompiledConstructor constructor = new CompiledConstructor(packetPlayOutRelEntityMove.getConstructor(int.class, long.class, long.class, long.class, boolean.class));
             newMovePacket = (entityId, x, y, z) -> constructor.newInstance(entityId, x, y, z, false);
         } else if (BukkitReflection.getMinorVersion() == 8) {
             List<Field> fields = ReflectionUtils.getFields(PacketPlayOutEntity, byte.class);
-            PacketPlayOutEntity_X = fields.get(0);
-            PacketPlayOutEntity_Y = fields.get(1);
-            PacketPlayOutEntity_Z = fields.get(2);
-            Constructor<?> constructor = packetPlayOutRelEntityMove.getConstructor(int.class, byte.class, byte.class, byte.class, boolean.class);
+            PacketPlayOutEntity_X = new CompiledField(fields.get(0));
+            PacketPlayOutEntity_Y = new CompiledField(fields.get(1));
+            PacketPlayOutEntity_Z = new CompiledField(fields.get(2));
+            CompiledConstructor constructor = new CompiledConstructor(packetPlayOutRelEntityMove.getConstructor(int.class, byte.class, byte.class, byte.class, boolean.class));
             newMovePacket = (entityId, x, y, z) -> constructor.newInstance(entityId, x.byteValue(), y.byteValue(), z.byteValue(), false);
         }
     }
@@ -247,16 +247,16 @@ public class PacketEntityView implements EntityView {
 
         Class<?> SpawnEntityClass = BukkitReflection.getClass("network.protocol.game.ClientboundAddEntityPacket",
                 "network.protocol.game.PacketPlayOutSpawnEntity", "PacketPlayOutSpawnEntityLiving", "Packet24MobSpawn");
-        Field SpawnEntity_EntityId = ReflectionUtils.getFields(SpawnEntityClass, int.class).get(0);
+        CompiledField SpawnEntity_EntityId = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, int.class).get(0));
         if (BukkitReflection.is1_20_2Plus()) {
             PacketPlayOutNamedEntitySpawn = SpawnEntityClass;
             PacketPlayOutNamedEntitySpawn_ENTITYID = SpawnEntity_EntityId;
         } else {
             PacketPlayOutNamedEntitySpawn = BukkitReflection.getClass("network.protocol.game.ClientboundAddPlayerPacket",
                     "network.protocol.game.PacketPlayOutNamedEntitySpawn", "PacketPlayOutNamedEntitySpawn", "Packet20NamedEntitySpawn");
-            PacketPlayOutNamedEntitySpawn_ENTITYID = ReflectionUtils.getFields(PacketPlayOutNamedEntitySpawn, int.class).get(0);
+            PacketPlayOutNamedEntitySpawn_ENTITYID = new CompiledField(ReflectionUtils.getFields(PacketPlayOutNamedEntitySpawn, int.class).get(0));
         }
-        Constructor<?> constructor;
+        CompiledConstructor constructor;
 
         // 1.17+ constructor using Spawn entity packet
         if (minorVersion >= 17) {
@@ -265,37 +265,37 @@ public class PacketEntityView implements EntityView {
             Class<?> EntityTypes = BukkitReflection.getClass("world.entity.EntityType", "world.entity.EntityTypes");
             if (minorVersion >= 19) {
                 Object EntityTypes_ARMOR_STAND = ReflectionUtils.getField(EntityTypes, "ARMOR_STAND", "d").get(null);
-                constructor = SpawnEntityClass.getConstructor(int.class, UUID.class, double.class, double.class, double.class, float.class, float.class, EntityTypes, int.class, Vec3D, double.class);
+                constructor = new CompiledConstructor(SpawnEntityClass.getConstructor(int.class, UUID.class, double.class, double.class, double.class, float.class, float.class, EntityTypes, int.class, Vec3D, double.class));
                 newSpawnEntity = (id, uuid, type, l, data) -> constructor.newInstance(id, uuid, l.getX(), l.getY(), l.getZ(), 0, 0, EntityTypes_ARMOR_STAND, 0, Vec3D_Empty, 0.0d);
             } else {
                 Object EntityTypes_ARMOR_STAND = ReflectionUtils.getField(EntityTypes, "ARMOR_STAND", "c", "f_20529_").get(null); // Mohist 1.18.2
-                constructor = SpawnEntityClass.getConstructor(int.class, UUID.class, double.class, double.class, double.class, float.class, float.class, EntityTypes, int.class, Vec3D);
+                constructor = new CompiledConstructor(SpawnEntityClass.getConstructor(int.class, UUID.class, double.class, double.class, double.class, float.class, float.class, EntityTypes, int.class, Vec3D));
                 newSpawnEntity = (id, uuid, type, l, data) -> constructor.newInstance(id, uuid, l.getX(), l.getY(), l.getZ(), 0, 0, EntityTypes_ARMOR_STAND, 0, Vec3D_Empty);
             }
             return;
         }
 
         // 1.16- constructor using spawn entity living packet
-        constructor = SpawnEntityClass.getConstructor();
-        @Nullable Field SpawnEntity_UUID;
-        Field SpawnEntity_X;
-        Field SpawnEntity_Y;
-        Field SpawnEntity_Z;
-        @Nullable Field SpawnEntity_DataWatcher;
-        Field SpawnEntity_EntityType = ReflectionUtils.getFields(SpawnEntityClass, int.class).get(1);
+        constructor = new CompiledConstructor(SpawnEntityClass.getConstructor());
+        @Nullable CompiledField SpawnEntity_UUID;
+        CompiledField SpawnEntity_X;
+        CompiledField SpawnEntity_Y;
+        CompiledField SpawnEntity_Z;
+        @Nullable CompiledField SpawnEntity_DataWatcher;
+        CompiledField SpawnEntity_EntityType = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, int.class).get(1));
         if (minorVersion >= 9) {
-            SpawnEntity_UUID = ReflectionUtils.getOnlyField(SpawnEntityClass, UUID.class);
-            SpawnEntity_X = ReflectionUtils.getFields(SpawnEntityClass, double.class).get(0);
-            SpawnEntity_Y = ReflectionUtils.getFields(SpawnEntityClass, double.class).get(1);
-            SpawnEntity_Z = ReflectionUtils.getFields(SpawnEntityClass, double.class).get(2);
+            SpawnEntity_UUID = new CompiledField(ReflectionUtils.getOnlyField(SpawnEntityClass, UUID.class));
+            SpawnEntity_X = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, double.class).get(0));
+            SpawnEntity_Y = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, double.class).get(1));
+            SpawnEntity_Z = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, double.class).get(2));
         } else {
             SpawnEntity_UUID = null;
-            SpawnEntity_X = ReflectionUtils.getFields(SpawnEntityClass, int.class).get(2);
-            SpawnEntity_Y = ReflectionUtils.getFields(SpawnEntityClass, int.class).get(3);
-            SpawnEntity_Z = ReflectionUtils.getFields(SpawnEntityClass, int.class).get(4);
+            SpawnEntity_X = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, int.class).get(2));
+            SpawnEntity_Y = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, int.class).get(3));
+            SpawnEntity_Z = new CompiledField(ReflectionUtils.getFields(SpawnEntityClass, int.class).get(4));
         }
         if (minorVersion < SPLIT_METADATA_VERSION) {
-            SpawnEntity_DataWatcher = ReflectionUtils.getOnlyField(SpawnEntityClass, DataWatcher.DataWatcher);
+            SpawnEntity_DataWatcher = new CompiledField(ReflectionUtils.getOnlyField(SpawnEntityClass, DataWatcher.DataWatcher));
         } else {
             SpawnEntity_DataWatcher = null;
         }
@@ -4,6 +4,7 @@ import me.neznamy.tab.platforms.bukkit.BukkitTabPlayer;
 import me.neznamy.tab.platforms.bukkit.nms.BukkitReflection;
 import me.neznamy.tab.platforms.bukkit.entity.DataWatcher;
 import me.neznamy.tab.platforms.bukkit.platform.BukkitPlatform;
+import me.neznamy.tab.platforms.bukkit.platform.FoliaPlatform;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.backend.EntityData;
 import me.neznamy.tab.shared.backend.features.unlimitedtags.BackendNameTagX;
@@ -21,6 +22,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -37,6 +39,12 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener {
     /** Version in which multiple passenger option was added */
     private static final int MULTI_PASSENGER_VERSION = 11;
 
+    /** Plugin instance used for scheduling tasks */
+    @NotNull private final JavaPlugin plugin;
+
+    /** Task running every tick, {@code null} if not started */
+    @Nullable private BukkitTask tickTask;
+
     /**
      * Constructs new instance and registers the class listener.
      *
@@ -44,6 +52,7 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener {
      *          Plugin instance to use for registering listener
      */
     public BukkitNameTagX(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
@@ -89,6 +98,14 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener {
     @Override
     public void unregisterListener() {
         HandlerList.unregisterAll(this);
+        if (tickTask != null) tickTask.cancel();
+    }
+
+    @Override
+    public boolean runEveryTick(@NotNull Runnable task) {
+        if (TAB.getInstance().getPlatform() instanceof FoliaPlatform) return false; // No global main thread
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, task, 1, 1);
+        return true;
     }
 
     @SuppressWarnings("deprecation")
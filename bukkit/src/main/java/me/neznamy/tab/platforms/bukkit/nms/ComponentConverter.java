@@ -24,7 +24,7 @@ import java.util.function.BiFunction;
 public class ComponentConverter {
 
     /** Component cache for better performance */
-    private final ComponentCache<TabComponent, Object> componentCache = new ComponentCache<>(1000, this::convert0);
+    private final ComponentCache<TabComponent, Object> componentCache = new ComponentCache<>("nms-component", 1000, this::convert0);
 
     private final FunctionWithException<String, Object> newTextComponent;
     private final BiFunction<ChatModifier, ProtocolVersion, Object> convertModifier;
@@ -1,12 +1,10 @@
 package me.neznamy.tab.platforms.bukkit.nms;
 
 import lombok.SneakyThrows;
-import me.neznamy.tab.shared.util.BiConsumerWithException;
-import me.neznamy.tab.shared.util.ReflectionUtils;
+import me.neznamy.tab.shared.util.*;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
 /**
@@ -25,19 +23,23 @@ public class PacketSender {
      * @throws  ReflectiveOperationException
      *          If something fails
      */
+    @SuppressWarnings("unchecked")
     public PacketSender() throws ReflectiveOperationException {
         Class<?> Packet = BukkitReflection.getClass("network.protocol.Packet", "Packet");
         Class<?> EntityPlayer = BukkitReflection.getClass("server.level.ServerPlayer", "server.level.EntityPlayer", "EntityPlayer");
         Class<?> PlayerConnection = BukkitReflection.getClass("server.network.ServerGamePacketListenerImpl", "server.network.PlayerConnection", "PlayerConnection");
         Method getHandle = BukkitReflection.getBukkitClass("entity.CraftPlayer").getMethod("getHandle");
-        Field PLAYER_CONNECTION = ReflectionUtils.getOnlyField(EntityPlayer, PlayerConnection);
+        CompiledField PLAYER_CONNECTION = new CompiledField(ReflectionUtils.getOnlyField(EntityPlayer, PlayerConnection));
         Method sendPacket;
         if (BukkitReflection.getMinorVersion() >= 7) {
             sendPacket = ReflectionUtils.getMethods(PlayerConnection, void.class, Packet).get(0);
         } else {
             sendPacket = ReflectionUtils.getMethod(PlayerConnection, new String[]{"sendPacket"}, Packet);
         }
-        send = (player, packet) -> sendPacket.invoke(PLAYER_CONNECTION.get(getHandle.invoke(player)), packet);
+        // Called for every packet, compile into direct calls
+        FunctionWithException<Player, Object> handle = CompiledMethod.toLambda(FunctionWithException.class, getHandle, getHandle::invoke);
+        BiConsumerWithException<Object, Object> sendPacketFunction = CompiledMethod.toLambda(BiConsumerWithException.class, sendPacket, sendPacket::invoke);
+        send = (player, packet) -> sendPacketFunction.accept(PLAYER_CONNECTION.get(handle.apply(player)), packet);
     }
 
     /**
@@ -11,6 +11,9 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.TabComponent;
 import me.neznamy.tab.shared.platform.Scoreboard;
+import me.neznamy.tab.shared.util.CompiledConstructor;
+import me.neznamy.tab.shared.util.CompiledField;
+import me.neznamy.tab.shared.util.CompiledMethod;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.Nullable;
 
@@ -54,7 +57,6 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
     static Object IScoreboardCriteria_dummy;
 
     private static ScorePacketData scorePacketData;
-    @Getter private static TeamPacketData teamPacketData;
     @Getter private static DisplayPacketData displayPacketData;
     private static PacketSender packetSender;
     private static ComponentConverter componentConverter;
@@ -108,7 +110,7 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
                 newFixedFormat = BukkitReflection.getClass("network.chat.numbers.FixedFormat").getConstructor(Component);
             }
             scorePacketData = new ScorePacketData();
-            teamPacketData = new TeamPacketData();
+            TeamPacketData.load();
             displayPacketData = new DisplayPacketData();
             packetSender = new PacketSender();
             available = true;
@@ -152,9 +154,9 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
     @SneakyThrows
     private Object newObjectivePacket(int action, @NonNull String objectiveName, @NonNull String title, int display,
                                       @Nullable TabComponent numberFormat) {
-        Object packet = newObjectivePacket.newInstance(newObjective(objectiveName, title, display, numberFormat), action);
+        Object packet = Handles.newObjectivePacket.newInstance(newObjective(objectiveName, title, display, numberFormat), action);
         if (BukkitReflection.getMinorVersion() >= 8 && BukkitReflection.getMinorVersion() < 13) {
-            Objective_RENDER_TYPE.set(packet, healthDisplays[display]);
+            Handles.Objective_RENDER_TYPE.set(packet, healthDisplays[display]);
         }
         return packet;
     }
@@ -163,22 +165,22 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
     public void registerTeam0(@NonNull String name, @NonNull String prefix, @NonNull String suffix,
                               @NonNull NameVisibility visibility, @NonNull CollisionRule collision,
                               @NonNull Collection<String> players, int options, @NonNull EnumChatFormat color) {
-        Object team = teamPacketData.createTeam(name);
+        Object team = TeamPacketData.createTeam(name);
         teams.put(name, team);
-        packetSender.sendPacket(player.getPlayer(), teamPacketData.registerTeam(team, prefix, toComponent(prefix), suffix,
+        packetSender.sendPacket(player.getPlayer(), TeamPacketData.registerTeam(team, prefix, toComponent(prefix), suffix,
                 toComponent(suffix), visibility, collision, players, options, color));
     }
 
     @Override
     public void unregisterTeam0(@NonNull String name) {
-        packetSender.sendPacket(player.getPlayer(), teamPacketData.unregisterTeam(teams.remove(name)));
+        packetSender.sendPacket(player.getPlayer(), TeamPacketData.unregisterTeam(teams.remove(name)));
     }
 
     @Override
     public void updateTeam0(@NonNull String name, @NonNull String prefix, @NonNull String suffix,
                             @NonNull NameVisibility visibility, @NonNull CollisionRule collision,
                             int options, @NonNull EnumChatFormat color) {
-        packetSender.sendPacket(player.getPlayer(), teamPacketData.updateTeam(teams.get(name), prefix, toComponent(prefix), suffix,
+        packetSender.sendPacket(player.getPlayer(), TeamPacketData.updateTeam(teams.get(name), prefix, toComponent(prefix), suffix,
                 toComponent(suffix), visibility, collision, options, color));
     }
 
@@ -199,9 +201,9 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
         displayPacketData.onPacketSend(player, packet);
         if (ObjectivePacketClass.isInstance(packet))  {
             TAB.getInstance().getFeatureManager().onObjective(player,
-                    Objective_METHOD.getInt(packet), (String) Objective_OBJECTIVE_NAME.get(packet));
+                    Handles.Objective_METHOD.getInt(packet), (String) Handles.Objective_OBJECTIVE_NAME.get(packet));
         }
-        if (isAntiOverrideTeams()) teamPacketData.onPacketSend(packet);
+        if (isAntiOverrideTeams()) TeamPacketData.onPacketSend(packet);
     }
 
     /**
@@ -222,7 +224,7 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
                                @Nullable TabComponent numberFormat) {
         if (BukkitReflection.is1_20_3Plus()) {
             // 1.20.3+
-            return newScoreboardObjective.newInstance(
+            return Handles.newScoreboardObjective.newInstance(
                     emptyScoreboard,
                     objectiveName,
                     null, // Criteria
@@ -234,7 +236,7 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
         }
         if (BukkitReflection.getMinorVersion() >= 13) {
             // 1.13 - 1.20.2
-            return newScoreboardObjective.newInstance(
+            return Handles.newScoreboardObjective.newInstance(
                     emptyScoreboard,
                     objectiveName,
                     null, // Criteria
@@ -243,8 +245,8 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
             );
         }
         // 1.5 - 1.12.2
-        Object objective = newScoreboardObjective.newInstance(emptyScoreboard, objectiveName, IScoreboardCriteria_dummy);
-        ScoreboardObjective_setDisplayName.invoke(objective, title);
+        Object objective = Handles.newScoreboardObjective.newInstance(emptyScoreboard, objectiveName, IScoreboardCriteria_dummy);
+        Handles.ScoreboardObjective_setDisplayName.invoke(objective, title);
         return objective;
     }
 
@@ -262,7 +264,27 @@ public class PacketScoreboard extends Scoreboard<BukkitTabPlayer> {
     @Nullable
     @SneakyThrows
     private Object toFixedFormat(@Nullable TabComponent numberFormat) {
-        if (numberFormat == null || newFixedFormat == null) return null;
-        return newFixedFormat.newInstance(toComponent(numberFormat));
+        if (numberFormat == null || Handles.newFixedFormat == null) return null;
+        return Handles.newFixedFormat.newInstance(toComponent(numberFormat));
+    }
+
+    /**
+     * Compiled accessors of members loaded in static initializer, used for every objective packet.
+     * They are in static final fields, so the JIT can treat them as constants, which is why
+     * they are in a separate class, created on first use after the members were loaded.
+     * Members not available on current server version are {@code null}.
+     */
+    private static class Handles {
+
+        static final CompiledConstructor newObjectivePacket = new CompiledConstructor(PacketScoreboard.newObjectivePacket);
+        static final CompiledField Objective_OBJECTIVE_NAME = new CompiledField(PacketScoreboard.Objective_OBJECTIVE_NAME);
+        static final CompiledField Objective_METHOD = new CompiledField(PacketScoreboard.Objective_METHOD);
+        static final CompiledField Objective_RENDER_TYPE = PacketScoreboard.Objective_RENDER_TYPE == null ?
+                null : new CompiledField(PacketScoreboard.Objective_RENDER_TYPE);
+        static final CompiledConstructor newScoreboardObjective = new CompiledConstructor(PacketScoreboard.newScoreboardObjective);
+        static final CompiledMethod ScoreboardObjective_setDisplayName = PacketScoreboard.ScoreboardObjective_setDisplayName == null ?
+                null : new CompiledMethod(PacketScoreboard.ScoreboardObjective_setDisplayName);
+        static final CompiledConstructor newFixedFormat = PacketScoreboard.newFixedFormat == null ?
+                null : new CompiledConstructor(PacketScoreboard.newFixedFormat);
     }
 }
@@ -1,6 +1,5 @@
 package me.neznamy.tab.platforms.bukkit.scoreboard.packet;
 
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bukkit.nms.BukkitReflection;
@@ -10,7 +9,9 @@ import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.features.sorting.Sorting;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.util.BiConsumerWithException;
+import me.neznamy.tab.shared.util.CompiledConstructor;
+import me.neznamy.tab.shared.util.CompiledField;
+import me.neznamy.tab.shared.util.CompiledMethod;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,40 +28,44 @@ import java.util.Collection;
 public class TeamPacketData {
 
     /** First version with modern team data using components */
-    private final int MODERN_TEAM_DATA_VERSION = 13;
+    private static final int MODERN_TEAM_DATA_VERSION = 13;
 
     /** First version with static constructor-like methods */
-    private final int STATIC_CONSTRUCTOR_VERSION = 17;
+    private static final int STATIC_CONSTRUCTOR_VERSION = 17;
 
-    private Class<?> Component;
-    private final Object emptyScoreboard;
-    @Getter private final Class<?> TeamPacketClass;
-    private Constructor<?> newTeamPacket;
-    private final Constructor<?> newScoreboardTeam;
-    private Method TeamPacketConstructor_of;
-    private Method TeamPacketConstructor_ofBoolean;
-    private final Field TeamPacket_NAME;
-    private final Field TeamPacket_ACTION;
-    private final Field TeamPacket_PLAYERS;
-    private final Method ScoreboardTeam_getPlayerNameSet;
-    private final Method ScoreboardTeam_setPrefix;
-    private final Method ScoreboardTeam_setSuffix;
-    private Method ScoreboardTeam_setColor;
-    private final Method ScoreboardTeam_setAllowFriendlyFire;
-    private final Method ScoreboardTeam_setCanSeeFriendlyInvisibles;
-    private final Enum<?>[] chatFormats;
+    private static Class<?> Component;
+    private static Object emptyScoreboard;
+    private static Class<?> TeamPacketClass;
+    private static Constructor<?> newTeamPacket;
+    private static Constructor<?> newScoreboardTeam;
+    private static Method TeamPacketConstructor_of;
+    private static Method TeamPacketConstructor_ofBoolean;
+    private static Field TeamPacket_NAME;
+    private static Field TeamPacket_ACTION;
+    private static Field TeamPacket_PLAYERS;
+    private static Method ScoreboardTeam_getPlayerNameSet;
+    private static Method ScoreboardTeam_setPrefix;
+    private static Method ScoreboardTeam_setSuffix;
+    private static Method ScoreboardTeam_setColor;
+    private static Method ScoreboardTeam_setAllowFriendlyFire;
+    private static Method ScoreboardTeam_setCanSeeFriendlyInvisibles;
+    private static Method ScoreboardTeam_setNameTagVisibility;
+    private static Method ScoreboardTeam_setCollisionRule;
+    private static Enum<?>[] chatFormats;
+    private static Enum<?>[] nameVisibilities;
+    private static Enum<?>[] collisionRules;
 
-    private BiConsumerWithException<Object, Scoreboard.NameVisibility> setVisibility = (team, visibility) -> {};
-    private BiConsumerWithException<Object, Scoreboard.CollisionRule> setCollision = (team, collision) -> {};
+    private TeamPacketData() {
+    }
 
     /**
-     * Constructs new instance and loads all required NMS classes, fields and methods.
+     * Loads all required NMS classes, fields and methods.
      * If anything fails, exception is thrown.
      *
      * @throws  ReflectiveOperationException
      *          If anything fails
      */
-    public TeamPacketData() throws ReflectiveOperationException {
+    public static void load() throws ReflectiveOperationException {
         int minorVersion = BukkitReflection.getMinorVersion();
         Class<?> Scoreboard = BukkitReflection.getClass("world.scores.Scoreboard", "Scoreboard");
         Class<?> scoreboardTeam = BukkitReflection.getClass("world.scores.PlayerTeam", "world.scores.ScoreboardTeam", "ScoreboardTeam");
@@ -125,30 +130,26 @@ public class TeamPacketData {
         }
     }
 
-    @SneakyThrows
-    private void loadVisibility(@NonNull Class<?> scoreboardTeam) {
+    private static void loadVisibility(@NonNull Class<?> scoreboardTeam) throws ReflectiveOperationException {
         Class<?> enumNameTagVisibility = BukkitReflection.getClass(
                 "world.scores.Team$Visibility", // Mojang mapped
                 "world.scores.ScoreboardTeamBase$EnumNameTagVisibility", // Bukkit 1.17+
                 "ScoreboardTeamBase$EnumNameTagVisibility", // Bukkit 1.8.1 - 1.16.5
                 "EnumNameTagVisibility" // Bukkit 1.8.0
         );
-        Enum<?>[] nameVisibilities = (Enum<?>[]) enumNameTagVisibility.getMethod("values").invoke(null);
-        Method setNameTagVisibility = ReflectionUtils.getMethod(
+        nameVisibilities = (Enum<?>[]) enumNameTagVisibility.getMethod("values").invoke(null);
+        ScoreboardTeam_setNameTagVisibility = ReflectionUtils.getMethod(
                 scoreboardTeam,
                 new String[]{"setNameTagVisibility", "a", "m_83346_"}, // {1.8.1+, 1.8 & 1.18+, Mohist 1.18.2}
                 enumNameTagVisibility
         );
-        setVisibility = (team, visibility) -> setNameTagVisibility.invoke(team, nameVisibilities[visibility.ordinal()]);
     }
 
-    @SneakyThrows
-    private void loadCollision(@NonNull Class<?> scoreboardTeam) {
+    private static void loadCollision(@NonNull Class<?> scoreboardTeam) throws ReflectiveOperationException {
         Class<?> enumTeamPush = BukkitReflection.getClass("world.scores.Team$CollisionRule",
                 "world.scores.ScoreboardTeamBase$EnumTeamPush", "ScoreboardTeamBase$EnumTeamPush");
-        Enum<?>[] collisionRules = (Enum<?>[]) enumTeamPush.getMethod("values").invoke(null);
-        Method setCollisionRule = ReflectionUtils.getOnlyMethod(scoreboardTeam, void.class, enumTeamPush);
-        setCollision = (team, collision) -> setCollisionRule.invoke(team, collisionRules[collision.ordinal()]);
+        collisionRules = (Enum<?>[]) enumTeamPush.getMethod("values").invoke(null);
+        ScoreboardTeam_setCollisionRule = ReflectionUtils.getOnlyMethod(scoreboardTeam, void.class, enumTeamPush);
     }
 
     /**
@@ -177,16 +178,16 @@ public class TeamPacketData {
      * @return  Register team packet with specified parameters
      */
     @SneakyThrows
-    public Object registerTeam(@NonNull Object team, @NonNull String prefix, @Nullable Object prefixComponent,
+    public static Object registerTeam(@NonNull Object team, @NonNull String prefix, @Nullable Object prefixComponent,
                                @NonNull String suffix, @Nullable Object suffixComponent,
                                @NonNull Scoreboard.NameVisibility visibility, @NonNull Scoreboard.CollisionRule collision,
                                @NonNull Collection<String> players, int options, @NonNull EnumChatFormat color) {
         updateTeamData(team, prefix, prefixComponent, suffix, suffixComponent, visibility, collision, options, color);
-        ((Collection<String>) ScoreboardTeam_getPlayerNameSet.invoke(team)).addAll(players);
+        ((Collection<String>) Handles.ScoreboardTeam_getPlayerNameSet.invoke(team)).addAll(players);
         if (BukkitReflection.getMinorVersion() >= STATIC_CONSTRUCTOR_VERSION) {
-            return TeamPacketConstructor_ofBoolean.invoke(null, team, true);
+            return Handles.TeamPacketConstructor_ofBoolean.invoke(null, team, true);
         } else {
-            return newTeamPacket.newInstance(team, Scoreboard.TeamAction.CREATE);
+            return Handles.newTeamPacket.newInstance(team, Scoreboard.TeamAction.CREATE);
         }
     }
 
@@ -198,11 +199,11 @@ public class TeamPacketData {
      * @return  Packet for unregistering team
      */
     @SneakyThrows
-    public Object unregisterTeam(@NonNull Object team) {
+    public static Object unregisterTeam(@NonNull Object team) {
         if (BukkitReflection.getMinorVersion() >= STATIC_CONSTRUCTOR_VERSION) {
-            return TeamPacketConstructor_of.invoke(null, team);
+            return Handles.TeamPacketConstructor_of.invoke(null, team);
         } else {
-            return newTeamPacket.newInstance(team, Scoreboard.TeamAction.REMOVE);
+            return Handles.newTeamPacket.newInstance(team, Scoreboard.TeamAction.REMOVE);
         }
     }
 
@@ -230,15 +231,15 @@ public class TeamPacketData {
      * @return  Update team packet with specified parameters
      */
     @SneakyThrows
-    public Object updateTeam(@NonNull Object team, @NonNull String prefix, @Nullable Object prefixComponent,
+    public static Object updateTeam(@NonNull Object team, @NonNull String prefix, @Nullable Object prefixComponent,
                              @NonNull String suffix, @Nullable Object suffixComponent,
                              @NonNull Scoreboard.NameVisibility visibility, @NonNull Scoreboard.CollisionRule collision,
                              int options, @NonNull EnumChatFormat color) {
         updateTeamData(team, prefix, prefixComponent, suffix, suffixComponent, visibility, collision, options, color);
         if (BukkitReflection.getMinorVersion() >= STATIC_CONSTRUCTOR_VERSION) {
-            return TeamPacketConstructor_ofBoolean.invoke(null, team, false);
+            return Handles.TeamPacketConstructor_ofBoolean.invoke(null, team, false);
         } else {
-            return newTeamPacket.newInstance(team, Scoreboard.TeamAction.UPDATE);
+            return Handles.newTeamPacket.newInstance(team, Scoreboard.TeamAction.UPDATE);
         }
     }
 
@@ -265,22 +266,26 @@ public class TeamPacketData {
      *          Team color for 1.13+
      */
     @SneakyThrows
-    private void updateTeamData(@NonNull Object team, @NonNull String prefix, @Nullable Object prefixComponent,
+    private static void updateTeamData(@NonNull Object team, @NonNull String prefix, @Nullable Object prefixComponent,
                                   @NonNull String suffix, @Nullable Object suffixComponent,
                                   @NonNull Scoreboard.NameVisibility visibility, @NonNull Scoreboard.CollisionRule collision,
                                   int options, @NonNull EnumChatFormat color) {
-        ScoreboardTeam_setAllowFriendlyFire.invoke(team, (options & 0x1) > 0);
-        ScoreboardTeam_setCanSeeFriendlyInvisibles.invoke(team, (options & 0x2) > 0);
+        Handles.ScoreboardTeam_setAllowFriendlyFire.invoke(team, (options & 0x1) > 0);
+        Handles.ScoreboardTeam_setCanSeeFriendlyInvisibles.invoke(team, (options & 0x2) > 0);
         if (BukkitReflection.getMinorVersion() >= MODERN_TEAM_DATA_VERSION) {
-            ScoreboardTeam_setPrefix.invoke(team, prefixComponent);
-            ScoreboardTeam_setSuffix.invoke(team, suffixComponent);
-            ScoreboardTeam_setColor.invoke(team, chatFormats[color.ordinal()]);
+            Handles.ScoreboardTeam_setPrefix.invoke(team, prefixComponent);
+            Handles.ScoreboardTeam_setSuffix.invoke(team, suffixComponent);
+            Handles.ScoreboardTeam_setColor.invoke(team, chatFormats[color.ordinal()]);
         } else {
-            ScoreboardTeam_setPrefix.invoke(team, prefix);
-            ScoreboardTeam_setSuffix.invoke(team, suffix);
+            Handles.ScoreboardTeam_setPrefix.invoke(team, prefix);
+            Handles.ScoreboardTeam_setSuffix.invoke(team, suffix);
+        }
+        if (Handles.ScoreboardTeam_setNameTagVisibility != null) {
+            Handles.ScoreboardTeam_setNameTagVisibility.invoke(team, nameVisibilities[visibility.ordinal()]);
+        }
+        if (Handles.ScoreboardTeam_setCollisionRule != null) {
+            Handles.ScoreboardTeam_setCollisionRule.invoke(team, collisionRules[collision.ordinal()]);
         }
-        setVisibility.accept(team, visibility);
-        setCollision.accept(team, collision);
     }
 
     /**
@@ -291,8 +296,8 @@ public class TeamPacketData {
      * @return  Team with specified name
      */
     @SneakyThrows
-    public Object createTeam(@NonNull String name) {
-        return newScoreboardTeam.newInstance(emptyScoreboard, name);
+    public static Object createTeam(@NonNull String name) {
+        return Handles.newScoreboardTeam.newInstance(emptyScoreboard, name);
     }
 
     /**
@@ -303,13 +308,13 @@ public class TeamPacketData {
      *          Received packet
      */
     @SneakyThrows
-    public void onPacketSend(@NonNull Object packet) {
+    public static void onPacketSend(@NonNull Object packet) {
         if (!TeamPacketClass.isInstance(packet)) return;
         if (TAB.getInstance().getNameTagManager() == null) return;
-        int action = TeamPacket_ACTION.getInt(packet);
+        int action = Handles.TeamPacket_ACTION.getInt(packet);
         if (action == 1 || action == 2 || action == 4) return;
-        Collection<String> players = (Collection<String>) TeamPacket_PLAYERS.get(packet);
-        String teamName = (String) TeamPacket_NAME.get(packet);
+        Collection<String> players = (Collection<String>) Handles.TeamPacket_PLAYERS.get(packet);
+        String teamName = (String) Handles.TeamPacket_NAME.get(packet);
         if (players == null) return;
         //creating a new list to prevent NoSuchFieldException in minecraft packet encoder when a player is removed
         Collection<String> newList = new ArrayList<>();
@@ -332,6 +337,41 @@ public class TeamPacketData {
                 newList.add(entry);
             }
         }
-        TeamPacket_PLAYERS.set(packet, newList);
+        Handles.TeamPacket_PLAYERS.set(packet, newList);
+    }
+
+    /**
+     * Compiled accessors of members loaded by {@link #load()}, used for every team packet.
+     * They are in static final fields, so the JIT can treat them as constants, which is
+     * why they are created on first use, always after the members were loaded.
+     * Members not available on current server version are {@code null}.
+     */
+    private static class Handles {
+
+        static final CompiledConstructor newTeamPacket = compile(TeamPacketData.newTeamPacket);
+        static final CompiledConstructor newScoreboardTeam = compile(TeamPacketData.newScoreboardTeam);
+        static final CompiledMethod TeamPacketConstructor_of = compile(TeamPacketData.TeamPacketConstructor_of);
+        static final CompiledMethod TeamPacketConstructor_ofBoolean = compile(TeamPacketData.TeamPacketConstructor_ofBoolean);
+        static final CompiledField TeamPacket_NAME = new CompiledField(TeamPacketData.TeamPacket_NAME);
+        static final CompiledField TeamPacket_ACTION = new CompiledField(TeamPacketData.TeamPacket_ACTION);
+        static final CompiledField TeamPacket_PLAYERS = new CompiledField(TeamPacketData.TeamPacket_PLAYERS);
+        static final CompiledMethod ScoreboardTeam_getPlayerNameSet = compile(TeamPacketData.ScoreboardTeam_getPlayerNameSet);
+        static final CompiledMethod ScoreboardTeam_setPrefix = compile(TeamPacketData.ScoreboardTeam_setPrefix);
+        static final CompiledMethod ScoreboardTeam_setSuffix = compile(TeamPacketData.ScoreboardTeam_setSuffix);
+        static final CompiledMethod ScoreboardTeam_setColor = compile(TeamPacketData.ScoreboardTeam_setColor);
+        static final CompiledMethod ScoreboardTeam_setAllowFriendlyFire = compile(TeamPacketData.ScoreboardTeam_setAllowFriendlyFire);
+        static final CompiledMethod ScoreboardTeam_setCanSeeFriendlyInvisibles = compile(TeamPacketData.ScoreboardTeam_setCanSeeFriendlyInvisibles);
+        static final CompiledMethod ScoreboardTeam_setNameTagVisibility = compile(TeamPacketData.ScoreboardTeam_setNameTagVisibility);
+        static final CompiledMethod ScoreboardTeam_setCollisionRule = compile(TeamPacketData.ScoreboardTeam_setCollisionRule);
+
+        @Nullable
+        private static CompiledMethod compile(@Nullable Method method) {
+            return method == null ? null : new CompiledMethod(method);
+        }
+
+        @Nullable
+        private static CompiledConstructor compile(@Nullable Constructor<?> constructor) {
+            return constructor == null ? null : new CompiledConstructor(constructor);
+        }
     }
 }
@@ -6,6 +6,8 @@ import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bukkit.BukkitTabPlayer;
 import me.neznamy.tab.platforms.bukkit.nms.BukkitReflection;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.util.CompiledConstructor;
+import me.neznamy.tab.shared.util.CompiledField;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.Nullable;
 
@@ -88,16 +90,29 @@ public class PacketTabList1193 extends PacketTabList18 {
     @Override
     @SneakyThrows
     public void removeEntry(@NonNull UUID entry) {
-        packetSender.sendPacket(player.getPlayer(), newRemovePacket.newInstance(Collections.singletonList(entry)));
+        packetSender.sendPacket(player.getPlayer(), Handles1193.newRemovePacket.newInstance(Collections.singletonList(entry)));
     }
 
+    @Override
+    @SneakyThrows
+    public void removeEntries(@NonNull Collection<UUID> entries) {
+        if (entries.isEmpty()) return;
+        packetSender.sendPacket(player.getPlayer(), Handles1193.newRemovePacket.newInstance(new ArrayList<>(entries)));
+    }
+
+    @Override
     @SneakyThrows
     @NonNull
+    protected Object newPacket(@NonNull Action action) {
+        return Handles.newPlayerInfo.newInstance(actionToEnumSet.get(action), Collections.emptyList());
+    }
+
     @Override
-    public Object createPacket(@NonNull Action action, @NonNull UUID id, @NonNull String name, @Nullable Skin skin,
-                               int latency, int gameMode, @Nullable Object displayName) {
-        Object packet = newPlayerInfo.newInstance(actionToEnumSet.get(action), Collections.emptyList());
-        PLAYERS.set(packet, Collections.singletonList(newPlayerInfoData.newInstance(
+    @SneakyThrows
+    @NonNull
+    protected Object createEntryData(@NonNull Object packet, @NonNull Action action, @NonNull UUID id, @NonNull String name,
+                                     @Nullable Skin skin, int latency, int gameMode, @Nullable Object displayName) {
+        return Handles.newPlayerInfoData.newInstance(
                 id,
                 action == Action.ADD_PLAYER ? createProfile(id, name, skin) : null,
                 true,
@@ -105,23 +120,22 @@ public class PacketTabList1193 extends PacketTabList18 {
                 gameModes[gameMode],
                 displayName,
                 null
-        )));
-        return packet;
+        );
     }
 
     @Override
     @SneakyThrows
     public void onPacketSend(@NonNull Object packet) {
         if (!(PlayerInfoClass.isInstance(packet))) return;
-        EnumSet<?> actions = (EnumSet<?>) ACTION.get(packet);
+        EnumSet<?> actions = (EnumSet<?>) Handles.ACTION.get(packet);
         List<Object> updatedList = new ArrayList<>();
         boolean rewritePacket = false;
-        for (Object nmsData : (List<?>) PLAYERS.get(packet)) {
+        for (Object nmsData : (List<?>) Handles.PLAYERS.get(packet)) {
             boolean rewriteEntry = false;
-            UUID id = (UUID) PlayerInfoData_UUID.get(nmsData);
-            GameProfile profile = (GameProfile) PlayerInfoData_Profile.get(nmsData);
-            Object displayName = PlayerInfoData_DisplayName.get(nmsData);
-            int latency = PlayerInfoData_Latency.getInt(nmsData);
+            UUID id = (UUID) Handles1193.PlayerInfoData_UUID.get(nmsData);
+            GameProfile profile = (GameProfile) Handles.PlayerInfoData_Profile.get(nmsData);
+            Object displayName = Handles.PlayerInfoData_DisplayName.get(nmsData);
+            int latency = Handles.PlayerInfoData_Latency.getInt(nmsData);
             if (actions.contains(actionUpdateDisplayName)) {
                 Object expectedName = getExpectedDisplayName(id);
                 if (expectedName != null && expectedName != displayName) {
@@ -140,15 +154,28 @@ public class PacketTabList1193 extends PacketTabList18 {
                 TAB.getInstance().getFeatureManager().onEntryAdd(player, id, profile.getName());
             }
             // 1.19.3 is using records, which do not allow changing final fields, need to rewrite the list entirely
-            updatedList.add(rewriteEntry ? newPlayerInfoData.newInstance(
+            updatedList.add(rewriteEntry ? Handles.newPlayerInfoData.newInstance(
                     id,
                     profile,
-                    PlayerInfoData_Listed.getBoolean(nmsData),
+                    Handles1193.PlayerInfoData_Listed.getBoolean(nmsData),
                     latency,
-                    PlayerInfoData_GameMode.get(nmsData),
+                    Handles1193.PlayerInfoData_GameMode.get(nmsData),
                     displayName,
-                    PlayerInfoData_RemoteChatSession.get(nmsData)) : nmsData);
+                    Handles1193.PlayerInfoData_RemoteChatSession.get(nmsData)) : nmsData);
         }
-        if (rewritePacket) PLAYERS.set(packet, updatedList);
+        if (rewritePacket) Handles.PLAYERS.set(packet, updatedList);
+    }
+
+    /**
+     * Compiled accessors of members only present in 1.19.3+, created on first use
+     * for the same reason as {@link PacketTabList18.Handles}.
+     */
+    private static class Handles1193 {
+
+        static final CompiledConstructor newRemovePacket = new CompiledConstructor(PacketTabList1193.newRemovePacket);
+        static final CompiledField PlayerInfoData_UUID = new CompiledField(PacketTabList1193.PlayerInfoData_UUID);
+        static final CompiledField PlayerInfoData_GameMode = new CompiledField(PacketTabList1193.PlayerInfoData_GameMode);
+        static final CompiledField PlayerInfoData_Listed = new CompiledField(PacketTabList1193.PlayerInfoData_Listed);
+        static final CompiledField PlayerInfoData_RemoteChatSession = new CompiledField(PacketTabList1193.PlayerInfoData_RemoteChatSession);
     }
 }
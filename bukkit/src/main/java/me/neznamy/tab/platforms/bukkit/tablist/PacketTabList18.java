@@ -13,6 +13,8 @@ import me.neznamy.tab.platforms.bukkit.nms.PacketSender;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.chat.TabComponent;
 import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.util.CompiledConstructor;
+import me.neznamy.tab.shared.util.CompiledField;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.Nullable;
 
@@ -139,6 +141,53 @@ public class PacketTabList18 extends TabListBase<Object> {
                 createPacket(Action.ADD_PLAYER, id, name, skin, latency, gameMode, displayName));
     }
 
+    @Override
+    public void removeEntries(@NonNull Collection<UUID> entries) {
+        if (entries.isEmpty()) return;
+        Object packet = newPacket(Action.REMOVE_PLAYER);
+        List<Object> data = new ArrayList<>(entries.size());
+        for (UUID id : entries) {
+            data.add(createEntryData(packet, Action.REMOVE_PLAYER, id, "", null, 0, 0, null));
+        }
+        sendPacket(packet, data);
+    }
+
+    @Override
+    protected void addEntries0(@NonNull List<Entry> entries, @NonNull List<Object> displayNames) {
+        Object packet = newPacket(Action.ADD_PLAYER);
+        List<Object> data = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            data.add(createEntryData(packet, Action.ADD_PLAYER, entry.getUniqueId(), entry.getName(), entry.getSkin(),
+                    entry.getLatency(), entry.getGameMode(), displayNames.get(i)));
+        }
+        sendPacket(packet, data);
+    }
+
+    @Override
+    protected void updateDisplayNames0(@NonNull Map<UUID, Object> displayNames) {
+        Object packet = newPacket(Action.UPDATE_DISPLAY_NAME);
+        List<Object> data = new ArrayList<>(displayNames.size());
+        for (Map.Entry<UUID, Object> entry : displayNames.entrySet()) {
+            data.add(createEntryData(packet, Action.UPDATE_DISPLAY_NAME, entry.getKey(), "", null, 0, 0, entry.getValue()));
+        }
+        sendPacket(packet, data);
+    }
+
+    /**
+     * Fills packet with given entries and sends it to the player.
+     *
+     * @param   packet
+     *          Packet to send
+     * @param   data
+     *          Entries to put into the packet
+     */
+    @SneakyThrows
+    private void sendPacket(@NonNull Object packet, @NonNull List<Object> data) {
+        Handles.PLAYERS.set(packet, data);
+        packetSender.sendPacket(player.getPlayer(), packet);
+    }
+
     /**
      * Creates packet from given parameters.
      *
@@ -162,7 +211,49 @@ public class PacketTabList18 extends TabListBase<Object> {
     @NonNull
     public Object createPacket(@NonNull Action action, @NonNull UUID id, @NonNull String name, @Nullable Skin skin,
                                int latency, int gameMode, @Nullable Object displayName) {
-        Object packet = newPlayerInfo.newInstance(Enum.valueOf(ActionClass, action.name()), Collections.emptyList());
+        Object packet = newPacket(action);
+        Handles.PLAYERS.set(packet, Collections.singletonList(createEntryData(packet, action, id, name, skin, latency, gameMode, displayName)));
+        return packet;
+    }
+
+    /**
+     * Creates new packet with given action and no entries.
+     *
+     * @param   action
+     *          Packet action
+     * @return  Packet with given action
+     */
+    @SneakyThrows
+    @NonNull
+    protected Object newPacket(@NonNull Action action) {
+        return Handles.newPlayerInfo.newInstance(Enum.valueOf(ActionClass, action.name()), Collections.emptyList());
+    }
+
+    /**
+     * Creates entry data for packet from given parameters.
+     *
+     * @param   packet
+     *          Packet the entry will be inserted into
+     * @param   action
+     *          Packet action
+     * @param   id
+     *          Entry UUID
+     * @param   name
+     *          Entry name
+     * @param   skin
+     *          Entry skin
+     * @param   latency
+     *          Entry latency
+     * @param   gameMode
+     *          Entry game mode
+     * @param   displayName
+     *          Entry display name
+     * @return  Entry data from given parameters
+     */
+    @SneakyThrows
+    @NonNull
+    protected Object createEntryData(@NonNull Object packet, @NonNull Action action, @NonNull UUID id, @NonNull String name,
+                                     @Nullable Skin skin, int latency, int gameMode, @Nullable Object displayName) {
         List<Object> parameters = new ArrayList<>();
         if (newPlayerInfoData.getParameterTypes()[0] == PlayerInfoClass) {
             parameters.add(packet);
@@ -172,8 +263,7 @@ public class PacketTabList18 extends TabListBase<Object> {
         parameters.add(gameModes[gameMode]);
         parameters.add(displayName);
         if (BukkitReflection.getMinorVersion() >= 19) parameters.add(null);
-        PLAYERS.set(packet, Collections.singletonList(newPlayerInfoData.newInstance(parameters.toArray())));
-        return packet;
+        return Handles.newPlayerInfoData.newInstance(parameters.toArray());
     }
 
     @Override
@@ -206,21 +296,37 @@ public class PacketTabList18 extends TabListBase<Object> {
     @SneakyThrows
     public void onPacketSend(@NonNull Object packet) {
         if (!(PlayerInfoClass.isInstance(packet))) return;
-        String action = ACTION.get(packet).toString();
-        for (Object nmsData : (List<?>) PLAYERS.get(packet)) {
-            GameProfile profile = (GameProfile) PlayerInfoData_Profile.get(nmsData);
+        String action = Handles.ACTION.get(packet).toString();
+        for (Object nmsData : (List<?>) Handles.PLAYERS.get(packet)) {
+            GameProfile profile = (GameProfile) Handles.PlayerInfoData_Profile.get(nmsData);
             UUID id = profile.getId();
             if (action.equals(Action.UPDATE_DISPLAY_NAME.name()) || action.equals(Action.ADD_PLAYER.name())) {
                 Object expectedName = getExpectedDisplayName(id);
-                if (expectedName != null) PlayerInfoData_DisplayName.set(nmsData, expectedName);
+                if (expectedName != null) Handles.PlayerInfoData_DisplayName.set(nmsData, expectedName);
             }
             if (action.equals(Action.UPDATE_LATENCY.name()) || action.equals(Action.ADD_PLAYER.name())) {
-                int latency = TAB.getInstance().getFeatureManager().onLatencyChange(player, id, PlayerInfoData_Latency.getInt(nmsData));
-                PlayerInfoData_Latency.set(nmsData, latency);
+                int latency = TAB.getInstance().getFeatureManager().onLatencyChange(player, id, Handles.PlayerInfoData_Latency.getInt(nmsData));
+                Handles.PlayerInfoData_Latency.set(nmsData, latency);
             }
             if (action.equals(Action.ADD_PLAYER.name())) {
                 TAB.getInstance().getFeatureManager().onEntryAdd(player, id, profile.getName());
             }
         }
     }
+
+    /**
+     * Compiled accessors of members loaded by {@link #load()} or {@link PacketTabList1193#loadNew()},
+     * used for every packet. They are in static final fields, so the JIT can treat them as constants,
+     * which is why they are created on first use, always after the members were loaded.
+     */
+    protected static class Handles {
+
+        static final CompiledConstructor newPlayerInfo = new CompiledConstructor(PacketTabList18.newPlayerInfo);
+        static final CompiledField ACTION = new CompiledField(PacketTabList18.ACTION);
+        static final CompiledField PLAYERS = new CompiledField(PacketTabList18.PLAYERS);
+        static final CompiledConstructor newPlayerInfoData = new CompiledConstructor(PacketTabList18.newPlayerInfoData);
+        static final CompiledField PlayerInfoData_Profile = new CompiledField(PacketTabList18.PlayerInfoData_Profile);
+        static final CompiledField PlayerInfoData_Latency = new CompiledField(PacketTabList18.PlayerInfoData_Latency);
+        static final CompiledField PlayerInfoData_DisplayName = new CompiledField(PacketTabList18.PlayerInfoData_DisplayName);
+    }
 }
@@ -7,11 +7,13 @@ import me.neznamy.tab.shared.platform.EventListener;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.event.ChatEvent;
+import net.md_5.bungee.api.event.LoginEvent;
 import net.md_5.bungee.api.event.PlayerDisconnectEvent;
 import net.md_5.bungee.api.event.PluginMessageEvent;
 import net.md_5.bungee.api.event.ServerSwitchEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
+import net.md_5.bungee.event.EventPriority;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -30,6 +32,18 @@ public class BungeeEventListener implements EventListener<ProxiedPlayer>, Listen
         quit(e.getPlayer().getUniqueId());
     }
 
+    /**
+     * Listens to player login.
+     *
+     * @param   e
+     *          Login event
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onLogin(LoginEvent e) {
+        if (e.isCancelled()) return;
+        preLogin(e.getConnection().getUniqueId(), e.getConnection().getName());
+    }
+
     /**
      * Listens to player connecting to a backend server. This handles
      * both initial connections and server switch.
@@ -36,7 +36,7 @@ import java.util.Locale;
 public class BungeePlatform extends ProxyPlatform {
 
     /** Component cache for better performance */
-    private final ComponentCache<TabComponent, BaseComponent> cache = new ComponentCache<>(1000, this::toComponent0);
+    private final ComponentCache<TabComponent, BaseComponent> cache = new ComponentCache<>("bungee-component", 1000, this::toComponent0);
 
     @NotNull
     private final BungeeTAB plugin;
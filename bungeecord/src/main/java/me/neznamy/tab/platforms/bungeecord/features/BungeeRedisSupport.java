@@ -11,6 +11,8 @@ import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * RedisBungee implementation for BungeeCord
  */
@@ -30,7 +32,7 @@ public class BungeeRedisSupport extends RedisSupport implements Listener {
     @EventHandler
     public void onMessage(@NotNull PubSubMessageEvent e) {
         if (!e.getChannel().equals(TabConstants.REDIS_CHANNEL_NAME)) return;
-        processMessage(e.getMessage());
+        processMessage(e.getMessage().getBytes(StandardCharsets.ISO_8859_1));
     }
 
     @Override
@@ -46,7 +48,9 @@ public class BungeeRedisSupport extends RedisSupport implements Listener {
     }
 
     @Override
-    public void sendMessage(@NotNull String message) {
-        RedisBungeeAPI.getRedisBungeeApi().sendChannelMessage(TabConstants.REDIS_CHANNEL_NAME, message);
+    public void sendMessage(@NotNull byte[] frame) {
+        // RedisBungee only accepts strings, ISO-8859-1 maps each byte to a single char
+        RedisBungeeAPI.getRedisBungeeApi().sendChannelMessage(TabConstants.REDIS_CHANNEL_NAME,
+                new String(frame, StandardCharsets.ISO_8859_1));
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import me.neznamy.tab.shared.backend.EntityData;
 import me.neznamy.tab.shared.backend.features.unlimitedtags.BackendNameTagX;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.phys.Vec3;
@@ -24,6 +25,9 @@ public class FabricNameTagX extends BackendNameTagX {
     /** Flag tracking whether this instance is still running or not */
     private boolean enabled = true;
 
+    /** Task running at the end of every server tick, {@code null} if not started */
+    @Nullable private volatile Runnable tickTask;
+
     /**
      * Constructs new instance and registers event listener.
      */
@@ -35,6 +39,9 @@ public class FabricNameTagX extends BackendNameTagX {
             });
         } // TODO else
         // TODO sneaking
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (enabled && tickTask != null) tickTask.run();
+        });
     }
 
     @Override
@@ -60,6 +67,12 @@ public class FabricNameTagX extends BackendNameTagX {
         enabled = false;
     }
 
+    @Override
+    public boolean runEveryTick(@NotNull Runnable task) {
+        tickTask = task;
+        return true;
+    }
+
     @Override
     @NotNull
     public List<Integer> getPassengers(@NotNull Object vehicle) {
@@ -22,6 +22,15 @@ dependencies {
     compileOnlyApi("net.kyori:adventure-text-serializer-legacy:4.13.0")
     compileOnlyApi("net.kyori:adventure-text-serializer-gson:4.13.0")
     compileOnlyApi("net.kyori:adventure-text-minimessage:4.13.0")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.0")
+    // Provided by the server at runtime, needed to run shared code outside of it
+    testImplementation("com.google.guava:guava:31.1-jre")
+    testImplementation("com.h2database:h2:2.2.224")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 blossom {
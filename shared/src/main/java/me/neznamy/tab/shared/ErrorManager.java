@@ -242,14 +242,14 @@ public class ErrorManager {
     }
 
     /**
-     * Prints error message when RedidSupport received message with unknown action.
+     * Prints error message when RedidSupport received message with unknown id.
      *
-     * @param   action
-     *          Message action
+     * @param   id
+     *          Message id
      */
-    public void unknownRedisMessage(@NotNull String action) {
-        printError("RedisSupport received unknown action: \"" + action +
-                "\". Does it come from a feature enabled on another proxy, but not here?",
+    public void unknownRedisMessage(int id) {
+        printError("RedisSupport received message with unknown id: " + id +
+                ". Does it come from a feature enabled on another proxy, but not here?",
                 Collections.emptyList(), false, errorLog);
     }
 
@@ -328,6 +328,18 @@ public class ErrorManager {
         printError("An error was thrown when executing task", t, false, errorLog);
     }
 
+    /**
+     * Prints error message if a configuration file could not be saved.
+     *
+     * @param   file
+     *          File which failed to save
+     * @param   t
+     *          Thrown error
+     */
+    public void configSaveFailed(@NotNull File file, @NotNull Throwable t) {
+        printError("Failed to save file " + file.getPath(), t, true, errorLog);
+    }
+
     /**
      * Prints error message if a MySQL connection fails.
      *
@@ -1,6 +1,8 @@
 package me.neznamy.tab.shared;
 
+import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import me.neznamy.tab.shared.config.Configs;
@@ -35,14 +37,30 @@ public class FeatureManager {
     @NotNull
     private TabFeature[] values = new TabFeature[0];
 
-    /** Flag tracking presence of a feature listening to raw packets for faster check with better performance */
-    private boolean hasPacketSendListener;
+    /** Only 1 in this many packet events is measured when cpu usage is tracked, with time multiplied by it */
+    private static final int PACKET_SAMPLE_RATE = 16;
 
-    /** Flag tracking presence of a feature listening to latency change for faster check with better performance */
-    private boolean hasLatencyChangeListener;
-
-    /** Flag tracking presence of a feature listening to command preprocess for faster check with better performance */
-    private boolean hasCommandListener;
+    /*
+     * Registered features implementing each listener type, rebuilt when features are registered
+     * or unregistered, so events do not need to check every feature with instanceof.
+     */
+    @NotNull private Loadable[] loadables = new Loadable[0];
+    @NotNull private UnLoadable[] unLoadables = new UnLoadable[0];
+    @NotNull private Refreshable[] refreshables = new Refreshable[0];
+    @NotNull private GameModeListener[] gameModeListeners = new GameModeListener[0];
+    @NotNull private QuitListener[] quitListeners = new QuitListener[0];
+    @NotNull private JoinListener[] joinListeners = new JoinListener[0];
+    @NotNull private WorldSwitchListener[] worldSwitchListeners = new WorldSwitchListener[0];
+    @NotNull private ServerSwitchListener[] serverSwitchListeners = new ServerSwitchListener[0];
+    @NotNull private CommandListener[] commandListeners = new CommandListener[0];
+    @NotNull private PacketSendListener[] packetSendListeners = new PacketSendListener[0];
+    @NotNull private DisplayObjectiveListener[] displayObjectiveListeners = new DisplayObjectiveListener[0];
+    @NotNull private ObjectiveListener[] objectiveListeners = new ObjectiveListener[0];
+    @NotNull private VanishListener[] vanishListeners = new VanishListener[0];
+    @NotNull private EntryAddListener[] entryAddListeners = new EntryAddListener[0];
+    @NotNull private LatencyListener[] latencyListeners = new LatencyListener[0];
+    @NotNull private LoginPacketListener[] loginPacketListeners = new LoginPacketListener[0];
+    @NotNull private TabListClearListener[] tabListClearListeners = new TabListClearListener[0];
 
     /** Commands features listen to */
     private final List<String> listeningCommands = new ArrayList<>();
@@ -52,10 +70,9 @@ public class FeatureManager {
      * This function is called on plugin startup.
      */
     public void load() {
-        for (TabFeature f : values) {
-            if (!(f instanceof Loadable)) continue;
+        for (Loadable f : loadables) {
             long time = System.currentTimeMillis();
-            ((Loadable) f).load();
+            f.load();
             TAB.getInstance().debug("Feature " + f.getClass().getSimpleName() + " processed load in " + (System.currentTimeMillis()-time) + "ms");
         }
         if (TAB.getInstance().getConfiguration().getUsers() instanceof MySQLUserConfiguration) {
@@ -69,10 +86,9 @@ public class FeatureManager {
      * This function is called on plugin disable.
      */
     public void unload() {
-        for (TabFeature f : values) {
-            if (!(f instanceof UnLoadable)) continue;
+        for (UnLoadable f : unLoadables) {
             long time = System.currentTimeMillis();
-            ((UnLoadable) f).unload();
+            f.unload();
             TAB.getInstance().debug("Feature " + f.getClass().getSimpleName() + " processed unload in " + (System.currentTimeMillis()-time) + "ms");
         }
         TAB.getInstance().getPlaceholderManager().getTabExpansion().unregisterExpansion();
@@ -92,8 +108,8 @@ public class FeatureManager {
      *          whether refresh should be forced or not
      */
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
-        for (TabFeature f : values) {
-            if (f instanceof Refreshable) ((Refreshable)f).refresh(refreshed, force);
+        for (Refreshable f : refreshables) {
+            f.refresh(refreshed, force);
         }
     }
 
@@ -104,11 +120,10 @@ public class FeatureManager {
      *          Player whose gamemode has changed.
      */
     public void onGameModeChange(@NotNull TabPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof GameModeListener)) continue;
+        for (GameModeListener f : gameModeListeners) {
             long time = System.nanoTime();
-            ((GameModeListener) f).onGameModeChange(player);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.GAMEMODE_CHANGE, System.nanoTime() - time);
+            f.onGameModeChange(player);
+            addTime(f, TabConstants.CpuUsageCategory.GAMEMODE_CHANGE, System.nanoTime() - time);
         }
     }
 
@@ -122,13 +137,15 @@ public class FeatureManager {
         if (disconnectedPlayer == null) return;
         disconnectedPlayer.markOffline();
         long millis = System.currentTimeMillis();
-        for (TabFeature f : values) {
-            if (!(f instanceof QuitListener)) continue;
+        for (QuitListener f : quitListeners) {
             long time = System.nanoTime();
-            ((QuitListener)f).onQuit(disconnectedPlayer);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.PLAYER_QUIT, System.nanoTime()-time);
+            f.onQuit(disconnectedPlayer);
+            addTime(f, TabConstants.CpuUsageCategory.PLAYER_QUIT, System.nanoTime()-time);
         }
         TAB.getInstance().removePlayer(disconnectedPlayer);
+        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            viewer.getScoreboard().forgetScoreHolder(disconnectedPlayer.getNickname());
+        }
         TAB.getInstance().debug("Player quit of " + disconnectedPlayer.getName() + " processed in " + (System.currentTimeMillis()-millis) + "ms");
     }
 
@@ -141,11 +158,10 @@ public class FeatureManager {
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         long millis = System.currentTimeMillis();
         TAB.getInstance().addPlayer(connectedPlayer);
-        for (TabFeature f : values) {
-            if (!(f instanceof JoinListener)) continue;
+        for (JoinListener f : joinListeners) {
             long time = System.nanoTime();
-            ((JoinListener)f).onJoin(connectedPlayer);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.PLAYER_JOIN, System.nanoTime()-time);
+            f.onJoin(connectedPlayer);
+            addTime(f, TabConstants.CpuUsageCategory.PLAYER_JOIN, System.nanoTime()-time);
             TAB.getInstance().debug("Feature " + f.getClass().getSimpleName() + " processed player join in " + (System.nanoTime()-time)/1000000 + "ms");
 
         }
@@ -170,11 +186,10 @@ public class FeatureManager {
         if (changed == null) return;
         String from = changed.getWorld();
         changed.setWorld(to);
-        for (TabFeature f : values) {
-            if (!(f instanceof WorldSwitchListener)) continue;
+        for (WorldSwitchListener f : worldSwitchListeners) {
             long time = System.nanoTime();
-            ((WorldSwitchListener) f).onWorldChange(changed, from, to);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.WORLD_SWITCH, System.nanoTime()-time);
+            f.onWorldChange(changed, from, to);
+            addTime(f, TabConstants.CpuUsageCategory.WORLD_SWITCH, System.nanoTime()-time);
         }
         ((PlayerPlaceholder)TAB.getInstance().getPlaceholderManager().getPlaceholder(TabConstants.Placeholder.WORLD)).updateValue(changed, to);
     }
@@ -193,11 +208,10 @@ public class FeatureManager {
         String from = changed.getServer();
         changed.setServer(to);
         ((ProxyTabPlayer)changed).sendJoinPluginMessage();
-        for (TabFeature f : values) {
-            if (!(f instanceof ServerSwitchListener)) continue;
+        for (ServerSwitchListener f : serverSwitchListeners) {
             long time = System.nanoTime();
-            ((ServerSwitchListener) f).onServerChange(changed, from, to);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.SERVER_SWITCH, System.nanoTime()-time);
+            f.onServerChange(changed, from, to);
+            addTime(f, TabConstants.CpuUsageCategory.SERVER_SWITCH, System.nanoTime()-time);
         }
         ((PlayerPlaceholder)TAB.getInstance().getPlaceholderManager().getPlaceholder(TabConstants.Placeholder.SERVER)).updateValue(changed, to);
     }
@@ -213,14 +227,13 @@ public class FeatureManager {
      * @return  {@code true} if event should be cancelled, {@code false} if not.
      */
     public boolean onCommand(@Nullable TabPlayer sender, @NotNull String command) {
-        if (!hasCommandListener || sender == null) return false;
+        if (commandListeners.length == 0 || sender == null) return false;
         if (!listeningCommands.contains(command)) return false;
         boolean cancel = false;
-        for (TabFeature f : values) {
-            if (!(f instanceof CommandListener)) continue;
+        for (CommandListener f : commandListeners) {
             long time = System.nanoTime();
-            if (((CommandListener)f).onCommand(sender, command)) cancel = true;
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.COMMAND_PREPROCESS, System.nanoTime()-time);
+            if (f.onCommand(sender, command)) cancel = true;
+            addTime(f, TabConstants.CpuUsageCategory.COMMAND_PREPROCESS, System.nanoTime()-time);
         }
         return cancel;
     }
@@ -234,12 +247,17 @@ public class FeatureManager {
      *          OUT packet coming from the server
      */
     public void onPacketSend(@NotNull TabPlayer receiver, @NotNull Object packet) {
-        if (!hasPacketSendListener) return;
-        for (TabFeature f : values) {
-            if (!(f instanceof PacketSendListener)) continue;
+        if (packetSendListeners.length == 0) return;
+        if (!isSampledPacket()) {
+            for (PacketSendListener f : packetSendListeners) {
+                f.onPacketSend(receiver, packet);
+            }
+            return;
+        }
+        for (PacketSendListener f : packetSendListeners) {
             long time = System.nanoTime();
-            ((PacketSendListener)f).onPacketSend(receiver, packet);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.RAW_PACKET_OUT, System.nanoTime()-time);
+            f.onPacketSend(receiver, packet);
+            addTime(f, TabConstants.CpuUsageCategory.RAW_PACKET_OUT, (System.nanoTime()-time) * PACKET_SAMPLE_RATE);
         }
     }
 
@@ -254,11 +272,10 @@ public class FeatureManager {
      *          Objective name
      */
     public void onDisplayObjective(@NotNull TabPlayer packetReceiver, int slot, @NotNull String objective) {
-        for (TabFeature f : values) {
-            if (!(f instanceof DisplayObjectiveListener)) continue;
+        for (DisplayObjectiveListener f : displayObjectiveListeners) {
             long time = System.nanoTime();
-            ((DisplayObjectiveListener)f).onDisplayObjective(packetReceiver, slot, objective);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
+            f.onDisplayObjective(packetReceiver, slot, objective);
+            addTime(f, TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
         }
     }
 
@@ -273,11 +290,10 @@ public class FeatureManager {
      *          Objective name
      */
     public void onObjective(@NotNull TabPlayer packetReceiver, int action, @NotNull String objective) {
-        for (TabFeature f : values) {
-            if (!(f instanceof ObjectiveListener)) continue;
+        for (ObjectiveListener f : objectiveListeners) {
             long time = System.nanoTime();
-            ((ObjectiveListener)f).onObjective(packetReceiver, action, objective);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
+            f.onObjective(packetReceiver, action, objective);
+            addTime(f, TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
         }
     }
 
@@ -288,11 +304,10 @@ public class FeatureManager {
      *          Player whose vanish status changed
      */
     public void onVanishStatusChange(@NotNull TabPlayer player) {
-        for (TabFeature f : values) {
-            if (!(f instanceof VanishListener)) continue;
+        for (VanishListener f : vanishListeners) {
             long time = System.nanoTime();
-            ((VanishListener)f).onVanishStatusChange(player);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.VANISH_CHANGE, System.nanoTime()-time);
+            f.onVanishStatusChange(player);
+            addTime(f, TabConstants.CpuUsageCategory.VANISH_CHANGE, System.nanoTime()-time);
         }
     }
 
@@ -307,11 +322,10 @@ public class FeatureManager {
      *          Player name of the entry
      */
     public void onEntryAdd(TabPlayer packetReceiver, UUID id, String name) {
-        for (TabFeature f : values) {
-            if (!(f instanceof EntryAddListener)) continue;
+        for (EntryAddListener f : entryAddListeners) {
             long time = System.nanoTime();
-            ((EntryAddListener)f).onEntryAdd(packetReceiver, id, name);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.NICK_PLUGIN_COMPATIBILITY, System.nanoTime() - time);
+            f.onEntryAdd(packetReceiver, id, name);
+            addTime(f, TabConstants.CpuUsageCategory.NICK_PLUGIN_COMPATIBILITY, System.nanoTime() - time);
         }
     }
 
@@ -327,13 +341,18 @@ public class FeatureManager {
      * @return  New latency to use
      */
     public int onLatencyChange(TabPlayer packetReceiver, UUID id, int latency) {
-        if (!hasLatencyChangeListener) return latency;
+        if (latencyListeners.length == 0) return latency;
         int newLatency = latency;
-        for (TabFeature f : values) {
-            if (!(f instanceof LatencyListener)) continue;
+        if (!isSampledPacket()) {
+            for (LatencyListener f : latencyListeners) {
+                newLatency = f.onLatencyChange(packetReceiver, id, newLatency);
+            }
+            return newLatency;
+        }
+        for (LatencyListener f : latencyListeners) {
             long time = System.nanoTime();
-            newLatency = ((LatencyListener)f).onLatencyChange(packetReceiver, id, newLatency);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.PING_CHANGE, System.nanoTime() - time);
+            newLatency = f.onLatencyChange(packetReceiver, id, newLatency);
+            addTime(f, TabConstants.CpuUsageCategory.PING_CHANGE, (System.nanoTime() - time) * PACKET_SAMPLE_RATE);
         }
         return newLatency;
     }
@@ -346,11 +365,10 @@ public class FeatureManager {
      */
     public void onLoginPacket(TabPlayer packetReceiver) {
         packetReceiver.getScoreboard().unfreeze();
-        for (TabFeature f : values) {
-            if (!(f instanceof LoginPacketListener)) continue;
+        for (LoginPacketListener f : loginPacketListeners) {
             long time = System.nanoTime();
-            ((LoginPacketListener)f).onLoginPacket(packetReceiver);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.PACKET_LOGIN, System.nanoTime() - time);
+            f.onLoginPacket(packetReceiver);
+            addTime(f, TabConstants.CpuUsageCategory.PACKET_LOGIN, System.nanoTime() - time);
         }
     }
 
@@ -361,11 +379,10 @@ public class FeatureManager {
      *          Player whose tablist got cleared
      */
     public void onTabListClear(TabPlayer packetReceiver) {
-        for (TabFeature f : values) {
-            if (!(f instanceof TabListClearListener)) continue;
+        for (TabListClearListener f : tabListClearListeners) {
             long time = System.nanoTime();
-            ((TabListClearListener)f).onTabListClear(packetReceiver);
-            TAB.getInstance().getCPUManager().addTime(f.getFeatureName(), TabConstants.CpuUsageCategory.TABLIST_CLEAR, System.nanoTime() - time);
+            f.onTabListClear(packetReceiver);
+            addTime(f, TabConstants.CpuUsageCategory.TABLIST_CLEAR, System.nanoTime() - time);
         }
     }
 
@@ -379,21 +396,14 @@ public class FeatureManager {
      */
     public void registerFeature(@NotNull String featureName, @NotNull TabFeature featureHandler) {
         features.put(featureName, featureHandler);
-        values = features.values().toArray(new TabFeature[0]);
+        updateListeners();
         if (featureHandler instanceof VanishListener) {
             TAB.getInstance().getPlaceholderManager().addUsedPlaceholder(TabConstants.Placeholder.VANISHED);
         }
         if (featureHandler instanceof GameModeListener) {
             TAB.getInstance().getPlaceholderManager().addUsedPlaceholder(TabConstants.Placeholder.GAMEMODE);
         }
-        if (featureHandler instanceof PacketSendListener) {
-            hasPacketSendListener = true;
-        }
-        if (featureHandler instanceof LatencyListener) {
-            hasLatencyChangeListener = true;
-        }
         if (featureHandler instanceof CommandListener) {
-            hasCommandListener = true;
             listeningCommands.add(((CommandListener) featureHandler).getCommand());
         }
     }
@@ -406,7 +416,76 @@ public class FeatureManager {
      */
     public void unregisterFeature(@NotNull String featureName) {
         features.remove(featureName);
+        updateListeners();
+    }
+
+    /**
+     * Rebuilds arrays of features implementing each listener type from currently registered features.
+     */
+    private void updateListeners() {
         values = features.values().toArray(new TabFeature[0]);
+        loadables = getListeners(Loadable.class);
+        unLoadables = getListeners(UnLoadable.class);
+        refreshables = getListeners(Refreshable.class);
+        gameModeListeners = getListeners(GameModeListener.class);
+        quitListeners = getListeners(QuitListener.class);
+        joinListeners = getListeners(JoinListener.class);
+        worldSwitchListeners = getListeners(WorldSwitchListener.class);
+        serverSwitchListeners = getListeners(ServerSwitchListener.class);
+        commandListeners = getListeners(CommandListener.class);
+        packetSendListeners = getListeners(PacketSendListener.class);
+        displayObjectiveListeners = getListeners(DisplayObjectiveListener.class);
+        objectiveListeners = getListeners(ObjectiveListener.class);
+        vanishListeners = getListeners(VanishListener.class);
+        entryAddListeners = getListeners(EntryAddListener.class);
+        latencyListeners = getListeners(LatencyListener.class);
+        loginPacketListeners = getListeners(LoginPacketListener.class);
+        tabListClearListeners = getListeners(TabListClearListener.class);
+    }
+
+    /**
+     * Returns all registered features implementing given listener type in registration order.
+     *
+     * @param   type
+     *          Listener type
+     * @return  Array of features implementing the listener
+     * @param   <T>
+     *          Listener type
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private <T> T[] getListeners(@NotNull Class<T> type) {
+        List<T> listeners = new ArrayList<>();
+        for (TabFeature f : values) {
+            if (type.isInstance(f)) listeners.add(type.cast(f));
+        }
+        return listeners.toArray((T[]) Array.newInstance(type, 0));
+    }
+
+    /**
+     * Returns {@code true} if time of current packet event should be measured. Packet events
+     * are only measured when cpu usage is being tracked and even then only 1 in
+     * {@link #PACKET_SAMPLE_RATE}, to avoid calling {@link System#nanoTime()} twice
+     * for every listener on every packet.
+     *
+     * @return  {@code true} if packet event should be measured, {@code false} if not
+     */
+    private boolean isSampledPacket() {
+        return TAB.getInstance().getCPUManager().isTrackUsage() && ThreadLocalRandom.current().nextInt(PACKET_SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * Adds cpu time of listener to its feature.
+     *
+     * @param   listener
+     *          Feature which processed the event
+     * @param   type
+     *          Usage category
+     * @param   nanoseconds
+     *          Time it took
+     */
+    private void addTime(@NotNull Object listener, @NotNull String type, long nanoseconds) {
+        TAB.getInstance().getCPUManager().addTime(((TabFeature) listener).getFeatureName(), type, nanoseconds);
     }
 
     /**
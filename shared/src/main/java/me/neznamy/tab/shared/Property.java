@@ -1,15 +1,21 @@
 package me.neznamy.tab.shared;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
+import me.neznamy.tab.shared.chat.TabComponent;
 import me.neznamy.tab.shared.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
 import me.neznamy.tab.shared.placeholders.types.RelationalPlaceholderImpl;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.util.NumberParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,6 +28,21 @@ public class Property {
 
     private static long counter;
 
+    /** Marker used in place of placeholders when compiling the raw value into segments */
+    private static final String SLOT_MARKER = "%\u0000";
+
+    /** Builder reused for concatenating segments to avoid allocating a new one on every update */
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(StringBuilder::new);
+
+    /** Maximum amount of shared texts, texts above the limit are evaluated for each player separately */
+    private static final int MAX_SHARED_VALUES = 1000;
+
+    /**
+     * Values of player-independent texts defined in configuration shared by all properties using them,
+     * by raw value. Values set via API are not shared, as they may change on every call.
+     */
+    private static Map<String, SharedValue> sharedValues = new ConcurrentHashMap<>();
+
     /** Internal identifier for this text for PlaceholderAPI expansion, null if it should not be exposed */
     @Nullable private final String name;
 
@@ -41,11 +62,20 @@ public class Property {
     @Nullable @Getter private String temporaryValue;
 
     /**
-     * Raw value using %s for each placeholder ready to be inserted
-     * into String formatter, which results in about 5x lower
-     * memory allocations as well as better performance.
+     * Colored literal parts of the raw value split by placeholders. There is always
+     * one more literal than there are placeholders, with placeholder values belonging
+     * between them. This way updating the value only requires concatenation.
      */
-    private String rawFormattedValue;
+    private String[] literals;
+
+    /** Last known values of placeholders in the same order as {@link #placeholders} */
+    private String[] slotValues;
+
+    /**
+     * Whether a literal part ends with {@code &} followed by a placeholder,
+     * which may form a color code with placeholder's value.
+     */
+    private boolean colorBoundary;
 
     /** Last known value after parsing non-relational placeholders */
     private String lastReplacedValue;
@@ -64,6 +94,24 @@ public class Property {
     /** Relational placeholders in the text in the same order they are used */
     private String[] relPlaceholders;
 
+    /** Scope of the text based on placeholders it uses */
+    @NotNull @Getter private Scope scope = Scope.GLOBAL;
+
+    /** Value shared with other properties using the same player-independent text, {@code null} if not shared */
+    @Nullable private SharedValue shared;
+
+    /** Value {@link #component} was created from, {@code null} if not created yet */
+    @Nullable private String componentValue;
+
+    /** Component created from {@link #componentValue} */
+    @Nullable private TabComponent component;
+
+    /** Value last parsed by {@link #updateAndGetNumber()}, {@code null} if not parsed yet */
+    @Nullable private String lastParsedValue;
+
+    /** Result of parsing {@link #lastParsedValue} using {@link NumberParser} */
+    private long parsedNumber;
+
     /**
      * Constructs new instance with given parameters and prepares
      * the formatter for use by detecting placeholders and reformatting the text.
@@ -90,8 +138,8 @@ public class Property {
     }
 
     /**
-     * Finds all placeholders used in the value and prepares it for
-     * String formatter using %s for each placeholder.
+     * Finds all placeholders used in the value and compiles it into
+     * literal parts and placeholder slots.
      *
      * @param   value
      *          raw value to analyze
@@ -107,22 +155,12 @@ public class Property {
             }
         }
 
-        // Convert all placeholders to %s for String formatter
+        // Convert all placeholders to slot markers
         String rawFormattedValue0 = value;
         for (String placeholder : placeholders0) {
             rawFormattedValue0 = replaceFirst(rawFormattedValue0, placeholder);
         }
 
-        // Make % symbol not break String formatter by adding another one to display it
-        if (!placeholders0.isEmpty() && rawFormattedValue0.contains("%")) {
-            int index = rawFormattedValue0.lastIndexOf('%');
-            if (rawFormattedValue0.length() == index+1 || rawFormattedValue0.charAt(index+1) != 's') {
-                StringBuilder sb = new StringBuilder(rawFormattedValue0);
-                sb.insert(index+1, "%");
-                rawFormattedValue0 = sb.toString();
-            }
-        }
-
         // Apply gradients that do not include placeholders to avoid applying them on every refresh
         rawFormattedValue0 = RGBUtils.getInstance().applyCleanGradients(rawFormattedValue0);
 
@@ -132,15 +170,35 @@ public class Property {
         }
 
         // Apply static colors to not need to do it on every refresh
-        rawFormattedValue = EnumChatFormat.color(rawFormattedValue0);
+        rawFormattedValue0 = EnumChatFormat.color(rawFormattedValue0);
+
+        // Split into literal parts between placeholders
+        literals = new String[placeholders0.size()+1];
+        colorBoundary = false;
+        int start = 0;
+        for (int i=0; i<placeholders0.size(); i++) {
+            int index = rawFormattedValue0.indexOf(SLOT_MARKER, start);
+            literals[i] = rawFormattedValue0.substring(start, index);
+            if (literals[i].endsWith("&")) colorBoundary = true;
+            start = index + SLOT_MARKER.length();
+        }
+        literals[placeholders0.size()] = rawFormattedValue0.substring(start);
 
         // Update and save values
+        String[] previousPlaceholders = placeholders;
         placeholders = placeholders0.toArray(new String[0]);
         relPlaceholders = relPlaceholders0.toArray(new String[0]);
+        slotValues = new String[placeholders.length];
+        scope = detectScope();
+        shared = scope == Scope.GLOBAL && placeholders.length > 0 && temporaryValue == null ? getSharedValue(value) : null;
         if (listener != null) {
-            listener.addUsedPlaceholders(placeholders0);
+            // Add new usage first, so placeholders used before and after are not cleared in between
+            TAB.getInstance().getPlaceholderManager().addUsedPlaceholders(owner, listener, placeholders0);
+            if (previousPlaceholders != null) {
+                TAB.getInstance().getPlaceholderManager().removeUsedPlaceholders(owner, listener, Arrays.asList(previousPlaceholders));
+            }
         }
-        lastReplacedValue = rawFormattedValue;
+        lastReplacedValue = String.join("", literals);
         update();
         if (name != null) {
             TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
@@ -149,10 +207,38 @@ public class Property {
         }
     }
 
+    /**
+     * Returns shared value of given player-independent text, creating it if it does not exist yet.
+     * Returns {@code null} if the limit of shared texts was reached.
+     *
+     * @param   value
+     *          Raw value of the text
+     * @return  Shared value of the text or {@code null} if limit was reached
+     */
+    @Nullable
+    private SharedValue getSharedValue(@NotNull String value) {
+        SharedValue sharedValue = sharedValues.get(value);
+        if (sharedValue != null || sharedValues.size() >= MAX_SHARED_VALUES) return sharedValue;
+        return sharedValues.computeIfAbsent(value, v -> new SharedValue(literals, placeholders, colorBoundary));
+    }
+
+    /**
+     * Detects scope of the text based on used placeholders.
+     *
+     * @return  scope of the text
+     */
+    private @NotNull Scope detectScope() {
+        if (relPlaceholders.length > 0) return Scope.RELATIONAL;
+        for (String placeholder : placeholders) {
+            if (!TAB.getInstance().getPlaceholderManager().isPlayerIndependent(placeholder)) return Scope.PLAYER;
+        }
+        return Scope.GLOBAL;
+    }
+
     private String replaceFirst(String original, String searchString) {
         int index = original.indexOf(searchString);
         if (index != -1) {
-            return original.substring(0, index) + "%s" + original.substring(index + searchString.length());
+            return original.substring(0, index) + SLOT_MARKER + original.substring(index + searchString.length());
         } else {
             return original;
         }
@@ -222,23 +308,64 @@ public class Property {
     }
 
     /**
-     * Replaces all placeholders in current raw value, colorizes it and returns whether value changed or not
+     * Replaces all placeholders in current raw value and returns it as a component.
+     * Equal to calling {@link #update()} and then {@link #getComponent()}.
+     *
+     * @return  updated value as a component
+     */
+    public @NotNull TabComponent updateAndGetComponent() {
+        update();
+        return getComponent();
+    }
+
+    /**
+     * Replaces all placeholders in current raw value and parses it as a number using
+     * {@link NumberParser}. If the value did not change since last call, previous
+     * result is returned without parsing again.
+     *
+     * @return  updated value parsed by {@link NumberParser#parse(String)}
+     */
+    public long updateAndGetNumber() {
+        String value = updateAndGet();
+        if (!value.equals(lastParsedValue)) {
+            parsedNumber = NumberParser.parse(value);
+            lastParsedValue = value;
+        }
+        return parsedNumber;
+    }
+
+    /**
+     * Replaces all placeholders in current raw value, colorizes it and returns whether value changed or not.
+     * If no placeholder changed value since last update, returns {@code false} without building the text.
      *
      * @return  if updating changed value or not
      */
     public boolean update() {
         if (placeholders.length == 0) return false;
-        String string;
-        if ("%s".equals(rawFormattedValue)) {
-            string = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[0]).set(placeholders[0], owner);
-        } else {
-            Object[] values = new String[placeholders.length];
-            for (int i=0; i<placeholders.length; i++) {
-                values[i] = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]).set(placeholders[i], owner);
+        if (shared != null) {
+            String value = shared.get();
+            if (value != null) {
+                if (value == lastReplacedValue) return false; // Same shared instance
+                lastReplacedValue = value;
+                if (name != null) {
+                    TAB.getInstance().getPlaceholderManager().getTabExpansion().setPropertyValue(owner, name, lastReplacedValue);
+                }
+                return true;
             }
-            string = String.format(rawFormattedValue, values);
+            // Output of a placeholder turned out to contain player placeholders
+            shared = null;
+            scope = Scope.PLAYER;
         }
-        string = EnumChatFormat.color(string);
+        boolean changed = false;
+        for (int i=0; i<placeholders.length; i++) {
+            String value = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]).set(placeholders[i], owner);
+            if (!value.equals(slotValues[i])) {
+                slotValues[i] = value;
+                changed = true;
+            }
+        }
+        if (!changed) return false;
+        String string = build(literals, slotValues, colorBoundary);
         if (!lastReplacedValue.equals(string)) {
             lastReplacedValue = string;
             if (name != null) {
@@ -249,6 +376,43 @@ public class Property {
         return false;
     }
 
+    /**
+     * Concatenates literal parts with last known placeholder values and
+     * colorizes the result if placeholder values may contain color codes.
+     *
+     * @param   literals
+     *          Literal parts of the text
+     * @param   slotValues
+     *          Placeholder values belonging between literal parts
+     * @param   colorBoundary
+     *          Whether a literal part ends with {@code &} followed by a placeholder
+     * @return  text with placeholders replaced
+     */
+    private static @NotNull String build(@NotNull String[] literals, @NotNull String[] slotValues, boolean colorBoundary) {
+        boolean color = colorBoundary;
+        String string;
+        if (slotValues.length == 1 && literals[0].isEmpty() && literals[1].isEmpty()) {
+            string = slotValues[0];
+        } else {
+            StringBuilder sb = BUILDER.get();
+            sb.setLength(0);
+            for (int i=0; i<slotValues.length; i++) {
+                sb.append(literals[i]).append(slotValues[i]);
+            }
+            sb.append(literals[slotValues.length]);
+            string = sb.toString();
+        }
+        if (!color) {
+            for (String value : slotValues) {
+                if (value.indexOf('&') != -1) {
+                    color = true;
+                    break;
+                }
+            }
+        }
+        return color ? EnumChatFormat.color(string) : string;
+    }
+
     /**
      * Returns last known value
      *
@@ -258,6 +422,36 @@ public class Property {
         return lastReplacedValue;
     }
 
+    /**
+     * Returns last known value as a component. Component is only created when the value
+     * changes and for player-independent texts it is shared by all properties using the text.
+     *
+     * @return  last known value as a component
+     */
+    public @NotNull TabComponent getComponent() {
+        String value = lastReplacedValue;
+        if (shared != null) {
+            TabComponent sharedComponent = shared.getComponent(value);
+            if (sharedComponent != null) return sharedComponent;
+        }
+        if (component == null || !value.equals(componentValue)) {
+            component = TabComponent.optimized(value);
+            componentValue = value;
+        }
+        return component;
+    }
+
+    /**
+     * Returns {@code true} if the text may be different for each viewer because
+     * it uses relational placeholders, either directly or nested in output of
+     * other placeholders, {@code false} if it is the same for all viewers.
+     *
+     * @return  {@code true} if value depends on viewer, {@code false} if not
+     */
+    public boolean isViewerDependent() {
+        return relPlaceholders.length > 0 || lastReplacedValue.contains("%rel_");
+    }
+
     /**
      * Returns value for defined viewer by applying relational placeholders to last known value
      *
@@ -291,4 +485,110 @@ public class Property {
     public static String randomName() {
         return String.valueOf(counter++);
     }
+
+    /**
+     * Clears shared values of player-independent texts on plugin reload
+     */
+    public static void clearSharedValues() {
+        sharedValues = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Scope of a text based on placeholders it uses.
+     */
+    public enum Scope {
+
+        /** Text only uses player-independent placeholders and is the same for everyone */
+        GLOBAL,
+
+        /** Text uses placeholders with different value for each player */
+        PLAYER,
+
+        /** Text uses relational placeholders and is different for each viewer */
+        RELATIONAL
+    }
+
+    /**
+     * Value of a player-independent text, which is only computed once per
+     * change of player-independent placeholders and shared by all properties
+     * using the text.
+     */
+    @RequiredArgsConstructor
+    private static class SharedValue {
+
+        /** Colored literal parts of the text */
+        private final String[] literals;
+
+        /** Placeholders used in the text */
+        private final String[] placeholders;
+
+        /** Whether a literal part ends with {@code &} followed by a placeholder */
+        private final boolean colorBoundary;
+
+        /** Last known values of placeholders */
+        private String[] slotValues;
+
+        /** Version of player-independent placeholder values this value was computed from */
+        private long version = -1;
+
+        /** Last computed value */
+        private String value;
+
+        /** Component created from {@link #value}, {@code null} if not created yet */
+        private TabComponent component;
+
+        /** Flag tracking whether placeholder output depends on player after all */
+        private boolean invalid;
+
+        /**
+         * Returns current value, computing it if player-independent placeholders
+         * changed value since last call. Returns {@code null} if the text turned out
+         * to depend on player.
+         *
+         * @return  current value or {@code null} if text depends on player
+         */
+        @Nullable
+        public synchronized String get() {
+            if (invalid) return null;
+            long currentVersion = TAB.getInstance().getPlaceholderManager().getGlobalValueVersion();
+            if (version == currentVersion) return value;
+            version = currentVersion;
+            boolean changed = slotValues == null;
+            if (slotValues == null) slotValues = new String[placeholders.length];
+            for (int i=0; i<placeholders.length; i++) {
+                String slotValue = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]).set(placeholders[i], null);
+                if (!slotValue.equals(slotValues[i])) {
+                    if (!TAB.getInstance().getPlaceholderManager().detectPlaceholders(slotValue).isEmpty()) {
+                        invalid = true;
+                        return null;
+                    }
+                    slotValues[i] = slotValue;
+                    changed = true;
+                }
+            }
+            if (!changed) return value;
+            String newValue = build(literals, slotValues, colorBoundary);
+            if (!newValue.equals(value)) {
+                value = newValue;
+                component = null;
+            }
+            return value;
+        }
+
+        /**
+         * Returns component of given value if it is the current shared value,
+         * creating it only once per value change. Returns {@code null} if given
+         * value is not the current shared value.
+         *
+         * @param   value
+         *          Value to get component of
+         * @return  component of the value or {@code null} if value is not current
+         */
+        @Nullable
+        public synchronized TabComponent getComponent(@NotNull String value) {
+            if (value != this.value) return null;
+            if (component == null) component = TabComponent.optimized(value);
+            return component;
+        }
+    }
 }
\ No newline at end of file
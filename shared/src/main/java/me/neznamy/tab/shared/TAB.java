@@ -12,6 +12,7 @@ import me.neznamy.tab.api.tablist.TabListFormatManager;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.SimpleComponent;
 import me.neznamy.tab.shared.config.helper.ConfigHelper;
+import me.neznamy.tab.shared.config.file.ConfigSaver;
 import me.neznamy.tab.shared.cpu.CpuManager;
 import me.neznamy.tab.shared.features.nametags.NameTag;
 import me.neznamy.tab.shared.platform.Platform;
@@ -201,14 +202,25 @@ public class TAB extends TabAPI {
      */
     public void unload() {
         if (pluginDisabled) return;
+        long time = System.currentTimeMillis();
+        boolean success = true;
         try {
-            long time = System.currentTimeMillis();
-            if (configuration.getMysql() != null) configuration.getMysql().closeConnection();
             featureManager.unload();
-            platform.logInfo(new SimpleComponent(EnumChatFormat.GREEN + "Disabled in " + (System.currentTimeMillis()-time) + "ms"));
+            ConfigSaver.flush();
+            ConfigSaver.shutdown();
+            configHelper.runtime().clearReported();
         } catch (Throwable e) {
             errorManager.criticalError("Failed to disable", e);
+            success = false;
         }
+        // Closed separately, so features are unloaded and files saved even if the database is unavailable
+        try {
+            if (configuration.getMysql() != null) configuration.getMysql().closeConnection();
+        } catch (Throwable e) {
+            errorManager.criticalError("Failed to close MySQL connection", e);
+            success = false;
+        }
+        if (success) platform.logInfo(new SimpleComponent(EnumChatFormat.GREEN + "Disabled in " + (System.currentTimeMillis()-time) + "ms"));
         kill();
     }
 
@@ -217,6 +229,9 @@ public class TAB extends TabAPI {
      */
     private void kill() {
         pluginDisabled = true;
+        for (TabPlayer player : onlinePlayers) {
+            player.releaseSlot();
+        }
         data.clear();
         playersByTabListId.clear();
         onlinePlayers = new TabPlayer[0];
@@ -230,6 +245,7 @@ public class TAB extends TabAPI {
      *          Player to add
      */
     public void addPlayer(@NotNull TabPlayer player) {
+        player.allocateSlot();
         data.put(player.getUniqueId(), player);
         playersByTabListId.put(player.getTablistId(), player);
         onlinePlayers = data.values().toArray(new TabPlayer[0]);
@@ -245,6 +261,8 @@ public class TAB extends TabAPI {
         data.remove(player.getUniqueId());
         playersByTabListId.remove(player.getTablistId());
         onlinePlayers = data.values().toArray(new TabPlayer[0]);
+        placeholderManager.removeValues(player);
+        player.releaseSlot();
     }
 
     /**
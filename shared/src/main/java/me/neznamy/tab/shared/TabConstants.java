@@ -76,6 +76,7 @@ public class TabConstants {
         public static final String REFRESHING_NAME_TAG_VISIBILITY = "Refreshing NameTag visibility";
         public static final String PROCESSING_PLAYER_MOVEMENT = "Processing player movement";
         public static final String TELEPORTING_WITHER = "Teleporting wither";
+        public static final String LAYOUT_UPDATE = "Updating layout";
     }
 
     /**
@@ -268,6 +269,10 @@ public class TabConstants {
 
         public static final int MINIMUM_REFRESH_INTERVAL = 50;
         public static final int RETURN_TIME_WARN_THRESHOLD = 50;
+        public static final int BACKOFF_MISS_THRESHOLD = 3;
+        public static final int BACKOFF_RECOVERY_THRESHOLD = 20;
+        public static final int MAX_BACKOFF_MULTIPLIER = 16;
+        public static final int RELATIONAL_FULL_SWEEP_INTERVAL = 10;
 
         public static String condition(String name) {
             return "%condition:" + name + "%";
@@ -8,8 +8,10 @@ import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
 import me.neznamy.tab.shared.features.nametags.unlimited.NameTagX;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BackendArmorStandManager implements ArmorStandManager {
 
@@ -31,6 +33,9 @@ public class BackendArmorStandManager implements ArmorStandManager {
     /** Nearby players in an array for speed while iterating */
     @Getter private BackendTabPlayer[] nearbyPlayers = new BackendTabPlayer[0];
 
+    /** Pending moves of nearby players, accessed from their channel threads */
+    private final Map<BackendTabPlayer, PendingMove> pendingMoves = new ConcurrentHashMap<>();
+
     /**
      * Constructs new instance with given parameters and loads armor stands.
      *
@@ -81,6 +86,41 @@ public class BackendArmorStandManager implements ArmorStandManager {
         for (ArmorStand a : armorStandArray) a.move(viewer, diff);
     }
 
+    /**
+     * Returns pending move of armor stands for specified viewer. This method is
+     * safe to call from viewer's channel thread.
+     *
+     * @param   viewer
+     *          Player to get pending move for
+     * @return  Pending move for viewer or {@code null} if viewer is not nearby
+     */
+    @Nullable
+    public PendingMove getPendingMove(@NotNull BackendTabPlayer viewer) {
+        return pendingMoves.get(viewer);
+    }
+
+    /**
+     * Moves armor stands by all deltas accumulated in given pending move. If the viewer
+     * left tracking range or armor stands were respawned since, the move is dropped.
+     * If the accumulated delta does not fit into a move packet, armor stands are
+     * teleported instead.
+     *
+     * @param   move
+     *          Pending move to send
+     */
+    public void sendPendingMove(@NotNull PendingMove move) {
+        BackendTabPlayer viewer = move.getViewer();
+        if (pendingMoves.get(viewer) != move) return;
+        Location diff = move.take();
+        if (diff == null) return;
+        int limit = viewer.getVersion().getMinorVersion() >= 9 ? Short.MAX_VALUE : Byte.MAX_VALUE;
+        if (Math.abs(diff.getX()) > limit || Math.abs(diff.getY()) > limit || Math.abs(diff.getZ()) > limit) {
+            teleport(viewer);
+        } else {
+            move(viewer, diff);
+        }
+    }
+
     /**
      * Teleports armor stands to player's current location for all nearby players
      */
@@ -157,6 +197,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
     public void spawn(@NotNull BackendTabPlayer viewer) {
         nearbyPlayerList.add(viewer);
         nearbyPlayers = nearbyPlayerList.toArray(new BackendTabPlayer[0]);
+        pendingMoves.put(viewer, new PendingMove(this, viewer));
         if (viewer.getVersion().getMinorVersion() < 8) return;
         for (ArmorStand a : armorStandArray) a.spawn(viewer);
     }
@@ -183,6 +224,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
      */
     public void unregisterPlayer(@NotNull BackendTabPlayer viewer) {
         if (nearbyPlayerList.remove(viewer)) nearbyPlayers = nearbyPlayerList.toArray(new BackendTabPlayer[0]);
+        pendingMoves.remove(viewer);
     }
 
     public void updateVisibility(boolean force) {
@@ -211,6 +253,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
         }
         nearbyPlayerList.clear();
         nearbyPlayers = new BackendTabPlayer[0];
+        pendingMoves.clear();
     }
 
     @Override
@@ -212,6 +212,19 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
 
     public abstract void unregisterListener();
 
+    /**
+     * Runs task on the server thread once per tick until {@link #unregisterListener()}
+     * is called. Platforms without a tick event return {@code false}
+     * and the caller is expected to use a timer instead.
+     *
+     * @param   task
+     *          Task to run every tick
+     * @return  {@code true} if task was scheduled, {@code false} if platform does not support it
+     */
+    public boolean runEveryTick(@NotNull Runnable task) {
+        return false;
+    }
+
     public abstract @NotNull List<Integer> getPassengers(@NotNull Object vehicle);
 
     public abstract @Nullable Object getVehicle(@NotNull TabPlayer player);
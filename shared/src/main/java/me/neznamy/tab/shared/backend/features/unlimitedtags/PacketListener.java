@@ -14,7 +14,9 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * The packet listening part for securing proper functionality of armor stands.
@@ -22,6 +24,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * if trying to listen to move event.
  * For entering/leaving tracking range there are no events and
  * periodic / move-triggered distance checks would cause high CPU usage.
+ * Relative moves are handled directly in the thread sending the packet
+ * and armor stands are moved once per server tick by all accumulated deltas.
  */
 @RequiredArgsConstructor
 public class PacketListener extends TabFeature implements JoinListener, QuitListener, Loadable {
@@ -32,11 +36,84 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
     /** A player map by entity id, used for better performance */
     private final Map<Integer, TabPlayer> entityIdMap = new ConcurrentHashMap<>();
 
+    /** Moves waiting to be sent in the next tick */
+    private final Queue<PendingMove> queuedMoves = new ConcurrentLinkedQueue<>();
+
     @Override
     public void load() {
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             entityIdMap.put(nameTagX.getEntityId(all), all);
         }
+        boolean tickAligned = nameTagX.runEveryTick(() -> {
+            if (queuedMoves.isEmpty()) return;
+            TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(),
+                    TabConstants.CpuUsageCategory.PACKET_PLAYER_MOVE, this::sendQueuedMoves);
+        });
+        if (!tickAligned) {
+            // No tick event on this platform, closest we can get
+            TAB.getInstance().getCPUManager().startRepeatingMeasuredTask(50, getFeatureName(),
+                    TabConstants.CpuUsageCategory.PACKET_PLAYER_MOVE, this::sendQueuedMoves);
+        }
+    }
+
+    /**
+     * Sends all moves queued since last call, one move per armor stand for each viewer.
+     */
+    public void sendQueuedMoves() {
+        PendingMove move;
+        while ((move = queuedMoves.poll()) != null) {
+            move.send();
+        }
+    }
+
+    /**
+     * Adds move delta to specified pending move and queues it
+     * to be sent on next {@link #sendQueuedMoves()} if it is not queued already.
+     *
+     * @param   move
+     *          Pending move of the viewer
+     * @param   positionDiff
+     *          Position difference
+     */
+    public void queueMove(@NotNull PendingMove move, @NotNull Location positionDiff) {
+        if (move.add(positionDiff)) queuedMoves.add(move);
+    }
+
+    /**
+     * Adds move delta to pending move of armor stands for specified viewer. If viewer
+     * does not see the armor stands yet, they are spawned in a new task instead.
+     *
+     * @param   receiver
+     *          packet receiver
+     * @param   asm
+     *          Armor stand manager of player who moved
+     * @param   positionDiff
+     *          Position difference
+     * @param   cpuType
+     *          CPU usage category to use if a task needs to be submitted
+     */
+    private void queueMove(@NotNull BackendTabPlayer receiver, @NotNull BackendArmorStandManager asm,
+                           @NotNull Location positionDiff, @NotNull String cpuType) {
+        PendingMove move = asm.getPendingMove(receiver);
+        if (move == null) {
+            TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(), cpuType, () -> asm.move(receiver, positionDiff));
+            return;
+        }
+        queueMove(move, positionDiff);
+    }
+
+    /**
+     * Drops move deltas which were not sent yet, because armor stands
+     * are about to be moved to an absolute position.
+     *
+     * @param   receiver
+     *          packet receiver
+     * @param   asm
+     *          Armor stand manager of player who moved
+     */
+    private void clearPendingMove(@NotNull BackendTabPlayer receiver, @NotNull BackendArmorStandManager asm) {
+        PendingMove move = asm.getPendingMove(receiver);
+        if (move != null) move.clear();
     }
 
     @Override
@@ -114,19 +191,14 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
         if (pl != null) {
             // player moved
             if (nameTagX.isPlayerDisabled(pl) || !pl.isLoaded()) return;
-            BackendArmorStandManager asm = nameTagX.getArmorStandManager(pl);
-            TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(), TabConstants.CpuUsageCategory.PACKET_PLAYER_MOVE,
-                    () -> asm.move(receiver, positionDiff));
+            queueMove(receiver, nameTagX.getArmorStandManager(pl), positionDiff, TabConstants.CpuUsageCategory.PACKET_PLAYER_MOVE);
         } else {
             // a non-player entity moved
             for (Integer entity : nameTagX.getVehicleManager().getVehicles().getOrDefault(entityId, Collections.emptyList())) {
                 TabPlayer passenger = entityIdMap.get(entity);
                 if (passenger != null) {
                     BackendArmorStandManager asm = nameTagX.getArmorStandManager(passenger);
-                    if (asm != null) {
-                        TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(), TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER,
-                                () -> asm.move(receiver, positionDiff));
-                    }
+                    if (asm != null) queueMove(receiver, asm, positionDiff, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER);
                 }
             }
         }
@@ -149,6 +221,7 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
             // player teleported
             if (nameTagX.isPlayerDisabled(pl) || !pl.isLoaded()) return;
             BackendArmorStandManager asm = nameTagX.getArmorStandManager(pl);
+            clearPendingMove(receiver, asm);
             TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(), TabConstants.CpuUsageCategory.PACKET_PLAYER_MOVE,
                     () -> asm.teleport(receiver));
         } else {
@@ -158,6 +231,7 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
                 if (passenger != null) {
                     BackendArmorStandManager asm = nameTagX.getArmorStandManager(passenger);
                     if (asm != null) {
+                        clearPendingMove(receiver, asm);
                         TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(), TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER,
                                 () -> asm.teleport(receiver));
                     }
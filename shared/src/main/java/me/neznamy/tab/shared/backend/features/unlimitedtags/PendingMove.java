@@ -0,0 +1,89 @@
+package me.neznamy.tab.shared.backend.features.unlimitedtags;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.backend.BackendTabPlayer;
+import me.neznamy.tab.shared.backend.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Armor stand movement of a single player for a single viewer. Move deltas
+ * are added from viewer's channel thread as move packets are sent and
+ * taken once per tick to send a single move packet for all of them.
+ * Deltas are kept in raw packet units, so they add up without rounding.
+ * All three axes are always read and written together under a lock, so
+ * a delta is never split between two taken moves or lost by a clear.
+ */
+@RequiredArgsConstructor
+public class PendingMove {
+
+    /** Armor stand manager of the player who moved */
+    @Getter private final BackendArmorStandManager armorStandManager;
+
+    /** Player who received the move packets */
+    @Getter private final BackendTabPlayer viewer;
+
+    /** Accumulated X delta */
+    private long x;
+
+    /** Accumulated Y delta */
+    private long y;
+
+    /** Accumulated Z delta */
+    private long z;
+
+    /** Whether this move is waiting in the queue to be sent */
+    private boolean queued;
+
+    /**
+     * Adds move delta to this move.
+     *
+     * @param   diff
+     *          Move delta from the packet
+     * @return  {@code true} if this move should be added into the queue, {@code false} if it already is
+     */
+    public synchronized boolean add(@NotNull Location diff) {
+        x += (long) diff.getX();
+        y += (long) diff.getY();
+        z += (long) diff.getZ();
+        if (queued) return false;
+        queued = true;
+        return true;
+    }
+
+    /**
+     * Takes all deltas accumulated since last call and resets them. Deltas added
+     * after the move was taken from the queue will queue it again.
+     *
+     * @return  Accumulated delta or {@code null} if there is nothing to move
+     */
+    @Nullable
+    public synchronized Location take() {
+        queued = false;
+        if (x == 0 && y == 0 && z == 0) return null;
+        Location diff = new Location(x, y, z);
+        x = 0;
+        y = 0;
+        z = 0;
+        return diff;
+    }
+
+    /**
+     * Drops all accumulated deltas, used when armor stands are
+     * teleported or spawned to an absolute position. If the move
+     * is still queued, taking it will return {@code null}.
+     */
+    public synchronized void clear() {
+        x = 0;
+        y = 0;
+        z = 0;
+    }
+
+    /**
+     * Sends accumulated deltas to the viewer as a single move.
+     */
+    public void send() {
+        armorStandManager.sendPendingMove(this);
+    }
+}
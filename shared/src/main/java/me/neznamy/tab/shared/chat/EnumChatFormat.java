@@ -46,7 +46,7 @@ public enum EnumChatFormat {
 
     /** Cache for last colors to prevent massive memory allocations on request */
     private static final ComponentCache<String, EnumChatFormat> lastColorCache =
-            new ComponentCache<>(1000, (string, version) -> lastColorsOf0(string));
+            new ComponentCache<>("last-colors", 1000, (string, version) -> lastColorsOf0(string));
 
     /** Character representing the color or magic code */
     private final char character;
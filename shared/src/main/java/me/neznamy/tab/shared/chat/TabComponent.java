@@ -1,28 +1,19 @@
 package me.neznamy.tab.shared.chat;
 
-import me.neznamy.tab.shared.chat.rgb.RGBUtils;
+import me.neznamy.tab.shared.chat.rgb.ColoredTextParser;
 import me.neznamy.tab.shared.util.ComponentCache;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Base class for managing minecraft components.
  */
 public abstract class TabComponent {
 
-    /** Pattern for detecting fonts */
-    private static final Pattern fontPattern = Pattern.compile("<font:(.*?)>(.*?)</font>");
-
     /**
      * Component cache maps to avoid large memory allocations as well as
      * higher CPU usage when using animations which send the same text on repeat.
      */
-    private static final ComponentCache<String, TabComponent> stringCache = new ComponentCache<>(1000, (text, clientVersion) -> {
+    private static final ComponentCache<String, TabComponent> stringCache = new ComponentCache<>("text-to-component", 1000, (text, clientVersion) -> {
         return text.contains("#") || text.contains("&x") || text.contains(EnumChatFormat.COLOR_CHAR + "x") || text.contains("<") ?
                 fromColoredText(text) : //contains RGB colors or font
                 new SimpleComponent(text); //no RGB
@@ -58,133 +49,6 @@ public abstract class TabComponent {
      */
     @NotNull
     public static TabComponent fromColoredText(@NotNull String originalText) {
-        String remainingText = originalText;
-        List<StructuredComponent> components = new ArrayList<>();
-        while (!remainingText.isEmpty()) {
-            Matcher m = fontPattern.matcher(remainingText);
-            if (m.find()) {
-                if (m.start() > 0) {
-                    // Something is before the text with font, process normally
-                    components.addAll(toComponentArray(remainingText.substring(0, m.start()), null));
-                }
-                // Process text with font
-                String match = m.group();
-                components.addAll(toComponentArray(
-                        match.substring(match.indexOf('>')+1, match.length()-7),
-                        match.substring(6, match.indexOf('>'))
-                ));
-                // Prepare the rest for next loop
-                remainingText = remainingText.substring(m.start() + match.length());
-            } else {
-                components.addAll(toComponentArray(remainingText, null));
-                break;
-            }
-        }
-        if (components.isEmpty()) {
-            return new SimpleComponent("");
-        } else {
-            return new StructuredComponent("", components);
-        }
-    }
-
-    @NotNull
-    private static List<StructuredComponent> toComponentArray(@NotNull String originalText, @Nullable String font) {
-        String text = RGBUtils.getInstance().applyFormats(EnumChatFormat.color(originalText));
-        List<StructuredComponent> components = new ArrayList<>();
-        StringBuilder builder = new StringBuilder();
-        StructuredComponent component = new StructuredComponent();
-        component.getModifier().setFont(font);
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            if (c == EnumChatFormat.COLOR_CHAR) {
-                i++;
-                if (i >= text.length()) {
-                    break;
-                }
-                c = text.charAt(i);
-                if ((c >= 'A') && (c <= 'Z')) {
-                    c = (char)(c + ' ');
-                }
-                EnumChatFormat format = EnumChatFormat.getByChar(c);
-                if (format != null) {
-                    component.setText(builder.toString());
-                    components.add(component);
-                    component = new StructuredComponent(component);
-                    component.setText("");
-                    component.getModifier().setFont(font);
-                    builder = new StringBuilder();
-                    switch (format) {
-                        case BOLD:
-                            component.getModifier().setBold(true);
-                            break;
-                        case ITALIC:
-                            component.getModifier().setItalic(true);
-                            break;
-                        case UNDERLINE:
-                            component.getModifier().setUnderlined(true);
-                            break;
-                        case STRIKETHROUGH:
-                            component.getModifier().setStrikethrough(true);
-                            break;
-                        case OBFUSCATED:
-                            component.getModifier().setObfuscated(true);
-                            break;
-                        case RESET:
-                            component = new StructuredComponent();
-                            component.getModifier().setColor(TextColor.legacy(EnumChatFormat.WHITE));
-                            component.getModifier().setFont(font);
-                            break;
-                        default:
-                            component = new StructuredComponent();
-                            component.getModifier().setColor(TextColor.legacy(format));
-                            component.getModifier().setFont(font);
-                            break;
-                    }
-                }
-            } else if (c == '#' && text.length() > i+6) {
-                String hex = text.substring(i+1, i+7);
-                if (isHexCode(hex)) {
-                    TextColor color;
-                    EnumChatFormat code = text.length() - i >= 9 ? EnumChatFormat.getByChar(text.charAt(i+8)) : null;
-                    if (code != null && text.charAt(i+7) == '|') {
-                        color = new TextColor(hex, code);
-                        i += 8;
-                    } else {
-                        color = new TextColor(hex);
-                        i += 6;
-                    }
-                    if (builder.length() > 0) {
-                        component.setText(builder.toString());
-                        components.add(component);
-                        builder = new StringBuilder();
-                    }
-                    component = new StructuredComponent();
-                    component.getModifier().setColor(color);
-                    component.getModifier().setFont(font);
-                } else {
-                    builder.append('#');
-                }
-            } else {
-                builder.append(c);
-            }
-        }
-        component.setText(builder.toString());
-        components.add(component);
-        return components;
-    }
-
-    /**
-     * Returns true if entered string is a valid 6-digit combination of
-     * hexadecimal numbers, false if not
-     *
-     * @param   string
-     *          string to check
-     * @return  {@code true} if valid, {@code false} if not
-     */
-    private static boolean isHexCode(@NotNull String string) {
-        for (char c : string.toCharArray()) {
-            if ("0123456789AaBbCcDdEeFf".indexOf(c) == -1) return false;
-        }
-        return true;
+        return ColoredTextParser.toComponent(originalText);
     }
 }
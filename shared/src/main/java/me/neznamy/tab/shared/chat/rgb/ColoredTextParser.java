@@ -0,0 +1,425 @@
+package me.neznamy.tab.shared.chat.rgb;
+
+import me.neznamy.tab.shared.chat.ChatModifier;
+import me.neznamy.tab.shared.chat.EnumChatFormat;
+import me.neznamy.tab.shared.chat.SimpleComponent;
+import me.neznamy.tab.shared.chat.StructuredComponent;
+import me.neznamy.tab.shared.chat.TabComponent;
+import me.neznamy.tab.shared.chat.TextColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass parser of colored text. Recognizes legacy color codes and all supported
+ * hex color formats ({@code #RRGGBB}, {@code &#RRGGBB}, {@code &x&R&R&G&G&B&B},
+ * {@code {#RRGGBB}}, {@code #<RRGGBB>} and {@code <#RRGGBB>}) in one scan and passes
+ * them to a {@link Sink}, which either builds components directly or streams
+ * legacy text without creating any components. Gradients and MiniMessage
+ * are applied before the scan by {@link RGBUtils#applyGradients(String)}.
+ */
+public class ColoredTextParser {
+
+    /** Pattern for detecting fonts */
+    private static final Pattern fontPattern = Pattern.compile("<font:(.*?)>(.*?)</font>");
+
+    /**
+     * Parses colored text into a component.
+     *
+     * @param   text
+     *          text to parse
+     * @return  component from given text
+     */
+    @NotNull
+    public static TabComponent toComponent(@NotNull String text) {
+        ComponentSink sink = new ComponentSink();
+        parse(text, sink);
+        if (sink.components.isEmpty()) return new SimpleComponent("");
+        return new StructuredComponent("", sink.components);
+    }
+
+    /**
+     * Converts all colors in text into the closest legacy colors, giving the same result as
+     * converting it into a component and back into legacy text, without creating the component.
+     *
+     * @param   text
+     *          text to convert
+     * @return  text using only legacy colors
+     */
+    @NotNull
+    public static String toLegacyText(@NotNull String text) {
+        LegacySink sink = new LegacySink();
+        parse(text, sink);
+        return sink.builder.toString();
+    }
+
+    /**
+     * Converts all hex color formats in text into {@code #RRGGBB}, keeping the rest of the text.
+     *
+     * @param   text
+     *          text to convert
+     * @return  text where all hex colors use {@code #RRGGBB}
+     */
+    @NotNull
+    public static String normalize(@NotNull String text) {
+        NormalizingSink sink = new NormalizingSink(text.length());
+        tokenize(text, sink);
+        return sink.builder.toString();
+    }
+
+    /**
+     * Splits text by fonts and tokenizes each part into given sink.
+     *
+     * @param   originalText
+     *          text to parse
+     * @param   sink
+     *          sink to pass tokens to
+     */
+    private static void parse(@NotNull String originalText, @NotNull FormattingSink sink) {
+        String remainingText = originalText;
+        while (!remainingText.isEmpty()) {
+            Matcher m = fontPattern.matcher(remainingText);
+            if (m.find()) {
+                if (m.start() > 0) {
+                    // Something is before the text with font, process normally
+                    parseSection(remainingText.substring(0, m.start()), null, sink);
+                }
+                // Process text with font
+                String match = m.group();
+                parseSection(match.substring(match.indexOf('>')+1, match.length()-7), match.substring(6, match.indexOf('>')), sink);
+                // Prepare the rest for next loop
+                remainingText = remainingText.substring(m.start() + match.length());
+            } else {
+                parseSection(remainingText, null, sink);
+                break;
+            }
+        }
+    }
+
+    private static void parseSection(@NotNull String text, @Nullable String font, @NotNull FormattingSink sink) {
+        sink.start(font);
+        tokenize(RGBUtils.getInstance().applyGradients(EnumChatFormat.color(text)), sink);
+        sink.end();
+    }
+
+    /**
+     * Scans the text once and passes all text characters, legacy codes and hex colors into the sink.
+     *
+     * @param   text
+     *          text to scan
+     * @param   sink
+     *          sink to pass tokens to
+     */
+    private static void tokenize(@NotNull String text, @NotNull Sink sink) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int hexStart = -1;
+            int tokenEnd = -1;
+            switch (c) {
+                case EnumChatFormat.COLOR_CHAR:
+                case '&':
+                    if (isBukkitHex(text, i)) {
+                        // &x&R&R&G&G&B&B
+                        tokenEnd = i + 14;
+                    } else if (c == '&') {
+                        // &#RRGGBB is the same as #RRGGBB, a lone & before # is dropped as well,
+                        // same goes for & before formats which used to be converted to #RRGGBB first
+                        if (matches(text, i+1, '#') || isBukkitHex(text, i+1) || isCMIHex(text, i+1)) continue;
+                    } else {
+                        if (++i < length) sink.format(text.charAt(i));
+                        continue;
+                    }
+                    break;
+                case '{':
+                    // {#RRGGBB}
+                    if (isCMIHex(text, i)) {
+                        hexStart = i + 2;
+                        tokenEnd = i + 9;
+                    }
+                    break;
+                case '<':
+                    // <#RRGGBB>
+                    if (matches(text, i+1, '#') && isHex(text, i+2) && matches(text, i+8, '>')) {
+                        hexStart = i + 2;
+                        tokenEnd = i + 9;
+                    }
+                    break;
+                case '#':
+                    if (matches(text, i+1, '<') && isHex(text, i+2) && matches(text, i+8, '>')) {
+                        // #<RRGGBB>
+                        hexStart = i + 2;
+                        tokenEnd = i + 9;
+                    } else if (isHex(text, i+1)) {
+                        // #RRGGBB
+                        hexStart = i + 1;
+                        tokenEnd = i + 7;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (tokenEnd == -1) {
+                sink.text(c);
+                continue;
+            }
+            String hex = hexStart == -1 ?
+                    new String(new char[] {text.charAt(i+3), text.charAt(i+5), text.charAt(i+7), text.charAt(i+9), text.charAt(i+11), text.charAt(i+13)}) :
+                    text.substring(hexStart, hexStart + 6);
+            EnumChatFormat legacyColor = null;
+            if (tokenEnd + 1 < length && text.charAt(tokenEnd) == '|') {
+                legacyColor = EnumChatFormat.getByChar(text.charAt(tokenEnd + 1));
+                if (legacyColor != null) tokenEnd += 2;
+            }
+            sink.hexColor(hex, legacyColor);
+            i = tokenEnd - 1;
+        }
+    }
+
+    private static boolean matches(@NotNull String text, int index, char c) {
+        return index < text.length() && text.charAt(index) == c;
+    }
+
+    private static boolean isHex(@NotNull String text, int from) {
+        if (from + 6 > text.length()) return false;
+        for (int i = from; i < from + 6; i++) {
+            if (Character.digit(text.charAt(i), 16) == -1) return false;
+        }
+        return true;
+    }
+
+    private static boolean isCMIHex(@NotNull String text, int from) {
+        return matches(text, from, '{') && matches(text, from+1, '#') && isHex(text, from+2) && matches(text, from+8, '}');
+    }
+
+    private static boolean isBukkitHex(@NotNull String text, int from) {
+        if (from + 14 > text.length() || text.charAt(from+1) != 'x') return false;
+        if (text.charAt(from) != '&' && text.charAt(from) != EnumChatFormat.COLOR_CHAR) return false;
+        for (int i = from + 2; i < from + 14; i += 2) {
+            // Separators are optional, only every second character is used
+            char c = text.charAt(i);
+            if (c != '&' && c != EnumChatFormat.COLOR_CHAR && Character.digit(c, 16) == -1) return false;
+            if (Character.digit(text.charAt(i+1), 16) == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Receiver of tokens found in text.
+     */
+    private interface Sink {
+
+        /**
+         * Processes a text character.
+         *
+         * @param   c
+         *          text character
+         */
+        void text(char c);
+
+        /**
+         * Processes a legacy code, which may not be valid.
+         *
+         * @param   code
+         *          character following the color symbol
+         */
+        void format(char code);
+
+        /**
+         * Processes a hex color.
+         *
+         * @param   hexCode
+         *          6-digit hex code
+         * @param   legacyColor
+         *          forced legacy color or {@code null} if not forced
+         */
+        void hexColor(@NotNull String hexCode, @Nullable EnumChatFormat legacyColor);
+    }
+
+    /**
+     * Sink keeping the formatting state, which splits text into parts
+     * with the same formatting, the same way as components are split.
+     */
+    private static abstract class FormattingSink implements Sink {
+
+        /** Font of current section */
+        @Nullable private String font;
+
+        /** Formatting of current part */
+        @NotNull private ChatModifier modifier = new ChatModifier();
+
+        /** Text of current part */
+        @NotNull private final StringBuilder text = new StringBuilder();
+
+        /**
+         * Starts a new section with given font.
+         *
+         * @param   font
+         *          font of the section
+         */
+        void start(@Nullable String font) {
+            this.font = font;
+            modifier = new ChatModifier();
+            modifier.setFont(font);
+            text.setLength(0);
+        }
+
+        /**
+         * Ends current section.
+         */
+        void end() {
+            flush();
+        }
+
+        @Override
+        public void text(char c) {
+            text.append(c);
+        }
+
+        @Override
+        public void format(char code) {
+            if ((code >= 'A') && (code <= 'Z')) {
+                code = (char)(code + ' ');
+            }
+            EnumChatFormat format = EnumChatFormat.getByChar(code);
+            if (format == null) return;
+            flush();
+            switch (format) {
+                case BOLD:
+                    modifier.setBold(true);
+                    break;
+                case ITALIC:
+                    modifier.setItalic(true);
+                    break;
+                case UNDERLINE:
+                    modifier.setUnderlined(true);
+                    break;
+                case STRIKETHROUGH:
+                    modifier.setStrikethrough(true);
+                    break;
+                case OBFUSCATED:
+                    modifier.setObfuscated(true);
+                    break;
+                case RESET:
+                    setColor(TextColor.legacy(EnumChatFormat.WHITE));
+                    break;
+                default:
+                    setColor(TextColor.legacy(format));
+                    break;
+            }
+        }
+
+        @Override
+        public void hexColor(@NotNull String hexCode, @Nullable EnumChatFormat legacyColor) {
+            if (text.length() > 0) flush();
+            setColor(legacyColor == null ? new TextColor(hexCode) : new TextColor(hexCode, legacyColor));
+        }
+
+        private void setColor(@NotNull TextColor color) {
+            modifier = new ChatModifier();
+            modifier.setColor(color);
+            modifier.setFont(font);
+        }
+
+        private void flush() {
+            emit(modifier, text.toString());
+            text.setLength(0);
+        }
+
+        /**
+         * Processes a finished part of text.
+         *
+         * @param   modifier
+         *          formatting of the part, which may be modified after this call
+         * @param   text
+         *          text of the part
+         */
+        abstract void emit(@NotNull ChatModifier modifier, @NotNull String text);
+    }
+
+    /**
+     * Sink creating a component for each part of text.
+     */
+    private static class ComponentSink extends FormattingSink {
+
+        /** Created components */
+        @NotNull private final List<StructuredComponent> components = new ArrayList<>();
+
+        @Override
+        void emit(@NotNull ChatModifier modifier, @NotNull String text) {
+            StructuredComponent component = new StructuredComponent();
+            component.setText(text);
+            component.getModifier().setColor(modifier.getColor());
+            component.getModifier().setBold(modifier.isBold());
+            component.getModifier().setItalic(modifier.isItalic());
+            component.getModifier().setUnderlined(modifier.isUnderlined());
+            component.getModifier().setStrikethrough(modifier.isStrikethrough());
+            component.getModifier().setObfuscated(modifier.isObfuscated());
+            component.getModifier().setFont(modifier.getFont());
+            components.add(component);
+        }
+    }
+
+    /**
+     * Sink writing legacy text directly, skipping formatting identical to previous part.
+     */
+    private static class LegacySink extends FormattingSink {
+
+        /** Converted text */
+        @NotNull private final StringBuilder builder = new StringBuilder();
+
+        /** Formatting of previous part */
+        @NotNull private String previousFormatting = "";
+
+        @Override
+        void emit(@NotNull ChatModifier modifier, @NotNull String text) {
+            String formatting;
+            if (modifier.getColor() == null) {
+                formatting = modifier.getMagicCodes();
+            } else if (modifier.getColor().getLegacyColor() == EnumChatFormat.WHITE) {
+                //preventing unwanted &r -> &f conversion and stopping the <1.13 client bug fix from working
+                formatting = EnumChatFormat.RESET + modifier.getMagicCodes();
+            } else {
+                formatting = modifier.getColor().getLegacyColor() + modifier.getMagicCodes();
+            }
+            if (!formatting.equals(previousFormatting)) {
+                builder.append(formatting);
+                previousFormatting = formatting;
+            }
+            builder.append(text);
+        }
+    }
+
+    /**
+     * Sink writing text back with all hex colors converted to {@code #RRGGBB}.
+     */
+    private static class NormalizingSink implements Sink {
+
+        /** Converted text */
+        @NotNull private final StringBuilder builder;
+
+        private NormalizingSink(int capacity) {
+            builder = new StringBuilder(capacity);
+        }
+
+        @Override
+        public void text(char c) {
+            builder.append(c);
+        }
+
+        @Override
+        public void format(char code) {
+            builder.append(EnumChatFormat.COLOR_CHAR).append(code);
+        }
+
+        @Override
+        public void hexColor(@NotNull String hexCode, @Nullable EnumChatFormat legacyColor) {
+            builder.append('#').append(hexCode);
+            if (legacyColor != null) builder.append('|').append(legacyColor.getCharacter());
+        }
+    }
+}
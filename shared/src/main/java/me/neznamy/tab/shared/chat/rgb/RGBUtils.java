@@ -1,12 +1,7 @@
 package me.neznamy.tab.shared.chat.rgb;
 
 import lombok.Getter;
-import me.neznamy.tab.shared.chat.TabComponent;
-import me.neznamy.tab.shared.chat.rgb.format.BukkitFormat;
-import me.neznamy.tab.shared.chat.rgb.format.HtmlFormat;
-import me.neznamy.tab.shared.chat.rgb.format.KyoriFormat;
 import me.neznamy.tab.shared.chat.rgb.format.MiniMessageFormat;
-import me.neznamy.tab.shared.chat.rgb.format.UnnamedFormat1;
 import me.neznamy.tab.shared.chat.rgb.gradient.CMIGradient;
 import me.neznamy.tab.shared.chat.rgb.gradient.CommonGradient;
 import me.neznamy.tab.shared.chat.rgb.gradient.GradientPattern;
@@ -14,23 +9,24 @@ import me.neznamy.tab.shared.chat.rgb.gradient.KyoriGradient;
 import me.neznamy.tab.shared.chat.rgb.gradient.NexEngineGradient;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Pattern;
-import me.neznamy.tab.shared.chat.rgb.format.CMIFormat;
 import me.neznamy.tab.shared.chat.rgb.format.RGBFormatter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * A helper class to reformat all RGB formats into the default #RRGGBB and apply gradients
+ * A helper class to reformat all RGB formats into the default #RRGGBB and apply gradients.
+ * Simple hex color formats are recognized by {@link ColoredTextParser} in a single scan,
+ * this class only applies gradients and MiniMessage, which change structure of the text.
  */
 public class RGBUtils {
 
     /** Instance of the class */
     @Getter private static final RGBUtils instance = new RGBUtils();
 
-    /** Registered RGB formatters */
-    private final RGBFormatter[] formats;
+    /** MiniMessage formatter or {@code null} if MiniMessage is not available */
+    @Nullable
+    private final RGBFormatter miniMessage;
 
     /** Registered gradient patterns */
     private final GradientPattern[] gradients;
@@ -39,16 +35,7 @@ public class RGBUtils {
      * Constructs new instance and loads all RGB patterns and gradients
      */
     public RGBUtils() {
-        List<RGBFormatter> list = new ArrayList<>();
-        if (ReflectionUtils.classExists("net.kyori.adventure.text.minimessage.MiniMessage")) {
-            list.add(new MiniMessageFormat());
-        }
-        list.add(new BukkitFormat());
-        list.add(new CMIFormat());
-        list.add(new UnnamedFormat1());
-        list.add(new HtmlFormat());
-        list.add(new KyoriFormat());
-        formats = list.toArray(new RGBFormatter[0]);
+        miniMessage = ReflectionUtils.classExists("net.kyori.adventure.text.minimessage.MiniMessage") ? new MiniMessageFormat() : null;
 
         gradients = new GradientPattern[] {
                 //{#RRGGBB>}text{#RRGGBB<}
@@ -74,12 +61,26 @@ public class RGBUtils {
      * @return  text where everything is converted to #RRGGBB
      */
     public @NotNull String applyFormats(@NotNull String text) {
+        return ColoredTextParser.normalize(applyGradients(text));
+    }
+
+    /**
+     * Applies all gradients and MiniMessage to text and returns it. Other
+     * hex color formats are left untouched.
+     *
+     * @param   text
+     *          original text
+     * @return  text with gradients converted to hex colors
+     */
+    public @NotNull String applyGradients(@NotNull String text) {
+        // All gradients and MiniMessage tags start with one of these characters
+        if (text.indexOf('<') == -1 && text.indexOf('{') == -1) return text;
         String replaced = text;
         for (GradientPattern pattern : gradients) {
             replaced = pattern.applyPattern(replaced, false);
         }
-        for (RGBFormatter formatter : formats) {
-            replaced = formatter.reformat(replaced);
+        if (miniMessage != null) {
+            replaced = miniMessage.reformat(replaced);
         }
         return replaced;
     }
@@ -110,6 +111,6 @@ public class RGBUtils {
      * @return  translated text
      */
     public @NotNull String convertRGBtoLegacy(@NotNull String text) {
-        return TabComponent.fromColoredText(text).toLegacyText();
+        return ColoredTextParser.toLegacyText(text);
     }
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package me.neznamy.tab.shared.command;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import me.neznamy.tab.shared.chat.SimpleComponent;
 import me.neznamy.tab.shared.cpu.CpuReport;
+import me.neznamy.tab.shared.placeholders.PlaceholderLatency;
+import me.neznamy.tab.shared.placeholders.types.TabPlaceholder;
+import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.util.ComponentCache;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.shared.TAB;
@@ -48,6 +54,14 @@ public class CpuCommand extends SubCommand {
         sendMessage(sender, "&8&l" + LINE_CHAR + " &6Top 5 placeholders:");
         printPlaceholders(sender, report.getPlaceholderUsage());
         sendMessage(sender, "&8&l" + LINE_CHAR + "&8&m                                                    ");
+        printThrottledPlaceholders(sender);
+        if (!report.getPlaceholderShardUsage().isEmpty()) {
+            sendMessage(sender, "&8&l" + LINE_CHAR + " &6Top 5 placeholder refresh shards:");
+            printShards(sender, report.getPlaceholderShardUsage());
+            sendMessage(sender, "&8&l" + LINE_CHAR + "&8&m                                                    ");
+        }
+        printComponentCaches(sender);
+        printSkippedScoreboardUpdates(sender);
         if (sender != null) {
             sendToPlayer(sender, features);
         } else {
@@ -73,6 +87,46 @@ public class CpuCommand extends SubCommand {
         }
     }
 
+    private void printThrottledPlaceholders(@Nullable TabPlayer sender) {
+        List<TabPlaceholder> throttled = new ArrayList<>();
+        for (Placeholder p : TAB.getInstance().getPlaceholderManager().getAllPlaceholders()) {
+            if (((TabPlaceholder) p).getLatency().isThrottled()) throttled.add((TabPlaceholder) p);
+        }
+        if (throttled.isEmpty()) return;
+        sendMessage(sender, "&8&l" + LINE_CHAR + " &6Throttled placeholders (interval, p50/p95 request time, skipped requests):");
+        for (TabPlaceholder p : throttled) {
+            PlaceholderLatency latency = p.getLatency();
+            sendMessage(sender, String.format("&8&l%s &7%s - &c%s&7ms &8(%s)&7, %s/%s, %s", LINE_CHAR, p.getIdentifier(), p.getEffectiveRefresh(),
+                    p.getRefresh(), latency.getPercentile(0.5), latency.getPercentile(0.95), latency.getSkippedRequests()));
+        }
+        sendMessage(sender, "&8&l" + LINE_CHAR + "&8&m                                                    ");
+    }
+
+    private void printShards(@Nullable TabPlayer sender, @NotNull Map<String, Float> map) {
+        int printCounter = 0;
+        for (Entry<String, Float> entry : map.entrySet()) {
+            if (printCounter++ == 5) break;
+            sendMessage(sender, String.format("&8&l%s &7%s - %s%%", LINE_CHAR, entry.getKey(), colorize(decimal3.format(entry.getValue()), 1, 0.3f)));
+        }
+    }
+
+    private void printComponentCaches(@Nullable TabPlayer sender) {
+        sendMessage(sender, "&8&l" + LINE_CHAR + " &6Component caches (size/capacity, hit rate, evictions):");
+        for (ComponentCache<?, ?> cache : ComponentCache.getCaches()) {
+            long requests = cache.getHits() + cache.getMisses();
+            String hitRate = requests == 0 ? "-" : decimal3.format(cache.getHits() * 100d / requests) + "%";
+            sendMessage(sender, String.format("&8&l%s &7%s - %s/%s, %s, %s", LINE_CHAR, cache.getName(), cache.size(),
+                    cache.getCapacity() * 2, hitRate, cache.getEvictions()));
+        }
+        sendMessage(sender, "&8&l" + LINE_CHAR + "&8&m                                                    ");
+    }
+
+    private void printSkippedScoreboardUpdates(@Nullable TabPlayer sender) {
+        sendMessage(sender, String.format("&8&l%s &6Skipped redundant scoreboard updates: &7teams %s, objectives %s, scores %s", LINE_CHAR,
+                Scoreboard.getSkippedTeamUpdates(), Scoreboard.getSkippedObjectiveUpdates(), Scoreboard.getSkippedScoreUpdates()));
+        sendMessage(sender, "&8&l" + LINE_CHAR + "&8&m                                                    ");
+    }
+
     public void sendToConsole(@NotNull Map<String, Map<String, Float>> features) {
         TAB.getInstance().getPlatform().logInfo(new SimpleComponent(EnumChatFormat.color("&8&l" + LINE_CHAR + " &6Features:")));
         for (Entry<String, Map<String, Float>> entry : features.entrySet()) {
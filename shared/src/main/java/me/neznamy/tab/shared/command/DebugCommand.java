@@ -5,7 +5,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.shared.features.nametags.unlimited.NameTagX;
+import me.neznamy.tab.shared.placeholders.types.TabPlaceholder;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.config.file.ConfigurationFile;
@@ -65,6 +67,7 @@ public class DebugCommand extends SubCommand {
         sendMessage(sender, "&6Permission group choice logic: &b" + getGroupChoiceLogic());
         sendMessage(sender, "&6Sorting system: &b" + getSortingType());
         sendMessage(sender, "&6Storage type: &b" + (tab.getConfiguration().getGroups() instanceof ConfigurationFile ? "File" : "MySQL"));
+        sendMessage(sender, "&6Throttled placeholders: &b" + getThrottledPlaceholders());
         sendMessage(sender, separator);
         if (analyzed == null) return;
         if (!analyzed.isLoaded()) {
@@ -110,6 +113,23 @@ public class DebugCommand extends SubCommand {
         sendMessage(sender, separator);
     }
 
+    /**
+     * Returns list of placeholders which are being throttled for being slow,
+     * including their current refresh interval.
+     *
+     * @return  list of throttled placeholders
+     */
+    private @NotNull String getThrottledPlaceholders() {
+        List<String> throttled = new ArrayList<>();
+        for (Placeholder p : TAB.getInstance().getPlaceholderManager().getAllPlaceholders()) {
+            TabPlaceholder placeholder = (TabPlaceholder) p;
+            if (!placeholder.getLatency().isThrottled()) continue;
+            throttled.add(placeholder.getIdentifier() + " (" + placeholder.getEffectiveRefresh() + "ms, " +
+                    placeholder.getLatency().getSkippedRequests() + " skipped)");
+        }
+        return throttled.isEmpty() ? "None" : String.join(", ", throttled);
+    }
+
     /**
      * Returns group choice logic
      *
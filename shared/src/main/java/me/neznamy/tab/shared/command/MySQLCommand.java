@@ -94,8 +94,13 @@ public class MySQLCommand extends SubCommand {
                 YamlPropertyConfigurationFile userFile = new YamlPropertyConfigurationFile(Configs.class.getClassLoader().getResourceAsStream("users.yml"), new File(TAB.getInstance().getDataFolder(), "users.yml"));
                 upload(groupFile, TAB.getInstance().getConfiguration().getGroups());
                 upload(userFile, TAB.getInstance().getConfiguration().getUsers());
-                sendMessage(sender, getMessages().getMySQLUploadSuccess());
-            } catch (YAMLException | IOException e) {
+                // Send queued updates now to only report success if they were actually written
+                if (mysql.flushUpdates()) {
+                    sendMessage(sender, getMessages().getMySQLUploadSuccess());
+                } else {
+                    sendMessage(sender, getMessages().getMySQLFailError());
+                }
+            } catch (YAMLException | IOException | SQLException e) {
                 sendMessage(sender, getMessages().getMySQLFailError());
                 TAB.getInstance().getErrorManager().criticalError("MySQL upload failed", e);
             }
@@ -11,6 +11,7 @@ import me.neznamy.tab.shared.config.mysql.MySQL;
 import me.neznamy.tab.shared.config.mysql.MySQLGroupConfiguration;
 import me.neznamy.tab.shared.config.mysql.MySQLUserConfiguration;
 import me.neznamy.tab.shared.features.GlobalPlayerList;
+import me.neznamy.tab.shared.util.ComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
@@ -18,6 +19,7 @@ import org.yaml.snakeyaml.error.YAMLException;
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -71,6 +73,7 @@ public class Configs {
         converter.convert332to400(config);
         converter.convert403to404(config);
         converter.convert409to410(config);
+        ComponentCache.setCapacities(getSecretOption("component-cache-sizes", Collections.<String, Object>emptyMap()));
         if (config.getBoolean("mysql.enabled", false)) {
             try {
                 // Initialization to try to avoid java.sql.SQLException: No suitable driver found
@@ -85,7 +88,8 @@ public class Configs {
                         config.getString("mysql.database", "tab"),
                         config.getString("mysql.username", "user"),
                         config.getString("mysql.password", "password"),
-                        config.getBoolean("mysql.useSSL", true)
+                        config.getBoolean("mysql.useSSL", true),
+                        config.getInt("mysql.pool-size", 3)
                 );
                 mysql.openConnection();
                 groups = new MySQLGroupConfiguration(mysql);
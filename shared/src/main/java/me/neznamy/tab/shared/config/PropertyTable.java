@@ -0,0 +1,106 @@
+package me.neznamy.tab.shared.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of resolved properties of a {@link PropertyConfiguration}. Each combination
+ * of group or user, property, server and world is resolved through all fallback levels
+ * only once and then returned with a few map lookups without any allocations.
+ * The whole table is dropped when the configuration changes.
+ */
+public class PropertyTable {
+
+    /** Key used for {@code null} server or world */
+    private static final String NONE = "";
+
+    /** Maximum amount of groups or users in the table, it is cleared when exceeded to not grow with every player who joined */
+    private static final int MAX_ENTRIES = 10000;
+
+    /** Function resolving property of a group or user through all fallback levels */
+    @NotNull private final Resolver resolver;
+
+    /** Resolved values by group or user, property, server and world */
+    @NotNull private volatile Map<String, Map<String, Map<String, Map<String, String[]>>>> table = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs new instance with given resolver.
+     *
+     * @param   resolver
+     *          Function resolving property of a group or user through all fallback levels
+     */
+    public PropertyTable(@NotNull Resolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns resolved property, resolving it first if this combination was not resolved yet.
+     * Returned array must not be modified.
+     *
+     * @param   groupOrUser
+     *          Name of group or user
+     * @param   property
+     *          Name of property
+     * @param   server
+     *          Server the player is currently in
+     * @param   world
+     *          World the player is currently in
+     * @return  Array with value and source or empty array, same as {@link PropertyConfiguration#getProperty}
+     */
+    @NotNull
+    public String[] get(@NotNull String groupOrUser, @NotNull String property, @Nullable String server, @Nullable String world) {
+        Map<String, Map<String, Map<String, Map<String, String[]>>>> table = this.table;
+        Map<String, Map<String, Map<String, String[]>>> byProperty = table.get(groupOrUser);
+        if (byProperty == null) {
+            if (table.size() >= MAX_ENTRIES) {
+                invalidate();
+                table = this.table;
+            }
+            byProperty = table.computeIfAbsent(groupOrUser, k -> new ConcurrentHashMap<>());
+        }
+        Map<String, String[]> byWorld = byProperty
+                .computeIfAbsent(property, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(server == null ? NONE : server, k -> new ConcurrentHashMap<>());
+        String worldKey = world == null ? NONE : world;
+        String[] value = byWorld.get(worldKey);
+        if (value == null) {
+            value = resolver.resolve(groupOrUser, property, server, world);
+            byWorld.put(worldKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * Drops all resolved values, must be called whenever the configuration changes.
+     * Values being resolved at the moment are stored into the old table,
+     * which is no longer used.
+     */
+    public void invalidate() {
+        table = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Function resolving property of a group or user through all fallback levels.
+     */
+    public interface Resolver {
+
+        /**
+         * Resolves property, same as {@link PropertyConfiguration#getProperty}.
+         *
+         * @param   groupOrUser
+         *          Name of group or user
+         * @param   property
+         *          Name of property
+         * @param   server
+         *          Server the player is currently in
+         * @param   world
+         *          World the player is currently in
+         * @return  Array with value and source or empty array
+         */
+        @NotNull
+        String[] resolve(@NotNull String groupOrUser, @NotNull String property, @Nullable String server, @Nullable String world);
+    }
+}
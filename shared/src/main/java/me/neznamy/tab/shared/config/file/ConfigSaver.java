@@ -0,0 +1,108 @@
+package me.neznamy.tab.shared.config.file;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.chat.SimpleComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Writes configuration files on a background thread. Saves of the same file
+ * requested within a short time are merged into a single write.
+ */
+public class ConfigSaver {
+
+    /** How long to wait for more changes before writing a file, in milliseconds */
+    private static final int SAVE_DELAY = 500;
+
+    /** How long to wait before writing a file again after it failed, in milliseconds */
+    private static final int RETRY_DELAY = 5000;
+
+    /** Thread writing the files, started when first needed and stopped on unload */
+    @Nullable private static ScheduledExecutorService thread;
+
+    /** Files with changes which were not written yet */
+    private static final Set<ConfigurationFile> pendingFiles = ConcurrentHashMap.newKeySet();
+
+    private ConfigSaver() {
+    }
+
+    /**
+     * Schedules writing of given file if it is not scheduled already.
+     *
+     * @param   file
+     *          File to write
+     */
+    public static void scheduleSave(@NotNull ConfigurationFile file) {
+        if (pendingFiles.add(file)) {
+            getThread().schedule(() -> write(file, true), SAVE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all files with pending changes on the saving thread and waits until they
+     * are written, including a write which is in progress at the moment. Called on unload,
+     * so all changes are on disk before files are loaded again.
+     */
+    public static void flush() {
+        if (pendingFiles.isEmpty()) return;
+        try {
+            getThread().submit(() -> {
+                for (ConfigurationFile file : new ArrayList<>(pendingFiles)) {
+                    write(file, false);
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            TAB.getInstance().getErrorManager().taskThrewError(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the saving thread without writing scheduled files. Should be called
+     * after {@link #flush()}. Files which still were not saved are forgotten, so that
+     * their old content does not overwrite files loaded again. Thread is started again
+     * when another save is requested.
+     */
+    public static synchronized void shutdown() {
+        for (ConfigurationFile file : pendingFiles) {
+            TAB.getInstance().getPlatform().logWarn(new SimpleComponent("File " + file.getFile().getPath() + " could not be saved, changes were lost"));
+        }
+        pendingFiles.clear();
+        if (thread == null) return;
+        thread.shutdown();
+        thread = null;
+    }
+
+    @NotNull
+    private static synchronized ScheduledExecutorService getThread() {
+        if (thread == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                    new ThreadFactoryBuilder().setNameFormat("TAB Config Saving Thread").setDaemon(true).build());
+            // Pending files are written by flush, not by scheduled writes
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            thread = executor;
+        }
+        return thread;
+    }
+
+    private static void write(@NotNull ConfigurationFile file, boolean retry) {
+        // Changes made after this point schedule another write
+        if (!pendingFiles.remove(file)) return;
+        try {
+            file.write();
+        } catch (IOException | RuntimeException e) {
+            TAB.getInstance().getErrorManager().configSaveFailed(file.getFile(), e);
+            // Keep the changes, unless they were already scheduled again
+            if (pendingFiles.add(file) && retry) {
+                getThread().schedule(() -> write(file, true), RETRY_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@ package me.neznamy.tab.shared.config.file;
 
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import me.neznamy.tab.shared.TAB;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -10,7 +9,11 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -24,7 +27,14 @@ public abstract class ConfigurationFile {
     protected List<String> header;
 
     /** Configuration file content */
-    @Getter @Setter protected Map<String, Object> values;
+    @Getter protected Map<String, Object> values;
+
+    /**
+     * Immutable copy of the key structure of {@link #values} with lowercase keys for
+     * case-insensitive lookups. Nodes are never modified, changes replace the nodes
+     * on the changed path and then the root, so readers always see a consistent state.
+     */
+    private volatile IndexNode index = new IndexNode(null, Collections.emptyMap());
 
     /** File to use */
     @Getter protected final File file;
@@ -54,10 +64,57 @@ public abstract class ConfigurationFile {
         detectHeader();
     }
 
+    /** Lock preventing the file from being written by multiple threads at once */
+    private final Object writeLock = new Object();
+
     /**
-     * Saves values from map to the file
+     * Rebuilds case-insensitive index and schedules writing values into the file.
+     * Saves requested within a short time are merged into a single write. This
+     * must be called after {@link #values} were modified directly, changes made
+     * using {@link #set(String, Object)} are saved automatically.
+     */
+    public void save() {
+        updateIndex();
+        ConfigSaver.scheduleSave(this);
+    }
+
+    /**
+     * Converts values into file content.
+     *
+     * @return  File content without header
      */
-    public abstract void save();
+    @NotNull
+    protected abstract String serialize();
+
+    /**
+     * Writes values with header into the file. Content is first written into a temporary
+     * file, which then replaces the original file, so the original file stays intact
+     * if writing fails.
+     *
+     * @throws  IOException
+     *          if I/O operation with the file unexpectedly fails
+     */
+    void write() throws IOException {
+        String content;
+        synchronized (this) {
+            content = serialize();
+        }
+        synchronized (writeLock) {
+            StringBuilder sb = new StringBuilder();
+            for (String line : header) {
+                sb.append(line).append(System.lineSeparator());
+            }
+            sb.append(content);
+            Path path = file.toPath();
+            Path temp = path.resolveSibling(file.getName() + ".tmp");
+            Files.write(temp, sb.toString().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
 
     /**
      * Gets config option with specified path. If the option is not present and
@@ -71,14 +128,15 @@ public abstract class ConfigurationFile {
      * @return  value from configuration file
      */
     public Object getObject(@NonNull String path, @Nullable Object defaultValue) {
-        Object value = values;
+        IndexNode node = index;
         for (String section : path.contains(".") ? path.split("\\.") : new String[] {path}) {
-            if (!(value instanceof Map)) {
+            if (node.children == null) {
                 if (defaultValue != null) set(path, defaultValue);
                 return defaultValue;
             }
-            value = getIgnoreCase((Map<Object, Object>) value, section);
+            node = node.getChild(section);
         }
+        Object value = node.value;
         if (value == null && defaultValue != null) {
             TAB.getInstance().debug("Inserting missing config option \"" + path + "\" with value \"" + defaultValue + "\" into " + file.getName());
             set(path, defaultValue);
@@ -99,37 +157,54 @@ public abstract class ConfigurationFile {
         return getObject(path, null);
     }
 
+    /**
+     * Returns config option with specified path without case sensitivity.
+     * If option is not present or any section is {@code null}, {@code null}
+     * is returned.
+     *
+     * @param   path
+     *          Path to the option split into sections
+     * @return  value from configuration file or null if not present
+     */
     public Object getObject(String[] path) {
-        Object value = values;
+        IndexNode node = index;
         for (String section : path) {
-            if (section == null || !(value instanceof Map)) {
+            if (section == null || node.children == null) {
                 return null;
             }
-            value = getIgnoreCase((Map<Object, Object>) value, section);
+            node = node.getChild(section);
         }
-        return value;
+        return node.value;
     }
 
     /**
-     * Returns value from map without case sensitivity of the key. Returns
-     * {@code null} if no such key is found.
+     * Replaces content of this file.
      *
-     * @param   map
-     *          map to get value from
-     * @param   key
-     *          case-insensitive key name
-     * @return  map value from case-insensitive key
+     * @param   values
+     *          New content
      */
-    private Object getIgnoreCase(@NonNull Map<Object, Object> map, @NonNull String key) {
-        try {
-            for (Entry<Object, Object> entry : map.entrySet()) {
-                if (entry.getKey().toString().equalsIgnoreCase(key)) return entry.getValue();
-            }
-            return map.get(key);
-        } catch (ConcurrentModificationException e) {
-            // Map modified by another thread during iteration (such as running /tab group or /tab player)
-            return getIgnoreCase(map, key);
-        }
+    public void setValues(@NonNull Map<String, Object> values) {
+        this.values = values;
+        updateIndex();
+    }
+
+    /**
+     * Rebuilds case-insensitive index from current content. Must be called
+     * after {@link #values} are modified, which {@link #save()} does.
+     */
+    protected void updateIndex() {
+        index = IndexNode.of(values);
+    }
+
+    /**
+     * Updates case-insensitive index of option with specified path after it was changed.
+     * Only nodes of sections on the path are replaced, the rest of the index is kept.
+     *
+     * @param   path
+     *          Path to the option with sections separated with "{@code .}"
+     */
+    private void updateIndex(@NotNull String path) {
+        index = index.with(values, path.split("\\."), 0);
     }
 
     /**
@@ -299,16 +374,18 @@ public abstract class ConfigurationFile {
     }
 
     /**
-     * Sets value to the specified path and saves the file to disk by calling {@link #save()}.
+     * Sets value to the specified path, updates case-insensitive index of the path
+     * and schedules writing values into the file.
      *
      * @param   path
      *          Path to the option with sections separated with "{@code .}"
      * @param   value
      *          Value to save
      */
-    public void set(@NonNull String path, @Nullable Object value) {
+    public synchronized void set(@NonNull String path, @Nullable Object value) {
         set(values, path, value);
-        save();
+        updateIndex(path);
+        ConfigSaver.scheduleSave(this);
     }
 
     /**
@@ -375,23 +452,6 @@ public abstract class ConfigurationFile {
         }
     }
 
-    /**
-     * Inserts header back into file. This is required after calling {@link #save()}, because
-     * it destroys the header.
-     *
-     * @throws  IOException
-     *          if I/O operation fails
-     */
-    public void fixHeader() throws IOException {
-        if (header == null) return;
-        List<String> content = new ArrayList<>(header);
-        content.addAll(Files.readAllLines(file.toPath()));
-        Files.delete(file.toPath());
-        if (file.createNewFile()) {
-            Files.write(file.toPath(), content);
-        }
-    }
-
     /**
      * Sets value to specified key if key does not exist.
      *
@@ -419,4 +479,89 @@ public abstract class ConfigurationFile {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Node of case-insensitive index, holding value of a config option
+     * and index of its keys if the value is a section.
+     */
+    private static class IndexNode {
+
+        /** Node of an option which is not present */
+        private static final IndexNode MISSING = new IndexNode(null, null);
+
+        /** Value of the option */
+        @Nullable private final Object value;
+
+        /** Nodes of section keys by lowercase key, {@code null} if value is not a section */
+        @Nullable private final Map<String, IndexNode> children;
+
+        private IndexNode(@Nullable Object value, @Nullable Map<String, IndexNode> children) {
+            this.value = value;
+            this.children = children;
+        }
+
+        /**
+         * Creates index of given value, including all sub-sections.
+         *
+         * @param   value
+         *          Value to create index of
+         * @return  Index of given value
+         */
+        @NotNull
+        private static IndexNode of(@Nullable Object value) {
+            if (!(value instanceof Map)) return new IndexNode(value, null);
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<String, IndexNode> children = new HashMap<>(map.size() * 4 / 3 + 1);
+            for (Entry<?, ?> entry : map.entrySet()) {
+                // First key wins on conflict, same as when iterating the map
+                children.putIfAbsent(String.valueOf(entry.getKey()).toLowerCase(Locale.US), of(entry.getValue()));
+            }
+            return new IndexNode(value, children);
+        }
+
+        /**
+         * Creates copy of this node with updated child on given path, creating
+         * new nodes only for sections on the path.
+         *
+         * @param   map
+         *          Current value of this node
+         * @param   path
+         *          Path to the changed option split into sections
+         * @param   i
+         *          Index of section in path which is a child of this node
+         * @return  Updated copy of this node
+         */
+        @NotNull
+        private IndexNode with(@NotNull Map<?, ?> map, @NotNull String[] path, int i) {
+            String key = path[i].toLowerCase(Locale.US);
+            Map<String, IndexNode> children = this.children == null ? new HashMap<>() : new HashMap<>(this.children);
+            for (Entry<?, ?> entry : map.entrySet()) {
+                // First key wins on conflict, same as when creating the index
+                if (!String.valueOf(entry.getKey()).toLowerCase(Locale.US).equals(key)) continue;
+                Object value = entry.getValue();
+                if (i == path.length - 1 || !(value instanceof Map)) {
+                    children.put(key, of(value));
+                } else {
+                    children.put(key, getChild(key).with((Map<?, ?>) value, path, i + 1));
+                }
+                return new IndexNode(map, children);
+            }
+            children.remove(key);
+            return new IndexNode(map, children);
+        }
+
+        /**
+         * Returns node of given key without case sensitivity.
+         *
+         * @param   key
+         *          Key to get node of
+         * @return  Node of the key, node with {@code null} value if not present
+         */
+        @NotNull
+        private IndexNode getChild(@NotNull String key) {
+            if (children == null) return MISSING;
+            IndexNode child = children.get(key.toLowerCase(Locale.US));
+            return child == null ? MISSING : child;
+        }
+    }
+}
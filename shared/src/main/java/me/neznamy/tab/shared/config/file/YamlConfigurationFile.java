@@ -4,10 +4,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -15,6 +11,7 @@ import lombok.NonNull;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.SimpleComponent;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -51,6 +48,7 @@ public class YamlConfigurationFile extends ConfigurationFile {
             input = new FileInputStream(file);
             values = new Yaml().load(input);
             if (values == null) values = new LinkedHashMap<>();
+            updateIndex();
             input.close();
         } catch (YAMLException e) {
             if (input != null) input.close();
@@ -70,16 +68,10 @@ public class YamlConfigurationFile extends ConfigurationFile {
     }
 
     @Override
-    public void save() {
-        try {
-            Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8);
-            DumperOptions options = new DumperOptions();
-            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-            new Yaml(options).dump(values, writer);
-            writer.close();
-            fixHeader();
-        } catch (IOException e) {
-            TAB.getInstance().getPlatform().logWarn(new SimpleComponent("Failed to save yaml file " + file.getPath() + " with content " + values.toString()));
-        }
+    @NotNull
+    protected String serialize() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return new Yaml(options).dump(values);
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import me.neznamy.tab.shared.config.PropertyConfiguration;
+import me.neznamy.tab.shared.config.PropertyTable;
 import me.neznamy.tab.shared.TAB;
 
 public class YamlPropertyConfigurationFile extends YamlConfigurationFile implements PropertyConfiguration {
@@ -20,6 +21,7 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
     private final String category;
     private final List<Object> worldGroups = new ArrayList<>(getConfigurationSection(PER_WORLD).keySet());
     private final List<Object> serverGroups = new ArrayList<>(getConfigurationSection(PER_SERVER).keySet());
+    private final PropertyTable table = new PropertyTable(this::resolveProperty);
     
     public YamlPropertyConfigurationFile(@Nullable InputStream source, @NotNull File destination) throws IOException {
         super(source, destination);
@@ -35,10 +37,16 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         } else {
             set(String.format("%s.%s", name, property), fromString(value));
         }
+        table.invalidate();
     }
 
     @Override
     public String[] getProperty(@NotNull String name, @NotNull String property, @Nullable String server, @Nullable String world) {
+        return table.get(name, property, server, world);
+    }
+
+    @NotNull
+    private String[] resolveProperty(@NotNull String name, @NotNull String property, @Nullable String server, @Nullable String world) {
         Object value;
         if ((value = getObject(new String[] {PER_WORLD, TAB.getInstance().getConfiguration().getGroup(worldGroups, world), name, property})) != null) {
             return new String[] {toString(value), category + "=" + name + ", world=" + world};
@@ -66,6 +74,7 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         set(name, null);
         getConfigurationSection(PER_WORLD).keySet().forEach(world -> set(PER_WORLD + "." + world + "." + name, null));
         getConfigurationSection(PER_SERVER).keySet().forEach(server -> set(PER_SERVER + "." + server + "." + name, null));
+        table.invalidate();
     }
 
     @Override
@@ -9,7 +9,7 @@ import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
+import java.util.*;
 
 /**
  * Logger for runtime errors from poor configuration
@@ -17,6 +17,18 @@ import java.util.Collection;
  */
 public class RuntimeErrorPrinter {
 
+    /** Configured belowname value last reported as invalid for each player */
+    private final Map<TabPlayer, String> reportedInvalidBelowName = new WeakHashMap<>();
+
+    /** Configured belowname value last reported as decimal for each player */
+    private final Map<TabPlayer, String> reportedFloatBelowName = new WeakHashMap<>();
+
+    /** Configured playerlist objective value last reported as invalid for each player */
+    private final Map<TabPlayer, String> reportedInvalidPlayerlistObjective = new WeakHashMap<>();
+
+    /** Configured playerlist objective value last reported as decimal for each player */
+    private final Map<TabPlayer, String> reportedFloatPlayerlistObjective = new WeakHashMap<>();
+
     /**
      * Logs a warning if placeholder did not return a valid number for bossbar progress.
      *
@@ -88,6 +100,7 @@ public class RuntimeErrorPrinter {
     public void invalidNumberForBelowName(@NotNull TabPlayer target, @NotNull String configuredValue, @NotNull String output) {
         // Placeholders are not initialized, because bridge did not respond yet (typically on join)
         if (target instanceof ProxyTabPlayer && !((ProxyTabPlayer)target).isBridgeConnected()) return;
+        if (isReported(reportedInvalidBelowName, target, configuredValue)) return;
 
         error(EnumChatFormat.decolor(String.format("Belowname number is configured to show \"%s\", but returned \"%s\" for player %s, which cannot be evaluated to a number.",
                 configuredValue, output, target.getName())));
@@ -96,6 +109,7 @@ public class RuntimeErrorPrinter {
     public void floatInBelowName(@NotNull TabPlayer target, @NotNull String configuredValue, @NotNull String output) {
         // Placeholders are not initialized, because bridge did not respond yet (typically on join)
         if (target instanceof ProxyTabPlayer && !((ProxyTabPlayer)target).isBridgeConnected()) return;
+        if (isReported(reportedFloatBelowName, target, configuredValue)) return;
 
         error(EnumChatFormat.decolor(String.format("Belowname number is configured to show \"%s\", but returned \"%s\" " +
                         "for player %s, which is a decimal number. Truncating to an integer.",
@@ -105,6 +119,7 @@ public class RuntimeErrorPrinter {
     public void invalidNumberForPlayerlistObjective(@NotNull TabPlayer target, @NotNull String configuredValue, @NotNull String output) {
         // Placeholders are not initialized, because bridge did not respond yet (typically on join)
         if (target instanceof ProxyTabPlayer && !((ProxyTabPlayer)target).isBridgeConnected()) return;
+        if (isReported(reportedInvalidPlayerlistObjective, target, configuredValue)) return;
 
         error(EnumChatFormat.decolor(String.format("Playerlist objective number is configured to show \"%s\", but returned \"%s\" for player %s, which cannot be evaluated to a number.",
                 configuredValue, output, target.getName())));
@@ -113,12 +128,45 @@ public class RuntimeErrorPrinter {
     public void floatInPlayerlistObjective(@NotNull TabPlayer target, @NotNull String configuredValue, @NotNull String output) {
         // Placeholders are not initialized, because bridge did not respond yet (typically on join)
         if (target instanceof ProxyTabPlayer && !((ProxyTabPlayer)target).isBridgeConnected()) return;
+        if (isReported(reportedFloatPlayerlistObjective, target, configuredValue)) return;
 
         error(EnumChatFormat.decolor(String.format("Playerlist objective number is configured to show \"%s\", but returned \"%s\" " +
                         "for player %s, which is a decimal number. Truncating to an integer.",
                 configuredValue, output, target.getName())));
     }
 
+    /**
+     * Marks configured value as reported for player and returns whether it was reported
+     * already, so the problem is not reported on every refresh or every time the output
+     * changes. Only the last reported value is remembered for each player.
+     *
+     * @param   reported
+     *          Configured values last reported for each player
+     * @param   target
+     *          Player the output was returned for
+     * @param   configuredValue
+     *          Configured value which returned the output
+     * @return  {@code true} if value was already reported for player, {@code false} if not
+     */
+    private boolean isReported(@NotNull Map<TabPlayer, String> reported, @NotNull TabPlayer target, @NotNull String configuredValue) {
+        synchronized (reported) {
+            return configuredValue.equals(reported.put(target, configuredValue));
+        }
+    }
+
+    /**
+     * Forgets all reported values, so problems which still exist
+     * after configuration was reloaded are reported again.
+     */
+    public void clearReported() {
+        for (Map<TabPlayer, String> reported : Arrays.asList(reportedInvalidBelowName, reportedFloatBelowName,
+                reportedInvalidPlayerlistObjective, reportedFloatPlayerlistObjective)) {
+            synchronized (reported) {
+                reported.clear();
+            }
+        }
+    }
+
     /**
      * Logs a warning if player's group is not in sorting list.
      *
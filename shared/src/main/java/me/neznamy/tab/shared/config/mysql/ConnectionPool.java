@@ -0,0 +1,201 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small fixed-size pool of JDBC connections. Connections are opened lazily
+ * and each of them caches prepared statements by their query. The pool
+ * only uses plain JDBC, so it works with any driver, including embedded
+ * in-memory databases.
+ */
+public class ConnectionPool {
+
+    /** Seconds to wait for a connection to respond when checking if it is still alive */
+    private static final int VALIDATION_TIMEOUT = 2;
+
+    /** How long to wait for a free connection before giving up, in seconds */
+    private static final int BORROW_TIMEOUT = 30;
+
+    /** JDBC url of the database */
+    @NotNull private final String url;
+
+    /** Connection properties, such as username and password */
+    @NotNull private final Properties properties;
+
+    /** Maximum amount of open connections */
+    @Getter private final int size;
+
+    /** Connections not borrowed at the moment */
+    @NotNull private final BlockingQueue<PooledConnection> idle;
+
+    /** All connections ever opened by this pool and not closed yet */
+    @NotNull private final List<PooledConnection> all = new ArrayList<>();
+
+    /** Whether the pool was closed */
+    private volatile boolean closed;
+
+    /**
+     * Constructs new instance with given parameters. No connection is opened yet.
+     *
+     * @param   url
+     *          JDBC url of the database
+     * @param   properties
+     *          Connection properties
+     * @param   size
+     *          Maximum amount of open connections
+     */
+    public ConnectionPool(@NotNull String url, @NotNull Properties properties, int size) {
+        this.url = url;
+        this.properties = properties;
+        this.size = Math.max(1, size);
+        idle = new ArrayBlockingQueue<>(this.size);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if the pool is not full yet
+     * or waiting for one to be returned if it is. Borrowed connection must be returned
+     * using {@link #release(PooledConnection)}.
+     *
+     * @return  Borrowed connection
+     * @throws  SQLException
+     *          If pool is closed, connection could not be opened or no connection was returned in time
+     */
+    @NotNull
+    public PooledConnection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        PooledConnection connection = idle.poll();
+        if (connection == null) {
+            connection = open();
+            if (connection == null) {
+                try {
+                    connection = idle.poll(BORROW_TIMEOUT, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a connection", e);
+                }
+                if (connection == null) throw new SQLException("Timed out while waiting for a connection");
+            }
+        }
+        if (!connection.isValid()) {
+            connection.close();
+            synchronized (all) {
+                all.remove(connection);
+            }
+            return borrow();
+        }
+        return connection;
+    }
+
+    /**
+     * Returns previously borrowed connection back into the pool.
+     *
+     * @param   connection
+     *          Connection to return
+     */
+    public void release(@NotNull PooledConnection connection) {
+        if (closed) {
+            connection.close();
+            return;
+        }
+        idle.offer(connection);
+    }
+
+    /**
+     * Opens a new connection if the pool is not full yet.
+     *
+     * @return  New connection or {@code null} if the pool is full
+     * @throws  SQLException
+     *          If connection could not be opened
+     */
+    @Nullable
+    private PooledConnection open() throws SQLException {
+        synchronized (all) {
+            if (all.size() >= size) return null;
+            PooledConnection connection = new PooledConnection(DriverManager.getConnection(url, properties));
+            all.add(connection);
+            return connection;
+        }
+    }
+
+    /**
+     * Closes all connections and prevents new ones from being borrowed.
+     * Connections borrowed at the moment are closed once they are returned.
+     */
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+        synchronized (all) {
+            all.clear();
+        }
+    }
+
+    /**
+     * Connection with a cache of prepared statements.
+     */
+    public class PooledConnection {
+
+        /** Underlying JDBC connection */
+        @Getter @NotNull private final Connection connection;
+
+        /** Prepared statements by their query */
+        @NotNull private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PooledConnection(@NotNull Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Returns prepared statement for given query, preparing it only if
+         * this connection did not prepare it yet. Parameters of the
+         * statement are cleared before returning it.
+         *
+         * @param   query
+         *          Query to prepare
+         * @return  Prepared statement of the query
+         * @throws  SQLException
+         *          If statement could not be prepared
+         */
+        @NotNull
+        public PreparedStatement prepare(@NotNull String query) throws SQLException {
+            PreparedStatement statement = statements.get(query);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(query);
+                statements.put(query, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        private boolean isValid() {
+            try {
+                return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            try {
+                connection.close(); // Closes cached statements as well
+            } catch (SQLException ignored) {
+                // Connection is being thrown away anyway
+            }
+            statements.clear();
+        }
+    }
+}
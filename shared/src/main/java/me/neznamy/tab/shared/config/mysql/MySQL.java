@@ -1,83 +1,401 @@
 package me.neznamy.tab.shared.config.mysql;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.Properties;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import javax.sql.rowset.CachedRowSet;
 import javax.sql.rowset.RowSetProvider;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.SimpleComponent;
+import me.neznamy.tab.shared.config.mysql.ConnectionPool.PooledConnection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-@RequiredArgsConstructor
+/**
+ * MySQL connection using a connection pool. Queries can be run synchronously
+ * or on a dedicated executor, writes can be queued and sent in batches.
+ */
 public class MySQL {
 
-    private Connection con;
-    @NotNull private final String host;
-    private final int port;
-    @NotNull private final String database;
-    @NotNull private final String username;
-    @NotNull private final String password;
-    private final boolean useSSL;
+    /** How long to wait before sending queued updates, in milliseconds */
+    private static final int UPDATE_DELAY = 100;
 
-    public void openConnection() throws SQLException {
-        if (isConnected()) return;
+    /** How long to wait before sending updates again after they failed, in milliseconds */
+    private static final int RETRY_DELAY = 5000;
+
+    /** Pool of connections to the database */
+    @NotNull private final ConnectionPool pool;
+
+    /** Executor for queries, so they do not block the processing thread */
+    @NotNull private final ScheduledExecutorService executor;
+
+    /** How long to wait before sending queued updates, in milliseconds */
+    private final int updateDelay;
+
+    /** Handler of failed queries which are not thrown to the caller */
+    @NotNull private final Consumer<SQLException> errorHandler;
+
+    /** Updates waiting to be sent, updates which failed due to connection problems are put back to the front */
+    @NotNull private final Deque<Update> queuedUpdates = new ConcurrentLinkedDeque<>();
+
+    /** Whether sending of queued updates is scheduled */
+    @NotNull private final AtomicBoolean updateScheduled = new AtomicBoolean();
+
+    /** Lock preventing queued updates from being sent by multiple threads at once */
+    @NotNull private final Object updateLock = new Object();
+
+    /**
+     * Constructs new instance with given connection details. No connection is opened yet.
+     *
+     * @param   host
+     *          Database host
+     * @param   port
+     *          Database port
+     * @param   database
+     *          Database name
+     * @param   username
+     *          Username
+     * @param   password
+     *          Password
+     * @param   useSSL
+     *          Whether SSL should be used or not
+     * @param   poolSize
+     *          Maximum amount of open connections
+     */
+    public MySQL(@NotNull String host, int port, @NotNull String database, @NotNull String username,
+                 @NotNull String password, boolean useSSL, int poolSize) {
+        this(createPool(host, port, database, username, password, useSSL, poolSize),
+                UPDATE_DELAY, e -> TAB.getInstance().getErrorManager().mysqlQueryFailed(e));
+    }
+
+    @NotNull
+    private static ConnectionPool createPool(@NotNull String host, int port, @NotNull String database, @NotNull String username,
+                                             @NotNull String password, boolean useSSL, int poolSize) {
         Properties properties = new Properties();
         properties.setProperty("user", username);
         properties.setProperty("password", password);
         properties.setProperty("useSSL", String.valueOf(useSSL));
         properties.setProperty("characterEncoding", "UTF-8");
-        con = DriverManager.getConnection(String.format("jdbc:mysql://%s:%d/%s", host, port, database), properties);
-        TAB.getInstance().getPlatform().logInfo(new SimpleComponent(EnumChatFormat.GREEN + "Successfully connected to MySQL"));
+        properties.setProperty("cachePrepStmts", "true");
+        properties.setProperty("useServerPrepStmts", "true");
+        properties.setProperty("rewriteBatchedStatements", "true");
+        return new ConnectionPool(String.format("jdbc:mysql://%s:%d/%s", host, port, database), properties, poolSize);
     }
-    
-    public void closeConnection() throws SQLException {
-        if (isConnected()) con.close();
+
+    /**
+     * Constructs new instance using given connection pool. No connection is opened yet.
+     *
+     * @param   pool
+     *          Pool of connections to the database
+     * @param   updateDelay
+     *          How long to wait before sending queued updates, in milliseconds
+     * @param   errorHandler
+     *          Handler of failed queries which are not thrown to the caller
+     */
+    public MySQL(@NotNull ConnectionPool pool, int updateDelay, @NotNull Consumer<SQLException> errorHandler) {
+        this.pool = pool;
+        this.updateDelay = updateDelay;
+        this.errorHandler = errorHandler;
+        executor = createExecutor(pool.getSize());
     }
 
-    private boolean isConnected() throws SQLException {
-        return con != null && !con.isClosed();
+    @NotNull
+    private static ScheduledExecutorService createExecutor(int size) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(size,
+                new ThreadFactoryBuilder().setNameFormat("TAB MySQL Thread #%d").build());
+        // Queued updates are sent on close directly, do not wait for scheduled sending or retry
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
     }
 
+    /**
+     * Opens first connection to verify connection details.
+     *
+     * @throws  SQLException
+     *          If connection could not be opened
+     */
+    public void openConnection() throws SQLException {
+        pool.release(pool.borrow());
+        TAB.getInstance().getPlatform().logInfo(new SimpleComponent(EnumChatFormat.GREEN + "Successfully connected to MySQL"));
+    }
+
+    /**
+     * Sends all queued updates, stops the executor and closes all connections.
+     * If sending queued updates fails, the error is logged and they are lost.
+     */
+    public void closeConnection() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flushUpdates();
+        } catch (SQLException e) {
+            errorHandler.accept(e);
+        } finally {
+            pool.close();
+        }
+    }
+
+    /**
+     * Executes update query synchronously, after attempting to send all queued updates.
+     *
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     * @throws  SQLException
+     *          If query failed
+     */
     public void execute(@NonNull String query, @Nullable Object... vars) throws SQLException {
-        try (PreparedStatement ps = prepareStatement(query, vars)) {
+        tryFlushUpdates();
+        PooledConnection connection = pool.borrow();
+        try {
+            PreparedStatement ps = connection.prepare(query);
+            setParameters(ps, vars);
             ps.execute();
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Queues update query to be executed on the executor together with other
+     * queued updates in a single transaction. Updates are executed in the
+     * same order they were queued in.
+     *
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     */
+    public void queueUpdate(@NonNull String query, @Nullable Object... vars) {
+        queuedUpdates.add(new Update(query, vars));
+        if (updateScheduled.compareAndSet(false, true)) scheduleFlush(updateDelay);
+    }
+
+    /**
+     * Schedules sending of queued updates. If sending fails due to connection problems,
+     * it is scheduled again with a longer delay, so updates are not lost while the
+     * database is unavailable.
+     *
+     * @param   delay
+     *          Delay in milliseconds
+     */
+    private void scheduleFlush(int delay) {
+        try {
+            executor.schedule(() -> {
+                try {
+                    flushUpdates();
+                } catch (SQLException e) {
+                    if (updateScheduled.compareAndSet(false, true)) scheduleFlush(RETRY_DELAY);
+                    errorHandler.accept(e);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, updates will be sent on close
+        }
+    }
+
+    /**
+     * Sends all queued updates in a single transaction, using batches
+     * for consecutive updates with the same query. If an update fails for
+     * a reason other than a connection problem, updates are sent one by one
+     * and only the failing ones are logged and dropped.
+     *
+     * @return  {@code true} if all updates were sent, {@code false} if some were dropped
+     * @throws  SQLException
+     *          If sending failed due to a connection problem, in which case all updates
+     *          which were not sent are put back into the queue in front of updates queued
+     *          since then
+     */
+    public boolean flushUpdates() throws SQLException {
+        synchronized (updateLock) {
+            updateScheduled.set(false);
+            if (queuedUpdates.isEmpty()) return true;
+            List<Update> updates = new ArrayList<>();
+            Update update;
+            while ((update = queuedUpdates.poll()) != null) {
+                updates.add(update);
+            }
+            PooledConnection connection;
+            try {
+                connection = pool.borrow();
+            } catch (SQLException e) {
+                requeue(updates);
+                throw e;
+            }
+            try {
+                try {
+                    sendBatch(connection, updates);
+                    return true;
+                } catch (SQLException e) {
+                    if (isConnectionProblem(e)) {
+                        requeue(updates);
+                        throw e;
+                    }
+                }
+                boolean sent = true;
+                for (int i = 0; i < updates.size(); i++) {
+                    try {
+                        PreparedStatement ps = connection.prepare(updates.get(i).query);
+                        setParameters(ps, updates.get(i).vars);
+                        ps.execute();
+                    } catch (SQLException e) {
+                        if (isConnectionProblem(e)) {
+                            requeue(updates.subList(i, updates.size()));
+                            throw e;
+                        }
+                        errorHandler.accept(e);
+                        sent = false;
+                    }
+                }
+                return sent;
+            } finally {
+                pool.release(connection);
+            }
+        }
+    }
+
+    /**
+     * Sends queued updates, only logging the error if it fails, so that
+     * queries which do not depend on them can still be executed.
+     */
+    private void tryFlushUpdates() {
+        try {
+            flushUpdates();
+        } catch (SQLException e) {
+            errorHandler.accept(e);
         }
     }
 
-    private PreparedStatement prepareStatement(@NonNull String query, @Nullable Object... vars) throws SQLException {
-        if (!isConnected()) openConnection();
-        PreparedStatement ps = con.prepareStatement(query);
-        int i = 0;
-        if (query.contains("?")) {
-            for (Object obj : vars) {
-                i++;
-                ps.setObject(i, obj);
+    private void sendBatch(@NotNull PooledConnection connection, @NotNull List<Update> updates) throws SQLException {
+        connection.getConnection().setAutoCommit(false);
+        PreparedStatement ps = null;
+        try {
+            String query = null;
+            for (Update u : updates) {
+                if (!u.query.equals(query)) {
+                    if (ps != null) ps.executeBatch();
+                    query = u.query;
+                    ps = connection.prepare(query);
+                }
+                setParameters(ps, u.vars);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.getConnection().commit();
+        } catch (SQLException e) {
+            try {
+                if (ps != null) ps.clearBatch();
+                connection.getConnection().rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        } finally {
+            try {
+                connection.getConnection().setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // Connection is broken and will be replaced when borrowed again
             }
         }
-        return ps;
     }
 
+    private void requeue(@NotNull List<Update> updates) {
+        for (int i = updates.size() - 1; i >= 0; i--) {
+            queuedUpdates.addFirst(updates.get(i));
+        }
+    }
+
+    /**
+     * Returns {@code true} if the error was caused by the connection or another
+     * temporary problem, so the same query may succeed later.
+     *
+     * @param   e
+     *          Thrown error
+     * @return  {@code true} if query may succeed later, {@code false} if not
+     */
+    private boolean isConnectionProblem(@NotNull SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException || t instanceof SQLRecoverableException) return true;
+            // SQL state class 08 is connection exception
+            if (t instanceof SQLException && ((SQLException) t).getSQLState() != null && ((SQLException) t).getSQLState().startsWith("08")) return true;
+        }
+        return false;
+    }
+
+    private void setParameters(@NotNull PreparedStatement ps, @Nullable Object... vars) throws SQLException {
+        if (vars == null) return;
+        for (int i=0; i<vars.length; i++) {
+            ps.setObject(i+1, vars[i]);
+        }
+    }
+
+    /**
+     * Executes select query synchronously, after attempting to send all queued updates.
+     *
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     * @return  Result of the query
+     * @throws  SQLException
+     *          If query failed
+     */
     public CachedRowSet getCRS(@NonNull String query, @NonNull Object... vars) throws SQLException {
-        PreparedStatement ps = prepareStatement(query, vars);
-        ResultSet rs = ps.executeQuery();
-        CachedRowSet crs;
+        tryFlushUpdates();
+        PooledConnection connection = pool.borrow();
         try {
-            crs = RowSetProvider.newFactory().createCachedRowSet();
-            crs.populate(rs);
-            return crs;
+            PreparedStatement ps = connection.prepare(query);
+            setParameters(ps, vars);
+            try (ResultSet rs = ps.executeQuery()) {
+                CachedRowSet crs = RowSetProvider.newFactory().createCachedRowSet();
+                crs.populate(rs);
+                return crs;
+            }
         } finally {
-            rs.close();
-            ps.close();
+            pool.release(connection);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Executes select query on the executor.
+     *
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     * @return  Future completed with result of the query
+     */
+    @NotNull
+    public CompletableFuture<CachedRowSet> getCRSAsync(@NonNull String query, @NonNull Object... vars) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getCRS(query, vars);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Queued update query with its parameters.
+     */
+    @AllArgsConstructor
+    private static class Update {
+
+        @NotNull private final String query;
+        @Nullable private final Object[] vars;
+    }
+}
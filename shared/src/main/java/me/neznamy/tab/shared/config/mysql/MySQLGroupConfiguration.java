@@ -1,7 +1,7 @@
 package me.neznamy.tab.shared.config.mysql;
 
 import me.neznamy.tab.shared.config.PropertyConfiguration;
-import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.config.PropertyTable;
 import me.neznamy.tab.shared.TabConstants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,6 +17,7 @@ public class MySQLGroupConfiguration implements PropertyConfiguration {
     private final Map<String, Map<String, Object>> values = new HashMap<>();
     private final Map<String, Map<String, Map<String, Object>>> perWorld = new HashMap<>();
     private final Map<String, Map<String, Map<String, Object>>> perServer = new HashMap<>();
+    private final PropertyTable table = new PropertyTable(this::resolveProperty);
 
     public MySQLGroupConfiguration(@NotNull MySQL mysql) throws SQLException {
         this.mysql = mysql;
@@ -36,15 +37,11 @@ public class MySQLGroupConfiguration implements PropertyConfiguration {
     @Override
     public void setProperty(@NotNull String group, @NotNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
         String lowercaseGroup = group.equals(TabConstants.DEFAULT_GROUP) ? group : group.toLowerCase(Locale.US);
-        try {
-            if (getProperty(lowercaseGroup, property, server, world) != null) {
-                mysql.execute("delete from `tab_groups` where `group` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseGroup, property, world, server);
-            }
-            setProperty0(lowercaseGroup, property, server, world, value);
-            if (value != null) mysql.execute("insert into `tab_groups` (`group`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseGroup, property, value, world, server);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
+        if (getProperty(lowercaseGroup, property, server, world) != null) {
+            mysql.queueUpdate("delete from `tab_groups` where `group` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseGroup, property, world, server);
         }
+        setProperty0(lowercaseGroup, property, server, world, value);
+        if (value != null) mysql.queueUpdate("insert into `tab_groups` (`group`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseGroup, property, value, world, server);
     }
     
     private String querySymbol(boolean isNull) {
@@ -59,28 +56,34 @@ public class MySQLGroupConfiguration implements PropertyConfiguration {
         } else {
             values.computeIfAbsent(group, g -> new HashMap<>()).put(property, value);
         }
+        table.invalidate();
     }
 
     @Override
     public String[] getProperty(@NotNull String group, @NotNull String property, @Nullable String server, @Nullable String world) {
+        return table.get(group, property, server, world);
+    }
+
+    @NotNull
+    private String[] resolveProperty(@NotNull String group, @NotNull String property, @Nullable String server, @Nullable String world) {
         String lowercaseGroup = group.equals(TabConstants.DEFAULT_GROUP) ? group : group.toLowerCase(Locale.US);
         Object value;
-        if ((value = perWorld.getOrDefault(world, new HashMap<>()).getOrDefault(lowercaseGroup, new HashMap<>()).get(property)) != null) {
+        if ((value = perWorld.getOrDefault(world, Collections.emptyMap()).getOrDefault(lowercaseGroup, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s,world=%s", lowercaseGroup, world)};
         }
-        if ((value = perWorld.getOrDefault(world, new HashMap<>()).getOrDefault(TabConstants.DEFAULT_GROUP, new HashMap<>()).get(property)) != null) {
+        if ((value = perWorld.getOrDefault(world, Collections.emptyMap()).getOrDefault(TabConstants.DEFAULT_GROUP, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s,world=%s", TabConstants.DEFAULT_GROUP, world)};
         }
-        if ((value = perServer.getOrDefault(server, new HashMap<>()).getOrDefault(lowercaseGroup, new HashMap<>()).get(property)) != null) {
+        if ((value = perServer.getOrDefault(server, Collections.emptyMap()).getOrDefault(lowercaseGroup, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s,server=%s", lowercaseGroup, server)};
         }
-        if ((value = perServer.getOrDefault(server, new HashMap<>()).getOrDefault(TabConstants.DEFAULT_GROUP, new HashMap<>()).get(property)) != null) {
+        if ((value = perServer.getOrDefault(server, Collections.emptyMap()).getOrDefault(TabConstants.DEFAULT_GROUP, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s,server=%s", TabConstants.DEFAULT_GROUP, server)};
         }
-        if ((value = values.getOrDefault(lowercaseGroup, new HashMap<>()).get(property)) != null) {
+        if ((value = values.getOrDefault(lowercaseGroup, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s", lowercaseGroup)};
         }
-        if ((value = values.getOrDefault(TabConstants.DEFAULT_GROUP, new HashMap<>()).get(property)) != null) {
+        if ((value = values.getOrDefault(TabConstants.DEFAULT_GROUP, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("group=%s", TabConstants.DEFAULT_GROUP)};
         }
         return new String[0];
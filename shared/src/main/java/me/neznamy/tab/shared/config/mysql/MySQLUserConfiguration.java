@@ -2,10 +2,14 @@ package me.neznamy.tab.shared.config.mysql;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sql.rowset.CachedRowSet;
 
+import lombok.AllArgsConstructor;
 import me.neznamy.tab.shared.config.PropertyConfiguration;
+import me.neznamy.tab.shared.config.PropertyTable;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
 import org.jetbrains.annotations.NotNull;
@@ -18,6 +22,13 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
     private final WeakHashMap<TabPlayer, Map<String, Object>> values = new WeakHashMap<>();
     private final Map<String, WeakHashMap<TabPlayer, Map<String, Object>>> perWorld = new HashMap<>();
     private final Map<String, WeakHashMap<TabPlayer, Map<String, Object>>> perServer = new HashMap<>();
+    private final PropertyTable table = new PropertyTable(this::resolveProperty);
+
+    /** How long to keep prefetched data of players who did not join, in milliseconds */
+    private static final long PREFETCH_EXPIRATION = 60000;
+
+    /** Data of players loaded during login, before they joined */
+    private final Map<UUID, Prefetch> prefetched = new ConcurrentHashMap<>();
 
     public MySQLUserConfiguration(@NotNull MySQL mysql) throws SQLException {
         this.mysql = mysql;
@@ -28,15 +39,11 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
     public void setProperty(@NotNull String user, @NotNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
         TabPlayer p = getPlayer(user);
         String lowercaseUser = user.toLowerCase();
-        try {
-            if (getProperty(lowercaseUser, property, server, world) != null) {
-                mysql.execute("delete from `tab_users` where `user` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseUser, property, world, server);
-            }
-            if (p != null) setProperty0(p, property, server, world, value);
-            if (value != null) mysql.execute("insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseUser, property, value, world, server);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
+        if (getProperty(lowercaseUser, property, server, world) != null) {
+            mysql.queueUpdate("delete from `tab_users` where `user` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseUser, property, world, server);
         }
+        if (p != null) setProperty0(p, property, server, world, value);
+        if (value != null) mysql.queueUpdate("insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseUser, property, value, world, server);
     }
 
     private String querySymbol(boolean isNull) {
@@ -51,19 +58,25 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
         } else {
             values.computeIfAbsent(user, g -> new HashMap<>()).put(property, value);
         }
+        table.invalidate();
     }
 
     @Override
     public String[] getProperty(@NotNull String user, @NotNull String property, @Nullable String server, @Nullable String world) {
+        return table.get(user, property, server, world);
+    }
+
+    @NotNull
+    private String[] resolveProperty(@NotNull String user, @NotNull String property, @Nullable String server, @Nullable String world) {
         TabPlayer p = getPlayer(user);
         Object value;
-        if ((value = perWorld.getOrDefault(world, new WeakHashMap<>()).getOrDefault(p, new HashMap<>()).get(property)) != null) {
+        if ((value = perWorld.getOrDefault(world, new WeakHashMap<>()).getOrDefault(p, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("user=%s,world=%s", user, world)};
         }
-        if ((value = perServer.getOrDefault(server, new WeakHashMap<>()).getOrDefault(p, new HashMap<>()).get(property)) != null) {
+        if ((value = perServer.getOrDefault(server, new WeakHashMap<>()).getOrDefault(p, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("user=%s,server=%s", user, server)};
         }
-        if ((value = values.getOrDefault(p, new HashMap<>()).get(property)) != null) {
+        if ((value = values.getOrDefault(p, Collections.emptyMap()).get(property)) != null) {
             return new String[] {toString(value), String.format("user=%s", user)};
         }
         return new String[0];
@@ -71,16 +84,15 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
 
     @Override
     public void remove(@NotNull String player) {
-        try {
-            mysql.execute("delete from `tab_users` where `user` = ?", player);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
-        }
+        mysql.queueUpdate("delete from `tab_users` where `user` = ?", player);
         TabPlayer user = getPlayer(player);
-        if (user == null) return;
-        values.remove(user);
-        perWorld.keySet().forEach(world -> perWorld.get(world).remove(user));
-        perServer.keySet().forEach(server -> perServer.get(server).remove(user));
+        if (user != null) {
+            values.remove(user);
+            perWorld.keySet().forEach(world -> perWorld.get(world).remove(user));
+            perServer.keySet().forEach(server -> perServer.get(server).remove(user));
+        }
+        // Also for offline users, table may still hold values resolved while they were online
+        table.invalidate();
     }
 
     @Override
@@ -115,37 +127,84 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
         return p;
     }
 
-    public void load(@NotNull TabPlayer player) {
-        TAB.getInstance().getCPUManager().runTask(() -> {
+    /**
+     * Starts loading data of a player who is logging in, so it is ready
+     * by the time they join. Data is stored by both name and UUID,
+     * so both are loaded using a single query.
+     *
+     * @param   id
+     *          UUID of the player
+     * @param   name
+     *          Name of the player
+     */
+    public void prefetch(@NotNull UUID id, @NotNull String name) {
+        long now = System.currentTimeMillis();
+        prefetched.values().removeIf(prefetch -> now - prefetch.time > PREFETCH_EXPIRATION);
+        prefetched.put(id, new Prefetch(now, query(id, name)));
+    }
+
+    @NotNull
+    private CompletableFuture<CachedRowSet> query(@NotNull UUID id, @NotNull String name) {
+        return mysql.getCRSAsync("select * from `tab_users` where `user` in (?, ?)", name.toLowerCase(), id.toString());
+    }
 
+    /**
+     * Applies data of a player who joined, loading it first if it was not prefetched.
+     * Data is applied on the processing thread once it is available.
+     *
+     * @param   player
+     *          Player who joined
+     */
+    public void load(@NotNull TabPlayer player) {
+        Prefetch prefetch = prefetched.remove(player.getUniqueId());
+        CompletableFuture<CachedRowSet> future = prefetch == null ? query(player.getUniqueId(), player.getName()) : prefetch.data;
+        future.whenComplete((crs, error) -> TAB.getInstance().getCPUManager().runTask(() -> {
+            if (error != null) {
+                TAB.getInstance().getErrorManager().mysqlQueryFailed(error);
+                return;
+            }
             try {
-                CachedRowSet crs = mysql.getCRS("select * from `tab_users` where `user` = ?", player.getName().toLowerCase());
-                while (crs.next()) {
-                    String user = crs.getString("user");
-                    String property = crs.getString("property");
-                    String value = crs.getString("value");
-                    String world = crs.getString("world");
-                    String server = crs.getString("server");
-                    TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
-                    setProperty0(player, property, server, world, value);
-                }
-                CachedRowSet crs2 = mysql.getCRS("select * from `tab_users` where `user` = ?", player.getUniqueId().toString());
-                while (crs2.next()) {
-                    String user = crs2.getString("user");
-                    String property = crs2.getString("property");
-                    String value = crs2.getString("value");
-                    String world = crs2.getString("world");
-                    String server = crs2.getString("server");
-                    TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
-                    setProperty0(player, property, server, world, value);
-                }
+                // Apply name entries first, so UUID entries take priority
+                boolean loaded = apply(player, crs, false);
+                crs.beforeFirst();
+                loaded |= apply(player, crs, true);
                 TAB.getInstance().debug("Loaded MySQL data of " + player.getName());
-                if (crs.size() > 0 || crs2.size() > 0) {
+                if (loaded) {
                     player.forceRefresh();
                 }
             } catch (SQLException e) {
                 TAB.getInstance().getErrorManager().mysqlQueryFailed(e);
             }
-        });
+        }));
+    }
+
+    private boolean apply(@NotNull TabPlayer player, @NotNull CachedRowSet crs, boolean uuidEntries) throws SQLException {
+        boolean applied = false;
+        String uuid = player.getUniqueId().toString();
+        while (crs.next()) {
+            String user = crs.getString("user");
+            if (user.equals(uuid) != uuidEntries) continue;
+            String property = crs.getString("property");
+            String value = crs.getString("value");
+            String world = crs.getString("world");
+            String server = crs.getString("server");
+            TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
+            setProperty0(player, property, server, world, value);
+            applied = true;
+        }
+        return applied;
+    }
+
+    /**
+     * Data of a player loaded during login.
+     */
+    @AllArgsConstructor
+    private static class Prefetch {
+
+        /** Time when loading started */
+        private final long time;
+
+        /** Result of the query */
+        @NotNull private final CompletableFuture<CachedRowSet> data;
     }
-}
\ No newline at end of file
+}
@@ -24,6 +24,9 @@ public class CpuManager {
     /** Active time in current time period saved as nanoseconds from placeholders */
     private volatile Map<String, AtomicLong> placeholderUsageCurrent = new ConcurrentHashMap<>();
 
+    /** Active time in current time period saved as nanoseconds from placeholder refresh shards */
+    private volatile Map<String, AtomicLong> placeholderShardUsageCurrent = new ConcurrentHashMap<>();
+
     /** Last CPU report */
     @Nullable @Getter private CpuReport lastReport;
 
@@ -36,6 +39,12 @@ public class CpuManager {
     private final ScheduledExecutorService placeholderThread = Executors.newSingleThreadScheduledExecutor(
             new ThreadFactoryBuilder().setNameFormat("TAB Placeholder Refreshing Thread").build());
 
+    /**
+     * Bounded worker pool placeholder refreshing thread splits its work into,
+     * {@code null} if placeholders are refreshed only in placeholder refreshing thread
+     */
+    @Nullable @Getter private ForkJoinPool placeholderWorkers;
+
     /** Tasks submitted to main thread before plugin was fully enabled */
     private final Queue<Runnable> taskQueue = new ConcurrentLinkedQueue<>();
 
@@ -43,7 +52,7 @@ public class CpuManager {
     private volatile boolean enabled;
 
     /** Boolean tracking whether CPU usage should be tracked or not */
-    private boolean trackUsage;
+    @Getter private volatile boolean trackUsage;
 
     /**
      * Enables CPU usage tracking and returns {@code true} if it was not enabled previously.
@@ -55,9 +64,10 @@ public class CpuManager {
         if (trackUsage) return false;
         trackUsage = true;
         startRepeatingTask((int) TimeUnit.SECONDS.toMillis(UPDATE_RATE_SECONDS), () -> {
-            lastReport = new CpuReport(UPDATE_RATE_SECONDS, featureUsageCurrent, placeholderUsageCurrent);
+            lastReport = new CpuReport(UPDATE_RATE_SECONDS, featureUsageCurrent, placeholderUsageCurrent, placeholderShardUsageCurrent);
             featureUsageCurrent = new ConcurrentHashMap<>();
             placeholderUsageCurrent = new ConcurrentHashMap<>();
+            placeholderShardUsageCurrent = new ConcurrentHashMap<>();
         });
         return true;
     }
@@ -68,6 +78,24 @@ public class CpuManager {
     public void cancelAllTasks() {
         processingThread.shutdownNow();
         placeholderThread.shutdownNow();
+        if (placeholderWorkers != null) placeholderWorkers.shutdownNow();
+    }
+
+    /**
+     * Creates worker pool for refreshing placeholders with given amount of threads.
+     * If amount is {@code 1} or less, no pool is created and placeholders are
+     * refreshed only in placeholder refreshing thread.
+     *
+     * @param   threads
+     *          Maximum amount of threads refreshing placeholders at the same time
+     */
+    public void createPlaceholderWorkers(int threads) {
+        if (threads <= 1 || placeholderWorkers != null) return;
+        placeholderWorkers = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("TAB Placeholder Refreshing Worker #" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
     }
 
     /**
@@ -120,6 +148,18 @@ public class CpuManager {
         placeholderUsageCurrent.computeIfAbsent(placeholder, l -> new AtomicLong()).addAndGet(nanoseconds);
     }
 
+    /**
+     * Adds time to specified refresh shard of specified placeholder
+     *
+     * @param placeholder placeholder the shard refreshed
+     * @param shard       index of the shard
+     * @param nanoseconds time to add
+     */
+    public void addPlaceholderShardTime(@NotNull String placeholder, int shard, long nanoseconds) {
+        if (!trackUsage) return;
+        placeholderShardUsageCurrent.computeIfAbsent(placeholder + " #" + (shard + 1), l -> new AtomicLong()).addAndGet(nanoseconds);
+    }
+
     public void runMeasuredTask(@NotNull String feature, @NotNull String type, @NotNull Runnable task) {
         submit(() -> runAndMeasure(task, feature, type));
     }
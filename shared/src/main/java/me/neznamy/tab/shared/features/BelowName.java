@@ -11,6 +11,7 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.types.*;
+import me.neznamy.tab.shared.util.NumberParser;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -127,22 +128,17 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
      * @return  Current value for player
      */
     public int getValue(@NotNull TabPlayer p) {
-        String string = p.getProperty(NUMBER_PROPERTY).updateAndGet();
-        try {
-            return Integer.parseInt(string);
-        } catch (NumberFormatException e) {
-            // Not an integer (float or invalid)
-            try {
-                int value = (int) Math.round(Double.parseDouble(string));
-                // Float
-                TAB.getInstance().getConfigHelper().runtime().floatInBelowName(p, rawNumber, string);
-                return value;
-            } catch (NumberFormatException e2) {
-                // Not a float (invalid)
-                TAB.getInstance().getConfigHelper().runtime().invalidNumberForBelowName(p, rawNumber, string);
-                return 0;
-            }
+        Property property = p.getProperty(NUMBER_PROPERTY);
+        long number = property.updateAndGetNumber();
+        switch (NumberParser.getType(number)) {
+            case NumberParser.FLOAT:
+                TAB.getInstance().getConfigHelper().runtime().floatInBelowName(p, rawNumber, property.get());
+                break;
+            case NumberParser.INVALID:
+                TAB.getInstance().getConfigHelper().runtime().invalidNumberForBelowName(p, rawNumber, property.get());
+                break;
         }
+        return NumberParser.getValue(number);
     }
 
     @Override
@@ -176,7 +172,7 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
                 OBJECTIVE_NAME,
                 player.getProperty(TEXT_PROPERTY).updateAndGet(),
                 Scoreboard.HealthDisplay.INTEGER,
-                TabComponent.optimized(player.getProperty(DEFAULT_FORMAT_PROPERTY).updateAndGet())
+                player.getProperty(DEFAULT_FORMAT_PROPERTY).updateAndGetComponent()
         );
         player.getScoreboard().setDisplaySlot(Scoreboard.DisplaySlot.BELOW_NAME, OBJECTIVE_NAME);
     }
@@ -222,7 +218,7 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
                     OBJECTIVE_NAME,
                     refreshed.getProperty(feature.TEXT_PROPERTY).updateAndGet(),
                     Scoreboard.HealthDisplay.INTEGER,
-                    TabComponent.optimized(refreshed.getProperty(feature.DEFAULT_FORMAT_PROPERTY).updateAndGet())
+                    refreshed.getProperty(feature.DEFAULT_FORMAT_PROPERTY).updateAndGetComponent()
             );
         }
 
@@ -51,7 +51,7 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
                 if (viewer.getServer().equals(displayed.getServer())) continue;
                 if (shouldSee(viewer, displayed)) entries.add(getAddInfoData(displayed, viewer));
             }
-            if (!entries.isEmpty()) viewer.getTabList().addEntries(entries);
+            viewer.getTabList().addEntries(entries);
         }
     }
 
@@ -111,15 +111,17 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
+        List<TabList.Entry> entries = new ArrayList<>();
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             if (connectedPlayer.getServer().equals(all.getServer())) continue;
             if (shouldSee(all, connectedPlayer)) {
                 all.getTabList().addEntry(getAddInfoData(connectedPlayer, all));
             }
             if (shouldSee(connectedPlayer, all)) {
-                connectedPlayer.getTabList().addEntry(getAddInfoData(all, connectedPlayer));
+                entries.add(getAddInfoData(all, connectedPlayer));
             }
         }
+        connectedPlayer.getTabList().addEntries(entries);
     }
 
     @Override
@@ -149,12 +151,14 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onTabListClear(@NotNull TabPlayer player) {
+        List<TabList.Entry> entries = new ArrayList<>();
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             // Ignore players on the same server, since the server already sends add packet
             if (!all.getServer().equals(player.getServer()) && shouldSee(player, all)) {
-                player.getTabList().addEntry(getAddInfoData(all, player));
+                entries.add(getAddInfoData(all, player));
             }
         }
+        player.getTabList().addEntries(entries);
     }
 
     /**
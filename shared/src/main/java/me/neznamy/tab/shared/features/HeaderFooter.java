@@ -74,7 +74,7 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
             refresh = true;
         }
         if (refresh) {
-            sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).get(), p.getProperty(TabConstants.Property.FOOTER).get());
+            sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).getComponent(), p.getProperty(TabConstants.Property.FOOTER).getComponent());
         }
     }
 
@@ -84,7 +84,7 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
             p.setProperty(this, TabConstants.Property.HEADER, getProperty(p, TabConstants.Property.HEADER));
             p.setProperty(this, TabConstants.Property.FOOTER, getProperty(p, TabConstants.Property.FOOTER));
         }
-        sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).updateAndGet(), p.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).updateAndGetComponent(), p.getProperty(TabConstants.Property.FOOTER).updateAndGetComponent());
     }
 
     @Override
@@ -105,7 +105,7 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
         if (disabledNow) {
             p.getTabList().setPlayerListHeaderFooter(new SimpleComponent(""), new SimpleComponent(""));
         } else {
-            sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).get(), p.getProperty(TabConstants.Property.FOOTER).get());
+            sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).getComponent(), p.getProperty(TabConstants.Property.FOOTER).getComponent());
         }
     }
 
@@ -139,25 +139,25 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
         return String.join("\n", lines);
     }
 
-    private void sendHeaderFooter(TabPlayer player, String header, String footer) {
+    private void sendHeaderFooter(TabPlayer player, TabComponent header, TabComponent footer) {
         if (disableChecker.isDisabledPlayer(player)) return;
-        player.getTabList().setPlayerListHeaderFooter(TabComponent.optimized(header), TabComponent.optimized(footer));
+        player.getTabList().setPlayerListHeaderFooter(header, footer);
     }
 
     @Override
     public void setHeader(@NotNull me.neznamy.tab.api.TabPlayer p, @Nullable String header) {
         TabPlayer player = (TabPlayer) p;
         player.getProperty(TabConstants.Property.HEADER).setTemporaryValue(header);
-        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGet(),
-                player.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGetComponent(),
+                player.getProperty(TabConstants.Property.FOOTER).updateAndGetComponent());
     }
 
     @Override
     public void setFooter(@NotNull me.neznamy.tab.api.TabPlayer p, @Nullable String footer) {
         TabPlayer player = (TabPlayer) p;
         player.getProperty(TabConstants.Property.FOOTER).setTemporaryValue(footer);
-        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGet(),
-                player.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGetComponent(),
+                player.getProperty(TabConstants.Property.FOOTER).updateAndGetComponent());
     }
 
     @Override
@@ -165,8 +165,8 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
         TabPlayer player = (TabPlayer) p;
         player.getProperty(TabConstants.Property.HEADER).setTemporaryValue(header);
         player.getProperty(TabConstants.Property.FOOTER).setTemporaryValue(footer);
-        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGet(),
-                player.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGetComponent(),
+                player.getProperty(TabConstants.Property.FOOTER).updateAndGetComponent());
     }
 
     @Override
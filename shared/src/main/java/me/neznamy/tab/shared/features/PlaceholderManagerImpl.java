@@ -3,6 +3,8 @@ package me.neznamy.tab.shared.features;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -13,10 +15,12 @@ import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.api.placeholder.PlaceholderManager;
+import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants.CpuUsageCategory;
 import me.neznamy.tab.shared.cpu.CpuManager;
+import me.neznamy.tab.shared.placeholders.PlaceholderDependencyGraph;
 import me.neznamy.tab.shared.placeholders.PlaceholderRefreshTask;
 import me.neznamy.tab.shared.placeholders.expansion.EmptyTabExpansion;
 import me.neznamy.tab.shared.platform.TabPlayer;
@@ -40,6 +44,10 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     private final boolean registerExpansion = config().getBoolean("placeholders.register-tab-expansion", true);
     private final boolean refreshInAnotherThread = config().getBoolean("placeholders.refresh-in-another-thread", true);
+    private final int refreshThreads = config().getInt("placeholders.refresh-threads", 1);
+    private final int refreshShardSize = Math.max(1, config().getInt("placeholders.refresh-shard-size", 100));
+    private final long refreshTickBudget = TimeUnit.MILLISECONDS.toNanos(config().getInt("placeholders.refresh-tick-budget-ms", 0));
+    @Getter private final boolean incrementalRelationalRefresh = config().getBoolean("placeholders.incremental-relational-refresh", false);
     private final Map<String, Integer> refreshIntervals = config().getConfigurationSection("placeholderapi-refresh-intervals");
     private final int defaultRefresh;
 
@@ -47,10 +55,25 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     //map of String-Set of features using placeholder
     private final Map<String, Set<Refreshable>> placeholderUsage = new ConcurrentHashMap<>();
-    private Placeholder[] usedPlaceholders = new Placeholder[0];
+
+    //map of String-Set of features using placeholder outside of player properties
+    private final Map<String, Set<Refreshable>> sharedPlaceholderUsage = new ConcurrentHashMap<>();
+    private TabPlaceholder[] usedPlaceholders = new TabPlaceholder[0];
+
+    /** Features using placeholders by their index in dependency graph */
+    private final List<Refreshable> features = new ArrayList<>();
+
+    /** Indexes of features using placeholders */
+    private final Map<Refreshable, Integer> featureIndexes = new IdentityHashMap<>();
+
+    /** Snapshot of placeholder usage, {@code null} if it needs to be rebuilt */
+    @Nullable private volatile PlaceholderDependencyGraph dependencyGraph;
 
     @Getter private int loopTime;
 
+    /** Counter increased every time a player-independent placeholder changes value */
+    private final AtomicLong globalValueVersion = new AtomicLong();
+
     @NotNull @Getter private final TabExpansion tabExpansion = registerExpansion ?
             TAB.getInstance().getPlatform().createTabExpansion() : new EmptyTabExpansion();
 
@@ -64,6 +87,8 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
      */
     public PlaceholderManagerImpl(@NotNull CpuManager cpu) {
         this.cpu = cpu;
+        Property.clearSharedValues();
+        if (refreshInAnotherThread) cpu.createPlaceholderWorkers(refreshThreads);
         TAB.getInstance().getConfigHelper().startup().fixRefreshIntervals(refreshIntervals);
         defaultRefresh = refreshIntervals.getOrDefault("default-refresh-interval", 500);
     }
@@ -72,12 +97,16 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         long time = System.nanoTime();
         loopTime += TabConstants.Placeholder.MINIMUM_REFRESH_INTERVAL;
         List<Placeholder> placeholders = new ArrayList<>();
-        for (Placeholder placeholder : usedPlaceholders) {
-            if (placeholder.getRefresh() == -1 || loopTime % placeholder.getRefresh() != 0) continue;
+        for (TabPlaceholder placeholder : usedPlaceholders) {
+            int refresh = placeholder.getEffectiveRefresh();
+            if (refresh == -1 || loopTime % refresh != 0) continue;
             placeholders.add(placeholder);
         }
         if (placeholders.isEmpty()) return;
-        PlaceholderRefreshTask task = new PlaceholderRefreshTask(placeholders);
+        // Rotate so the same placeholders are not always skipped when running out of time
+        Collections.rotate(placeholders, loopTime / TabConstants.Placeholder.MINIMUM_REFRESH_INTERVAL);
+        PlaceholderRefreshTask task = new PlaceholderRefreshTask(placeholders, cpu.getPlaceholderWorkers(), refreshShardSize,
+                refreshTickBudget, incrementalRelationalRefresh);
         cpu.addTime(getFeatureName(), CpuUsageCategory.PLACEHOLDER_REFRESH_INIT, System.nanoTime() - time);
         if (refreshInAnotherThread) {
             cpu.getPlaceholderThread().submit(() -> {
@@ -99,48 +128,68 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     private void processRefreshResults(@NotNull PlaceholderRefreshTask task) {
         long time = System.nanoTime();
-        Map<TabPlayer, Set<Refreshable>> update = new HashMap<>(TAB.getInstance().getOnlinePlayers().length + 1, 1);
-        updateServerPlaceholders(task.getServerPlaceholderResults(), update);
-        updatePlayerPlaceholders(task.getPlayerPlaceholderResults(), update);
-        Map<TabPlayer, Set<Refreshable>> forceUpdate = updateRelationalPlaceholders(task.getRelationalPlaceholderResults());
+        PlaceholderDependencyGraph graph = getDependencyGraph();
+        Map<TabPlayer, BitSet> update = new HashMap<>(TAB.getInstance().getOnlinePlayers().length + 1, 1);
+        updateServerPlaceholders(graph, task.getServerPlaceholderResults(), update);
+        updatePlayerPlaceholders(graph, task.getPlayerPlaceholderResults(), update);
+        Map<TabPlayer, Set<TabPlayer>> changedViewers = new HashMap<>();
+        Map<TabPlayer, BitSet> forceUpdate = updateRelationalPlaceholders(graph, task.getPlayers(),
+                task.getRelationalPlaceholderResults(), changedViewers);
         cpu.addTime(getFeatureName(), CpuUsageCategory.PLACEHOLDER_SAVE, System.nanoTime() - time);
 
-        refreshFeatures(forceUpdate, update);
+        refreshFeatures(graph, forceUpdate, update, changedViewers);
     }
     
-    private void refreshFeatures(@NotNull Map<TabPlayer, Set<Refreshable>> forceUpdate, @NotNull Map<TabPlayer, Set<Refreshable>> update) {
-        for (Entry<TabPlayer, Set<Refreshable>> entry : update.entrySet()) {
-            for (Refreshable r : entry.getValue()) {
-                long startTime = System.nanoTime();
-                r.refresh(entry.getKey(), false);
-                cpu.addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
-            }
+    private void refreshFeatures(@NotNull PlaceholderDependencyGraph graph, @NotNull Map<TabPlayer, BitSet> forceUpdate,
+                                 @NotNull Map<TabPlayer, BitSet> update, @NotNull Map<TabPlayer, Set<TabPlayer>> changedViewers) {
+        for (Entry<TabPlayer, BitSet> entry : update.entrySet()) {
+            refreshFeatures(graph, entry.getKey(), entry.getValue(), false, Collections.emptySet());
+        }
+        for (Entry<TabPlayer, BitSet> entry : forceUpdate.entrySet()) {
+            refreshFeatures(graph, entry.getKey(), entry.getValue(), true,
+                    changedViewers.getOrDefault(entry.getKey(), Collections.emptySet()));
         }
-        for (Entry<TabPlayer, Set<Refreshable>> entry : forceUpdate.entrySet()) {
-            for (Refreshable r : entry.getValue()) {
-                long startTime = System.nanoTime();
-                r.refresh(entry.getKey(), true);
-                cpu.addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
+    }
+
+    private void refreshFeatures(@NotNull PlaceholderDependencyGraph graph, @NotNull TabPlayer player, @NotNull BitSet features,
+                                 boolean force, @NotNull Set<TabPlayer> viewers) {
+        for (int i = features.nextSetBit(0); i >= 0; i = features.nextSetBit(i+1)) {
+            Refreshable r = graph.getFeature(i);
+            if (r == null) continue;
+            long startTime = System.nanoTime();
+            if (r instanceof RelationalRefreshable && !viewers.isEmpty()) {
+                for (TabPlayer viewer : viewers) {
+                    ((RelationalRefreshable) r).refresh(viewer, player);
+                }
+            } else {
+                r.refresh(player, force);
             }
+            cpu.addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
         }
     }
 
     @NotNull
-    private Map<TabPlayer, Set<Refreshable>> updateRelationalPlaceholders(
-            @Nullable Map<RelationalPlaceholderImpl, Map<TabPlayer, Map<TabPlayer, Object>>> results) {
+    private Map<TabPlayer, BitSet> updateRelationalPlaceholders(@NotNull PlaceholderDependencyGraph graph, @NotNull TabPlayer[] players,
+                                                                @Nullable Map<RelationalPlaceholderImpl, Object[][]> results,
+                                                                @NotNull Map<TabPlayer, Set<TabPlayer>> changedViewers) {
         if (results == null) return Collections.emptyMap();
-        Map<TabPlayer, Set<Refreshable>> update = new HashMap<>(TAB.getInstance().getOnlinePlayers().length + 1, 1);
-        for (Entry<RelationalPlaceholderImpl, Map<TabPlayer, Map<TabPlayer, Object>>> entry : results.entrySet()) {
+        Map<TabPlayer, BitSet> update = new HashMap<>(TAB.getInstance().getOnlinePlayers().length + 1, 1);
+        for (Entry<RelationalPlaceholderImpl, Object[][]> entry : results.entrySet()) {
             RelationalPlaceholderImpl placeholder = entry.getKey();
-            for (Entry<TabPlayer, Map<TabPlayer, Object>> viewerResult : entry.getValue().entrySet()) {
-                TabPlayer viewer = viewerResult.getKey();
+            Object[][] table = entry.getValue();
+            for (int i = 0; i < table.length; i++) {
+                Object[] row = table[i];
+                if (row == null) continue; // Skipped due to running out of time
+                TabPlayer viewer = players[i];
                 if (!viewer.isOnline()) continue; // Player disconnected in the meantime while refreshing in another thread
-                for (Entry<TabPlayer, Object> targetResult : viewerResult.getValue().entrySet()) {
-                    TabPlayer target = targetResult.getKey();
+                for (int j = 0; j < row.length; j++) {
+                    if (row[j] == null) continue; // Pair was not evaluated
+                    TabPlayer target = players[j];
                     if (!target.isOnline()) continue; // Player disconnected in the meantime while refreshing in another thread
-                    if (placeholder.hasValueChanged(viewer, target, targetResult.getValue())) {
+                    if (placeholder.hasValueChanged(viewer, target, row[j])) {
                         placeholder.updateParents(target);
-                        update.computeIfAbsent(target, x -> new HashSet<>()).addAll(getPlaceholderUsage(placeholder.getIdentifier()));
+                        graph.collectUsage(target, placeholder.getIdentifier(), update.computeIfAbsent(target, x -> new BitSet()));
+                        changedViewers.computeIfAbsent(target, x -> new HashSet<>()).add(viewer);
                     }
                 }
             }
@@ -148,8 +197,9 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         return update;
     }
 
-    private void updatePlayerPlaceholders(@NotNull Map<PlayerPlaceholderImpl, Map<TabPlayer, Object>> results,
-                                          @NotNull Map<TabPlayer, Set<Refreshable>> update) {
+    private void updatePlayerPlaceholders(@NotNull PlaceholderDependencyGraph graph,
+                                          @NotNull Map<PlayerPlaceholderImpl, Map<TabPlayer, Object>> results,
+                                          @NotNull Map<TabPlayer, BitSet> update) {
         if (results.isEmpty()) return;
         for (Entry<PlayerPlaceholderImpl, Map<TabPlayer, Object>> entry : results.entrySet()) {
             PlayerPlaceholderImpl placeholder = entry.getKey();
@@ -158,7 +208,7 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
                 if (!player.isOnline()) continue; // Player disconnected in the meantime while refreshing in another thread
                 if (placeholder.hasValueChanged(player, playerResult.getValue())) {
                     placeholder.updateParents(player);
-                    update.computeIfAbsent(player, k -> new HashSet<>()).addAll(getPlaceholderUsage(placeholder.getIdentifier()));
+                    graph.collectUsage(player, placeholder.getIdentifier(), update.computeIfAbsent(player, k -> new BitSet()));
                     if (placeholder.getIdentifier().equals(TabConstants.Placeholder.VANISHED)) {
                         TAB.getInstance().getFeatureManager().onVanishStatusChange(player);
                     }
@@ -170,20 +220,80 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         }
     }
 
-    private void updateServerPlaceholders(@NotNull Map<ServerPlaceholderImpl, Object> results,
-                                          @NotNull Map<TabPlayer, Set<Refreshable>> update) {
+    private void updateServerPlaceholders(@NotNull PlaceholderDependencyGraph graph,
+                                          @NotNull Map<ServerPlaceholderImpl, Object> results,
+                                          @NotNull Map<TabPlayer, BitSet> update) {
         if (results.isEmpty()) return;
         for (Entry<ServerPlaceholderImpl, Object> entry : results.entrySet()) {
             ServerPlaceholderImpl placeholder = entry.getKey();
             if (placeholder.hasValueChanged(entry.getValue())) {
                 for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
                     placeholder.updateParents(all);
-                    update.computeIfAbsent(all, k -> new HashSet<>()).addAll(getPlaceholderUsage(placeholder.getIdentifier()));
+                    graph.collectUsage(all, placeholder.getIdentifier(), update.computeIfAbsent(all, k -> new BitSet()));
                 }
             }
         }
     }
 
+    /**
+     * Returns current version of player-independent placeholder values,
+     * which changes every time any of such placeholders changes value.
+     *
+     * @return  current version of player-independent placeholder values
+     */
+    public long getGlobalValueVersion() {
+        return globalValueVersion.get();
+    }
+
+    /**
+     * Marks a player-independent placeholder as changed, invalidating
+     * all shared values computed from player-independent placeholders.
+     */
+    public void markGlobalValueChange() {
+        globalValueVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns {@code true} if value of placeholder is the same for all players,
+     * {@code false} if not. This is the case for server placeholders, which
+     * do not use any player-dependent placeholders in their output replacements.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @return  {@code true} if placeholder does not depend on player, {@code false} if it does
+     */
+    public boolean isPlayerIndependent(@NotNull String identifier) {
+        return isPlayerIndependent(identifier, new HashSet<>());
+    }
+
+    private boolean isPlayerIndependent(@NotNull String identifier, @NotNull Set<String> checked) {
+        if (!checked.add(identifier)) return true; // Already being checked
+        TabPlaceholder placeholder = getPlaceholder(identifier);
+        if (!(placeholder instanceof ServerPlaceholderImpl)) return false;
+        for (String nested : placeholder.getReplacements().getNestedPlaceholders()) {
+            if (!isPlayerIndependent(nested, checked)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Marks all relational pairs with given player as viewer or target to be evaluated
+     * in next incremental refresh of all relational placeholders. Called when the player
+     * joins. Changes of placeholders nested in a relational placeholder only mark the
+     * player dirty for that relational placeholder through {@link TabPlaceholder#updateParents}.
+     *
+     * @param   player
+     *          Player to mark
+     */
+    public void markRelationalDirty(@NotNull TabPlayer player) {
+        if (!incrementalRelationalRefresh) return;
+        for (TabPlaceholder placeholder : usedPlaceholders) {
+            if (placeholder instanceof RelationalPlaceholderImpl) {
+                ((RelationalPlaceholderImpl) placeholder).markDirty(player);
+            }
+        }
+    }
+
     /**
      * Returns refresh interval the placeholder has configured. If not configured,
      * default refresh interval is returned.
@@ -219,6 +329,8 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         boolean override = registeredPlaceholders.containsKey(placeholder.getIdentifier());
         registeredPlaceholders.put(placeholder.getIdentifier(), placeholder);
         recalculateUsedPlaceholders();
+        invalidateDependencyGraph();
+        if (override) markGlobalValueChange();
         if (override && placeholderUsage.containsKey(placeholder.getIdentifier())) {
             for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
                 if (!p.isLoaded()) continue;
@@ -231,6 +343,7 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     @Override
     public void load() {
         cpu.startRepeatingTask(TabConstants.Placeholder.MINIMUM_REFRESH_INTERVAL, this::refresh);
+        getDependencyGraph();
         for (Placeholder pl : usedPlaceholders) {
             if (pl instanceof ServerPlaceholderImpl) {
                 ((ServerPlaceholderImpl)pl).update();
@@ -277,7 +390,94 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
      *          Feature using the placeholder
      */
     public void addUsedPlaceholder(@NonNull String identifier, @NonNull Refreshable feature) {
-        if (placeholderUsage.computeIfAbsent(identifier, x -> new HashSet<>()).add(feature)) {
+        if (sharedPlaceholderUsage.computeIfAbsent(identifier, x -> ConcurrentHashMap.newKeySet()).add(feature)) {
+            invalidateDependencyGraph();
+        }
+        markUsed(identifier, feature);
+    }
+
+    /**
+     * Marks placeholders as used by specified feature in a property of specified player.
+     * When such placeholder changes value, the feature will only be refreshed for
+     * players whose properties use it, instead of all players.
+     *
+     * @param   owner
+     *          Player owning the property
+     * @param   feature
+     *          Feature using the property
+     * @param   identifiers
+     *          Placeholders used in the property
+     */
+    public void addUsedPlaceholders(@NonNull TabPlayer owner, @NonNull Refreshable feature, @NonNull Collection<String> identifiers) {
+        if (identifiers.isEmpty()) return;
+        int index = getFeatureIndex(feature);
+        Map<String, int[]> counts = owner.getPropertyPlaceholderCounts();
+        synchronized (counts) {
+            for (String identifier : identifiers) {
+                int[] featureCounts = counts.get(identifier);
+                if (featureCounts == null || featureCounts.length <= index) {
+                    featureCounts = featureCounts == null ? new int[index + 1] : Arrays.copyOf(featureCounts, index + 1);
+                    counts.put(identifier, featureCounts);
+                }
+                if (featureCounts[index]++ == 0) setPropertyUsage(owner, identifier, index, true);
+            }
+        }
+        for (String identifier : identifiers) {
+            markUsed(identifier, feature);
+        }
+    }
+
+    /**
+     * Marks placeholders as no longer used by specified feature in a property of specified
+     * player, because the property changed value. Feature is no longer refreshed for the player
+     * when such placeholder changes value, unless another property of the player uses it.
+     *
+     * @param   owner
+     *          Player owning the property
+     * @param   feature
+     *          Feature using the property
+     * @param   identifiers
+     *          Placeholders previously used in the property
+     */
+    public void removeUsedPlaceholders(@NonNull TabPlayer owner, @NonNull Refreshable feature, @NonNull Collection<String> identifiers) {
+        if (identifiers.isEmpty()) return;
+        int index = getFeatureIndex(feature);
+        Map<String, int[]> counts = owner.getPropertyPlaceholderCounts();
+        synchronized (counts) {
+            for (String identifier : identifiers) {
+                int[] featureCounts = counts.get(identifier);
+                if (featureCounts == null || featureCounts.length <= index || featureCounts[index] == 0) continue;
+                if (--featureCounts[index] == 0) setPropertyUsage(owner, identifier, index, false);
+            }
+        }
+    }
+
+    private void setPropertyUsage(@NotNull TabPlayer owner, @NotNull String identifier, int index, boolean used) {
+        Map<String, BitSet> playerUsage = owner.getPropertyPlaceholderUsage();
+        BitSet bits = playerUsage.get(identifier);
+        // Copy on write, so the bitset can be read safely without locking
+        BitSet copy = bits == null ? new BitSet() : (BitSet) bits.clone();
+        copy.set(index, used);
+        if (copy.isEmpty()) {
+            playerUsage.remove(identifier);
+        } else {
+            playerUsage.put(identifier, copy);
+        }
+    }
+
+    /**
+     * Marks placeholder as used by specified feature and refreshes
+     * its value in tab expansion if it was not used by the feature before.
+     *
+     * @param   identifier
+     *          Placeholder to mark as used
+     * @param   feature
+     *          Feature using the placeholder
+     */
+    private void markUsed(@NotNull String identifier, @NotNull Refreshable feature) {
+        if (placeholderUsage.computeIfAbsent(identifier, x -> ConcurrentHashMap.newKeySet()).add(feature)) {
+            getFeatureIndex(feature);
+            invalidateDependencyGraph();
             recalculateUsedPlaceholders();
             TabPlaceholder p = getPlaceholder(identifier);
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
@@ -286,11 +486,79 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         }
     }
 
+    /**
+     * Returns index of feature in dependency graph, assigning a new one if feature does not have any yet.
+     *
+     * @param   feature
+     *          Feature to get index of
+     * @return  index of the feature
+     */
+    private synchronized int getFeatureIndex(@NotNull Refreshable feature) {
+        Integer index = featureIndexes.get(feature);
+        if (index == null) {
+            index = features.size();
+            features.add(feature);
+            featureIndexes.put(feature, index);
+            invalidateDependencyGraph();
+        }
+        return index;
+    }
+
+    /**
+     * Returns current snapshot of placeholder usage, building a new one if usage changed since last call.
+     *
+     * @return  current snapshot of placeholder usage
+     */
+    @NotNull
+    public PlaceholderDependencyGraph getDependencyGraph() {
+        PlaceholderDependencyGraph graph = dependencyGraph;
+        if (graph != null) return graph;
+        synchronized (this) {
+            if (dependencyGraph != null) return dependencyGraph;
+            Map<String, BitSet> usage = toIndexes(placeholderUsage);
+            Map<String, BitSet> sharedUsage = toIndexes(sharedPlaceholderUsage);
+            graph = new PlaceholderDependencyGraph(features.toArray(new Refreshable[0]), usage, sharedUsage, collectParents());
+            dependencyGraph = graph;
+            return graph;
+        }
+    }
+
+    /**
+     * Marks dependency graph as outdated, causing it to be rebuilt on next request.
+     * This should be called every time placeholder usage or nesting changes.
+     */
+    public synchronized void invalidateDependencyGraph() {
+        dependencyGraph = null;
+    }
+
+    @NotNull
+    private Map<String, BitSet> toIndexes(@NotNull Map<String, Set<Refreshable>> usage) {
+        Map<String, BitSet> indexes = new HashMap<>(usage.size());
+        for (Entry<String, Set<Refreshable>> entry : usage.entrySet()) {
+            BitSet bits = new BitSet();
+            for (Refreshable feature : entry.getValue()) {
+                bits.set(getFeatureIndex(feature));
+            }
+            indexes.put(entry.getKey(), bits);
+        }
+        return indexes;
+    }
+
+    @NotNull
+    private Map<String, List<String>> collectParents() {
+        Map<String, List<String>> parents = new HashMap<>();
+        for (Placeholder placeholder : registeredPlaceholders.values()) {
+            List<String> list = ((TabPlaceholder) placeholder).getParents();
+            if (!list.isEmpty()) parents.put(placeholder.getIdentifier(), new ArrayList<>(list));
+        }
+        return parents;
+    }
+
     /**
      * Updates array of used placeholders.
      */
     private void recalculateUsedPlaceholders() {
-        usedPlaceholders = placeholderUsage.keySet().stream().map(this::getPlaceholder).distinct().toArray(Placeholder[]::new);
+        usedPlaceholders = placeholderUsage.keySet().stream().map(this::getPlaceholder).distinct().toArray(TabPlaceholder[]::new);
     }
 
     /**
@@ -317,15 +585,17 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
      */
     @NotNull
     public Set<Refreshable> getPlaceholderUsage(@NotNull String identifier) {
-        Set<Refreshable> usage = placeholderUsage.getOrDefault(identifier, new HashSet<>());
-        for (String parent : getPlaceholder(identifier).getParents()) {
-            usage.addAll(getPlaceholderUsage(parent));
+        PlaceholderDependencyGraph graph = getDependencyGraph();
+        if (!graph.contains(identifier)) {
+            getPlaceholder(identifier); // Registers the placeholder as used
+            graph = getDependencyGraph();
         }
-        return usage;
+        return graph.getUsage(identifier);
     }
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
+        markRelationalDirty(connectedPlayer);
         for (Placeholder p : usedPlaceholders) {
             if (p instanceof ServerPlaceholderImpl) { // server placeholders don't update on join
                 tabExpansion.setPlaceholderValue(connectedPlayer, p.getIdentifier(), ((ServerPlaceholderImpl) p).getLastValue());
@@ -335,6 +605,19 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         ((PlayerPlaceholderImpl)registeredPlaceholders.get(TabConstants.Placeholder.VANISHED)).update(connectedPlayer);
     }
 
+    /**
+     * Removes last known values of placeholders for a player who quit, so the player
+     * object is not referenced anymore. Called before player's slot is released.
+     *
+     * @param   player
+     *          Player who quit
+     */
+    public void removeValues(@NotNull TabPlayer player) {
+        for (Placeholder placeholder : registeredPlaceholders.values()) {
+            ((TabPlaceholder) placeholder).removeValues(player);
+        }
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         // Condition or placeholder only used in tab expansion, do nothing for now
@@ -400,7 +683,9 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     public void unregisterPlaceholder(@NonNull String identifier) {
         registeredPlaceholders.remove(identifier);
         placeholderUsage.remove(identifier);
+        sharedPlaceholderUsage.remove(identifier);
         recalculateUsedPlaceholders();
+        invalidateDependencyGraph();
     }
 
     /**
@@ -19,6 +19,8 @@ import me.neznamy.tab.shared.util.Preconditions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -26,7 +28,7 @@ import java.util.UUID;
  */
 @Getter
 public class PlayerList extends TabFeature implements TabListFormatManager, JoinListener, Loadable,
-        UnLoadable, WorldSwitchListener, ServerSwitchListener, Refreshable, VanishListener {
+        UnLoadable, WorldSwitchListener, ServerSwitchListener, RelationalRefreshable, VanishListener {
 
     /** Config option toggling anti-override which prevents other plugins from overriding TAB */
     protected final boolean antiOverrideTabList = config().getBoolean("tablist-name-formatting.anti-override", true);
@@ -154,11 +156,13 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
         }
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             if (viewer.getVersion().getMinorVersion() < 8) continue;
+            Map<UUID, TabComponent> formats = new LinkedHashMap<>();
             for (TabPlayer target : TAB.getInstance().getOnlinePlayers()) {
                 if (disableChecker.isDisabledPlayer(target)) continue;
                 if (!viewer.getTabList().containsEntry(target.getTablistId())) continue;
-                viewer.getTabList().updateDisplayName(getTablistUUID(target, viewer), getTabFormat(target, viewer));
+                formats.put(getTablistUUID(target, viewer), getTabFormat(target, viewer));
             }
+            viewer.getTabList().updateDisplayNames(formats);
         }
     }
 
@@ -227,6 +231,15 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
         }
     }
 
+    @Override
+    public void refresh(@NotNull TabPlayer viewer, @NotNull TabPlayer target) {
+        if (target.getProperty(TabConstants.Property.TABPREFIX) == null) return; // Placeholder in condition on join
+        if (disableChecker.isDisabledPlayer(target)) return;
+        if (viewer.getVersion().getMinorVersion() < 8) return;
+        if (!viewer.getTabList().containsEntry(target.getTablistId())) return;
+        viewer.getTabList().updateDisplayName(getTablistUUID(target, viewer), getTabFormat(target, viewer));
+    }
+
     @Override
     @NotNull
     public String getRefreshDisplayName() {
@@ -244,9 +257,11 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
         Runnable r = () -> {
             refresh(connectedPlayer, true);
             if (connectedPlayer.getVersion().getMinorVersion() < 8) return;
+            Map<UUID, TabComponent> formats = new LinkedHashMap<>();
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-                connectedPlayer.getTabList().updateDisplayName(getTablistUUID(all, connectedPlayer), getTabFormat(all, connectedPlayer));
+                formats.put(getTablistUUID(all, connectedPlayer), getTabFormat(all, connectedPlayer));
             }
+            connectedPlayer.getTabList().updateDisplayNames(formats);
         };
         //add packet might be sent after tab's refresh packet, resending again when anti-override is disabled
         if (!antiOverrideTabList || !TAB.getInstance().getFeatureManager().isFeatureEnabled(TabConstants.Feature.PIPELINE_INJECTION)) {
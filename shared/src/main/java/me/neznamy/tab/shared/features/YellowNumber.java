@@ -11,6 +11,7 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.types.*;
+import me.neznamy.tab.shared.util.NumberParser;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -60,22 +61,17 @@ public class YellowNumber extends TabFeature implements JoinListener, Loadable,
      * @return  Current value of player
      */
     public int getValueNumber(@NotNull TabPlayer p) {
-        String string = p.getProperty(PROPERTY_VALUE).updateAndGet();
-        try {
-            return Integer.parseInt(string);
-        } catch (NumberFormatException e) {
-            // Not an integer (float or invalid)
-            try {
-                int value = (int) Math.round(Double.parseDouble(string));
-                // Float
-                TAB.getInstance().getConfigHelper().runtime().floatInPlayerlistObjective(p, rawValue, string);
-                return value;
-            } catch (NumberFormatException e2) {
-                // Not a float (invalid)
-                TAB.getInstance().getConfigHelper().runtime().invalidNumberForPlayerlistObjective(p, rawValue, string);
-                return 0;
-            }
+        Property property = p.getProperty(PROPERTY_VALUE);
+        long number = property.updateAndGetNumber();
+        switch (NumberParser.getType(number)) {
+            case NumberParser.FLOAT:
+                TAB.getInstance().getConfigHelper().runtime().floatInPlayerlistObjective(p, rawValue, property.get());
+                break;
+            case NumberParser.INVALID:
+                TAB.getInstance().getConfigHelper().runtime().invalidNumberForPlayerlistObjective(p, rawValue, property.get());
+                break;
         }
+        return NumberParser.getValue(number);
     }
 
     @Override
@@ -0,0 +1,35 @@
+package me.neznamy.tab.shared.features.layout;
+
+import me.neznamy.tab.shared.placeholders.conditions.Condition;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Results of group conditions for players during a single layout update,
+ * so each condition is only evaluated once per player, no matter how many
+ * layout views contain the group.
+ */
+public class ConditionCache {
+
+    /** Condition results of each player for each condition */
+    private final Map<Condition, Map<TabPlayer, Boolean>> results = new IdentityHashMap<>();
+
+    /**
+     * Returns {@code true} if condition is met for player or there is no condition,
+     * {@code false} if not. Result is evaluated on first call and then reused.
+     *
+     * @param   condition
+     *          Condition to check
+     * @param   player
+     *          Player to check condition for
+     * @return  {@code true} if condition is met or {@code null}, {@code false} if not
+     */
+    public boolean isMet(@Nullable Condition condition, @NotNull TabPlayer player) {
+        if (condition == null) return true;
+        return results.computeIfAbsent(condition, c -> new IdentityHashMap<>()).computeIfAbsent(player, condition::isMet);
+    }
+}
@@ -4,7 +4,6 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
-import me.neznamy.tab.shared.chat.TabComponent;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.types.Refreshable;
@@ -35,7 +34,7 @@ public class FixedSlot extends TabFeature implements Refreshable {
             p.getTabList().removeEntry(id);
             p.getTabList().addEntry(createEntry(p));
         } else {
-            p.getTabList().updateDisplayName(id, TabComponent.optimized(p.getProperty(propertyName).updateAndGet()));
+            p.getTabList().updateDisplayName(id, p.getProperty(propertyName).updateAndGetComponent());
         }
     }
 
@@ -54,7 +53,7 @@ public class FixedSlot extends TabFeature implements Refreshable {
                 manager.getSkinManager().getSkin(viewer.getProperty(skinProperty).updateAndGet()),
                 ping,
                 0,
-                TabComponent.optimized(viewer.getProperty(propertyName).updateAndGet())
+                viewer.getProperty(propertyName).updateAndGetComponent()
         );
     }
 
@@ -2,6 +2,8 @@ package me.neznamy.tab.shared.features.layout;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import lombok.Getter;
@@ -41,8 +43,9 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
         }
     }};
     private final Map<String, LayoutPattern> layouts = loadLayouts();
-    private final WeakHashMap<TabPlayer, String> teamNames = new WeakHashMap<>();
-    private final Map<TabPlayer, String> sortedPlayers = Collections.synchronizedMap(new TreeMap<>(Comparator.comparing(teamNames::get)));
+    private final Map<TabPlayer, String> teamNames = new WeakHashMap<>();
+    private final Map<String, TabPlayer> sortedPlayers = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
     private final Sorting sorting = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
     private PlayerList playerList;
     private final WeakHashMap<TabPlayer, LayoutView> views = new WeakHashMap<>();
@@ -106,14 +109,14 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     @Override
     public void onJoin(@NotNull TabPlayer p) {
         teamNames.put(p, sorting.getFullTeamName(p));
-        sortedPlayers.put(p, sorting.getFullTeamName(p));
+        sortedPlayers.put(sorting.getFullTeamName(p), p);
         LayoutPattern highest = getHighestLayout(p);
         if (highest != null) {
             LayoutView view = new LayoutView(this, highest, p);
             view.send();
             views.put(p, view);
         }
-        views.values().forEach(LayoutView::tick);
+        scheduleUpdate();
 
         // Unformat original entries for players who can see a layout to avoid spaces due to unparsed placeholders and such
         if (highest == null) return;
@@ -124,10 +127,10 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
 
     @Override
     public void onQuit(@NotNull TabPlayer p) {
-        sortedPlayers.remove(p);
-        teamNames.remove(p);
+        String teamName = teamNames.remove(p);
+        if (teamName != null) sortedPlayers.remove(teamName, p);
         views.remove(p);
-        views.values().forEach(LayoutView::tick);
+        scheduleUpdate();
     }
 
     @Override
@@ -163,7 +166,23 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
 
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer p) {
-        views.values().forEach(LayoutView::tick);
+        scheduleUpdate();
+    }
+
+    /**
+     * Schedules update of all layout views. All changes until the update
+     * runs are processed together, evaluating group conditions only once.
+     */
+    public void scheduleUpdate() {
+        if (!updateScheduled.compareAndSet(false, true)) return;
+        TAB.getInstance().getCPUManager().runTaskLater(50, getFeatureName(), TabConstants.CpuUsageCategory.LAYOUT_UPDATE, () -> {
+            updateScheduled.set(false);
+            List<TabPlayer> players = new ArrayList<>(sortedPlayers.values());
+            ConditionCache conditions = new ConditionCache();
+            for (LayoutView view : views.values()) {
+                view.tick(players, conditions);
+            }
+        });
     }
 
     private @Nullable LayoutPattern getHighestLayout(@NotNull TabPlayer p) {
@@ -179,10 +198,10 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     }
 
     public void updateTeamName(@NotNull TabPlayer p, @NotNull String teamName) {
-        sortedPlayers.remove(p);
-        teamNames.put(p, teamName);
-        sortedPlayers.put(p, teamName);
-        views.values().forEach(LayoutView::tick);
+        String oldTeamName = teamNames.put(p, teamName);
+        if (oldTeamName != null) sortedPlayers.remove(oldTeamName, p);
+        sortedPlayers.put(teamName, p);
+        scheduleUpdate();
     }
 
     @Override
@@ -14,7 +14,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 @Getter
 public class LayoutView {
@@ -44,12 +43,13 @@ public class LayoutView {
 
     public void send() {
         if (viewer.getVersion().getMinorVersion() < 8 || viewer.isBedrockPlayer()) return;
-        groups.forEach(ParentGroup::sendSlots);
+        List<TabList.Entry> entries = new ArrayList<>();
+        groups.forEach(group -> group.addSlots(entries));
         for (FixedSlot slot : fixedSlots) {
-            viewer.getTabList().addEntry(slot.createEntry(viewer));
+            entries.add(slot.createEntry(viewer));
         }
         for (int slot : emptySlots) {
-            viewer.getTabList().addEntry(new TabList.Entry(
+            entries.add(new TabList.Entry(
                     manager.getUUID(slot),
                     manager.getDirection().getEntryName(viewer, slot),
                     manager.getSkinManager().getDefaultSkin(slot),
@@ -58,6 +58,7 @@ public class LayoutView {
                     new SimpleComponent("")
             ));
         }
+        viewer.getTabList().addEntries(entries);
         tick();
     }
 
@@ -67,11 +68,35 @@ public class LayoutView {
     }
 
     public void tick() {
-        Stream<TabPlayer> str = manager.getSortedPlayers().keySet().stream().filter(
-                player -> TAB.getInstance().getPlatform().canSee(viewer, player));
-        List<TabPlayer> players = str.collect(Collectors.toList());
-        for (ParentGroup group : groups) {
-            group.tick(players);
+        tick(manager.getSortedPlayers().values(), new ConditionCache());
+    }
+
+    /**
+     * Assigns visible players to groups in a single pass, each player goes
+     * into the first group with met condition. Slots only send packets
+     * if their content changed.
+     *
+     * @param   sortedPlayers
+     *          All players in sorted order
+     * @param   conditions
+     *          Group condition results shared by all views in this update
+     */
+    public void tick(@NotNull Collection<TabPlayer> sortedPlayers, @NotNull ConditionCache conditions) {
+        List<List<TabPlayer>> groupPlayers = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            groupPlayers.add(new ArrayList<>());
+        }
+        for (TabPlayer player : sortedPlayers) {
+            if (!TAB.getInstance().getPlatform().canSee(viewer, player)) continue;
+            for (int i = 0; i < groups.size(); i++) {
+                if (conditions.isMet(groups.get(i).getCondition(), player)) {
+                    groupPlayers.get(i).add(player);
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).tick(groupPlayers.get(i));
         }
     }
 
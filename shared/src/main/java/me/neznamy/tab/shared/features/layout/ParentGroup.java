@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.features.layout;
 import java.util.*;
 
 import lombok.Getter;
+import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import org.jetbrains.annotations.NotNull;
@@ -11,7 +12,7 @@ import org.jetbrains.annotations.Nullable;
 public class ParentGroup {
 
     @NotNull private final LayoutView layout;
-    @Nullable private final Condition condition;
+    @Getter @Nullable private final Condition condition;
     @Getter private final int[] slots;
     private final TabPlayer viewer;
     @Getter private final Map<Integer, PlayerSlot> playerSlots = new HashMap<>();
@@ -27,13 +28,8 @@ public class ParentGroup {
         }
     }
 
-    public void tick(@NotNull List<TabPlayer> remainingPlayers) {
+    public void tick(@NotNull List<TabPlayer> meetingCondition) {
         players.clear();
-        List<TabPlayer> meetingCondition = new ArrayList<>();
-        for (TabPlayer p : remainingPlayers) {
-            if (condition == null || condition.isMet(p)) meetingCondition.add(p);
-        }
-        remainingPlayers.removeAll(meetingCondition);
         for (int index = 0; index < slots.length; index++) {
             int slot = slots[index];
             if (layout.getManager().isRemainingPlayersTextEnabled() && index == slots.length - 1 && playerSlots.size() < meetingCondition.size()) {
@@ -50,7 +46,7 @@ public class ParentGroup {
         }
     }
     
-    public void sendSlots() {
-        playerSlots.values().forEach(s -> viewer.getTabList().addEntry(s.getSlot(viewer)));
+    public void addSlots(@NotNull List<TabList.Entry> entries) {
+        playerSlots.values().forEach(s -> entries.add(s.getSlot(viewer)));
     }
 }
\ No newline at end of file
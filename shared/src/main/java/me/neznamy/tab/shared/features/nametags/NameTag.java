@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.features.nametags;
 import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.api.nametag.NameTagManager;
+import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.Scoreboard.CollisionRule;
@@ -227,8 +228,31 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
     }
     
     public void updateTeamData(@NonNull TabPlayer p) {
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
-            updateTeamData(p, viewer);
+        Property prefixProperty = p.getProperty(TabConstants.Property.TAGPREFIX);
+        Property suffixProperty = p.getProperty(TabConstants.Property.TAGSUFFIX);
+        if (prefixProperty.isViewerDependent() || suffixProperty.isViewerDependent()) {
+            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+                updateTeamData(p, viewer);
+            }
+        } else {
+            // Same for everyone, only compute values once and only check visibility per viewer
+            String teamName = sorting.getShortTeamName(p);
+            String prefix = EnumChatFormat.color(prefixProperty.get());
+            String suffix = EnumChatFormat.color(suffixProperty.get());
+            CollisionRule collision = collisionManager.getCollision(p) ? CollisionRule.ALWAYS : CollisionRule.NEVER;
+            EnumChatFormat color = EnumChatFormat.lastColorsOf(prefix);
+            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+                if (!viewer.getScoreboard().containsTeam(teamName)) continue;
+                viewer.getScoreboard().updateTeam(
+                        teamName,
+                        prefix,
+                        suffix,
+                        getTeamVisibility(p, viewer) ? NameVisibility.ALWAYS : NameVisibility.NEVER,
+                        collision,
+                        teamOptions,
+                        color
+                );
+            }
         }
         if (redis != null) redis.updateTeam(p, sorting.getShortTeamName(p),
                 p.getProperty(TabConstants.Property.TAGPREFIX).get(),
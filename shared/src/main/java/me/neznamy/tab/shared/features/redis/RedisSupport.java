@@ -36,6 +36,12 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     /** UUID of this proxy to ignore messages coming from the same proxy */
     @NotNull private final UUID proxy = UUID.randomUUID();
 
+    /** Version of message frames, frames with a different version are ignored */
+    private static final int PROTOCOL_VERSION = 2;
+
+    /** How often are queued messages sent, in milliseconds */
+    private static final int FLUSH_INTERVAL = 50;
+
     /** Features this one hooks into */
     @NotNull private final List<RedisFeature> features = new ArrayList<>();
     @Nullable private RedisBelowName redisBelowName;
@@ -44,16 +50,19 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     @Nullable private RedisTeams redisTeams;
 
     private EventHandler<TabPlaceholderRegisterEvent> eventHandler;
-    @NotNull private final Map<String, Supplier<RedisMessage>> messages = new HashMap<>();
-    @NotNull private final Map<Class<? extends RedisMessage>, String> classStringMap = new HashMap<>();
+    @NotNull private final Map<Integer, Supplier<RedisMessage>> messages = new HashMap<>();
+    @NotNull private final Map<Class<? extends RedisMessage>, Integer> messageIds = new HashMap<>();
+
+    /** Messages waiting to be sent in the next frame, with superseded messages already removed */
+    @NotNull private final Map<Object, RedisMessage> queuedMessages = new LinkedHashMap<>();
 
     protected RedisSupport() {
-        registerMessage("load", Load.class, Load::new);
-        registerMessage("loadrequest", LoadRequest.class, LoadRequest::new);
-        registerMessage("join", PlayerJoin.class, PlayerJoin::new);
-        registerMessage("quit", PlayerQuit.class, PlayerQuit::new);
-        registerMessage("server", ServerSwitch.class, ServerSwitch::new);
-        registerMessage("vanish", UpdateVanishStatus.class, UpdateVanishStatus::new);
+        registerMessage(0, Load.class, Load::new);
+        registerMessage(1, LoadRequest.class, LoadRequest::new);
+        registerMessage(2, PlayerJoin.class, PlayerJoin::new);
+        registerMessage(3, PlayerQuit.class, PlayerQuit::new);
+        registerMessage(4, ServerSwitch.class, ServerSwitch::new);
+        registerMessage(5, UpdateVanishStatus.class, UpdateVanishStatus::new);
     }
 
     /**
@@ -120,35 +129,67 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     }
 
     /**
-     * Processes incoming redis message
+     * Processes incoming frame of redis messages
      *
-     * @param   msg
-     *          json message to process
+     * @param   frame
+     *          frame to process
      */
-    public void processMessage(@NotNull String msg) {
+    public void processMessage(@NotNull byte[] frame) {
         TAB.getInstance().getCPUManager().runMeasuredTask(getFeatureName(), TabConstants.CpuUsageCategory.REDIS_BUNGEE_MESSAGE, () -> {
-            ByteArrayDataInput in = ByteStreams.newDataInput(Base64.getDecoder().decode(msg));
-            String proxy = in.readUTF();
-            if (proxy.equals(this.proxy.toString())) return; // Message coming from current proxy
-            String action = in.readUTF();
-            Supplier<RedisMessage> supplier = messages.get(action);
+            for (RedisMessage message : readFrame(frame)) {
+                message.process(this);
+            }
+        });
+    }
+
+    /**
+     * Reads all messages from a frame written by {@link #writeFrame(List)}. Frames with a different
+     * protocol version or coming from this proxy are ignored. Messages with unknown id are skipped.
+     *
+     * @param   frame
+     *          frame to read
+     * @return  Messages in the same order they were written, empty if the frame was ignored
+     */
+    @NotNull
+    public List<RedisMessage> readFrame(@NotNull byte[] frame) {
+        ByteArrayDataInput in = ByteStreams.newDataInput(frame);
+        if (in.readByte() != PROTOCOL_VERSION) return Collections.emptyList(); // Frame from a different plugin version
+        if (new UUID(in.readLong(), in.readLong()).equals(proxy)) return Collections.emptyList(); // Frame coming from current proxy
+        int count = RedisMessage.readVarInt(in);
+        List<RedisMessage> received = new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            int id = RedisMessage.readVarInt(in);
+            byte[] payload = new byte[RedisMessage.readVarInt(in)];
+            in.readFully(payload);
+            Supplier<RedisMessage> supplier = messages.get(id);
             if (supplier == null) {
-                TAB.getInstance().getErrorManager().unknownRedisMessage(action);
-                return;
+                onUnknownMessage(id);
+                continue;
             }
             RedisMessage redisMessage = supplier.get();
-            redisMessage.read(in);
-            redisMessage.process(this);
-        });
+            redisMessage.read(ByteStreams.newDataInput(payload));
+            received.add(redisMessage);
+        }
+        return received;
     }
 
     /**
-     * Sends message to all proxies
+     * Called when a message with unknown id was skipped, most likely sent by a newer plugin version.
      *
-     * @param   message
-     *          message to send
+     * @param   id
+     *          id of the skipped message
      */
-    public abstract void sendMessage(@NotNull String message);
+    protected void onUnknownMessage(int id) {
+        TAB.getInstance().getErrorManager().unknownRedisMessage(id);
+    }
+
+    /**
+     * Sends frame of messages to all proxies
+     *
+     * @param   frame
+     *          frame to send
+     */
+    public abstract void sendMessage(@NotNull byte[] frame);
 
     /**
      * Registers event and redis message listeners
@@ -163,6 +204,8 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     @Override
     public void load() {
         register();
+        TAB.getInstance().getCPUManager().startRepeatingMeasuredTask(FLUSH_INTERVAL, getFeatureName(),
+                TabConstants.CpuUsageCategory.REDIS_BUNGEE_MESSAGE, this::flush);
         if (TAB.getInstance().getFeatureManager().isFeatureEnabled(TabConstants.Feature.BELOW_NAME)) {
             redisBelowName = new RedisBelowName(this, TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.BELOW_NAME));
             features.add(redisBelowName);
@@ -233,6 +276,7 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     public void unload() {
         for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) onQuit(p);
         TAB.getInstance().getEventBus().unregister(eventHandler);
+        flush();
         unregister();
     }
 
@@ -254,32 +298,77 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     }
 
     /**
-     * Sends message to other proxies.
+     * Queues message to be sent to other proxies with the next frame. If a message
+     * updating the same value is already queued, it is replaced by this one.
      *
      * @param   message
      *          Message to send
      */
     public void sendMessage(@NotNull RedisMessage message) {
+        Object key = message.getCoalescingKey();
+        synchronized (queuedMessages) {
+            if (key == null) {
+                queuedMessages.put(new Object(), message);
+            } else {
+                key = Arrays.asList(message.getClass(), key);
+                queuedMessages.remove(key); // Move to the end to keep order with other messages
+                queuedMessages.put(key, message);
+            }
+        }
+    }
+
+    /**
+     * Sends all queued messages to other proxies in a single frame.
+     */
+    public void flush() {
+        List<RedisMessage> batch;
+        synchronized (queuedMessages) {
+            if (queuedMessages.isEmpty()) return;
+            batch = new ArrayList<>(queuedMessages.values());
+            queuedMessages.clear();
+        }
+        sendMessage(writeFrame(batch));
+    }
+
+    /**
+     * Writes messages into a single frame. The frame consists of protocol version,
+     * proxy UUID, message count and id, length and content of each message.
+     *
+     * @param   batch
+     *          Messages to write
+     * @return  Frame with all messages
+     */
+    @NotNull
+    public byte[] writeFrame(@NotNull List<RedisMessage> batch) {
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF(proxy.toString());
-        out.writeUTF(classStringMap.get(message.getClass()));
-        message.write(out);
-        sendMessage(Base64.getEncoder().encodeToString(out.toByteArray()));
+        out.writeByte(PROTOCOL_VERSION);
+        out.writeLong(proxy.getMostSignificantBits());
+        out.writeLong(proxy.getLeastSignificantBits());
+        RedisMessage.writeVarInt(out, batch.size());
+        for (RedisMessage message : batch) {
+            ByteArrayDataOutput payload = ByteStreams.newDataOutput();
+            message.write(payload);
+            byte[] bytes = payload.toByteArray();
+            RedisMessage.writeVarInt(out, messageIds.get(message.getClass()));
+            RedisMessage.writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+        return out.toByteArray();
     }
 
     /**
      * Registers redis message.
      *
-     * @param   name
-     *          Message name
+     * @param   id
+     *          Numeric message id used in frames, must be the same on all proxies
      * @param   clazz
      *          Message class
      * @param   supplier
      *          Message supplier
      */
-    public void registerMessage(@NotNull String name, @NotNull Class<? extends RedisMessage> clazz, @NotNull Supplier<RedisMessage> supplier) {
-        messages.put(name, supplier);
-        classStringMap.put(clazz, name);
+    public void registerMessage(int id, @NotNull Class<? extends RedisMessage> clazz, @NotNull Supplier<RedisMessage> supplier) {
+        messages.put(id, supplier);
+        messageIds.put(clazz, id);
     }
 
     @Override
@@ -29,7 +29,7 @@ public class RedisBelowName extends RedisFeature {
     public RedisBelowName(@NotNull RedisSupport redisSupport, @NotNull BelowName belowName) {
         this.redisSupport = redisSupport;
         this.belowName = belowName;
-        redisSupport.registerMessage("belowname", Update.class, Update::new);
+        redisSupport.registerMessage(6, Update.class, Update::new);
     }
 
     @Override
@@ -60,13 +60,13 @@ public class RedisBelowName extends RedisFeature {
 
     @Override
     public void write(@NotNull ByteArrayDataOutput out, @NotNull TabPlayer player) {
-        out.writeInt(belowName.getValue(player));
+        RedisMessage.writeVarInt(out, belowName.getValue(player));
         out.writeUTF(player.getProperty(belowName.getFANCY_FORMAT_PROPERTY()).get());
     }
 
     @Override
     public void read(@NotNull ByteArrayDataInput in, @NotNull RedisPlayer player) {
-        values.put(player, in.readInt());
+        values.put(player, RedisMessage.readVarInt(in));
         fancyValues.put(player, in.readUTF());
     }
 
@@ -83,17 +83,23 @@ public class RedisBelowName extends RedisFeature {
         private int value;
         private String fancyValue;
 
+        @Override
+        @NotNull
+        public Object getCoalescingKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
-            out.writeInt(value);
+            writeVarInt(out, value);
             out.writeUTF(fancyValue);
         }
 
         @Override
         public void read(@NotNull ByteArrayDataInput in) {
             playerId = readUUID(in);
-            value = in.readInt();
+            value = readVarInt(in);
             fancyValue = in.readUTF();
         }
 
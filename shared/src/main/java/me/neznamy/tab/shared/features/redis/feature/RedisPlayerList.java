@@ -26,7 +26,7 @@ public class RedisPlayerList extends RedisFeature {
     public RedisPlayerList(@NotNull RedisSupport redisSupport, @NotNull PlayerList playerList) {
         this.redisSupport = redisSupport;
         this.playerList = playerList;
-        redisSupport.registerMessage("tabformat", Update.class, Update::new);
+        redisSupport.registerMessage(8, Update.class, Update::new);
     }
 
     @Override
@@ -82,6 +82,12 @@ public class RedisPlayerList extends RedisFeature {
         private UUID playerId;
         private String format;
 
+        @Override
+        @NotNull
+        public Object getCoalescingKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
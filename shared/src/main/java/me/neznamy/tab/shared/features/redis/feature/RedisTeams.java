@@ -32,7 +32,7 @@ public class RedisTeams extends RedisFeature {
     public RedisTeams(@NotNull RedisSupport redisSupport, @NotNull NameTag nameTags) {
         this.redisSupport = redisSupport;
         this.nameTags = nameTags;
-        redisSupport.registerMessage("teams", Update.class, Update::new);
+        redisSupport.registerMessage(9, Update.class, Update::new);
     }
 
     @Override
@@ -55,6 +55,7 @@ public class RedisTeams extends RedisFeature {
 
     @Override
     public void onQuit(@NotNull RedisPlayer player) {
+        nameTags.getSorting().getTeamNameIndex().release(player);
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             viewer.getScoreboard().unregisterTeam(teamNames.get(player));
         }
@@ -71,7 +72,7 @@ public class RedisTeams extends RedisFeature {
     @Override
     public void read(@NotNull ByteArrayDataInput in, @NotNull RedisPlayer player) {
         String teamName = in.readUTF();
-        teamName = checkTeamName(player, teamName.substring(0, teamName.length()-1), 65);
+        teamName = nameTags.getSorting().getTeamNameIndex().claim(player, teamName.substring(0, teamName.length()-1));
         teamNames.put(player, teamName);
         prefixes.put(player, in.readUTF());
         suffixes.put(player, in.readUTF());
@@ -83,22 +84,6 @@ public class RedisTeams extends RedisFeature {
         onJoin(player);
     }
 
-    private @NotNull String checkTeamName(@NotNull RedisPlayer player, @NotNull String currentName15, int id) {
-        String potentialTeamName = currentName15 + (char)id;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (nameTags.getSorting().getShortTeamName(all).equals(potentialTeamName)) {
-                return checkTeamName(player, currentName15, id+1);
-            }
-        }
-        for (RedisPlayer all : redisSupport.getRedisPlayers().values()) {
-            if (all == player) continue;
-            if (teamNames.containsKey(all) && teamNames.get(all).equals(potentialTeamName)) {
-                return checkTeamName(player, currentName15, id+1);
-            }
-        }
-        return potentialTeamName;
-    }
-
     @NoArgsConstructor
     @AllArgsConstructor
     public class Update extends RedisMessage {
@@ -109,6 +94,12 @@ public class RedisTeams extends RedisFeature {
         private String suffix;
         private NameVisibility nameVisibility;
 
+        @Override
+        @NotNull
+        public Object getCoalescingKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
@@ -132,7 +123,7 @@ public class RedisTeams extends RedisFeature {
             RedisPlayer target = redisSupport.getRedisPlayers().get(playerId);
             if (target == null) return; // Print warn?
             String oldTeamName = teamNames.get(target);
-            String newTeamName = checkTeamName(target, teamName.substring(0, teamName.length()-1), 65);
+            String newTeamName = nameTags.getSorting().getTeamNameIndex().claim(target, teamName.substring(0, teamName.length()-1));
             teamNames.put(target, newTeamName);
             prefixes.put(target, prefix);
             suffixes.put(target, suffix);
@@ -29,7 +29,7 @@ public class RedisYellowNumber extends RedisFeature {
     public RedisYellowNumber(@NotNull RedisSupport redisSupport, @NotNull YellowNumber yellowNumber) {
         this.redisSupport = redisSupport;
         this.yellowNumber = yellowNumber;
-        redisSupport.registerMessage("yellow-number", Update.class, Update::new);
+        redisSupport.registerMessage(7, Update.class, Update::new);
     }
 
     @Override
@@ -60,13 +60,13 @@ public class RedisYellowNumber extends RedisFeature {
 
     @Override
     public void write(@NotNull ByteArrayDataOutput out, @NotNull TabPlayer player) {
-        out.writeInt(yellowNumber.getValueNumber(player));
+        RedisMessage.writeVarInt(out, yellowNumber.getValueNumber(player));
         out.writeUTF(player.getProperty(yellowNumber.getPROPERTY_VALUE_FANCY()).get());
     }
 
     @Override
     public void read(@NotNull ByteArrayDataInput in, @NotNull RedisPlayer player) {
-        values.put(player, in.readInt());
+        values.put(player, RedisMessage.readVarInt(in));
         fancyValues.put(player, in.readUTF());
     }
 
@@ -83,17 +83,23 @@ public class RedisYellowNumber extends RedisFeature {
         private int value;
         private String fancyValue;
 
+        @Override
+        @NotNull
+        public Object getCoalescingKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
-            out.writeInt(value);
+            writeVarInt(out, value);
             out.writeUTF(fancyValue);
         }
 
         @Override
         public void read(@NotNull ByteArrayDataInput in) {
             playerId = readUUID(in);
-            value = in.readInt();
+            value = readVarInt(in);
             fancyValue = in.readUTF();
         }
 
@@ -21,7 +21,7 @@ public class Load extends RedisMessage {
 
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
-        out.writeInt(players.length);
+        writeVarInt(out, players.length);
         for (TabPlayer player : players) {
             new PlayerJoin(redisSupport, player).write(out);
         }
@@ -29,7 +29,7 @@ public class Load extends RedisMessage {
 
     @Override
     public void read(@NotNull ByteArrayDataInput in) {
-        int count = in.readInt();
+        int count = readVarInt(in);
         decodedPlayers = new PlayerJoin[count];
         for (int i=0; i<count; i++) {
             PlayerJoin join = new PlayerJoin();
@@ -4,8 +4,10 @@ import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.redis.RedisPlayer;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
+import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.UUID;
@@ -32,5 +34,8 @@ public class PlayerQuit extends RedisMessage {
         if (target == null) return; // Print warn?
         redisSupport.getFeatures().forEach(f -> f.onQuit(target));
         redisSupport.getRedisPlayers().remove(target.getUniqueId());
+        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            viewer.getScoreboard().forgetScoreHolder(target.getNickname());
+        }
     }
 }
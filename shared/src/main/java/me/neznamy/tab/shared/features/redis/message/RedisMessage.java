@@ -4,6 +4,7 @@ import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -18,6 +19,54 @@ public abstract class RedisMessage {
         return new UUID(in.readLong(), in.readLong());
     }
 
+    /**
+     * Writes int using 1 to 5 bytes depending on its size, 7 bits per byte.
+     *
+     * @param   out
+     *          Output to write to
+     * @param   value
+     *          Value to write
+     */
+    public static void writeVarInt(@NotNull ByteArrayDataOutput out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads int written using {@link #writeVarInt(ByteArrayDataOutput, int)}.
+     *
+     * @param   in
+     *          Input to read from
+     * @return  Read value
+     */
+    public static int readVarInt(@NotNull ByteArrayDataInput in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift == 35) throw new IllegalArgumentException("VarInt is too big");
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Returns key identifying what this message updates. When a message with
+     * the same class and key is sent before previous one was flushed, the
+     * previous one is dropped, since it was superseded by this one.
+     *
+     * @return  Key of updated value or {@code null} if message should never be dropped
+     */
+    @Nullable
+    public Object getCoalescingKey() {
+        return null;
+    }
+
     public abstract void write(@NotNull ByteArrayDataOutput out);
 
     public abstract void read(@NotNull ByteArrayDataInput in);
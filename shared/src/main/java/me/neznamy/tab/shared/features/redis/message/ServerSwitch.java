@@ -17,6 +17,12 @@ public class ServerSwitch extends RedisMessage {
     private UUID playerId;
     private String newServer;
 
+    @Override
+    @NotNull
+    public Object getCoalescingKey() {
+        return playerId;
+    }
+
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
         writeUUID(out, playerId);
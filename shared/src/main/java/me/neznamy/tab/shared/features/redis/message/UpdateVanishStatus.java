@@ -17,6 +17,12 @@ public class UpdateVanishStatus extends RedisMessage {
     private UUID playerId;
     private boolean vanished;
 
+    @Override
+    @NotNull
+    public Object getCoalescingKey() {
+        return playerId;
+    }
+
     @Override
     public void write(@NotNull ByteArrayDataOutput out) {
         writeUUID(out, playerId);
@@ -62,7 +62,7 @@ public class ScoreRefresher extends TabFeature implements Refreshable {
      */
     @Nullable
     public TabComponent getNumberFormat(@NotNull TabPlayer player) {
-        return TabComponent.optimized(player.getProperty(NUMBER_FORMAT_PROPERTY).updateAndGet());
+        return player.getProperty(NUMBER_FORMAT_PROPERTY).updateAndGetComponent();
     }
 
     @Override
@@ -10,6 +10,7 @@ import me.neznamy.tab.api.tablist.SortingManager;
 import me.neznamy.tab.shared.Limitations;
 import me.neznamy.tab.shared.features.types.JoinListener;
 import me.neznamy.tab.shared.features.types.Loadable;
+import me.neznamy.tab.shared.features.types.QuitListener;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.shared.platform.Scoreboard;
@@ -18,7 +19,6 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.layout.LayoutManagerImpl;
 import me.neznamy.tab.shared.features.nametags.NameTag;
-import me.neznamy.tab.shared.features.redis.RedisPlayer;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.sorting.types.Groups;
 import me.neznamy.tab.shared.features.sorting.types.Permissions;
@@ -33,7 +33,7 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Class for handling player sorting rules
  */
-public class Sorting extends TabFeature implements SortingManager, JoinListener, Loadable, Refreshable {
+public class Sorting extends TabFeature implements SortingManager, JoinListener, QuitListener, Loadable, Refreshable {
 
     private NameTag nameTags;
     private LayoutManagerImpl layout;
@@ -53,6 +53,9 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
     private final WeakHashMap<TabPlayer, String> fullTeamNames = new WeakHashMap<>();
     private final WeakHashMap<TabPlayer, String> teamNameNotes = new WeakHashMap<>();
     private final WeakHashMap<me.neznamy.tab.api.TabPlayer, String> forcedTeamName = new WeakHashMap<>();
+
+    //team names taken by players on this server and on other servers connected via redis
+    @Getter private final TeamNameIndex teamNameIndex = new TeamNameIndex();
     
     /**
      * Constructs new instance and loads config options
@@ -95,6 +98,10 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
         nameTags = TAB.getInstance().getNameTagManager();
         layout = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.LAYOUT);
         redis = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
+        // Only release names of players on this server, names of redis players stay claimed
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            teamNameIndex.release(all);
+        }
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             constructTeamNames(all);
         }
@@ -104,6 +111,11 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         constructTeamNames(connectedPlayer);
     }
+
+    @Override
+    public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        teamNameIndex.release(disconnectedPlayer);
+    }
     
     /**
      * Compiles sorting type list into classes
@@ -145,7 +157,7 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
         if (shortName.length() >= Limitations.TEAM_NAME_LENGTH) {
             shortName.setLength(Limitations.TEAM_NAME_LENGTH-1);
         }
-        String finalShortName = checkTeamName(p, shortName, 'A');
+        String finalShortName = teamNameIndex.claim(p, shortName.toString());
         shortTeamNames.put(p, finalShortName);
         fullTeamNames.put(p, fullName.append(finalShortName.charAt(finalShortName.length() - 1)).toString());
 
@@ -155,35 +167,6 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
         }
     }
 
-    /**
-     * Checks if team name is available and proceeds to try new values until free name is found
-     *
-     * @param   p
-     *          player to build team name for
-     * @param   currentName
-     *          current up to 15 character long team name start
-     * @param   id
-     *          current character to check as 16th character
-     * @return  first available full team name
-     */
-    private @NotNull String checkTeamName(@NotNull TabPlayer p, @NotNull StringBuilder currentName, int id) {
-        String potentialTeamName = currentName.toString() + (char)id;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (all == p) continue;
-            if (shortTeamNames.get(all) != null && shortTeamNames.get(all).equals(potentialTeamName)) {
-                return checkTeamName(p, currentName, id+1);
-            }
-        }
-        if (redis != null && redis.getRedisTeams() != null) {
-            for (RedisPlayer all : redis.getRedisPlayers().values()) {
-                if (redis.getRedisTeams().getTeamNames().get(all).equals(potentialTeamName)) {
-                    return checkTeamName(p, currentName, id+1);
-                }
-            }
-        }
-        return potentialTeamName;
-    }
-    
     /**
      * Converts sorting types into user-friendly sorting types into /tab debug
      *
@@ -0,0 +1,84 @@
+package me.neznamy.tab.shared.features.sorting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of team names taken by players on this server and players
+ * on other servers connected via redis. Team names end with an extra
+ * character to make them unique, this class finds first free one
+ * without checking team names of all players.
+ */
+public class TeamNameIndex {
+
+    /** First character used to make team names unique */
+    private static final int FIRST_CHARACTER = 'A';
+
+    /** Owner of each taken team name */
+    private final Map<String, Object> owners = new HashMap<>();
+
+    /** Team name taken by each owner */
+    private final Map<Object, String> teamNames = new HashMap<>();
+
+    /** Team name starts with at least one taken team name */
+    private final Map<String, TeamNameStart> starts = new HashMap<>();
+
+    /**
+     * Finds first free team name with given start, marks it as taken by given
+     * owner and returns it. Team name previously taken by the owner is released.
+     *
+     * @param   owner
+     *          Player taking the team name
+     * @param   start
+     *          Team name without last character
+     * @return  First free team name with given start
+     */
+    @NotNull
+    public synchronized String claim(@NotNull Object owner, @NotNull String start) {
+        release(owner);
+        TeamNameStart teamNameStart = starts.computeIfAbsent(start, s -> new TeamNameStart());
+        int id = teamNameStart.nextFree;
+        String teamName;
+        while (owners.containsKey(teamName = start + (char) id)) {
+            id++;
+        }
+        owners.put(teamName, owner);
+        teamNames.put(owner, teamName);
+        teamNameStart.taken++;
+        teamNameStart.nextFree = id + 1;
+        return teamName;
+    }
+
+    /**
+     * Releases team name taken by given owner, making it available for others.
+     *
+     * @param   owner
+     *          Player who no longer needs the team name
+     */
+    public synchronized void release(@NotNull Object owner) {
+        String teamName = teamNames.remove(owner);
+        if (teamName == null) return;
+        owners.remove(teamName);
+        String start = teamName.substring(0, teamName.length() - 1);
+        TeamNameStart teamNameStart = starts.get(start);
+        if (--teamNameStart.taken == 0) {
+            starts.remove(start);
+        } else {
+            teamNameStart.nextFree = Math.min(teamNameStart.nextFree, teamName.charAt(teamName.length() - 1));
+        }
+    }
+
+    /**
+     * Taken team names sharing the same start.
+     */
+    private static class TeamNameStart {
+
+        /** Amount of taken team names with this start */
+        private int taken;
+
+        /** Lowest last character which may be free, all lower ones are taken */
+        private int nextFree = FIRST_CHARACTER;
+    }
+}
@@ -0,0 +1,23 @@
+package me.neznamy.tab.shared.features.types;
+
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interface for features able to refresh visuals of a single viewer and target
+ * pair when a relational placeholder changes value, instead of refreshing the
+ * target for all viewers.
+ */
+public interface RelationalRefreshable extends Refreshable {
+
+    /**
+     * Called when a relational placeholder used by this feature
+     * changes value for specified viewer and target.
+     *
+     * @param   viewer
+     *          Player viewing the placeholder
+     * @param   target
+     *          Player the placeholder is displayed on
+     */
+    void refresh(@NotNull TabPlayer viewer, @NotNull TabPlayer target);
+}
@@ -22,11 +22,11 @@ import java.util.*;
 public class AdventureHook {
 
     /** Component cache for adventure components */
-    private static final ComponentCache<TabComponent, Component> cache = new ComponentCache<>(1000,
+    private static final ComponentCache<TabComponent, Component> cache = new ComponentCache<>("adventure", 1000,
             AdventureHook::toAdventureComponent0);
 
     /** Component to string cache for better performance */
-    private static final ComponentCache<Component, String> componentToString = new ComponentCache<>(1000,
+    private static final ComponentCache<Component, String> componentToString = new ComponentCache<>("adventure-to-json", 1000,
             (component, version) -> GsonComponentSerializer.gson().serialize(component));
 
     /**
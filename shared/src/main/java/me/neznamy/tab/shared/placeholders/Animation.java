@@ -37,6 +37,9 @@ public class Animation {
      * such as this being a slow animation with a fast nested animation.
      */
     @Getter private final int refresh;
+
+    /** All placeholders used in frames of the animation */
+    private final List<String> nestedPlaceholders = new ArrayList<>();
     
     /**
      * Constructs new instance with given arguments which are fixed if necessary, such as when
@@ -57,7 +60,6 @@ public class Animation {
         messages = TAB.getInstance().getConfigHelper().startup().fixAnimationFrames(name, list).toArray(new String[0]);
         this.interval = TAB.getInstance().getConfigHelper().startup().fixAnimationInterval(name, interval);
         int refresh = this.interval;
-        List<String> nestedPlaceholders = new ArrayList<>();
         for (int i=0; i<messages.length; i++) {
             messages[i] = RGBUtils.getInstance().applyCleanGradients(messages[i]);
             messages[i] = EnumChatFormat.color(messages[i]);
@@ -80,6 +82,21 @@ public class Animation {
         this.refresh = refresh;
     }
 
+    /**
+     * Returns {@code true} if all frames only use placeholders which do not depend
+     * on player, {@code false} if not. Nested animations are only recognized as such
+     * if they were registered before this one.
+     *
+     * @return  {@code true} if animation does not depend on player, {@code false} if it does
+     */
+    public boolean isPlayerIndependent() {
+        for (String placeholder : nestedPlaceholders) {
+            if (placeholder.startsWith("%animation:") && !placeholderManager.isPlaceholderRegistered(placeholder)) return false;
+            if (!placeholderManager.isPlayerIndependent(placeholder)) return false;
+        }
+        return true;
+    }
+
     /**
      * Returns current up-to-date message depending on current system time
      *
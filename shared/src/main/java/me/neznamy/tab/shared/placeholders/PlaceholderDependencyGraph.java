@@ -0,0 +1,159 @@
+package me.neznamy.tab.shared.placeholders;
+
+import lombok.AllArgsConstructor;
+import me.neznamy.tab.shared.features.types.Refreshable;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of placeholder usage, mapping each placeholder to features
+ * which need to be refreshed when it changes value. Nested placeholders are
+ * flattened, so features using a placeholder which uses the changed placeholder
+ * in its output are included as well. Features are stored as bitsets of their
+ * indexes for fast merging.
+ */
+public class PlaceholderDependencyGraph {
+
+    /** Features by their index */
+    @NotNull private final Refreshable[] features;
+
+    /** Flattened usage of all placeholders */
+    @NotNull private final Map<String, Node> nodes;
+
+    /**
+     * Constructs new instance and flattens the usage.
+     *
+     * @param   features
+     *          Features by their index
+     * @param   usage
+     *          Features using placeholder directly, either in player properties or elsewhere
+     * @param   sharedUsage
+     *          Features using placeholder directly outside of player properties, which need
+     *          to be refreshed for all players
+     * @param   parents
+     *          Placeholders using placeholder in their output
+     */
+    public PlaceholderDependencyGraph(@NotNull Refreshable[] features, @NotNull Map<String, BitSet> usage,
+                                      @NotNull Map<String, BitSet> sharedUsage, @NotNull Map<String, List<String>> parents) {
+        this.features = features;
+        Set<String> identifiers = new HashSet<>(usage.keySet());
+        identifiers.addAll(parents.keySet());
+        Map<String, Node> nodes = new HashMap<>(identifiers.size(), 1);
+        for (String identifier : identifiers) {
+            Set<String> ancestors = new LinkedHashSet<>();
+            collectAncestors(identifier, parents, ancestors);
+            BitSet all = new BitSet();
+            BitSet shared = new BitSet();
+            for (String ancestor : ancestors) {
+                BitSet direct = usage.get(ancestor);
+                if (direct != null) all.or(direct);
+                BitSet directShared = sharedUsage.get(ancestor);
+                if (directShared != null) shared.or(directShared);
+            }
+            Set<Refreshable> featureSet = new HashSet<>();
+            for (int i = all.nextSetBit(0); i >= 0; i = all.nextSetBit(i+1)) {
+                featureSet.add(features[i]);
+            }
+            nodes.put(identifier, new Node(ancestors.toArray(new String[0]), shared, Collections.unmodifiableSet(featureSet)));
+        }
+        this.nodes = nodes;
+    }
+
+    /**
+     * Adds placeholder and all placeholders using it in their output into given set.
+     *
+     * @param   identifier
+     *          Placeholder to start with
+     * @param   parents
+     *          Placeholders using placeholder in their output
+     * @param   ancestors
+     *          Set to add placeholders into
+     */
+    private void collectAncestors(@NotNull String identifier, @NotNull Map<String, List<String>> parents, @NotNull Set<String> ancestors) {
+        if (!ancestors.add(identifier)) return;
+        for (String parent : parents.getOrDefault(identifier, Collections.emptyList())) {
+            collectAncestors(parent, parents, ancestors);
+        }
+    }
+
+    /**
+     * Returns {@code true} if placeholder is present in this snapshot, {@code false} if not.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @return  {@code true} if placeholder is present, {@code false} if not
+     */
+    public boolean contains(@NotNull String identifier) {
+        return nodes.containsKey(identifier);
+    }
+
+    /**
+     * Returns unmodifiable set of all features using placeholder directly or as a nested placeholder.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @return  features using the placeholder
+     */
+    @NotNull
+    public Set<Refreshable> getUsage(@NotNull String identifier) {
+        Node node = nodes.get(identifier);
+        return node == null ? Collections.emptySet() : node.featureSet;
+    }
+
+    /**
+     * Adds indexes of features, which need to be refreshed for given player
+     * when placeholder changes value, into given bitset. This includes features
+     * using the placeholder outside of player properties and features with
+     * properties of this player using the placeholder.
+     *
+     * @param   player
+     *          Player the placeholder changed value for
+     * @param   identifier
+     *          Placeholder which changed value
+     * @param   target
+     *          Bitset to add features into
+     */
+    public void collectUsage(@NotNull TabPlayer player, @NotNull String identifier, @NotNull BitSet target) {
+        Node node = nodes.get(identifier);
+        if (node == null) return;
+        target.or(node.sharedFeatures);
+        Map<String, BitSet> playerUsage = player.getPropertyPlaceholderUsage();
+        if (playerUsage.isEmpty()) return;
+        for (String ancestor : node.ancestors) {
+            BitSet bits = playerUsage.get(ancestor);
+            if (bits != null) target.or(bits);
+        }
+    }
+
+    /**
+     * Returns feature with given index or {@code null} if this snapshot
+     * was created before the feature was registered.
+     *
+     * @param   index
+     *          Feature index
+     * @return  feature with given index
+     */
+    @Nullable
+    public Refreshable getFeature(int index) {
+        return index < features.length ? features[index] : null;
+    }
+
+    /**
+     * Flattened usage of a single placeholder.
+     */
+    @AllArgsConstructor
+    private static class Node {
+
+        /** This placeholder and all placeholders using it in their output, directly or indirectly */
+        @NotNull private final String[] ancestors;
+
+        /** Indexes of features using the placeholder outside of player properties */
+        @NotNull private final BitSet sharedFeatures;
+
+        /** All features using the placeholder */
+        @NotNull private final Set<Refreshable> featureSet;
+    }
+}
@@ -0,0 +1,162 @@
+package me.neznamy.tab.shared.placeholders;
+
+import me.neznamy.tab.shared.TabConstants;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency statistics of a single placeholder. Tracks a histogram of request times
+ * and stretches effective refresh interval of placeholders which keep taking longer
+ * than {@link TabConstants.Placeholder#RETURN_TIME_WARN_THRESHOLD} to return a value.
+ * Backoff counts refresh cycles, not requests, so a single slow cycle over many players
+ * only counts as one miss. All methods are thread-safe, as requests may be performed
+ * by multiple threads.
+ */
+public class PlaceholderLatency {
+
+    /** Upper bounds (exclusive) of histogram buckets in milliseconds, last bucket is unbounded */
+    private static final long[] BUCKET_BOUNDS = {1, 5, 10, 25, 50, 100, 500};
+
+    /** No request was recorded in current refresh cycle */
+    private static final int CYCLE_NONE = 0;
+
+    /** All requests in current refresh cycle returned in time */
+    private static final int CYCLE_HIT = 1;
+
+    /** At least one request in current refresh cycle took too long */
+    private static final int CYCLE_MISS = 2;
+
+    /** Amount of requests per histogram bucket */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+
+    /** Result of current refresh cycle, one of {@link #CYCLE_NONE}, {@link #CYCLE_HIT} and {@link #CYCLE_MISS} */
+    private final AtomicInteger cycleResult = new AtomicInteger(CYCLE_NONE);
+
+    /** Amount of refresh cycles in a row which had a request taking too long */
+    private final AtomicInteger consecutiveMisses = new AtomicInteger();
+
+    /** Amount of refresh cycles in a row which had all requests return in time */
+    private final AtomicInteger consecutiveHits = new AtomicInteger();
+
+    /** Multiplier of configured refresh interval, always a power of 2 */
+    private final AtomicInteger backoffMultiplier = new AtomicInteger(1);
+
+    /** Amount of requests skipped because refresh tick ran out of time */
+    private final AtomicLong skippedRequests = new AtomicLong();
+
+    /**
+     * Records time of a single request into the histogram and current refresh cycle.
+     * Returns {@code true} if the request took longer than allowed, {@code false} if not.
+     *
+     * @param   nanoseconds
+     *          Time it took the placeholder to return value
+     * @return  {@code true} if request took too long, {@code false} if not
+     */
+    public boolean record(long nanoseconds) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanoseconds);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && millis >= BUCKET_BOUNDS[bucket]) bucket++;
+        buckets.incrementAndGet(bucket);
+        boolean miss = millis > TabConstants.Placeholder.RETURN_TIME_WARN_THRESHOLD;
+        cycleResult.accumulateAndGet(miss ? CYCLE_MISS : CYCLE_HIT, Math::max);
+        return miss;
+    }
+
+    /**
+     * Ends current refresh cycle and counts it as a single hit or miss, adjusting
+     * refresh interval multiplier if needed. Does nothing if no request was recorded
+     * since the previous call.
+     */
+    public void completeCycle() {
+        int result = cycleResult.getAndSet(CYCLE_NONE);
+        if (result == CYCLE_NONE) return;
+        if (result == CYCLE_MISS) {
+            consecutiveHits.set(0);
+            if (consecutiveMisses.incrementAndGet() >= TabConstants.Placeholder.BACKOFF_MISS_THRESHOLD) {
+                consecutiveMisses.set(0);
+                backoffMultiplier.updateAndGet(m -> Math.min(m * 2, TabConstants.Placeholder.MAX_BACKOFF_MULTIPLIER));
+            }
+            return;
+        }
+        consecutiveMisses.set(0);
+        if (backoffMultiplier.get() > 1 && consecutiveHits.incrementAndGet() >= TabConstants.Placeholder.BACKOFF_RECOVERY_THRESHOLD) {
+            consecutiveHits.set(0);
+            backoffMultiplier.updateAndGet(m -> Math.max(m / 2, 1));
+        }
+    }
+
+    /**
+     * Marks requests as skipped because refresh tick ran out of time
+     * and last known value was kept instead.
+     *
+     * @param   count
+     *          Amount of skipped requests
+     */
+    public void markSkipped(int count) {
+        if (count > 0) skippedRequests.addAndGet(count);
+    }
+
+    /**
+     * Returns amount of requests skipped because refresh tick ran out of time.
+     *
+     * @return  amount of skipped requests
+     */
+    public long getSkippedRequests() {
+        return skippedRequests.get();
+    }
+
+    /**
+     * Returns current multiplier of configured refresh interval.
+     *
+     * @return  current refresh interval multiplier
+     */
+    public int getBackoffMultiplier() {
+        return backoffMultiplier.get();
+    }
+
+    /**
+     * Returns {@code true} if placeholder is being throttled, either by having its
+     * refresh interval stretched or by having its requests skipped, {@code false} if not.
+     *
+     * @return  {@code true} if placeholder is throttled, {@code false} if not
+     */
+    public boolean isThrottled() {
+        return backoffMultiplier.get() > 1 || skippedRequests.get() > 0;
+    }
+
+    /**
+     * Returns total amount of recorded requests.
+     *
+     * @return  total amount of recorded requests
+     */
+    public long getRequestCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns name of histogram bucket containing given percentile of requests,
+     * such as {@code <5ms}.
+     *
+     * @param   percentile
+     *          Percentile to get, between 0 and 1
+     * @return  histogram bucket containing the percentile
+     */
+    @NotNull
+    public String getPercentile(double percentile) {
+        long target = (long) Math.ceil(getRequestCount() * percentile);
+        long count = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            count += buckets.get(i);
+            if (count >= target) return "<" + BUCKET_BOUNDS[i] + "ms";
+        }
+        return BUCKET_BOUNDS[BUCKET_BOUNDS.length-1] + "ms+";
+    }
+}
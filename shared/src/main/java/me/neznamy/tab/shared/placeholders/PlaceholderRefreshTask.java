@@ -7,16 +7,21 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.placeholders.types.PlayerPlaceholderImpl;
 import me.neznamy.tab.shared.placeholders.types.RelationalPlaceholderImpl;
 import me.neznamy.tab.shared.placeholders.types.ServerPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.types.TabPlaceholder;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * A class that refreshes all requested placeholders using given refresh
- * function and returns the results.
+ * function and returns the results. If a worker pool is provided, the work
+ * is split into shards by placeholder and player range, which are then
+ * refreshed in parallel and merged back into result maps. If the task runs
+ * out of its time budget, remaining requests are skipped and placeholders
+ * keep their last known values.
  */
 @RequiredArgsConstructor
 @Getter
@@ -25,56 +30,289 @@ public class PlaceholderRefreshTask implements Runnable {
     /** Placeholders that should be refreshed in this loop */
     private final Collection<Placeholder> placeholdersToRefresh;
 
+    /** Worker pool to split the work into or {@code null} to refresh everything in current thread */
+    @Nullable
+    private final ExecutorService workers;
+
+    /** Maximum amount of players refreshed by a single shard */
+    private final int shardSize;
+
+    /** Maximum time this task may spend requesting values in nanoseconds, {@code 0} or less for unlimited */
+    private final long timeBudget;
+
+    /** Whether relational placeholders should only be evaluated for pairs with a dirty viewer or target */
+    private final boolean incrementalRelational;
+
+    /** Online players at the time of refresh, indexes match relational result tables */
+    @NotNull
+    private TabPlayer[] players = new TabPlayer[0];
+
     /** Map of server placeholder results */
     private final Map<ServerPlaceholderImpl, Object> serverPlaceholderResults = new HashMap<>();
 
     /** Map of player placeholder results */
     private final Map<PlayerPlaceholderImpl, Map<TabPlayer, Object>> playerPlaceholderResults = new HashMap<>();
 
-    /** Map of relational placeholder results */
+    /**
+     * Map of relational placeholder results, where value is a table indexed by viewer
+     * and target index in {@link #players}. Pairs which were not evaluated are {@code null}.
+     */
     @Nullable
-    private Map<RelationalPlaceholderImpl, Map<TabPlayer, Map<TabPlayer, Object>>> relationalPlaceholderResults;
+    private Map<RelationalPlaceholderImpl, Object[][]> relationalPlaceholderResults;
+
+    /**
+     * Constructs new instance which refreshes all placeholders in current thread.
+     *
+     * @param   placeholdersToRefresh
+     *          Placeholders that should be refreshed in this loop
+     */
+    public PlaceholderRefreshTask(@NotNull Collection<Placeholder> placeholdersToRefresh) {
+        this(placeholdersToRefresh, null, Integer.MAX_VALUE, 0, false);
+    }
 
     @Override
     public void run() {
-        TabPlayer[] players = TAB.getInstance().getOnlinePlayers();
+        try {
+            refresh();
+        } finally {
+            // Count the whole refresh as a single hit or miss, not every request
+            for (Placeholder placeholder : placeholdersToRefresh) {
+                ((TabPlaceholder) placeholder).getLatency().completeCycle();
+            }
+        }
+    }
+
+    /**
+     * Requests values of all placeholders, either in current thread
+     * or split into shards on the worker pool.
+     */
+    private void refresh() {
+        players = TAB.getInstance().getOnlinePlayers();
+        long deadline = Long.MAX_VALUE;
+        if (timeBudget > 0) {
+            deadline = System.nanoTime() + timeBudget;
+            if (players.length > 1) {
+                // Start at a random player so the same players are not always skipped when running out of time
+                players = players.clone();
+                Collections.rotate(Arrays.asList(players), ThreadLocalRandom.current().nextInt(players.length));
+            }
+        }
+        if (workers == null) {
+            for (Placeholder placeholder : placeholdersToRefresh) {
+                BitSet dirty = pollDirtyPlayers(placeholder);
+                if (dirty != null && dirty.isEmpty()) continue;
+                Shard shard = new Shard(placeholder, players, 0, players.length, 0, deadline, dirty);
+                shard.call();
+                merge(shard);
+            }
+            return;
+        }
+        List<Shard> shards = new ArrayList<>();
         for (Placeholder placeholder : placeholdersToRefresh) {
-            long nanoTime = 0;
             if (placeholder instanceof ServerPlaceholderImpl) {
-                ServerPlaceholderImpl serverPlaceholder = (ServerPlaceholderImpl) placeholder;
+                shards.add(new Shard(placeholder, players, 0, players.length, 0, deadline, null));
+                continue;
+            }
+            BitSet dirty = pollDirtyPlayers(placeholder);
+            if (dirty != null && dirty.isEmpty()) continue;
+            for (int from = 0, index = 0; from < players.length; from += shardSize, index++) {
+                shards.add(new Shard(placeholder, players, from, Math.min(players.length, from + shardSize), index, deadline, dirty));
+            }
+        }
+        try {
+            for (Future<Shard> future : workers.invokeAll(shards)) {
+                merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            TAB.getInstance().getErrorManager().taskThrewError(e);
+        }
+    }
+
+    /**
+     * Returns slots of players whose relational pairs should be evaluated in this refresh
+     * or {@code null} if all pairs should be evaluated.
+     *
+     * @param   placeholder
+     *          Placeholder to get dirty players of
+     * @return  slots of dirty players or {@code null} for all players
+     */
+    @Nullable
+    private BitSet pollDirtyPlayers(@NotNull Placeholder placeholder) {
+        if (!(placeholder instanceof RelationalPlaceholderImpl)) return null;
+        return ((RelationalPlaceholderImpl) placeholder).pollDirtyPlayers(incrementalRelational);
+    }
+
+    /**
+     * Merges results of a finished shard into result maps and
+     * adds measured time into cpu usage.
+     *
+     * @param   shard
+     *          Finished shard
+     */
+    private void merge(@NotNull Shard shard) {
+        if (shard.placeholder instanceof ServerPlaceholderImpl && shard.skipped == 0) {
+            serverPlaceholderResults.put((ServerPlaceholderImpl) shard.placeholder, shard.serverResult);
+        }
+        if (shard.placeholder instanceof PlayerPlaceholderImpl) {
+            playerPlaceholderResults.computeIfAbsent((PlayerPlaceholderImpl) shard.placeholder, p -> new HashMap<>()).putAll(shard.playerResults);
+        }
+        if (shard.placeholder instanceof RelationalPlaceholderImpl) {
+            if (relationalPlaceholderResults == null) relationalPlaceholderResults = new HashMap<>();
+            Object[][] table = relationalPlaceholderResults.computeIfAbsent((RelationalPlaceholderImpl) shard.placeholder, p -> new Object[players.length][]);
+            System.arraycopy(shard.relationalResults, 0, table, shard.from, shard.to - shard.from);
+        }
+        if (shard.skippedPlayers != null) {
+            // Evaluate skipped pairs in next refresh instead of waiting for a full sweep
+            ((RelationalPlaceholderImpl) shard.placeholder).markDirty(shard.skippedPlayers);
+        }
+        ((TabPlaceholder) shard.placeholder).getLatency().markSkipped(shard.skipped);
+        TAB.getInstance().getCPUManager().addPlaceholderTime(shard.placeholder.getIdentifier(), shard.nanoTime);
+        if (workers != null) {
+            TAB.getInstance().getCPUManager().addPlaceholderShardTime(shard.placeholder.getIdentifier(), shard.index, shard.nanoTime);
+        }
+    }
+
+    /**
+     * A part of the refresh work, which refreshes a single placeholder
+     * for a range of players.
+     */
+    @RequiredArgsConstructor
+    private static class Shard implements Callable<Shard> {
+
+        /** Placeholder to refresh */
+        private final Placeholder placeholder;
+
+        /** All online players at the time of refresh */
+        private final TabPlayer[] players;
+
+        /** Index of first player to refresh (inclusive) */
+        private final int from;
+
+        /** Index of last player to refresh (exclusive) */
+        private final int to;
+
+        /** Index of this shard in the player array */
+        private final int index;
+
+        /** {@link System#nanoTime()} after which no more requests are performed */
+        private final long deadline;
+
+        /** Slots of players whose relational pairs should be evaluated or {@code null} for all pairs */
+        @Nullable
+        private final BitSet dirty;
+
+        /** Time it took placeholder to return all values in nanoseconds */
+        private long nanoTime;
+
+        /** Amount of requests skipped due to running out of time */
+        private int skipped;
+
+        /** Slots of players whose relational pairs were skipped due to running out of time, {@code null} if none */
+        @Nullable
+        private BitSet skippedPlayers;
+
+        /** Server placeholder result */
+        private Object serverResult;
+
+        /** Player placeholder results */
+        private Map<TabPlayer, Object> playerResults;
+
+        /** Relational placeholder results, players in range being viewers, indexed from {@link #from} */
+        private Object[][] relationalResults;
+
+        @Override
+        public Shard call() {
+            if (placeholder instanceof ServerPlaceholderImpl) {
                 long startTime = System.nanoTime();
-                Object result = serverPlaceholder.request();
-                nanoTime += System.nanoTime()-startTime;
-                serverPlaceholderResults.put(serverPlaceholder, result);
+                if (isOverBudget(startTime)) {
+                    skipped++;
+                } else {
+                    serverResult = ((ServerPlaceholderImpl) placeholder).request();
+                    nanoTime += System.nanoTime()-startTime;
+                }
             }
             if (placeholder instanceof PlayerPlaceholderImpl) {
                 PlayerPlaceholderImpl playerPlaceholder = (PlayerPlaceholderImpl) placeholder;
-                Map<TabPlayer, Object> playerResults = new HashMap<>();
-                for (TabPlayer player : players) {
+                playerResults = new HashMap<>();
+                for (int i = from; i < to; i++) {
                     long startTime = System.nanoTime();
-                    Object result = playerPlaceholder.request(player);
+                    if (isOverBudget(startTime)) {
+                        skipped += to - i;
+                        break;
+                    }
+                    Object result = playerPlaceholder.request(players[i]);
                     nanoTime += System.nanoTime()-startTime;
-                    playerResults.put(player, result);
+                    playerResults.put(players[i], result);
                 }
-                playerPlaceholderResults.put(playerPlaceholder, playerResults);
             }
             if (placeholder instanceof RelationalPlaceholderImpl) {
                 RelationalPlaceholderImpl relationalPlaceholder = (RelationalPlaceholderImpl) placeholder;
-                Map<TabPlayer, Map<TabPlayer, Object>> viewerMap = new HashMap<>();
-                for (TabPlayer viewer : players) {
-                    Map<TabPlayer, Object> targetMap = new HashMap<>();
-                    for (TabPlayer target : players) {
+                relationalResults = new Object[to - from][];
+                for (int i = from; i < to; i++) {
+                    if (isOverBudget(System.nanoTime())) {
+                        skipped += (to - i) * players.length;
+                        markSkipped(i);
+                        break;
+                    }
+                    TabPlayer viewer = players[i];
+                    boolean fullRow = dirty == null || isDirty(viewer);
+                    Object[] row = new Object[players.length];
+                    for (int j = 0; j < players.length; j++) {
+                        if (!fullRow && !isDirty(players[j])) continue;
                         long startTime = System.nanoTime();
-                        Object result = relationalPlaceholder.request(viewer, target);
+                        row[j] = relationalPlaceholder.request(viewer, players[j]);
                         nanoTime += System.nanoTime()-startTime;
-                        targetMap.put(target, result);
                     }
-                    viewerMap.put(viewer, targetMap);
+                    relationalResults[i - from] = row;
                 }
-                if (relationalPlaceholderResults == null) relationalPlaceholderResults = new HashMap<>();
-                relationalPlaceholderResults.put(relationalPlaceholder, viewerMap);
             }
-            TAB.getInstance().getCPUManager().addPlaceholderTime(placeholder.getIdentifier(), nanoTime);
+            return this;
+        }
+
+        /**
+         * Remembers players whose relational pairs were skipped, starting with
+         * viewer at given index. If only pairs with dirty players were evaluated,
+         * all dirty players are kept dirty, otherwise skipped viewers become dirty.
+         *
+         * @param   firstSkipped
+         *          Index of first viewer whose row was skipped
+         */
+        private void markSkipped(int firstSkipped) {
+            if (dirty != null) {
+                skippedPlayers = (BitSet) dirty.clone();
+                return;
+            }
+            skippedPlayers = new BitSet();
+            for (int i = firstSkipped; i < to; i++) {
+                int slot = players[i].getSlot();
+                if (slot >= 0) skippedPlayers.set(slot);
+            }
+        }
+
+        /**
+         * Returns {@code true} if pairs with given player should be evaluated,
+         * {@code false} if not. Players who quit in the meantime are never dirty.
+         *
+         * @param   player
+         *          Player to check
+         * @return  {@code true} if player is dirty, {@code false} if not
+         */
+        private boolean isDirty(@NotNull TabPlayer player) {
+            int slot = player.getSlot();
+            return slot >= 0 && dirty.get(slot);
+        }
+
+        /**
+         * Returns {@code true} if given time is past the deadline, {@code false} if not.
+         *
+         * @param   nanoTime
+         *          Current {@link System#nanoTime()}
+         * @return  {@code true} if out of time, {@code false} if not
+         */
+        private boolean isOverBudget(long nanoTime) {
+            return deadline != Long.MAX_VALUE && nanoTime - deadline > 0;
         }
     }
 }
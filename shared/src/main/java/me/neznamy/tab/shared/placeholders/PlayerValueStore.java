@@ -0,0 +1,194 @@
+package me.neznamy.tab.shared.placeholders;
+
+import lombok.AllArgsConstructor;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Storage of values per player, indexed by {@link TabPlayer#getSlot()} instead
+ * of hashing player objects. Reads do not take any lock, writes are synchronized
+ * to not get lost while the storage is growing. Values of a player must be removed
+ * using {@link #remove(TabPlayer)} when the player quits. Values of players without a slot
+ * (before it is allocated or after it is released) are stored in a map instead, so they are
+ * not lost. Since slots are reused, every value remembers player it belongs to and values
+ * of players who previously had the slot are ignored.
+ *
+ * @param   <T>
+ *          Type of stored values
+ */
+public class PlayerValueStore<T> {
+
+    /** Values by player slot */
+    @NotNull
+    private volatile AtomicReferenceArray<Entry<T>> entries = new AtomicReferenceArray<>(16);
+
+    /** Values of players without a slot, weak so they do not outlive the player */
+    @NotNull
+    private final Map<TabPlayer, T> withoutSlot = new WeakHashMap<>();
+
+    /** Whether {@link #withoutSlot} may contain values, so it is only locked when it does */
+    private volatile boolean hasWithoutSlot;
+
+    /**
+     * Returns value of given player or {@code null} if no value is stored.
+     *
+     * @param   player
+     *          Player to get value of
+     * @return  value of given player or {@code null} if not present
+     */
+    @Nullable
+    public T get(@NotNull TabPlayer player) {
+        AtomicReferenceArray<Entry<T>> entries = this.entries;
+        int slot = player.getSlot();
+        if (slot >= 0 && slot < entries.length()) {
+            Entry<T> entry = entries.get(slot);
+            if (entry != null && entry.player == player) return entry.value;
+        }
+        if (!hasWithoutSlot) return null;
+        synchronized (this) {
+            return withoutSlot.get(player);
+        }
+    }
+
+    /**
+     * Returns value of given player or given default value if no value is stored.
+     *
+     * @param   player
+     *          Player to get value of
+     * @param   defaultValue
+     *          Value to return if nothing is stored
+     * @return  value of given player or default value if not present
+     */
+    public T getOrDefault(@NotNull TabPlayer player, T defaultValue) {
+        T value = get(player);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns {@code true} if a value of given player is stored, {@code false} if not.
+     *
+     * @param   player
+     *          Player to check
+     * @return  {@code true} if value is present, {@code false} if not
+     */
+    public boolean containsKey(@NotNull TabPlayer player) {
+        return get(player) != null;
+    }
+
+    /**
+     * Stores value of given player. If player does not have a slot, value is stored in a map.
+     *
+     * @param   player
+     *          Player to store value of
+     * @param   value
+     *          Value to store
+     */
+    public synchronized void put(@NotNull TabPlayer player, @NotNull T value) {
+        int slot = player.getSlot();
+        if (slot < 0) {
+            withoutSlot.put(player, value);
+            hasWithoutSlot = true;
+            return;
+        }
+        // Player got a slot since value was stored without it
+        if (hasWithoutSlot) removeWithoutSlot(player);
+        AtomicReferenceArray<Entry<T>> entries = this.entries;
+        if (slot >= entries.length()) {
+            AtomicReferenceArray<Entry<T>> grown = new AtomicReferenceArray<>(Math.max(slot + 1, entries.length() * 2));
+            for (int i = 0; i < entries.length(); i++) {
+                grown.set(i, entries.get(i));
+            }
+            this.entries = entries = grown;
+        }
+        entries.set(slot, new Entry<>(player, value));
+    }
+
+    /**
+     * Removes value of given player. Should be called before the player's slot is released.
+     *
+     * @param   player
+     *          Player to remove value of
+     */
+    public synchronized void remove(@NotNull TabPlayer player) {
+        if (hasWithoutSlot) removeWithoutSlot(player);
+        AtomicReferenceArray<Entry<T>> entries = this.entries;
+        int slot = player.getSlot();
+        if (slot < 0 || slot >= entries.length()) return;
+        Entry<T> entry = entries.get(slot);
+        if (entry != null && entry.player == player) entries.set(slot, null);
+    }
+
+    private void removeWithoutSlot(@NotNull TabPlayer player) {
+        withoutSlot.remove(player);
+        if (withoutSlot.isEmpty()) hasWithoutSlot = false;
+    }
+
+    /**
+     * Performs given action on all stored values.
+     *
+     * @param   action
+     *          Action to perform
+     */
+    public void forEach(@NotNull Consumer<T> action) {
+        AtomicReferenceArray<Entry<T>> entries = this.entries;
+        for (int i = 0; i < entries.length(); i++) {
+            Entry<T> entry = entries.get(i);
+            if (entry != null) action.accept(entry.value);
+        }
+        if (!hasWithoutSlot) return;
+        List<T> values;
+        synchronized (this) {
+            values = new ArrayList<>(withoutSlot.values());
+        }
+        values.forEach(action);
+    }
+
+    /**
+     * Returns value of given player. If no value is stored, it is computed
+     * using given function outside of the lock, stored and returned. If another
+     * thread stored a value in the meantime, that value is returned instead.
+     *
+     * @param   player
+     *          Player to get value of
+     * @param   function
+     *          Function computing the value if absent
+     * @return  stored or computed value
+     */
+    @NotNull
+    public T computeIfAbsent(@NotNull TabPlayer player, @NotNull Function<TabPlayer, T> function) {
+        T value = get(player);
+        if (value != null) return value;
+        T computed = function.apply(player);
+        synchronized (this) {
+            value = get(player);
+            if (value != null) return value;
+            put(player, computed);
+            return computed;
+        }
+    }
+
+    /**
+     * Value of a player together with the player it belongs to.
+     *
+     * @param   <T>
+     *          Type of stored value
+     */
+    @AllArgsConstructor
+    private static class Entry<T> {
+
+        /** Player the value belongs to */
+        @NotNull private final TabPlayer player;
+
+        /** Stored value */
+        @NotNull private final T value;
+    }
+}
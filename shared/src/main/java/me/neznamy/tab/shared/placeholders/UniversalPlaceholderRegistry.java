@@ -131,7 +131,11 @@ public class UniversalPlaceholderRegistry {
                     TAB.getInstance().getConfiguration().getAnimationFile().getStringList(s + ".texts"),
                     TAB.getInstance().getConfiguration().getAnimationFile().getInt(s + ".change-interval", 0)
             );
-            manager.registerPlayerPlaceholder(TabConstants.Placeholder.animation(a.getName()), a.getRefresh(), p -> a.getMessage());
+            if (a.isPlayerIndependent()) {
+                manager.registerServerPlaceholder(TabConstants.Placeholder.animation(a.getName()), a.getRefresh(), a::getMessage);
+            } else {
+                manager.registerPlayerPlaceholder(TabConstants.Placeholder.animation(a.getName()), a.getRefresh(), p -> a.getMessage());
+            }
         }
         Condition.clearConditions();
         Map<String, Map<Object, Object>> conditions = TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("conditions");
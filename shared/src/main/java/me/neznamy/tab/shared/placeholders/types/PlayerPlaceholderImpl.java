@@ -5,13 +5,12 @@ import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.types.Refreshable;
+import me.neznamy.tab.shared.placeholders.PlayerValueStore;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -23,7 +22,7 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
     @NonNull private final Function<me.neznamy.tab.api.TabPlayer, Object> function;
 
     /** Last known values for each online player after applying replacements and nested placeholders */
-    private final Map<TabPlayer, String> lastValues = Collections.synchronizedMap(new WeakHashMap<>());
+    private final PlayerValueStore<String> lastValues = new PlayerValueStore<>();
 
     /**
      * Constructs new instance with given parameters
@@ -82,6 +81,11 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
         return false;
     }
 
+    @Override
+    public void removeValues(@NonNull TabPlayer player) {
+        lastValues.remove(player);
+    }
+
     @Override
     public void updateFromNested(@NonNull TabPlayer player) {
         hasValueChanged(player, request(player));
@@ -90,11 +94,13 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
     @NotNull
     public String getLastValue(@Nullable TabPlayer p) {
         if (p == null) return identifier;
-        if (!lastValues.containsKey(p)) {
+        String value = lastValues.get(p);
+        if (value == null) {
             lastValues.put(p, replacements.findReplacement(identifier));
             update(p);
+            value = lastValues.getOrDefault(p, identifier);
         }
-        return lastValues.get(p);
+        return value;
     }
 
     @Override
@@ -113,16 +119,16 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
      * @return  value placeholder returned or {@link #ERROR_VALUE} if it threw an error
      */
     public Object request(@NonNull TabPlayer p) {
-        long time = System.currentTimeMillis();
+        long time = System.nanoTime();
         try {
             return function.apply(p);
         } catch (Throwable t) {
             TAB.getInstance().getErrorManager().placeholderError("Player placeholder " + identifier + " generated an error when setting for player " + p.getName(), t);
             return ERROR_VALUE;
         } finally {
-            long timeDiff = System.currentTimeMillis() - time;
-            if (timeDiff > TabConstants.Placeholder.RETURN_TIME_WARN_THRESHOLD) {
-                TAB.getInstance().debug("Placeholder " + identifier + " took " + timeDiff + "ms to return value for player " + p.getName());
+            long timeDiff = System.nanoTime() - time;
+            if (latency.record(timeDiff)) {
+                TAB.getInstance().debug("Placeholder " + identifier + " took " + TimeUnit.NANOSECONDS.toMillis(timeDiff) + "ms to return value for player " + p.getName());
             }
         }
     }
@@ -1,13 +1,14 @@
 package me.neznamy.tab.shared.placeholders.types;
 
-import java.util.Collections;
-import java.util.Map;
+import java.util.BitSet;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 import lombok.NonNull;
 import me.neznamy.tab.shared.features.types.Refreshable;
+import me.neznamy.tab.shared.features.types.RelationalRefreshable;
+import me.neznamy.tab.shared.placeholders.PlayerValueStore;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.api.placeholder.RelationalPlaceholder;
@@ -25,8 +26,13 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     @NonNull private final BiFunction<me.neznamy.tab.api.TabPlayer, me.neznamy.tab.api.TabPlayer, Object> function;
 
     /** Last known values for each online player duo after applying replacements and nested placeholders */
-    @NonNull private final Map<me.neznamy.tab.api.TabPlayer, Map<me.neznamy.tab.api.TabPlayer, String>> lastValues =
-            Collections.synchronizedMap(new WeakHashMap<>());
+    @NonNull private final PlayerValueStore<PlayerValueStore<String>> lastValues = new PlayerValueStore<>();
+
+    /** Slots of players whose pairs should be evaluated in next incremental refresh */
+    @NonNull private final BitSet dirtyPlayers = new BitSet();
+
+    /** Amount of refreshes since all pairs were last evaluated */
+    private int refreshesSinceFullSweep;
 
     /**
      * Constructs new instance with given parameters
@@ -56,12 +62,69 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
         if (hasValueChanged((TabPlayer) viewer, (TabPlayer) target, value)) {
             for (Refreshable r : TAB.getInstance().getPlaceholderManager().getPlaceholderUsage(identifier)) {
                 long startTime = System.nanoTime();
-                r.refresh((TabPlayer) target, true);
+                if (r instanceof RelationalRefreshable) {
+                    ((RelationalRefreshable) r).refresh((TabPlayer) viewer, (TabPlayer) target);
+                } else {
+                    r.refresh((TabPlayer) target, true);
+                }
                 TAB.getInstance().getCPUManager().addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
             }
         }
     }
 
+    /**
+     * Marks all pairs with given player as either viewer or target
+     * to be evaluated in next incremental refresh.
+     *
+     * @param   player
+     *          Player whose inputs changed
+     */
+    public void markDirty(@NonNull TabPlayer player) {
+        int slot = player.getSlot();
+        if (slot < 0) return; // Not online
+        synchronized (dirtyPlayers) {
+            dirtyPlayers.set(slot);
+        }
+    }
+
+    /**
+     * Marks all pairs with any of given players as either viewer or target
+     * to be evaluated in next incremental refresh.
+     *
+     * @param   slots
+     *          Slots of players whose pairs should be evaluated
+     */
+    public void markDirty(@NonNull BitSet slots) {
+        synchronized (dirtyPlayers) {
+            dirtyPlayers.or(slots);
+        }
+    }
+
+    /**
+     * Returns slots of players whose pairs should be evaluated in this refresh and
+     * resets them. Returns {@code null} if all pairs should be evaluated, which is
+     * always the case when not refreshing incrementally and once every
+     * {@link TabConstants.Placeholder#RELATIONAL_FULL_SWEEP_INTERVAL} refreshes otherwise
+     * to pick up changes which were not caused by any tracked player change.
+     *
+     * @param   incremental
+     *          Whether only pairs with a dirty player should be evaluated
+     * @return  slots of dirty players or {@code null} if all pairs should be evaluated
+     */
+    @Nullable
+    public BitSet pollDirtyPlayers(boolean incremental) {
+        synchronized (dirtyPlayers) {
+            if (!incremental || ++refreshesSinceFullSweep >= TabConstants.Placeholder.RELATIONAL_FULL_SWEEP_INTERVAL) {
+                refreshesSinceFullSweep = 0;
+                dirtyPlayers.clear();
+                return null;
+            }
+            BitSet dirty = (BitSet) dirtyPlayers.clone();
+            dirtyPlayers.clear();
+            return dirty;
+        }
+    }
+
     /**
      * Updates placeholder value and returns {@code true} if value changed, {@code false} if not.
      *
@@ -76,7 +139,7 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     public boolean hasValueChanged(@NonNull TabPlayer viewer, @NonNull TabPlayer target, @Nullable Object value) {
         if (value == null) return false; //bridge placeholders, they are updated using updateValue method
         String newValue = replacements.findReplacement(String.valueOf(value));
-        Map<me.neznamy.tab.api.TabPlayer, String> viewerMap = lastValues.computeIfAbsent(viewer, v -> Collections.synchronizedMap(new WeakHashMap<>()));
+        PlayerValueStore<String> viewerMap = lastValues.computeIfAbsent(viewer, v -> new PlayerValueStore<>());
         if (!viewerMap.getOrDefault(target, identifier).equals(newValue)) {
             viewerMap.put(target, newValue);
             updateParents(viewer);
@@ -86,13 +149,23 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
         return false;
     }
 
+    @Override
+    public void removeValues(@NonNull TabPlayer player) {
+        lastValues.remove(player);
+        lastValues.forEach(targets -> targets.remove(player));
+    }
+
     @Override
     public void updateFromNested(@NonNull TabPlayer viewer) {
+        if (getRefresh() != -1 && TAB.getInstance().getPlaceholderManager().isIncrementalRelationalRefresh()) {
+            markDirty(viewer); // Evaluated in next refresh
+            return;
+        }
         Set<Refreshable> usage = TAB.getInstance().getPlaceholderManager().getPlaceholderUsage(identifier);
         for (TabPlayer target : TAB.getInstance().getOnlinePlayers()) {
             Object value = request(viewer, target);
             String s = replacements.findReplacement(String.valueOf(value));
-            lastValues.computeIfAbsent(viewer, v -> Collections.synchronizedMap(new WeakHashMap<>())).put(target, s);
+            lastValues.computeIfAbsent(viewer, v -> new PlayerValueStore<>()).put(target, s);
             if (!target.isLoaded()) return; // Updated on join
             for (Refreshable f : usage) {
                 long time = System.nanoTime();
@@ -123,7 +196,7 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     public String getLastValue(@NonNull TabPlayer viewer, @NonNull TabPlayer target) {
         return setPlaceholders(
                 EnumChatFormat.color(
-                        lastValues.computeIfAbsent(viewer, v -> Collections.synchronizedMap(new WeakHashMap<>()))
+                        lastValues.computeIfAbsent(viewer, v -> new PlayerValueStore<>())
                                 .computeIfAbsent(target, t -> retrieveValue(viewer, target))
                 ),
                 target
@@ -159,16 +232,16 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
      * @return  value placeholder returned or {@link #ERROR_VALUE} if it threw an error
      */
     public @Nullable Object request(@NonNull TabPlayer viewer, @NonNull TabPlayer target) {
-        long time = System.currentTimeMillis();
+        long time = System.nanoTime();
         try {
             return function.apply(viewer, target);
         } catch (Throwable t) {
             TAB.getInstance().getErrorManager().placeholderError("Relational placeholder " + identifier + " generated an error when setting for players " + viewer.getName() + " and " + target.getName(), t);
             return ERROR_VALUE;
         } finally {
-            long timeDiff = System.currentTimeMillis() - time;
-            if (timeDiff > TabConstants.Placeholder.RETURN_TIME_WARN_THRESHOLD) {
-                TAB.getInstance().debug("Placeholder " + identifier + " took " + timeDiff + "ms to return value for " + viewer.getName() + " and " + target.getName());
+            long timeDiff = System.nanoTime() - time;
+            if (latency.record(timeDiff)) {
+                TAB.getInstance().debug("Placeholder " + identifier + " took " + TimeUnit.NANOSECONDS.toMillis(timeDiff) + "ms to return value for " + viewer.getName() + " and " + target.getName());
             }
         }
     }
@@ -1,5 +1,6 @@
 package me.neznamy.tab.shared.placeholders.types;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.Getter;
@@ -67,6 +68,7 @@ public class ServerPlaceholderImpl extends TabPlaceholder implements ServerPlace
 
         if (!ERROR_VALUE.equals(newValue) && !identifier.equals(newValue) && !lastValue.equals(newValue)) {
             lastValue = newValue;
+            TAB.getInstance().getPlaceholderManager().markGlobalValueChange();
             for (TabPlayer player : TAB.getInstance().getOnlinePlayers()) {
                 updateParents(player);
                 TAB.getInstance().getPlaceholderManager().getTabExpansion().setPlaceholderValue(player, identifier, newValue);
@@ -102,16 +104,16 @@ public class ServerPlaceholderImpl extends TabPlaceholder implements ServerPlace
      */
     @Nullable
     public Object request() {
-        long time = System.currentTimeMillis();
+        long time = System.nanoTime();
         try {
             return supplier.get();
         } catch (Throwable t) {
             TAB.getInstance().getErrorManager().placeholderError("Server placeholder " + identifier + " generated an error", t);
             return ERROR_VALUE;
         } finally {
-            long timeDiff = System.currentTimeMillis() - time;
-            if (timeDiff > TabConstants.Placeholder.RETURN_TIME_WARN_THRESHOLD) {
-                TAB.getInstance().debug("Placeholder " + identifier + " took " + timeDiff + "ms to return value");
+            long timeDiff = System.nanoTime() - time;
+            if (latency.record(timeDiff)) {
+                TAB.getInstance().debug("Placeholder " + identifier + " took " + TimeUnit.NANOSECONDS.toMillis(timeDiff) + "ms to return value");
             }
         }
     }
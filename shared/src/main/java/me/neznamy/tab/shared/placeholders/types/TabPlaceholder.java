@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.placeholders.types;
 import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.placeholders.PlaceholderLatency;
 import me.neznamy.tab.shared.placeholders.PlaceholderReplacementPattern;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.api.placeholder.Placeholder;
@@ -43,6 +44,9 @@ public abstract class TabPlaceholder implements Placeholder {
      */
     protected final List<String> parents = new ArrayList<>();
 
+    /** Request time histogram and refresh interval backoff of this placeholder */
+    @NonNull protected final PlaceholderLatency latency = new PlaceholderLatency();
+
     /**
      * Constructs new instance with given parameters and loads placeholder output replacements
      *
@@ -69,6 +73,17 @@ public abstract class TabPlaceholder implements Placeholder {
         }
     }
 
+    /**
+     * Returns refresh interval after applying backoff of slow placeholders.
+     * If refreshing is disabled, returns {@code -1}.
+     *
+     * @return  effective refresh interval in milliseconds or {@code -1} if disabled
+     */
+    public int getEffectiveRefresh() {
+        if (refresh == -1) return -1;
+        return refresh * latency.getBackoffMultiplier();
+    }
+
     /**
      * Replaces this placeholder in given string and returns output. If the entered string
      * is equal to the placeholder identifier or does not contain the identifier at all,
@@ -142,7 +157,10 @@ public abstract class TabPlaceholder implements Placeholder {
      *          parent placeholder using this placeholder in output
      */
     public void addParent(@NonNull String parent) {
-        if (!parents.contains(parent)) parents.add(parent);
+        if (!parents.contains(parent)) {
+            parents.add(parent);
+            TAB.getInstance().getPlaceholderManager().invalidateDependencyGraph();
+        }
     }
 
     /**
@@ -161,6 +179,17 @@ public abstract class TabPlaceholder implements Placeholder {
         }
     }
 
+    /**
+     * Removes last known values of given player who quit. Placeholders which
+     * do not store values per player do nothing.
+     *
+     * @param   player
+     *          Player who quit
+     */
+    public void removeValues(@NonNull TabPlayer player) {
+        // Nothing stored per player by default
+    }
+
     /**
      * Updates the placeholder with force mark for requested player
      *
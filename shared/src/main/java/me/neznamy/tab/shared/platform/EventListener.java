@@ -2,6 +2,8 @@ package me.neznamy.tab.shared.platform;
 
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.config.PropertyConfiguration;
+import me.neznamy.tab.shared.config.mysql.MySQLUserConfiguration;
 import me.neznamy.tab.shared.proxy.ProxyPlatform;
 import org.jetbrains.annotations.NotNull;
 
@@ -15,6 +17,23 @@ import java.util.UUID;
  */
 public interface EventListener<T> {
 
+    /**
+     * Processes player login before the player joins. Starts loading
+     * player's MySQL data, so it is ready once the player joins.
+     *
+     * @param   id
+     *          UUID of player who is logging in
+     * @param   name
+     *          Name of player who is logging in
+     */
+    default void preLogin(@NotNull UUID id, @NotNull String name) {
+        if (TAB.getInstance().isPluginDisabled()) return;
+        PropertyConfiguration users = TAB.getInstance().getConfiguration().getUsers();
+        if (users instanceof MySQLUserConfiguration) {
+            ((MySQLUserConfiguration) users).prefetch(id, name);
+        }
+    }
+
     /**
      * Processes player join by forwarding it to all features.
      *
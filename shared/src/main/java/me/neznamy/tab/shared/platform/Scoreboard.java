@@ -4,16 +4,20 @@ import lombok.*;
 import me.neznamy.tab.shared.Limitations;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
+import me.neznamy.tab.shared.chat.SimpleComponent;
 import me.neznamy.tab.shared.chat.TabComponent;
 import me.neznamy.tab.shared.chat.rgb.RGBUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
- * Scoreboard class for sending scoreboard-related packets.
+ * Scoreboard class for sending scoreboard-related packets. Last sent state of
+ * all teams, objectives and scores is remembered and updates which would not
+ * change anything for the player are not sent.
  * @param   <T>
  *          Platform's TabPlayer class
  */
@@ -26,11 +30,23 @@ public abstract class Scoreboard<T extends TabPlayer> {
     /** Player this scoreboard belongs to */
     protected final T player;
 
-    /** Scoreboard teams player has registered */
-    private final Set<String> registeredTeams = new HashSet<>();
+    /** Amount of team updates not sent, because player already had the same team data */
+    private static final LongAdder skippedTeamUpdates = new LongAdder();
 
-    /** Scoreboard objectives player has registered */
-    private final Set<String> registeredObjectives = new HashSet<>();
+    /** Amount of objective updates not sent, because player already had the same objective data */
+    private static final LongAdder skippedObjectiveUpdates = new LongAdder();
+
+    /** Amount of score updates not sent, because player already had the same score */
+    private static final LongAdder skippedScoreUpdates = new LongAdder();
+
+    /** Scoreboard teams player has registered with their last sent data */
+    private final Map<String, TeamState> registeredTeams = new HashMap<>();
+
+    /** Scoreboard objectives player has registered with their last sent data */
+    private final Map<String, ObjectiveState> registeredObjectives = new HashMap<>();
+
+    /** Last sent scores by objective name and score holder */
+    private final Map<String, Map<String, ScoreState>> scores = new HashMap<>();
 
     /** Flag tracking time between Login packet send and its processing */
     private boolean frozen;
@@ -70,10 +86,18 @@ public abstract class Scoreboard<T extends TabPlayer> {
     public final void setScore(@NonNull String objective, @NonNull String scoreHolder, int score,
                                @Nullable TabComponent displayName, @Nullable TabComponent numberFormat) {
         if (frozen) return;
-        if (!registeredObjectives.contains(objective)) {
+        if (!registeredObjectives.containsKey(objective)) {
             error("Tried to update score (%s) without the existence of its requested objective '%s' to player ", scoreHolder, objective);
             return;
         }
+        Map<String, ScoreState> objectiveScores = scores.computeIfAbsent(objective, o -> new HashMap<>());
+        ScoreState state = objectiveScores.get(scoreHolder);
+        if (state == null) {
+            objectiveScores.put(scoreHolder, new ScoreState(score, displayName, numberFormat));
+        } else if (!state.update(score, displayName, numberFormat)) {
+            skippedScoreUpdates.increment();
+            return;
+        }
         setScore0(objective, scoreHolder, score, displayName, numberFormat);
     }
 
@@ -87,13 +111,29 @@ public abstract class Scoreboard<T extends TabPlayer> {
      */
     public final void removeScore(@NonNull String objective, @NonNull String scoreHolder) {
         if (frozen) return;
-        if (!registeredObjectives.contains(objective)) {
+        if (!registeredObjectives.containsKey(objective)) {
             error("Tried to remove score (%s) without the existence of its requested objective '%s' to player ", scoreHolder, objective);
             return;
         }
+        Map<String, ScoreState> objectiveScores = scores.get(objective);
+        if (objectiveScores != null) objectiveScores.remove(scoreHolder);
         removeScore0(objective, scoreHolder);
     }
 
+    /**
+     * Forgets last sent scores of given score holder in all objectives without
+     * sending anything to the player. Called when the score holder leaves, so
+     * scores of players who are no longer online are not remembered.
+     *
+     * @param   scoreHolder
+     *          Name of score holder to forget
+     */
+    public final void forgetScoreHolder(@NonNull String scoreHolder) {
+        for (Map<String, ScoreState> objectiveScores : scores.values()) {
+            objectiveScores.remove(scoreHolder);
+        }
+    }
+
     /**
      * Registers new scoreboard objective.
      *
@@ -109,11 +149,13 @@ public abstract class Scoreboard<T extends TabPlayer> {
     public final void registerObjective(@NonNull String objectiveName, @NonNull String title, int display,
                                   @Nullable TabComponent numberFormat) {
         if (frozen) return;
-        if (!registeredObjectives.add(objectiveName)) {
+        if (registeredObjectives.containsKey(objectiveName)) {
             error("Tried to register duplicated objective %s to player ", objectiveName);
             return;
         }
-        registerObjective0(objectiveName, cutTo(title, Limitations.SCOREBOARD_TITLE_PRE_1_13), display, numberFormat);
+        String cutTitle = cutTo(title, Limitations.SCOREBOARD_TITLE_PRE_1_13);
+        registeredObjectives.put(objectiveName, new ObjectiveState(cutTitle, display, numberFormat));
+        registerObjective0(objectiveName, cutTitle, display, numberFormat);
     }
 
     /**
@@ -124,10 +166,11 @@ public abstract class Scoreboard<T extends TabPlayer> {
      */
     public final void unregisterObjective(@NonNull String objectiveName) {
         if (frozen) return;
-        if (!registeredObjectives.remove(objectiveName)) {
+        if (registeredObjectives.remove(objectiveName) == null) {
             error("Tried to unregister non-existing objective %s for player ", objectiveName);
             return;
         }
+        scores.remove(objectiveName);
         unregisterObjective0(objectiveName);
     }
 
@@ -146,11 +189,17 @@ public abstract class Scoreboard<T extends TabPlayer> {
     public final void updateObjective(@NonNull String objectiveName, @NonNull String title, int display,
                                 @Nullable TabComponent numberFormat) {
         if (frozen) return;
-        if (!registeredObjectives.contains(objectiveName)) {
+        ObjectiveState state = registeredObjectives.get(objectiveName);
+        if (state == null) {
             error("Tried to modify non-existing objective %s for player ", objectiveName);
             return;
         }
-        updateObjective0(objectiveName, cutTo(title, Limitations.SCOREBOARD_TITLE_PRE_1_13), display, numberFormat);
+        String cutTitle = cutTo(title, Limitations.SCOREBOARD_TITLE_PRE_1_13);
+        if (!state.update(cutTitle, display, numberFormat)) {
+            skippedObjectiveUpdates.increment();
+            return;
+        }
+        updateObjective0(objectiveName, cutTitle, display, numberFormat);
     }
 
     /**
@@ -179,14 +228,17 @@ public abstract class Scoreboard<T extends TabPlayer> {
                                    @NonNull NameVisibility visibility, @NonNull CollisionRule collision,
                                    @NonNull Collection<String> players, int options, @NonNull EnumChatFormat color) {
         if (frozen) return;
-        if (!registeredTeams.add(name)) {
+        if (registeredTeams.containsKey(name)) {
             error("Tried to register duplicated team %s to player ", name);
             return;
         }
+        String cutPrefix = cutTo(prefix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13);
+        String cutSuffix = cutTo(suffix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13);
+        registeredTeams.put(name, new TeamState(cutPrefix, cutSuffix, visibility, collision, options, color));
         registerTeam0(
                 name,
-                cutTo(prefix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13),
-                cutTo(suffix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13),
+                cutPrefix,
+                cutSuffix,
                 visibility,
                 collision,
                 players,
@@ -203,7 +255,7 @@ public abstract class Scoreboard<T extends TabPlayer> {
      */
     public final void unregisterTeam(@NonNull String name) {
         if (frozen) return;
-        if (!registeredTeams.remove(name)) {
+        if (registeredTeams.remove(name) == null) {
             error("Tried to unregister non-existing team %s for player ", name);
             return;
         }
@@ -234,14 +286,21 @@ public abstract class Scoreboard<T extends TabPlayer> {
                                  @NonNull NameVisibility visibility, @NonNull CollisionRule collision,
                                  int options, @NonNull EnumChatFormat color) {
         if (frozen) return;
-        if (!registeredTeams.contains(name)) {
+        TeamState state = registeredTeams.get(name);
+        if (state == null) {
             error("Tried to modify non-existing team %s for player ", name);
             return;
         }
+        String cutPrefix = cutTo(prefix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13);
+        String cutSuffix = cutTo(suffix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13);
+        if (!state.update(cutPrefix, cutSuffix, visibility, collision, options, color)) {
+            skippedTeamUpdates.increment();
+            return;
+        }
         updateTeam0(
                 name,
-                cutTo(prefix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13),
-                cutTo(suffix, Limitations.TEAM_PREFIX_SUFFIX_PRE_1_13),
+                cutPrefix,
+                cutSuffix,
                 visibility,
                 collision,
                 options,
@@ -269,11 +328,12 @@ public abstract class Scoreboard<T extends TabPlayer> {
     }
 
     /**
-     * Clears frozen flag and clears maps of registered teams and objectives.
+     * Clears frozen flag and clears maps of registered teams, objectives and scores.
      */
     public void unfreeze() {
         registeredTeams.clear();
         registeredObjectives.clear();
+        scores.clear();
         frozen = false;
     }
 
@@ -324,7 +384,53 @@ public abstract class Scoreboard<T extends TabPlayer> {
      * @return  {@code true} if scoreboard contains the team, {@code false} if not
      */
     public boolean containsTeam(@NonNull String teamName) {
-        return registeredTeams.contains(teamName);
+        return registeredTeams.containsKey(teamName);
+    }
+
+    /**
+     * Returns amount of team updates which were not sent, because
+     * the player already had the same team data.
+     *
+     * @return  amount of skipped team updates
+     */
+    public static long getSkippedTeamUpdates() {
+        return skippedTeamUpdates.sum();
+    }
+
+    /**
+     * Returns amount of objective updates which were not sent, because
+     * the player already had the same objective data.
+     *
+     * @return  amount of skipped objective updates
+     */
+    public static long getSkippedObjectiveUpdates() {
+        return skippedObjectiveUpdates.sum();
+    }
+
+    /**
+     * Returns amount of score updates which were not sent, because
+     * the player already had the same score.
+     *
+     * @return  amount of skipped score updates
+     */
+    public static long getSkippedScoreUpdates() {
+        return skippedScoreUpdates.sum();
+    }
+
+    /**
+     * Returns {@code true} if both components are known to look the same, {@code false} if
+     * they may differ. Components are cached, so the same text is usually the same instance.
+     *
+     * @param   first
+     *          First component
+     * @param   second
+     *          Second component
+     * @return  {@code true} if components are the same, {@code false} if they may differ
+     */
+    private static boolean isSame(@Nullable TabComponent first, @Nullable TabComponent second) {
+        if (first == second) return true;
+        return first instanceof SimpleComponent && second instanceof SimpleComponent &&
+                ((SimpleComponent) first).getText().equals(((SimpleComponent) second).getText());
     }
 
     /**
@@ -548,4 +654,108 @@ public abstract class Scoreboard<T extends TabPlayer> {
         /** Removes player from the team */
         public static final int REMOVE_PLAYER = 4;
     }
+
+    /**
+     * Last sent data of a team.
+     */
+    @AllArgsConstructor
+    private static class TeamState {
+
+        @NonNull private String prefix;
+        @NonNull private String suffix;
+        @NonNull private NameVisibility visibility;
+        @NonNull private CollisionRule collision;
+        private int options;
+        @NonNull private EnumChatFormat color;
+
+        /**
+         * Updates the data and returns {@code true} if anything changed, {@code false} if not.
+         *
+         * @param   prefix
+         *          New prefix
+         * @param   suffix
+         *          New suffix
+         * @param   visibility
+         *          New nametag visibility
+         * @param   collision
+         *          New collision rule
+         * @param   options
+         *          New options
+         * @param   color
+         *          New color
+         * @return  {@code true} if anything changed, {@code false} if not
+         */
+        private boolean update(@NonNull String prefix, @NonNull String suffix, @NonNull NameVisibility visibility,
+                               @NonNull CollisionRule collision, int options, @NonNull EnumChatFormat color) {
+            if (this.prefix.equals(prefix) && this.suffix.equals(suffix) && this.visibility == visibility &&
+                    this.collision == collision && this.options == options && this.color == color) return false;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.visibility = visibility;
+            this.collision = collision;
+            this.options = options;
+            this.color = color;
+            return true;
+        }
+    }
+
+    /**
+     * Last sent data of an objective.
+     */
+    @AllArgsConstructor
+    private static class ObjectiveState {
+
+        @NonNull private String title;
+        private int display;
+        @Nullable private TabComponent numberFormat;
+
+        /**
+         * Updates the data and returns {@code true} if anything changed, {@code false} if not.
+         *
+         * @param   title
+         *          New title
+         * @param   display
+         *          New display type
+         * @param   numberFormat
+         *          New default number format
+         * @return  {@code true} if anything changed, {@code false} if not
+         */
+        private boolean update(@NonNull String title, int display, @Nullable TabComponent numberFormat) {
+            if (this.title.equals(title) && this.display == display && isSame(this.numberFormat, numberFormat)) return false;
+            this.title = title;
+            this.display = display;
+            this.numberFormat = numberFormat;
+            return true;
+        }
+    }
+
+    /**
+     * Last sent data of a score.
+     */
+    @AllArgsConstructor
+    private static class ScoreState {
+
+        private int score;
+        @Nullable private TabComponent displayName;
+        @Nullable private TabComponent numberFormat;
+
+        /**
+         * Updates the data and returns {@code true} if anything changed, {@code false} if not.
+         *
+         * @param   score
+         *          New score value
+         * @param   displayName
+         *          New display name of score holder
+         * @param   numberFormat
+         *          New number format
+         * @return  {@code true} if anything changed, {@code false} if not
+         */
+        private boolean update(int score, @Nullable TabComponent displayName, @Nullable TabComponent numberFormat) {
+            if (this.score == score && isSame(this.displayName, displayName) && isSame(this.numberFormat, numberFormat)) return false;
+            this.score = score;
+            this.displayName = displayName;
+            this.numberFormat = numberFormat;
+            return true;
+        }
+    }
 }
@@ -41,7 +41,8 @@ public abstract class TabList<P extends TabPlayer, C> {
     private final Map<RedisPlayer, C> expectedRedisDisplayNames = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
-     * Removes entries from the TabList.
+     * Removes entries from the TabList. Platforms able to remove multiple
+     * entries in a single packet override this method.
      *
      * @param   entries
      *          Entries to remove
@@ -57,7 +58,38 @@ public abstract class TabList<P extends TabPlayer, C> {
      *          Entries to add
      */
     public void addEntries(@NonNull Collection<Entry> entries) {
-        entries.forEach(this::addEntry);
+        if (entries.isEmpty()) return;
+        List<Entry> entryList = new ArrayList<>(entries);
+        List<C> displayNames = new ArrayList<>(entryList.size());
+        for (Entry entry : entryList) {
+            C component = entry.displayName == null ? null : toComponent(entry.displayName);
+            setExpectedDisplayName(entry.getUniqueId(), component);
+            displayNames.add(component);
+        }
+        addEntries0(entryList, displayNames);
+
+        if (player.getVersion().getMinorVersion() == 8) {
+            // Compensation for 1.8.0 client sided bug
+            for (int i = 0; i < entryList.size(); i++) {
+                updateDisplayName0(entryList.get(i).getUniqueId(), displayNames.get(i));
+            }
+        }
+    }
+
+    /**
+     * Adds specified entries into the TabList. Platforms able to add multiple
+     * entries in a single packet override this method.
+     *
+     * @param   entries
+     *          Entries to add
+     * @param   displayNames
+     *          Converted display names of entries, with the same index as entries
+     */
+    protected void addEntries0(@NonNull List<Entry> entries, @NonNull List<C> displayNames) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            addEntry0(entry.uniqueId, entry.name, entry.skin, entry.latency, entry.gameMode, displayNames.get(i));
+        }
     }
 
     /**
@@ -94,6 +126,35 @@ public abstract class TabList<P extends TabPlayer, C> {
      */
     public abstract void updateDisplayName0(@NonNull UUID entry, @Nullable C displayName);
 
+    /**
+     * Updates display names of multiple entries. Using {@code null} as a value makes
+     * it undefined and scoreboard team prefix/suffix will be visible instead.
+     *
+     * @param   displayNames
+     *          Map of entries and their new display names
+     */
+    public void updateDisplayNames(@NonNull Map<UUID, TabComponent> displayNames) {
+        if (displayNames.isEmpty()) return;
+        Map<UUID, C> components = new LinkedHashMap<>();
+        for (Map.Entry<UUID, TabComponent> entry : displayNames.entrySet()) {
+            C component = entry.getValue() == null ? null : toComponent(entry.getValue());
+            setExpectedDisplayName(entry.getKey(), component);
+            components.put(entry.getKey(), component);
+        }
+        updateDisplayNames0(components);
+    }
+
+    /**
+     * Updates display names of multiple entries. Platforms able to update multiple
+     * entries in a single packet override this method.
+     *
+     * @param   displayNames
+     *          Map of entries and their new display names
+     */
+    protected void updateDisplayNames0(@NonNull Map<UUID, C> displayNames) {
+        displayNames.forEach(this::updateDisplayName0);
+    }
+
     /**
      * Updates latency of specified entry.
      *
@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract class storing common variables and functions for player,
@@ -61,6 +62,19 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     /** Player's property map where key is unique identifier and value is property object */
     private final Map<String, Property> properties = new HashMap<>();
 
+    /**
+     * Features using placeholders in properties of this player, where key is placeholder
+     * identifier and value is bitset of feature indexes in placeholder dependency graph
+     */
+    @Getter private final Map<String, BitSet> propertyPlaceholderUsage = new ConcurrentHashMap<>();
+
+    /**
+     * Amount of properties of this player using placeholders, where key is placeholder identifier
+     * and value is array of counts by feature index, used to clear {@link #propertyPlaceholderUsage}
+     * when no property uses the placeholder anymore
+     */
+    @Getter private final Map<String, int[]> propertyPlaceholderCounts = new HashMap<>();
+
     /** Player's game version */
     @Getter protected final ProtocolVersion version;
 
@@ -73,6 +87,16 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     /** Flag tracking whether the player is online or not */
     @Getter private boolean online = true;
 
+    /** Slots currently taken by online players */
+    private static final BitSet usedSlots = new BitSet();
+
+    /**
+     * Dense index of this player, unique among online players and reused
+     * after the player quits. Used as an index for per-player value storage.
+     * {@code -1} before the player is added to online players and after removal.
+     */
+    @Getter private volatile int slot = -1;
+
     /**
      * Constructs new instance with given parameters
      *
@@ -285,6 +309,31 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
         online = false;
     }
 
+    /**
+     * Takes the lowest free player slot and assigns it to this player.
+     * Called when the player is added to online players.
+     */
+    public void allocateSlot() {
+        synchronized (usedSlots) {
+            if (slot != -1) return;
+            int slot = usedSlots.nextClearBit(0);
+            usedSlots.set(slot);
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Frees slot of this player for reuse by another player.
+     * Called when the player is removed from online players.
+     */
+    public void releaseSlot() {
+        synchronized (usedSlots) {
+            if (slot == -1) return;
+            usedSlots.clear(slot);
+            slot = -1;
+        }
+    }
+
     /**
      * Returns scoreboard interface for calling scoreboard-related methods
      *
@@ -47,6 +47,7 @@ public abstract class ProxyPlatform implements Platform {
         registeredMessages.put("PlaceholderError", PlaceholderError::new);
         registeredMessages.put("UpdateGameMode", UpdateGameMode::new);
         registeredMessages.put("Permission", HasPermission::new);
+        registeredMessages.put("Permissions", PermissionUpdate::new);
         registeredMessages.put("Invisible", Invisible::new);
         registeredMessages.put("Disguised", Disguised::new);
         registeredMessages.put("Boat", OnBoat::new);
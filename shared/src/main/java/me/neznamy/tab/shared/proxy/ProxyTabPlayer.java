@@ -12,9 +12,10 @@ import me.neznamy.tab.shared.proxy.message.outgoing.PermissionRequest;
 import me.neznamy.tab.shared.proxy.message.outgoing.PlayerJoin;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract class for player on proxy containing variables and methods
@@ -44,8 +45,17 @@ public abstract class ProxyTabPlayer extends TabPlayer {
     /** Player's gamemode */
     private int gamemode;
 
+    /** How often permission values are requested again if bridge does not push them */
+    private static final int PERMISSION_REQUEST_INTERVAL = 1000;
+
     /** Map of player's requested permissions */
-    private final Map<String, Boolean> permissions = new HashMap<>();
+    private final Map<String, Boolean> permissions = new ConcurrentHashMap<>();
+
+    /** Last time each permission was requested, used if bridge does not push permission values */
+    private final Map<String, Long> permissionRequestTimes = new ConcurrentHashMap<>();
+
+    /** Flag tracking whether bridge pushes changes of subscribed permissions */
+    private volatile boolean permissionPush;
 
     /**
      * Constructs new instance with given parameters and sends a message
@@ -76,6 +86,7 @@ public abstract class ProxyTabPlayer extends TabPlayer {
      */
     public void sendJoinPluginMessage() {
         bridgeConnected = false; // Reset on server switch
+        permissionPush = false; // Bridge on new server may not push permissions
 
         PlayerJoin.UnlimitedNametagSettings settings = null;
         NameTagX nametagx = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS);
@@ -94,7 +105,8 @@ public abstract class ProxyTabPlayer extends TabPlayer {
                     !TAB.getInstance().getGroupManager().isGroupsByPermissions(),
                 ((ProxyPlatform) getPlatform()).getBridgePlaceholders(),
                 TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("placeholder-output-replacements"),
-                settings
+                settings,
+                TAB.getInstance().getConfiguration().isBukkitPermissions() ? permissions.keySet() : Collections.emptySet()
         ));
         TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
         if (expansion instanceof ProxyTabExpansion) {
@@ -140,8 +152,24 @@ public abstract class ProxyTabPlayer extends TabPlayer {
     @Override
     public boolean hasPermission(@NotNull String permission) {
         if (TAB.getInstance().getConfiguration().isBukkitPermissions()) {
-            sendPluginMessage(new PermissionRequest(permission));
-            return permissions != null && permissions.getOrDefault(permission, false);
+            if (permissions == null) return false; // Called from superclass constructor
+            Boolean value = permissions.putIfAbsent(permission, false);
+            if (value == null) {
+                // First check, request it and subscribe to changes
+                permissionRequestTimes.put(permission, System.currentTimeMillis());
+                sendPluginMessage(new PermissionRequest(permission));
+                return false;
+            }
+            if (!permissionPush) {
+                // Bridge does not push changes, request the value again once in a while
+                long time = System.currentTimeMillis();
+                Long lastRequest = permissionRequestTimes.get(permission);
+                if (lastRequest == null || time - lastRequest >= PERMISSION_REQUEST_INTERVAL) {
+                    permissionRequestTimes.put(permission, time);
+                    sendPluginMessage(new PermissionRequest(permission));
+                }
+            }
+            return value;
         }
         return hasPermission0(permission);
     }
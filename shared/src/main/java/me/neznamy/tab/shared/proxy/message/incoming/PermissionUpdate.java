@@ -0,0 +1,34 @@
+package me.neznamy.tab.shared.proxy.message.incoming;
+
+import com.google.common.io.ByteArrayDataInput;
+import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Batch of permission values pushed by bridge for permissions the player is
+ * subscribed to. The first one after join contains all subscribed permissions,
+ * following ones only contain permissions whose value has changed.
+ */
+public class PermissionUpdate implements IncomingMessage {
+
+    private final Map<String, Boolean> permissions = new HashMap<>();
+
+    @Override
+    public void read(@NotNull ByteArrayDataInput in) {
+        int count = in.readInt();
+        for (int i=0; i<count; i++) {
+            permissions.put(in.readUTF(), in.readBoolean());
+        }
+    }
+
+    @Override
+    public void process(@NotNull ProxyTabPlayer player) {
+        player.setPermissionPush(true);
+        for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
+            player.setHasPermission(entry.getKey(), entry.getValue());
+        }
+    }
+}
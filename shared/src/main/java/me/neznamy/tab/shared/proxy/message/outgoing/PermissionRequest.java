@@ -5,6 +5,10 @@ import com.google.common.io.ByteStreams;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * Requests value of a permission. Bridges supporting permission push also subscribe
+ * the player to the permission and push its value whenever it changes.
+ */
 @AllArgsConstructor
 @SuppressWarnings("UnstableApiUsage")
 public class PermissionRequest implements OutgoingMessage {
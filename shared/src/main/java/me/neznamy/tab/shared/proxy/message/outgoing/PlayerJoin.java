@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,9 @@ public class PlayerJoin implements OutgoingMessage {
     private Map<String, Map<Object, Object>> replacements;
     private UnlimitedNametagSettings unlimitedNameTags;
 
+    /** Permissions to subscribe to, bridge pushes their values when they change */
+    private Collection<String> permissions;
+
     @Override
     @NotNull
     public ByteArrayDataOutput write() {
@@ -55,6 +59,10 @@ public class PlayerJoin implements OutgoingMessage {
                 out.writeDouble(Double.parseDouble(String.valueOf(entry.getValue())));
             }
         }
+        out.writeInt(permissions.size());
+        for (String permission : permissions) {
+            out.writeUTF(permission);
+        }
         return out;
     }
 
@@ -0,0 +1,67 @@
+package me.neznamy.tab.shared.util;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Constructor resolved into a method handle once on creation, offering the same
+ * method as {@link Constructor} for use on hot paths. If a method handle cannot
+ * be created, the constructor is invoked using reflection instead.
+ */
+public class CompiledConstructor {
+
+    /** Erased type of the method handle */
+    private static final MethodType TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /** Constructor this instance was created from */
+    @Getter @NotNull private final Constructor<?> constructor;
+
+    /** Method handle taking array of arguments or {@code null} if it failed to compile */
+    @Nullable private final MethodHandle handle;
+
+    /**
+     * Constructs new instance and compiles given constructor.
+     *
+     * @param   constructor
+     *          Constructor to compile
+     */
+    public CompiledConstructor(@NotNull Constructor<?> constructor) {
+        this.constructor = ReflectionUtils.setAccessible(constructor);
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity()
+                    .asSpreader(Object[].class, constructor.getParameterCount()).asType(TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            handle = null;
+        }
+        this.handle = handle;
+    }
+
+    /**
+     * Creates new instance using given arguments.
+     *
+     * @param   args
+     *          Constructor arguments
+     * @return  New instance
+     * @throws  ReflectiveOperationException
+     *          If constructor cannot be invoked or throws an exception
+     */
+    @NotNull
+    public Object newInstance(@Nullable Object... args) throws ReflectiveOperationException {
+        if (handle == null) return constructor.newInstance(args);
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package me.neznamy.tab.shared.util;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Field accessor resolved into method handles once on creation, offering the same
+ * methods as {@link Field} for use on hot paths. If a method handle cannot be
+ * created, for example when writing into a final field of a record,
+ * the field is accessed using reflection instead.
+ */
+public class CompiledField {
+
+    /** Erased type of getter method handle */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Erased type of setter method handle */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /** Field this accessor was created from */
+    @Getter @NotNull private final Field field;
+
+    /** Getter taking instance and returning value or {@code null} if it failed to compile */
+    @Nullable private final MethodHandle getter;
+
+    /** Setter taking instance and value or {@code null} if it failed to compile */
+    @Nullable private final MethodHandle setter;
+
+    /**
+     * Constructs new instance and compiles getter and setter of given field.
+     *
+     * @param   field
+     *          Field to compile
+     */
+    public CompiledField(@NotNull Field field) {
+        this.field = ReflectionUtils.setAccessible(field);
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        MethodHandle getter;
+        try {
+            getter = MethodHandles.lookup().unreflectGetter(field);
+            if (isStatic) getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            getter = getter.asType(GETTER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            getter = null;
+        }
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+            if (isStatic) setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            setter = setter.asType(SETTER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            setter = null;
+        }
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Returns value of the field.
+     *
+     * @param   instance
+     *          Instance to get value from, {@code null} for static fields
+     * @return  Value of the field
+     * @throws  ReflectiveOperationException
+     *          If field cannot be accessed
+     */
+    @Nullable
+    public Object get(@Nullable Object instance) throws ReflectiveOperationException {
+        if (getter == null) return field.get(instance);
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Returns value of an int field.
+     *
+     * @param   instance
+     *          Instance to get value from, {@code null} for static fields
+     * @return  Value of the field
+     * @throws  ReflectiveOperationException
+     *          If field cannot be accessed
+     */
+    public int getInt(@Nullable Object instance) throws ReflectiveOperationException {
+        return (Integer) get(instance);
+    }
+
+    /**
+     * Returns value of a boolean field.
+     *
+     * @param   instance
+     *          Instance to get value from, {@code null} for static fields
+     * @return  Value of the field
+     * @throws  ReflectiveOperationException
+     *          If field cannot be accessed
+     */
+    public boolean getBoolean(@Nullable Object instance) throws ReflectiveOperationException {
+        return (Boolean) get(instance);
+    }
+
+    /**
+     * Sets value of the field.
+     *
+     * @param   instance
+     *          Instance to set value in, {@code null} for static fields
+     * @param   value
+     *          Value to set
+     * @throws  ReflectiveOperationException
+     *          If field cannot be accessed
+     */
+    public void set(@Nullable Object instance, @Nullable Object value) throws ReflectiveOperationException {
+        if (setter == null) {
+            field.set(instance, value);
+            return;
+        }
+        try {
+            setter.invokeExact(instance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package me.neznamy.tab.shared.util;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Method resolved into a method handle once on creation, offering the same
+ * method as {@link Method} for use on hot paths. If a method handle cannot
+ * be created, the method is invoked using reflection instead.
+ * <p>
+ * For the hottest paths, methods can also be compiled into an implementation
+ * of a functional interface using {@link LambdaMetafactory}, which is as fast
+ * as a direct call.
+ */
+public class CompiledMethod {
+
+    /** Erased type of the method handle */
+    private static final MethodType TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /** Method this instance was created from */
+    @Getter @NotNull private final Method method;
+
+    /** Method handle taking instance and array of arguments or {@code null} if it failed to compile */
+    @Nullable private final MethodHandle handle;
+
+    /**
+     * Constructs new instance and compiles given method.
+     *
+     * @param   method
+     *          Method to compile
+     */
+    public CompiledMethod(@NotNull Method method) {
+        this.method = ReflectionUtils.setAccessible(method);
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            handle = handle.asSpreader(Object[].class, method.getParameterCount()).asType(TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            handle = null;
+        }
+        this.handle = handle;
+    }
+
+    /**
+     * Invokes the method with given arguments.
+     *
+     * @param   instance
+     *          Instance to invoke the method on, {@code null} for static methods
+     * @param   args
+     *          Method arguments
+     * @return  Value returned by the method, {@code null} for void methods
+     * @throws  ReflectiveOperationException
+     *          If method cannot be invoked or throws an exception
+     */
+    @Nullable
+    public Object invoke(@Nullable Object instance, @Nullable Object... args) throws ReflectiveOperationException {
+        if (handle == null) return method.invoke(instance, args);
+        try {
+            return (Object) handle.invokeExact(instance, args);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Compiles given method into an implementation of given functional interface
+     * using {@link LambdaMetafactory}. For instance methods, the first parameter of
+     * the interface is the instance. If the method cannot be compiled, for example
+     * because it is not accessible from generated class, fallback is returned.
+     *
+     * @param   functionalInterface
+     *          Functional interface to implement
+     * @param   method
+     *          Method to implement the interface with
+     * @param   fallback
+     *          Implementation to use if method cannot be compiled
+     * @return  Compiled implementation or fallback if compiling failed
+     * @param   <T>
+     *          Functional interface type
+     */
+    @NotNull
+    public static <T> T toLambda(@NotNull Class<T> functionalInterface, @NotNull Method method, @NotNull T fallback) {
+        try {
+            Method sam = null;
+            for (Method m : functionalInterface.getMethods()) {
+                if (Modifier.isAbstract(m.getModifiers())) sam = m;
+            }
+            if (sam == null) return fallback;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle implementation = lookup.unreflect(method);
+            // Primitives are boxed in generic interfaces, void methods may only implement void interface methods
+            MethodType instantiatedType = implementation.type().wrap();
+            if (sam.getReturnType() == void.class) instantiatedType = instantiatedType.changeReturnType(void.class);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    sam.getName(),
+                    MethodType.methodType(functionalInterface),
+                    MethodType.methodType(sam.getReturnType(), sam.getParameterTypes()),
+                    implementation,
+                    instantiatedType
+            );
+            return functionalInterface.cast(site.getTarget().invoke());
+        } catch (Throwable t) {
+            return fallback;
+        }
+    }
+}
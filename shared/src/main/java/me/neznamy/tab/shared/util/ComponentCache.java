@@ -1,31 +1,125 @@
 package me.neznamy.tab.shared.util;
 
-import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import me.neznamy.tab.shared.ProtocolVersion;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 
 /**
  * Component cache to save resources when converting the same
- * values over and over.
+ * values over and over. The cache is bounded and evicts least recently
+ * used entries once full, instead of dropping everything at once. To reduce
+ * lock contention, entries are split into segments by hash, each with
+ * its own lock and share of the capacity.
  *
  * @param   <K>
  *          Source component
  * @param   <V>
  *          Target component
  */
-@AllArgsConstructor
 public class ComponentCache<K, V> {
 
-    private final int cacheSize;
-    private final BiFunction<K, ProtocolVersion, V> function;
-    private final Map<K, V> cacheModern = new ConcurrentHashMap<>();
-    private final Map<K, V> cacheLegacy = new ConcurrentHashMap<>();
+    /** Amount of segments per client type, must be a power of 2 */
+    private static final int SEGMENTS = 16;
+
+    /** All created caches by their name */
+    private static final Map<String, ComponentCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    /** Capacities configured in config by cache name */
+    private static final Map<String, Integer> configuredCapacities = new ConcurrentHashMap<>();
+
+    /** Name of this cache displayed in statistics and used in config */
+    @Getter @NotNull private final String name;
+
+    /** Capacity used if not configured */
+    private final int defaultCapacity;
+
+    /** Maximum amount of entries per client type */
+    @Getter private volatile int capacity;
+
+    /** Function converting source components */
+    @NotNull private final BiFunction<K, ProtocolVersion, V> function;
+
+    /** Segments for clients supporting RGB */
+    @NotNull private final Segment<K, V>[] cacheModern = createSegments();
+
+    /** Segments for clients not supporting RGB */
+    @NotNull private final Segment<K, V>[] cacheLegacy = createSegments();
+
+    /** Amount of requests with value already present */
+    private final LongAdder hits = new LongAdder();
+
+    /** Amount of requests which needed to convert the value */
+    private final LongAdder misses = new LongAdder();
+
+    /** Amount of entries evicted due to cache being full */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs new instance and registers it under given name. Capacity configured
+     * in {@code component-cache-sizes} config section has priority over given capacity.
+     *
+     * @param   name
+     *          Name of the cache
+     * @param   cacheSize
+     *          Default maximum amount of entries per client type
+     * @param   function
+     *          Function converting source components
+     */
+    public ComponentCache(@NotNull String name, int cacheSize, @NotNull BiFunction<K, ProtocolVersion, V> function) {
+        this.name = name;
+        this.defaultCapacity = cacheSize;
+        this.capacity = configuredCapacities.getOrDefault(name, cacheSize);
+        this.function = function;
+        caches.put(name, this);
+    }
+
+    /**
+     * Applies capacities configured in config to all caches, both existing
+     * and created later. Caches not present in the map use their default capacity.
+     *
+     * @param   capacities
+     *          Map of cache name and its capacity
+     */
+    public static void setCapacities(@NotNull Map<String, ?> capacities) {
+        configuredCapacities.clear();
+        for (Map.Entry<String, ?> entry : capacities.entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                configuredCapacities.put(entry.getKey(), Math.max(SEGMENTS, ((Number) entry.getValue()).intValue()));
+            }
+        }
+        for (ComponentCache<?, ?> cache : caches.values()) {
+            cache.capacity = configuredCapacities.getOrDefault(cache.name, cache.defaultCapacity);
+        }
+    }
+
+    /**
+     * Returns all created caches sorted by name.
+     *
+     * @return  all created caches
+     */
+    @NotNull
+    public static List<ComponentCache<?, ?>> getCaches() {
+        List<ComponentCache<?, ?>> list = new ArrayList<>(caches.values());
+        list.sort(Comparator.comparing(ComponentCache::getName));
+        return list;
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Segment<K, V>[] createSegments() {
+        Segment<K, V>[] segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(this);
+        }
+        return segments;
+    }
 
     /**
      * Gets value from cache. If not present, it is created using given function, inserted
@@ -39,8 +133,99 @@ public class ComponentCache<K, V> {
      */
     @SneakyThrows
     public @NotNull V get(@NotNull K key, @Nullable ProtocolVersion clientVersion) {
-        Map<K, V> cache = clientVersion == null || clientVersion.supportsRGB() ? cacheModern : cacheLegacy;
-        if (cache.size() > cacheSize) cache.clear();
-        return cache.computeIfAbsent(key, k -> function.apply(k, clientVersion));
+        Segment<K, V>[] segments = clientVersion == null || clientVersion.supportsRGB() ? cacheModern : cacheLegacy;
+        int hash = key.hashCode();
+        Segment<K, V> segment = segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        // Convert outside of lock to not block other threads, rare duplicate conversions are fine
+        value = function.apply(key, clientVersion);
+        synchronized (segment) {
+            V previous = segment.putIfAbsent(key, value);
+            return previous == null ? value : previous;
+        }
+    }
+
+    /**
+     * Returns amount of requests with value already present in the cache.
+     *
+     * @return  amount of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns amount of requests which had to convert the value.
+     *
+     * @return  amount of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns amount of entries evicted due to the cache being full.
+     *
+     * @return  amount of evicted entries
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns amount of currently cached entries for all client types together.
+     *
+     * @return  amount of cached entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : cacheModern) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        for (Segment<K, V> segment : cacheLegacy) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Part of the cache with its own lock, which keeps entries
+     * in access order and evicts the eldest one when full.
+     *
+     * @param   <K>
+     *          Source component
+     * @param   <V>
+     *          Target component
+     */
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        /** Cache this segment belongs to */
+        @NotNull private final ComponentCache<K, V> cache;
+
+        private Segment(@NotNull ComponentCache<K, V> cache) {
+            super(16, 0.75f, true);
+            this.cache = cache;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > Math.max(1, cache.capacity / SEGMENTS)) {
+                cache.evictions.increment();
+                return true;
+            }
+            return false;
+        }
     }
 }
@@ -0,0 +1,174 @@
+package me.neznamy.tab.shared.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Parser of numbers returned by placeholders, which does not throw exceptions
+ * on invalid input. Result is returned as a single {@code long}, with type of
+ * the number in upper 32 bits and int value in lower 32 bits.
+ */
+public class NumberParser {
+
+    /** Input is an integer */
+    public static final int INT = 0;
+
+    /** Input is a decimal number, which was rounded */
+    public static final int FLOAT = 1;
+
+    /** Input is not a number, value is 0 */
+    public static final int INVALID = 2;
+
+    private NumberParser() {
+    }
+
+    /**
+     * Parses input the same way as {@link Integer#parseInt(String)} with fallback
+     * to rounded {@link Double#parseDouble(String)}, without throwing exceptions.
+     * Use {@link #getType(long)} and {@link #getValue(long)} to read the result.
+     *
+     * @param   input
+     *          Input to parse
+     * @return  Parsed type and value
+     */
+    public static long parse(@NotNull String input) {
+        int length = input.length();
+        if (length == 0) return result(INVALID, 0);
+        int i = 0;
+        boolean negative = false;
+        char first = input.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        if (i == length) return parseFloat(input);
+        // Accumulate negatively to handle Integer.MIN_VALUE, same as Integer.parseInt
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int value = 0;
+        for (; i < length; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return parseFloat(input);
+            if (value < limit / 10) return parseFloat(input); // Overflow
+            value *= 10;
+            if (value < limit + digit) return parseFloat(input); // Overflow
+            value -= digit;
+        }
+        return result(INT, negative ? value : -value);
+    }
+
+    /**
+     * Parses input as a decimal number the same way as {@link Double#parseDouble(String)},
+     * only calling it after verifying the input has a valid format, so exceptions are
+     * not thrown for common invalid input.
+     *
+     * @param   input
+     *          Input to parse
+     * @return  Parsed type and value
+     */
+    private static long parseFloat(@NotNull String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') start++;
+        while (end > start && input.charAt(end - 1) <= ' ') end--;
+        if (!isDecimal(input, start, end) && !isSpecial(input, start, end)) return result(INVALID, 0);
+        try {
+            return result(FLOAT, (int) Math.round(Double.parseDouble(input)));
+        } catch (NumberFormatException e) {
+            // Hexadecimal number with invalid format
+            return result(INVALID, 0);
+        }
+    }
+
+    /**
+     * Returns {@code true} if trimmed input is a decimal number with optional sign,
+     * exponent and type suffix, {@code false} if not.
+     *
+     * @param   input
+     *          Input to check
+     * @param   start
+     *          Index of first character after leading whitespace
+     * @param   end
+     *          Index after last character before trailing whitespace
+     * @return  {@code true} if input is a decimal number, {@code false} if not
+     */
+    private static boolean isDecimal(@NotNull String input, int start, int end) {
+        if (end > start) {
+            char suffix = input.charAt(end - 1);
+            if (suffix == 'f' || suffix == 'F' || suffix == 'd' || suffix == 'D') end--;
+        }
+        int i = start;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+        int digits = 0;
+        while (i < end && isDigit(input.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(input.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) return false;
+        if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+            int exponentDigits = 0;
+            while (i < end && isDigit(input.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) return false;
+        }
+        return i == end;
+    }
+
+    /**
+     * Returns {@code true} if trimmed input is {@code NaN}, {@code Infinity} or a hexadecimal
+     * number with optional sign, which are accepted by {@link Double#parseDouble(String)} as well.
+     *
+     * @param   input
+     *          Input to check
+     * @param   start
+     *          Index of first character after leading whitespace
+     * @param   end
+     *          Index after last character before trailing whitespace
+     * @return  {@code true} if input is a special value, {@code false} if not
+     */
+    private static boolean isSpecial(@NotNull String input, int start, int end) {
+        int i = start;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+        String value = input.substring(i, end);
+        return value.equals("NaN") || value.equals("Infinity") || value.startsWith("0x") || value.startsWith("0X");
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long result(int type, int value) {
+        return ((long) type << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns type of parsed number, one of {@link #INT}, {@link #FLOAT} and {@link #INVALID}.
+     *
+     * @param   result
+     *          Result of {@link #parse(String)}
+     * @return  Type of parsed number
+     */
+    public static int getType(long result) {
+        return (int) (result >>> 32);
+    }
+
+    /**
+     * Returns value of parsed number, {@code 0} if input was invalid.
+     *
+     * @param   result
+     *          Result of {@link #parse(String)}
+     * @return  Value of parsed number
+     */
+    public static int getValue(long result) {
+        return (int) result;
+    }
+}
@@ -0,0 +1,119 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of queued updates against an embedded in-memory database.
+ */
+class MySQLTest {
+
+    private static final String INSERT = "insert into `tab_users` (`user`, `property`, `value`) values (?, ?, ?)";
+    private static final String DELETE = "delete from `tab_users` where `user` = ? and `property` = ?";
+
+    private FailingConnectionPool pool;
+    private MySQL mysql;
+    private List<SQLException> errors;
+
+    @BeforeEach
+    void open() throws SQLException {
+        pool = new FailingConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        errors = new ArrayList<>();
+        // Updates are only sent when the test asks for it, never by the executor
+        mysql = new MySQL(pool, Integer.MAX_VALUE, errors::add);
+        mysql.execute("create table `tab_users` (`user` varchar(64), `property` varchar(16), `value` varchar(1024), primary key (`user`, `property`))");
+    }
+
+    @AfterEach
+    void close() {
+        mysql.closeConnection();
+    }
+
+    @Test
+    void queuedUpdatesAreSentInOrder() throws SQLException {
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "a");
+        mysql.queueUpdate(INSERT, "player2", "tabprefix", "b");
+        mysql.queueUpdate(DELETE, "player1", "tabprefix");
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "c");
+        assertTrue(mysql.flushUpdates());
+        assertEquals(Arrays.asList("player1=c", "player2=b"), select());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void selectSeesQueuedUpdates() throws SQLException {
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "a");
+        assertEquals(Collections.singletonList("player1=a"), select());
+    }
+
+    @Test
+    void failingUpdateIsDropped() throws SQLException {
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "a");
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "b"); // Duplicate key, can never succeed
+        mysql.queueUpdate(INSERT, "player2", "tabprefix", "c");
+        assertFalse(mysql.flushUpdates());
+        assertEquals(1, errors.size());
+        assertEquals(Arrays.asList("player1=a", "player2=c"), select());
+        assertTrue(mysql.flushUpdates());
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void selectDoesNotDependOnFailingUpdate() throws SQLException {
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "a");
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "b"); // Duplicate key, can never succeed
+        assertEquals(Collections.singletonList("player1=a"), select());
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void updatesAreKeptWhenConnectionFails() throws SQLException {
+        mysql.queueUpdate(INSERT, "player1", "tabprefix", "a");
+        pool.failing = true;
+        assertThrows(SQLRecoverableException.class, mysql::flushUpdates);
+        mysql.queueUpdate(INSERT, "player2", "tabprefix", "c");
+        pool.failing = false;
+        assertTrue(mysql.flushUpdates());
+        assertEquals(Arrays.asList("player1=a", "player2=c"), select());
+        assertTrue(errors.isEmpty());
+    }
+
+    @NotNull
+    private List<String> select() throws SQLException {
+        List<String> rows = new ArrayList<>();
+        CachedRowSet crs = mysql.getCRS("select * from `tab_users` order by `user`");
+        while (crs.next()) {
+            rows.add(crs.getString("user") + "=" + crs.getString("value"));
+        }
+        return rows;
+    }
+
+    /**
+     * Connection pool which fails to borrow connections on demand,
+     * same as when the database is unreachable.
+     */
+    private static class FailingConnectionPool extends ConnectionPool {
+
+        private boolean failing;
+
+        private FailingConnectionPool(@NotNull String url) {
+            super(url, new Properties(), 2);
+        }
+
+        @Override
+        @NotNull
+        public PooledConnection borrow() throws SQLException {
+            if (failing) throw new SQLRecoverableException("Database is unreachable");
+            return super.borrow();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package me.neznamy.tab.shared.features.redis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.features.redis.message.RedisMessage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * RedisSupport implementation connecting instances in the same JVM without
+ * a redis server or a running plugin. Frames are delivered directly as raw
+ * bytes and decoded messages are collected instead of being processed.
+ */
+@RequiredArgsConstructor
+public class LoopbackRedisSupport extends RedisSupport {
+
+    /** All connected instances, shared by all of them */
+    @NotNull
+    private final Collection<LoopbackRedisSupport> network;
+
+    /** Messages received from other instances */
+    @Getter
+    private final List<RedisMessage> received = new ArrayList<>();
+
+    /** Ids of received messages which were skipped, because they are not registered */
+    @Getter
+    private final List<Integer> unknownIds = new ArrayList<>();
+
+    @Override
+    public void sendMessage(@NotNull byte[] frame) {
+        for (LoopbackRedisSupport instance : network) {
+            instance.received.addAll(instance.readFrame(frame));
+        }
+    }
+
+    @Override
+    protected void onUnknownMessage(int id) {
+        unknownIds.add(id);
+    }
+
+    @Override
+    public void register() {
+        network.add(this);
+    }
+
+    @Override
+    public void unregister() {
+        network.remove(this);
+    }
+}
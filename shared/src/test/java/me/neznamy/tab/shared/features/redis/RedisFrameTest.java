@@ -0,0 +1,201 @@
+package me.neznamy.tab.shared.features.redis;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import me.neznamy.tab.shared.features.redis.message.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of encoding and decoding redis message frames between two proxies.
+ */
+class RedisFrameTest {
+
+    /** Values around the points where a varint needs one more byte, with expected sizes */
+    private static final int[][] VARINT_BOUNDARIES = {
+            {0, 1}, {127, 1}, {128, 2}, {16383, 2}, {16384, 3}, {2097151, 3}, {2097152, 4},
+            {268435455, 4}, {268435456, 5}, {Integer.MAX_VALUE, 5}, {-1, 5}, {Integer.MIN_VALUE, 5}
+    };
+
+    /** Id of test message, not used by any real message */
+    private static final int TEST_MESSAGE_ID = 100;
+
+    private LoopbackRedisSupport sender;
+    private LoopbackRedisSupport receiver;
+
+    @BeforeEach
+    void connect() {
+        Collection<LoopbackRedisSupport> network = new CopyOnWriteArrayList<>();
+        sender = new LoopbackRedisSupport(network);
+        receiver = new LoopbackRedisSupport(network);
+        sender.registerMessage(TEST_MESSAGE_ID, TestMessage.class, TestMessage::new);
+        receiver.registerMessage(TEST_MESSAGE_ID, TestMessage.class, TestMessage::new);
+        sender.register();
+        receiver.register();
+    }
+
+    @Test
+    void varIntBoundaries() {
+        for (int[] boundary : VARINT_BOUNDARIES) {
+            ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            RedisMessage.writeVarInt(out, boundary[0]);
+            byte[] bytes = out.toByteArray();
+            assertEquals(boundary[1], bytes.length, "Size of " + boundary[0]);
+            assertEquals(boundary[0], RedisMessage.readVarInt(ByteStreams.newDataInput(bytes)));
+        }
+    }
+
+    @Test
+    void varIntTooBig() {
+        byte[] bytes = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        assertThrows(IllegalArgumentException.class, () -> RedisMessage.readVarInt(ByteStreams.newDataInput(bytes)));
+    }
+
+    @Test
+    void roundTrip() {
+        int[] values = new int[VARINT_BOUNDARIES.length];
+        for (int i = 0; i < values.length; i++) values[i] = VARINT_BOUNDARIES[i][0];
+        List<RedisMessage> sent = Arrays.asList(
+                new ServerSwitch(UUID.randomUUID(), "lobby"),
+                new UpdateVanishStatus(UUID.randomUUID(), true),
+                new PlayerQuit(UUID.randomUUID()),
+                new LoadRequest(),
+                new TestMessage(values, 0)
+        );
+        sent.forEach(sender::sendMessage);
+        sender.flush();
+        assertMessages(sent, receiver.getReceived());
+        assertTrue(sender.getReceived().isEmpty(), "Frame was not ignored by the proxy which sent it");
+    }
+
+    @Test
+    void payloadLengthBoundaries() {
+        List<RedisMessage> sent = new ArrayList<>();
+        // Payload length and padding giving that length with 1 byte of value count and varint of padding length
+        for (int[] length : new int[][] {{2, 0}, {127, 125}, {128, 126}, {16383, 16380}, {16384, 16381}}) {
+            TestMessage message = new TestMessage(new int[0], length[1]);
+            assertEquals(length[0], serialize(message).length);
+            sent.add(message);
+        }
+        sent.forEach(sender::sendMessage);
+        sender.flush();
+        assertMessages(sent, receiver.getReceived());
+    }
+
+    @Test
+    void messageCountBoundary() {
+        List<RedisMessage> sent = new ArrayList<>();
+        for (int i = 0; i < 128; i++) {
+            sent.add(new PlayerQuit(UUID.randomUUID()));
+        }
+        sent.forEach(sender::sendMessage);
+        sender.flush();
+        assertMessages(sent, receiver.getReceived());
+    }
+
+    @Test
+    void coalescedFrame() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        sender.sendMessage(new ServerSwitch(first, "lobby"));
+        sender.sendMessage(new UpdateVanishStatus(first, true));
+        sender.sendMessage(new ServerSwitch(second, "survival"));
+        sender.sendMessage(new PlayerQuit(second));
+        sender.sendMessage(new PlayerQuit(second));
+        sender.sendMessage(new ServerSwitch(first, "creative"));
+        sender.sendMessage(new UpdateVanishStatus(first, false));
+        sender.flush();
+        assertMessages(Arrays.asList(
+                new ServerSwitch(second, "survival"),
+                new PlayerQuit(second),
+                new PlayerQuit(second), // Messages without a key are never dropped
+                new ServerSwitch(first, "creative"),
+                new UpdateVanishStatus(first, false)
+        ), receiver.getReceived());
+
+        // Queue is empty after flush
+        sender.flush();
+        assertEquals(5, receiver.getReceived().size());
+    }
+
+    @Test
+    void unknownMessageSkipped() {
+        LoopbackRedisSupport oldReceiver = new LoopbackRedisSupport(new ArrayList<>());
+        UUID id = UUID.randomUUID();
+        byte[] frame = sender.writeFrame(Arrays.asList(
+                new TestMessage(new int[] {1, 2, 3}, 200),
+                new PlayerQuit(id)
+        ));
+        oldReceiver.getReceived().addAll(oldReceiver.readFrame(frame));
+        assertEquals(Collections.singletonList(TEST_MESSAGE_ID), oldReceiver.getUnknownIds());
+        assertMessages(Collections.singletonList(new PlayerQuit(id)), oldReceiver.getReceived());
+    }
+
+    @Test
+    void differentVersionIgnored() {
+        byte[] frame = sender.writeFrame(Collections.singletonList(new PlayerQuit(UUID.randomUUID())));
+        frame[0]++;
+        assertTrue(receiver.readFrame(frame).isEmpty());
+    }
+
+    private static void assertMessages(@NotNull List<RedisMessage> expected, @NotNull List<RedisMessage> actual) {
+        assertEquals(expected.size(), actual.size(), "Message count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), actual.get(i).getClass(), "Class of message " + i);
+            assertArrayEquals(serialize(expected.get(i)), serialize(actual.get(i)), "Content of message " + i);
+        }
+    }
+
+    @NotNull
+    private static byte[] serialize(@NotNull RedisMessage message) {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        message.write(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Message with varint values and padding to get payload of specific length.
+     */
+    public static class TestMessage extends RedisMessage {
+
+        private int[] values;
+        private byte[] padding;
+
+        public TestMessage() {
+        }
+
+        public TestMessage(@NotNull int[] values, int paddingLength) {
+            this.values = values;
+            padding = new byte[paddingLength];
+            for (int i = 0; i < paddingLength; i++) padding[i] = (byte) i;
+        }
+
+        @Override
+        public void write(@NotNull ByteArrayDataOutput out) {
+            writeVarInt(out, values.length);
+            for (int value : values) writeVarInt(out, value);
+            writeVarInt(out, padding.length);
+            out.write(padding);
+        }
+
+        @Override
+        public void read(@NotNull ByteArrayDataInput in) {
+            values = new int[readVarInt(in)];
+            for (int i = 0; i < values.length; i++) values[i] = readVarInt(in);
+            padding = new byte[readVarInt(in)];
+            in.readFully(padding);
+        }
+
+        @Override
+        public void process(@NotNull RedisSupport redisSupport) {
+            // Only decoded in tests
+        }
+    }
+}
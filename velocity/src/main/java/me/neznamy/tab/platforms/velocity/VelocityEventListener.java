@@ -1,9 +1,11 @@
 package me.neznamy.tab.platforms.velocity;
 
+import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.command.CommandExecuteEvent;
 import com.velocitypowered.api.event.command.CommandExecuteEvent.CommandResult;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.LoginEvent;
 import com.velocitypowered.api.event.connection.PluginMessageEvent;
 import com.velocitypowered.api.event.player.ServerPostConnectEvent;
 import com.velocitypowered.api.proxy.Player;
@@ -32,6 +34,18 @@ public class VelocityEventListener implements EventListener<Player> {
         quit(e.getPlayer().getUniqueId());
     }
 
+    /**
+     * Listens to player login.
+     *
+     * @param   e
+     *          Login event
+     */
+    @Subscribe(order = PostOrder.LAST)
+    public void onLogin(@NotNull LoginEvent e) {
+        if (!e.getResult().isAllowed()) return;
+        preLogin(e.getPlayer().getUniqueId(), e.getPlayer().getUsername());
+    }
+
     /**
      * Listens to player connecting to a backend server. This handles
      * both initial connections and server switch.
@@ -9,6 +9,8 @@ import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * RedisBungee implementation for Velocity
  */
@@ -28,7 +30,7 @@ public class VelocityRedisSupport extends RedisSupport {
     @Subscribe
     public void onMessage(PubSubMessageEvent e) {
         if (!e.getChannel().equals(TabConstants.REDIS_CHANNEL_NAME)) return;
-        processMessage(e.getMessage());
+        processMessage(e.getMessage().getBytes(StandardCharsets.ISO_8859_1));
     }
 
     @Override
@@ -44,7 +46,9 @@ public class VelocityRedisSupport extends RedisSupport {
     }
 
     @Override
-    public void sendMessage(@NotNull String message) {
-        RedisBungeeAPI.getRedisBungeeApi().sendChannelMessage(TabConstants.REDIS_CHANNEL_NAME, message);
+    public void sendMessage(@NotNull byte[] frame) {
+        // RedisBungee only accepts strings, ISO-8859-1 maps each byte to a single char
+        RedisBungeeAPI.getRedisBungeeApi().sendChannelMessage(TabConstants.REDIS_CHANNEL_NAME,
+                new String(frame, StandardCharsets.ISO_8859_1));
     }
 }
\ No newline at end of file